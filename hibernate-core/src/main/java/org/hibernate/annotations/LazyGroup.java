@@ -0,0 +1,48 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the lazy fetch group of a lazy ({@code @Basic(fetch=LAZY)}) attribute of a bytecode enhanced entity.
+ * Accessing any attribute of a group fetches only the attributes of that group.  Lazy attributes without an
+ * explicit group all belong to the same default group.
+ * <p/>
+ * The second-level cache only partly supports fetch groups.  A group is read from a cache entry if its values
+ * were cached along with the entity, e.g. because the group was initialized when the entity was last updated.
+ * A group loaded from the database is not added to an existing cache entry, so it keeps being selected from
+ * the database until the entry is replaced.
+ */
+@Target({ElementType.METHOD, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LazyGroup {
+	/**
+	 * The name of the fetch group.
+	 */
+	String value();
+}
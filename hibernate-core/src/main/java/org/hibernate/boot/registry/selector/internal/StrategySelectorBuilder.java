@@ -93,6 +93,7 @@ import org.hibernate.engine.transaction.jta.platform.internal.WebSphereJtaPlatfo
 import org.hibernate.engine.transaction.jta.platform.internal.WeblogicJtaPlatform;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.engine.transaction.spi.TransactionFactory;
+import org.hibernate.hql.spi.CteBulkIdStrategy;
 import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.PersistentTableBulkIdStrategy;
 import org.hibernate.hql.spi.TemporaryTableBulkIdStrategy;
@@ -372,5 +373,10 @@ public class StrategySelectorBuilder {
 				TemporaryTableBulkIdStrategy.SHORT_NAME,
 				TemporaryTableBulkIdStrategy.class
 		);
+		strategySelector.registerStrategyImplementor(
+				MultiTableBulkIdStrategy.class,
+				CteBulkIdStrategy.SHORT_NAME,
+				CteBulkIdStrategy.class
+		);
 	}
 }
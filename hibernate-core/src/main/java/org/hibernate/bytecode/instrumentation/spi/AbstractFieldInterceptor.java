@@ -23,6 +23,7 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.hibernate.LazyInitializationException;
@@ -106,17 +107,27 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 				throw new LazyInitializationException( "session is not connected" );
 			}
 
+			final LazyPropertyInitializer initializer =
+					(LazyPropertyInitializer) session.getFactory().getEntityPersister( entityName );
 			final Object result;
 			initializing = true;
 			try {
-				result = ( (LazyPropertyInitializer) session.getFactory().getEntityPersister( entityName ) )
-						.initializeLazyProperty( fieldName, target, session );
+				result = initializer.initializeLazyProperty( fieldName, target, session );
 			}
 			finally {
 				initializing = false;
 			}
-			// let's assume that there is only one lazy fetch group, for now!
-			uninitializedFields = null;
+			// only the fetch group of the accessed field has been initialized
+			final Set<String> initializedFields = initializer.getLazyPropertyGroupMembers( fieldName );
+			if ( initializedFields.containsAll( uninitializedFields ) ) {
+				uninitializedFields = null;
+			}
+			else {
+				// copy, the incoming set is shared by all instances of the entity
+				final Set remainingFields = new HashSet( uninitializedFields );
+				remainingFields.removeAll( initializedFields );
+				uninitializedFields = remainingFields;
+			}
 			return result;
 		}
 		else {
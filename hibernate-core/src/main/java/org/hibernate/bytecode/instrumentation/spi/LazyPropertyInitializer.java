@@ -24,6 +24,7 @@
 package org.hibernate.bytecode.instrumentation.spi;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.hibernate.engine.spi.SessionImplementor;
 
@@ -59,4 +60,14 @@ public interface LazyPropertyInitializer {
 	 */
 	public Object initializeLazyProperty(String fieldName, Object entity, SessionImplementor session);
 
+	/**
+	 * The names of the lazy properties initialized along with the named one, i.e. the members of its lazy
+	 * fetch group (including the named property itself).
+	 *
+	 * @param fieldName The name of the lazy property
+	 *
+	 * @return The names of the properties in the same fetch group
+	 */
+	public Set<String> getLazyPropertyGroupMembers(String fieldName);
+
 }
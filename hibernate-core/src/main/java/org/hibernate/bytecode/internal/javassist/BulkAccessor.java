@@ -24,6 +24,8 @@
 package org.hibernate.bytecode.internal.javassist;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
 
 /**
  * A JavaBean bulk accessor, which provides methods capable of getting/setting multiple properties
@@ -123,4 +125,51 @@ public abstract class BulkAccessor implements Serializable {
 			Class[] types) {
 		return new BulkAccessorFactory( beanClass, getters, setters, types ).create();
 	}
+
+	/**
+	 * Creates a new instance of the bean class.  Only supported by accessors created with a constructor, see
+	 * {@link #create(Class, Member[], Member[], Constructor, String[], String[], Class[], ClassLoader)}.
+	 *
+	 * @return The new instance
+	 */
+	public Object newInstance() {
+		throw new UnsupportedOperationException( "Accessor for " + target.getName() + " cannot instantiate it" );
+	}
+
+	/**
+	 * Creates a new instance of <code>BulkAccessor</code> from already resolved fields and methods.  Properties
+	 * with a {@code null} member are neither read nor written by the created accessor.
+	 *
+	 * @param beanClass the class of the JavaBeans accessed through the created object.
+	 * @param getterMembers the getter methods or fields, as checked by {@link BulkAccessorFactory#isAccessible}
+	 * @param setterMembers the setter methods or fields, as checked by {@link BulkAccessorFactory#isAccessible}
+	 * @param constructor the no-arg constructor to expose as {@link #newInstance()}, or {@code null}
+	 * @param getters the names of the getters, for reporting.
+	 * @param setters the names of the setters, for reporting.
+	 * @param types the types of specified properties.
+	 * @param classLoader the class loader to define the accessor in, see
+	 * {@link BulkAccessorFactory#resolveClassLoader}
+	 *
+	 * @return The created BulkAccessor
+	 */
+	static BulkAccessor create(
+			Class beanClass,
+			Member[] getterMembers,
+			Member[] setterMembers,
+			Constructor constructor,
+			String[] getters,
+			String[] setters,
+			Class[] types,
+			ClassLoader classLoader) {
+		return new BulkAccessorFactory(
+				beanClass,
+				getterMembers,
+				setterMembers,
+				constructor,
+				getters,
+				setters,
+				types,
+				classLoader
+		).create();
+	}
 }
@@ -75,6 +75,17 @@ public class BulkAccessorException extends HibernateException {
 		this.index = index;
 	}
 
+	/**
+	 * Constructs an exception.  Used by the generated {@code setPropertyValues} methods.
+	 *
+	 * @param cause The underlying cause
+	 * @param index The index of the property that causes an exception.
+	 */
+	public BulkAccessorException(Throwable cause, int index) {
+		super( "exception setting property : @" + index, cause );
+		this.index = index;
+	}
+
 	/**
 	 * Returns the index of the property that causes this exception.
 	 *
@@ -23,9 +23,13 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.ProtectionDomain;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javassist.CannotCompileException;
 import javassist.bytecode.AccessFlag;
@@ -51,16 +55,22 @@ class BulkAccessorFactory {
 	private static final String OBJECT_CLASS_NAME = Object.class.getName();
 	private static final String GENERATED_GETTER_NAME = "getPropertyValues";
 	private static final String GENERATED_SETTER_NAME = "setPropertyValues";
+	private static final String GENERATED_INSTANTIATOR_NAME = "newInstance";
 	private static final String GET_SETTER_DESC = "(Ljava/lang/Object;[Ljava/lang/Object;)V";
+	private static final String INSTANTIATOR_DESC = "()Ljava/lang/Object;";
 	private static final String THROWABLE_CLASS_NAME = Throwable.class.getName();
 	private static final String BULKEXCEPTION_CLASS_NAME = BulkAccessorException.class.getName();
 
-	private static int counter;
+	private static final AtomicInteger counter = new AtomicInteger();
 
 	private Class targetBean;
 	private String[] getterNames;
 	private String[] setterNames;
 	private Class[] types;
+	private Member[] getterMembers;
+	private Member[] setterMembers;
+	private Constructor constructor;
+	private ClassLoader classLoader;
 	public String writeDirectory;
 
 	BulkAccessorFactory(
@@ -75,15 +85,44 @@ class BulkAccessorFactory {
 		this.writeDirectory = null;
 	}
 
+	/**
+	 * Creates a factory working from already resolved members.  A {@code null} member leaves the corresponding
+	 * value untouched by the generated accessor; the members are expected to have been checked by
+	 * {@link #isAccessible}.
+	 */
+	BulkAccessorFactory(
+			Class target,
+			Member[] getterMembers,
+			Member[] setterMembers,
+			Constructor constructor,
+			String[] getterNames,
+			String[] setterNames,
+			Class[] types,
+			ClassLoader classLoader) {
+		this( target, getterNames, setterNames, types );
+		this.getterMembers = getterMembers;
+		this.setterMembers = setterMembers;
+		this.constructor = constructor;
+		this.classLoader = classLoader;
+	}
+
 	BulkAccessor create() {
-		final Method[] getters = new Method[getterNames.length];
-		final Method[] setters = new Method[setterNames.length];
-		findAccessors( targetBean, getterNames, setterNames, types, getters, setters );
+		final Member[] getters;
+		final Member[] setters;
+		if ( getterMembers != null ) {
+			getters = getterMembers;
+			setters = setterMembers;
+		}
+		else {
+			getters = new Method[getterNames.length];
+			setters = new Method[setterNames.length];
+			findAccessors( targetBean, getterNames, setterNames, types, (Method[]) getters, (Method[]) setters );
+		}
 
 		final Class beanClass;
 		try {
 			final ClassFile classfile = make( getters, setters );
-			final ClassLoader loader = this.getClassLoader();
+			final ClassLoader loader = classLoader != null ? classLoader : this.getClassLoader();
 			if ( writeDirectory != null ) {
 				FactoryHelper.writeFile( classfile, writeDirectory );
 			}
@@ -107,10 +146,10 @@ class BulkAccessorFactory {
 		return cl.getProtectionDomain();
 	}
 
-	private ClassFile make(Method[] getters, Method[] setters) throws CannotCompileException {
+	private ClassFile make(Member[] getters, Member[] setters) throws CannotCompileException {
 		String className = targetBean.getName();
 		// set the name of bulk accessor.
-		className = className + "_$$_bulkaccess_" + counter++;
+		className = className + "_$$_bulkaccess_" + counter.getAndIncrement();
 		if ( className.startsWith( "java." ) ) {
 			className = PACKAGE_NAME_PREFIX + className;
 		}
@@ -120,6 +159,9 @@ class BulkAccessorFactory {
 		addDefaultConstructor( classfile );
 		addGetter( classfile, getters );
 		addSetter( classfile, setters );
+		if ( constructor != null ) {
+			addInstantiator( classfile );
+		}
 		return classfile;
 	}
 
@@ -173,7 +215,7 @@ class BulkAccessorFactory {
 		classfile.addMethod( constructorMethodInfo );
 	}
 
-	private void addGetter(ClassFile classfile, final Method[] getters) throws CannotCompileException {
+	private void addGetter(ClassFile classfile, final Member[] getters) throws CannotCompileException {
 		final ConstPool constPool = classfile.getConstPool();
 		final int targetBeanConstPoolIndex = constPool.addClassInfo( this.targetBean.getName() );
 		final String desc = GET_SETTER_DESC;
@@ -190,13 +232,15 @@ class BulkAccessorFactory {
 			code.addAstore( 3 );
 			for ( int i = 0; i < getters.length; ++i ) {
 				if ( getters[i] != null ) {
-					final Method getter = getters[i];
+					final Member getter = getters[i];
 					// aload_2 // args
 					code.addAload( 2 );
 					// iconst_i // continue to aastore
 					// growing stack is 1
 					code.addIconst( i );
-					final Class returnType = getter.getReturnType();
+					final Class returnType = getter instanceof Field
+							? ( (Field) getter ).getType()
+							: ( (Method) getter ).getReturnType();
 					int typeIndex = -1;
 					if ( returnType.isPrimitive() ) {
 						typeIndex = FactoryHelper.typeIndex( returnType );
@@ -208,13 +252,18 @@ class BulkAccessorFactory {
 
 					// aload_3 // load the raw bean
 					code.addAload( 3 );
-					final String getterSignature = RuntimeSupport.makeDescriptor( getter );
 					final String getterName = getter.getName();
-					if ( this.targetBean.isInterface() ) {
+					if ( getter instanceof Field ) {
+						// getfield
+						code.addGetfield( this.targetBean.getName(), getterName, RuntimeSupport.makeDescriptor( returnType ) );
+					}
+					else if ( this.targetBean.isInterface() ) {
+						final String getterSignature = RuntimeSupport.makeDescriptor( (Method) getter );
 						// invokeinterface
 						code.addInvokeinterface( targetBeanConstPoolIndex, getterName, getterSignature, 1 );
 					}
 					else {
+						final String getterSignature = RuntimeSupport.makeDescriptor( (Method) getter );
 						// invokevirtual
 						code.addInvokevirtual( targetBeanConstPoolIndex, getterName, getterSignature );
 					}
@@ -243,7 +292,7 @@ class BulkAccessorFactory {
 		classfile.addMethod( getterMethodInfo );
 	}
 
-	private void addSetter(ClassFile classfile, final Method[] setters) throws CannotCompileException {
+	private void addSetter(ClassFile classfile, final Member[] setters) throws CannotCompileException {
 		final ConstPool constPool = classfile.getConstPool();
 		final int targetTypeConstPoolIndex = constPool.addClassInfo( this.targetBean.getName() );
 		final String desc = GET_SETTER_DESC;
@@ -271,15 +320,16 @@ class BulkAccessorFactory {
 			start = code.currentPc();
 			int lastIndex = 0;
 			for ( int i = 0; i < setters.length; ++i ) {
-				if ( setters[i] != null ) {
-					final int diff = i - lastIndex;
-					if ( diff > 0 ) {
-						// iinc 3, 1
-						code.addOpcode( Opcode.IINC );
-						code.add( 3 );
-						code.add( diff );
-						lastIndex = i;
-					}
+				if ( setters[i] == null ) {
+					continue;
+				}
+				final int diff = i - lastIndex;
+				if ( diff > 0 ) {
+					// iinc 3, 1
+					code.addOpcode( Opcode.IINC );
+					code.add( 3 );
+					code.add( diff );
+					lastIndex = i;
 				}
 				/* current stack len = 0 */
 				// aload 4 // load the raw bean
@@ -291,8 +341,9 @@ class BulkAccessorFactory {
 				// aaload
 				code.addOpcode( Opcode.AALOAD );
 				// checkcast
-				final Class[] setterParamTypes = setters[i].getParameterTypes();
-				final Class setterParamType = setterParamTypes[0];
+				final Class setterParamType = setters[i] instanceof Field
+						? ( (Field) setters[i] ).getType()
+						: ( (Method) setters[i] ).getParameterTypes()[0];
 				if ( setterParamType.isPrimitive() ) {
 					// checkcast (case of primitive type)
 					// invokevirtual (case of primitive type)
@@ -303,16 +354,24 @@ class BulkAccessorFactory {
 					code.addCheckcast( setterParamType.getName() );
 				}
 				/* current stack len = 2 */
-				final String rawSetterMethodDesc = RuntimeSupport.makeDescriptor( setters[i] );
+				if ( setters[i] instanceof Field ) {
+					// putfield
+					code.addPutfield(
+							this.targetBean.getName(),
+							setters[i].getName(),
+							RuntimeSupport.makeDescriptor( setterParamType )
+					);
+					continue;
+				}
+				final String rawSetterMethodDesc = RuntimeSupport.makeDescriptor( (Method) setters[i] );
 				if ( !this.targetBean.isInterface() ) {
 					// invokevirtual
 					code.addInvokevirtual( targetTypeConstPoolIndex, setters[i].getName(), rawSetterMethodDesc );
 				}
 				else {
 					// invokeinterface
-					final Class[] params = setters[i].getParameterTypes();
 					int size;
-					if ( params[0].equals( Double.TYPE ) || params[0].equals( Long.TYPE ) ) {
+					if ( setterParamType.equals( Double.TYPE ) || setterParamType.equals( Long.TYPE ) ) {
 						size = 3;
 					}
 					else {
@@ -382,6 +441,101 @@ class BulkAccessorFactory {
 		classfile.addMethod( setterMethodInfo );
 	}
 
+	/**
+	 * Declares {@code newInstance()}, calling the no-arg constructor of the bean class.
+	 *
+	 * @param classfile The class descriptor
+	 */
+	private void addInstantiator(ClassFile classfile) {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo instantiatorMethodInfo = new MethodInfo(
+				constPool,
+				GENERATED_INSTANTIATOR_NAME,
+				INSTANTIATOR_DESC
+		);
+
+		final Bytecode code = new Bytecode( constPool, 2, 1 );
+		// new
+		code.addNew( this.targetBean.getName() );
+		// dup
+		code.addOpcode( Opcode.DUP );
+		// invokespecial
+		code.addInvokespecial( this.targetBean.getName(), MethodInfo.nameInit, "()V" );
+		// areturn
+		code.addOpcode( Opcode.ARETURN );
+
+		instantiatorMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		instantiatorMethodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( instantiatorMethodInfo );
+	}
+
+	/**
+	 * Determines the class loader to define the accessor for the given bean class in.  This is the loader of the
+	 * bean class if it sees this {@link BulkAccessor}, which gives the accessor package access to the bean class.
+	 *
+	 * @param beanClass The bean class
+	 *
+	 * @return The class loader
+	 */
+	static ClassLoader resolveClassLoader(Class beanClass) {
+		final ClassLoader beanClassLoader = beanClass.getClassLoader();
+		if ( beanClassLoader != null ) {
+			try {
+				if ( beanClassLoader.loadClass( BULKACESSOR_CLASS_NAME ) == BulkAccessor.class ) {
+					return beanClassLoader;
+				}
+			}
+			catch ( ClassNotFoundException ignore ) {
+			}
+		}
+		return BulkAccessorFactory.class.getClassLoader();
+	}
+
+	/**
+	 * Can the given member be used from an accessor generated for the bean class and defined in the given class
+	 * loader?
+	 *
+	 * @param member The field, method or constructor
+	 * @param beanClass The bean class
+	 * @param classLoader The class loader the accessor is defined in
+	 * @param write Whether the member is used to write a field
+	 *
+	 * @return {@code true} if the member can be used
+	 */
+	static boolean isAccessible(Member member, Class beanClass, ClassLoader classLoader, boolean write) {
+		if ( member == null || beanClass.getName().startsWith( "java." ) ) {
+			return false;
+		}
+		final int modifiers = member.getModifiers();
+		if ( Modifier.isPrivate( modifiers ) || Modifier.isStatic( modifiers ) ) {
+			return false;
+		}
+		if ( write && member instanceof Field && Modifier.isFinal( modifiers ) ) {
+			return false;
+		}
+		if ( !member.getDeclaringClass().isAssignableFrom( beanClass ) ) {
+			return false;
+		}
+
+		final boolean packageAccess = classLoader == beanClass.getClassLoader();
+		if ( !packageAccess && !Modifier.isPublic( beanClass.getModifiers() ) ) {
+			return false;
+		}
+		if ( Modifier.isPublic( modifiers ) ) {
+			return true;
+		}
+		// protected and package members: the accessor lives in the package of the bean class
+		return packageAccess
+				&& member.getDeclaringClass().getClassLoader() == classLoader
+				&& packageName( member.getDeclaringClass() ).equals( packageName( beanClass ) );
+	}
+
+	private static String packageName(Class clazz) {
+		final String name = clazz.getName();
+		final int lastDot = name.lastIndexOf( '.' );
+		return lastDot < 0 ? "" : name.substring( 0, lastDot );
+	}
+
 	private void addUnwrapper(Bytecode code, Class type) {
 		final int index = FactoryHelper.typeIndex( type );
 		final String wrapperType = FactoryHelper.wrapperTypes[index];
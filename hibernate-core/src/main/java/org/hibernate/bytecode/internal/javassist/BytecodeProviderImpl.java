@@ -23,6 +23,9 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
 import java.util.Set;
 
@@ -30,6 +33,7 @@ import org.hibernate.bytecode.buildtime.spi.ClassFilter;
 import org.hibernate.bytecode.buildtime.spi.FieldFilter;
 import org.hibernate.bytecode.instrumentation.internal.javassist.JavassistHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+import org.hibernate.bytecode.spi.AccessorReflectionOptimizerProvider;
 import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ClassTransformer;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
@@ -38,7 +42,11 @@ import org.hibernate.bytecode.spi.ProxyFactoryFactory;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.property.DirectPropertyAccessor;
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
 
 import org.jboss.logging.Logger;
 
@@ -47,7 +55,7 @@ import org.jboss.logging.Logger;
  *
  * @author Steve Ebersole
  */
-public class BytecodeProviderImpl implements BytecodeProvider {
+public class BytecodeProviderImpl implements BytecodeProvider, AccessorReflectionOptimizerProvider {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class,
 			BytecodeProviderImpl.class.getName()
@@ -118,6 +126,111 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 		return null;
 	}
 
+	@Override
+	public ReflectionOptimizer getReflectionOptimizer(Class clazz, Getter[] getters, Setter[] setters) {
+		final ClassLoader classLoader = BulkAccessorFactory.resolveClassLoader( clazz );
+
+		final int length = getters.length;
+		final Member[] getterMembers = new Member[length];
+		final Member[] setterMembers = new Member[length];
+		final Getter[] fallbackGetters = new Getter[length];
+		final Setter[] fallbackSetters = new Setter[length];
+		final String[] getterNames = new String[length];
+		final String[] setterNames = new String[length];
+		final String[] propertyNames = new String[length];
+		final Class[] types = new Class[length];
+		int generated = 0;
+		for ( int i = 0; i < length; i++ ) {
+			final Member getterMember = getters[i].getMember();
+			if ( BulkAccessorFactory.isAccessible( getterMember, clazz, classLoader, false ) ) {
+				getterMembers[i] = getterMember;
+				generated++;
+			}
+			else {
+				fallbackGetters[i] = getters[i];
+			}
+
+			// a field setter works on the same field as the field getter
+			final Member setterMember = setters[i] instanceof DirectPropertyAccessor.DirectSetter
+					&& getterMember instanceof Field
+					? getterMember
+					: setters[i].getMethod();
+			if ( BulkAccessorFactory.isAccessible( setterMember, clazz, classLoader, true ) ) {
+				setterMembers[i] = setterMember;
+				generated++;
+			}
+			else {
+				fallbackSetters[i] = setters[i];
+			}
+
+			getterNames[i] = getterMember == null ? getters[i].getMethodName() : getterMember.getName();
+			setterNames[i] = setterMember == null ? setters[i].getMethodName() : setterMember.getName();
+			propertyNames[i] = getterNames[i];
+			types[i] = getters[i].getReturnType();
+		}
+
+		Constructor constructor = null;
+		if ( !ReflectHelper.isAbstractClass( clazz ) ) {
+			try {
+				constructor = ReflectHelper.getDefaultConstructor( clazz );
+			}
+			catch ( Exception e ) {
+				// instantiation stays with the regular instantiator
+			}
+			if ( !BulkAccessorFactory.isAccessible( constructor, clazz, classLoader, false ) ) {
+				constructor = null;
+			}
+		}
+
+		if ( generated == 0 && constructor == null ) {
+			LOG.debugf( "Generated accessor disabled for %s, no accessible fields, methods or constructor", clazz.getName() );
+			return null;
+		}
+
+		final ReflectionOptimizer optimizer;
+		try {
+			final BulkAccessor bulkAccessor = BulkAccessor.create(
+					clazz,
+					getterMembers,
+					setterMembers,
+					constructor,
+					getterNames,
+					setterNames,
+					types,
+					classLoader
+			);
+			optimizer = new ReflectionOptimizerImpl(
+					constructor == null ? null : new GeneratedInstantiationOptimizer( bulkAccessor, clazz ),
+					new GeneratedAccessOptimizer( bulkAccessor, clazz, propertyNames, fallbackGetters, fallbackSetters )
+			);
+			if ( constructor != null ) {
+				//test out the optimizer:
+				final Object instance = optimizer.getInstantiationOptimizer().newInstance();
+				optimizer.getAccessOptimizer().setPropertyValues(
+						instance,
+						optimizer.getAccessOptimizer().getPropertyValues( instance )
+				);
+			}
+		}
+		catch ( Throwable t ) {
+			LOG.debugf(
+					"Generated accessor disabled for %s [%s: %s]",
+					clazz.getName(),
+					StringHelper.unqualify( t.getClass().getName() ),
+					t.getMessage()
+			);
+			return null;
+		}
+
+		LOG.debugf(
+				"Generated accessor for %s covers %s of %s property accesses",
+				clazz.getName(),
+				generated,
+				length * 2
+		);
+		return optimizer;
+	}
+
 	@Override
 	public ClassTransformer getTransformer(ClassFilter classFilter, FieldFilter fieldFilter) {
 		return new JavassistClassTransformer( classFilter, fieldFilter );
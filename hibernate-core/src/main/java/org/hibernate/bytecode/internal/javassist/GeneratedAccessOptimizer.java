@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.io.Serializable;
+
+import org.hibernate.PropertyAccessException;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
+
+/**
+ * The {@link org.hibernate.bytecode.spi.ReflectionOptimizer.AccessOptimizer} implementation for Javassist
+ * combining a generated {@link BulkAccessor}, covering the properties whose fields or methods it can access
+ * directly, with the regular {@link Getter}s and {@link Setter}s for the remaining ones (private members,
+ * custom accessors, etc).
+ */
+public class GeneratedAccessOptimizer implements ReflectionOptimizer.AccessOptimizer, Serializable {
+	private static final String PROPERTY_GET_EXCEPTION = String.format(
+			"exception getting property value with generated accessor (set %s to false for more info)",
+			AvailableSettings.USE_GENERATED_ACCESSORS
+	);
+
+	private static final String PROPERTY_SET_EXCEPTION = String.format(
+			"exception setting property value with generated accessor (set %s to false for more info)",
+			AvailableSettings.USE_GENERATED_ACCESSORS
+	);
+
+	private final BulkAccessor bulkAccessor;
+	private final Class mappedClass;
+	private final String[] propertyNames;
+	private final Getter[] fallbackGetters;
+	private final Setter[] fallbackSetters;
+
+	/**
+	 * Constructs a GeneratedAccessOptimizer
+	 *
+	 * @param bulkAccessor The generated accessor
+	 * @param mappedClass The mapped class
+	 * @param propertyNames The names of the properties, for reporting
+	 * @param fallbackGetters The getters for the properties not read by the generated accessor, {@code null}
+	 * for the others
+	 * @param fallbackSetters The setters for the properties not written by the generated accessor, {@code null}
+	 * for the others
+	 */
+	public GeneratedAccessOptimizer(
+			BulkAccessor bulkAccessor,
+			Class mappedClass,
+			String[] propertyNames,
+			Getter[] fallbackGetters,
+			Setter[] fallbackSetters) {
+		this.bulkAccessor = bulkAccessor;
+		this.mappedClass = mappedClass;
+		this.propertyNames = propertyNames;
+		this.fallbackGetters = fallbackGetters;
+		this.fallbackSetters = fallbackSetters;
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return propertyNames.clone();
+	}
+
+	@Override
+	public Object[] getPropertyValues(Object object) {
+		final Object[] values;
+		try {
+			values = bulkAccessor.getPropertyValues( object );
+		}
+		catch ( Throwable t ) {
+			throw new PropertyAccessException( t, PROPERTY_GET_EXCEPTION, false, mappedClass, "?" );
+		}
+		for ( int i = 0; i < fallbackGetters.length; i++ ) {
+			if ( fallbackGetters[i] != null ) {
+				values[i] = fallbackGetters[i].get( object );
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public void setPropertyValues(Object object, Object[] values) {
+		try {
+			bulkAccessor.setPropertyValues( object, values );
+		}
+		catch ( Throwable t ) {
+			final String propertyName = t instanceof BulkAccessorException
+					? propertyNames[ ( (BulkAccessorException) t ).getIndex() ]
+					: "?";
+			throw new PropertyAccessException( t, PROPERTY_SET_EXCEPTION, true, mappedClass, propertyName );
+		}
+		for ( int i = 0; i < fallbackSetters.length; i++ ) {
+			if ( fallbackSetters[i] != null ) {
+				fallbackSetters[i].set( object, values[i], null );
+			}
+		}
+	}
+}
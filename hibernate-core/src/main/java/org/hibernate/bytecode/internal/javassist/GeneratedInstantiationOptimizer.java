@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.io.Serializable;
+
+import org.hibernate.InstantiationException;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+
+/**
+ * The {@link org.hibernate.bytecode.spi.ReflectionOptimizer.InstantiationOptimizer} implementation for Javassist
+ * calling the no-arg constructor from a generated {@link BulkAccessor}.
+ */
+public class GeneratedInstantiationOptimizer implements ReflectionOptimizer.InstantiationOptimizer, Serializable {
+	private final BulkAccessor bulkAccessor;
+	private final Class mappedClass;
+
+	/**
+	 * Constructs the GeneratedInstantiationOptimizer
+	 *
+	 * @param bulkAccessor The generated accessor, created with the constructor of the mapped class
+	 * @param mappedClass The class to be instantiated
+	 */
+	public GeneratedInstantiationOptimizer(BulkAccessor bulkAccessor, Class mappedClass) {
+		this.bulkAccessor = bulkAccessor;
+		this.mappedClass = mappedClass;
+	}
+
+	@Override
+	public Object newInstance() {
+		try {
+			return bulkAccessor.newInstance();
+		}
+		catch ( Exception e ) {
+			throw new InstantiationException(
+					"Could not instantiate entity with generated accessor: ",
+					mappedClass,
+					e
+			);
+		}
+	}
+}
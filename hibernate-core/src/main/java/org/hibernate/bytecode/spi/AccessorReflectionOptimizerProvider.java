@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
+
+/**
+ * Optional contract for {@link BytecodeProvider} implementations able to build a {@link ReflectionOptimizer}
+ * from the resolved property accessors rather than from getter and setter names.  Used when
+ * {@value org.hibernate.cfg.AvailableSettings#USE_GENERATED_ACCESSORS} is enabled; providers not implementing
+ * it get the regular {@link BytecodeProvider#getReflectionOptimizer} treatment.
+ */
+public interface AccessorReflectionOptimizerProvider {
+	/**
+	 * Retrieve the ReflectionOptimizer delegate working from the resolved property accessors.
+	 * Properties whose getter or setter cannot be optimized keep using the passed accessor.
+	 *
+	 * @param clazz The class to be reflected upon.
+	 * @param getters The getters of all properties to be accessed.
+	 * @param setters The setters of all properties to be accessed.
+	 * @return The reflection optimization delegate, or {@code null} if the class cannot be optimized.
+	 */
+	public ReflectionOptimizer getReflectionOptimizer(Class clazz, Getter[] getters, Setter[] setters);
+}
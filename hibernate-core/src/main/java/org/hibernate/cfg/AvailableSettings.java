@@ -156,6 +156,11 @@ public interface AvailableSettings {
 	 * Add comments to the generated SQL
 	 */
 	String USE_SQL_COMMENTS ="hibernate.use_sql_comments";
+	/**
+	 * Threshold, in milliseconds, above which executed SQL statements are logged to the
+	 * {@code org.hibernate.SQL_SLOW} category.  A value of zero (the default) disables slow query logging.
+	 */
+	String LOG_SLOW_QUERY = "hibernate.jdbc.log_slow_query";
 	/**
 	 * Maximum depth of outer join fetching
 	 */
@@ -188,6 +193,12 @@ public interface AvailableSettings {
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+	/**
+	 * Maximum number of prepared statements Hibernate caches per JDBC connection, keyed by SQL.  Cached statements
+	 * are closed when the connection is released.  The default, {@code 0}, disables Hibernate statement caching; use
+	 * it when the connection pool or driver does not cache statements itself.
+	 */
+	String STATEMENT_CACHE_SIZE = "hibernate.jdbc.statement_cache_size";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -342,6 +353,16 @@ public interface AvailableSettings {
 	 */
 	String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
+	/**
+	 * Use accessors generated per entity and component class to get and set their property values and to
+	 * instantiate them, instead of reflection.  Unlike {@link #USE_REFLECTION_OPTIMIZER}, this covers field access
+	 * as well, and properties the generated accessor cannot reach (private members, custom accessors) keep using
+	 * their regular accessor.  Only effective with a bytecode provider implementing
+	 * {@link org.hibernate.bytecode.spi.AccessorReflectionOptimizerProvider}, such as the Javassist one.
+	 * Default is {@code false}.
+	 */
+	String USE_GENERATED_ACCESSORS = "hibernate.bytecode.use_generated_accessors";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -477,6 +498,43 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * The maximum number of entity loaders each entity persister caches for loads influenced by enabled filters,
+	 * fetch profiles, entity graphs or lock timeouts.  Loaders are keyed by those influencers, so repeated loads
+	 * with the same influencers reuse the built load plan and SQL.  Default is 32; {@code 0} disables the cache.
+	 */
+	String ENTITY_LOADER_CACHE_MAX_SIZE = "hibernate.loader.entity_loader_cache_max_size";
+
+	/**
+	 * Should entity persisters build the loaders for lock modes other than {@link org.hibernate.LockMode#NONE}
+	 * and {@link org.hibernate.LockMode#READ}, as well as the merge and refresh cascade loaders, the first time
+	 * they are needed rather than while the SessionFactory is built?  Most of those loaders are never used by a
+	 * given application.  Default is {@code true}.
+	 */
+	String LAZY_ENTITY_LOADERS = "hibernate.loader.lazy_entity_loaders";
+
+	/**
+	 * Comma-separated list of {@link org.hibernate.LockMode} names whose entity loaders should still be built
+	 * while the SessionFactory is built when {@link #LAZY_ENTITY_LOADERS} is enabled, e.g.
+	 * {@code PESSIMISTIC_WRITE,OPTIMISTIC}.  Use it to warm the lock modes the application is known to use.
+	 */
+	String EAGER_ENTITY_LOADER_LOCK_MODES = "hibernate.loader.eager_entity_loader_lock_modes";
+
+	/**
+	 * The maximum number of SQL strings each entity persister caches for dynamic-insert and dynamic-update
+	 * entities.  Strings are keyed by the set of properties included in the statement, so entities flushed with
+	 * the same dirty (or non-null) properties reuse the same SQL.  Default is 64; {@code 0} disables the cache.
+	 */
+	String DYNAMIC_SQL_CACHE_MAX_SIZE = "hibernate.persister.dynamic_sql_cache_max_size";
+
+	/**
+	 * The number of threads used to build the entity and collection persisters, initialize them and check the
+	 * named queries while the SessionFactory is built.  These steps are independent per persister and per query,
+	 * so large models bootstrap faster in parallel.  When several fail, the first failure in mapping order is
+	 * reported.  Default is {@code 1}, i.e. everything runs on the calling thread.
+	 */
+	String BOOTSTRAP_PARALLELISM = "hibernate.bootstrap.parallelism";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -682,6 +740,12 @@ public interface AvailableSettings {
 
 	String ENABLE_LAZY_LOAD_NO_TRANS = "hibernate.enable_lazy_load_no_trans";
 
+	/**
+	 * Names the {@link org.hibernate.hql.spi.MultiTableBulkIdStrategy} to use for multi-table HQL update/delete.
+	 * When not set, {@link org.hibernate.hql.spi.CteBulkIdStrategy} is used for dialects supporting
+	 * data-modifying common table expressions (e.g. PostgreSQL 9.2+), otherwise temporary tables when
+	 * supported, otherwise persistent id tables.
+	 */
 	String HQL_BULK_ID_STRATEGY = "hibernate.hql.bulk_id_strategy";
 
 	/**
@@ -691,6 +755,15 @@ public interface AvailableSettings {
 	 */
 	String BATCH_FETCH_STYLE = "hibernate.batch_fetch_style";
 
+	/**
+	 * Should the effective batch size of batch fetching adapt, per entity and collection role, to the fraction of
+	 * batch loaded instances which are actually accessed?  The configured batch size is used as upper bound.
+	 * Default is {@code false}.
+	 *
+	 * @see org.hibernate.engine.spi.AdaptiveBatchFetchSizing
+	 */
+	String BATCH_FETCH_ADAPTIVE = "hibernate.batch_fetch_adaptive";
+
 	/**
 	 * Enable direct storage of entity references into the second level cache when applicable (immutable data, etc).
 	 * Default is to not store direct references.
@@ -769,6 +842,19 @@ public interface AvailableSettings {
 	 */
 	String JANDEX_INDEX = "hibernate.jandex_index";
 
+	/**
+	 * Names a file holding a snapshot of the boot model: the Jandex index built from the scanned and listed
+	 * classes and the XML mappings.  If the file exists and the inputs it was built from did not change, it
+	 * is used instead of scanning, parsing the XML mappings and indexing the classes; otherwise the index is
+	 * built as usual and written to the file for the next start.  Typically generated at build time.
+	 * <p/>
+	 * Inputs are fingerprinted by path, size and modification time rather than by content, so checking them
+	 * stays cheap.  Scanned jars and every file of scanned directories are part of the inputs, so newly added
+	 * classes and mapping files are picked up.  Deployments scanning archives which are not on the local file
+	 * system cannot be fingerprinted and never use a snapshot.
+	 */
+	String METADATA_SNAPSHOT_FILE = "hibernate.metadata.snapshot_file";
+
 	/**
 	 * The deprecated name.  Use {@link #SCANNER} instead.
 	 */
@@ -809,4 +895,18 @@ public interface AvailableSettings {
 	 * </ul>
 	 */
 	String SCANNER_DISCOVERY = "hibernate.archive.autodetection";
+
+	/**
+	 * Should Jandex indexes built ahead of time and packaged as {@code META-INF/jandex.idx} in the scanned
+	 * archives be used?  If every scanned archive contains one, classes and packages are discovered from those
+	 * indexes instead of walking the archives and indexing their class files.  Classes known otherwise (listed
+	 * explicitly, referenced from mapping files or, if enabled, member types) which are missing from the indexes
+	 * are still indexed.
+	 * <p/>
+	 * The indexes are trusted to be up to date: a class added to an archive without regenerating its index is
+	 * not discovered.  Hence default is {@code false}.
+	 *
+	 * @see org.hibernate.metamodel.archive.scan.internal.PrebuiltIndexScanner
+	 */
+	String SCANNER_PREBUILT_INDEX = "hibernate.archive.prebuilt_index";
 }
@@ -24,9 +24,11 @@
 package org.hibernate.cfg;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.EntityMode;
+import org.hibernate.LockMode;
 import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.NullPrecedence;
 import org.hibernate.cache.spi.QueryCacheFactory;
@@ -48,11 +50,17 @@ public final class Settings {
 	private Map querySubstitutions;
 	private int jdbcBatchSize;
 	private int defaultBatchFetchSize;
+	private int entityLoaderCacheMaxSize;
+	private boolean lazyEntityLoaders;
+	private Set<LockMode> eagerEntityLoaderLockModes;
+	private int dynamicSqlCacheMaxSize;
+	private int bootstrapParallelism;
 	private boolean scrollableResultSetsEnabled;
 	private boolean getGeneratedKeysEnabled;
 	private String defaultSchemaName;
 	private String defaultCatalogName;
 	private Integer jdbcFetchSize;
+	private int jdbcStatementCacheSize;
 	private String sessionFactoryName;
 	private boolean sessionFactoryNameAlsoJndiName;
 	private boolean autoCreateSchema;
@@ -96,6 +104,7 @@ public final class Settings {
 
 	private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private BatchFetchStyle batchFetchStyle;
+	private boolean adaptiveBatchFetchEnabled;
 	private boolean directReferenceCacheEntriesEnabled;
 	
 	private boolean jtaTrackByThread;
@@ -134,6 +143,26 @@ public final class Settings {
 		return defaultBatchFetchSize;
 	}
 
+	public int getEntityLoaderCacheMaxSize() {
+		return entityLoaderCacheMaxSize;
+	}
+
+	public boolean isLazyEntityLoadersEnabled() {
+		return lazyEntityLoaders;
+	}
+
+	public Set<LockMode> getEagerEntityLoaderLockModes() {
+		return eagerEntityLoaderLockModes;
+	}
+
+	public int getDynamicSqlCacheMaxSize() {
+		return dynamicSqlCacheMaxSize;
+	}
+
+	public int getBootstrapParallelism() {
+		return bootstrapParallelism;
+	}
+
 	public Map getQuerySubstitutions() {
 		return querySubstitutions;
 	}
@@ -158,6 +187,10 @@ public final class Settings {
 		return jdbcFetchSize;
 	}
 
+	public int getJdbcStatementCacheSize() {
+		return jdbcStatementCacheSize;
+	}
+
 	public String getSessionFactoryName() {
 		return sessionFactoryName;
 	}
@@ -304,6 +337,26 @@ public final class Settings {
 		defaultBatchFetchSize = i;
 	}
 
+	void setEntityLoaderCacheMaxSize(int entityLoaderCacheMaxSize) {
+		this.entityLoaderCacheMaxSize = entityLoaderCacheMaxSize;
+	}
+
+	void setLazyEntityLoadersEnabled(boolean lazyEntityLoaders) {
+		this.lazyEntityLoaders = lazyEntityLoaders;
+	}
+
+	void setEagerEntityLoaderLockModes(Set<LockMode> eagerEntityLoaderLockModes) {
+		this.eagerEntityLoaderLockModes = eagerEntityLoaderLockModes;
+	}
+
+	void setDynamicSqlCacheMaxSize(int dynamicSqlCacheMaxSize) {
+		this.dynamicSqlCacheMaxSize = dynamicSqlCacheMaxSize;
+	}
+
+	void setBootstrapParallelism(int bootstrapParallelism) {
+		this.bootstrapParallelism = bootstrapParallelism;
+	}
+
 	void setQuerySubstitutions(Map map) {
 		querySubstitutions = map;
 	}
@@ -328,6 +381,10 @@ public final class Settings {
 		jdbcFetchSize = integer;
 	}
 
+	void setJdbcStatementCacheSize(int jdbcStatementCacheSize) {
+		this.jdbcStatementCacheSize = jdbcStatementCacheSize;
+	}
+
 	void setSessionFactoryName(String string) {
 		sessionFactoryName = string;
 	}
@@ -505,6 +562,14 @@ public final class Settings {
 		this.batchFetchStyle = batchFetchStyle;
 	}
 
+	public boolean isAdaptiveBatchFetchEnabled() {
+		return adaptiveBatchFetchEnabled;
+	}
+
+	void setAdaptiveBatchFetchEnabled(boolean adaptiveBatchFetchEnabled) {
+		this.adaptiveBatchFetchEnabled = adaptiveBatchFetchEnabled;
+	}
+
 	public void setDirectReferenceCacheEntriesEnabled(boolean directReferenceCacheEntriesEnabled) {
 		this.directReferenceCacheEntriesEnabled = directReferenceCacheEntriesEnabled;
 	}
@@ -24,12 +24,15 @@
 package org.hibernate.cfg;
 
 import java.io.Serializable;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.EntityMode;
 import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
 import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.NullPrecedence;
 import org.hibernate.SessionEventListener;
@@ -46,6 +49,7 @@ import org.hibernate.engine.jdbc.env.spi.ExtractedDatabaseMetaData;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.engine.transaction.spi.TransactionFactory;
+import org.hibernate.hql.spi.CteBulkIdStrategy;
 import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.PersistentTableBulkIdStrategy;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
@@ -111,9 +115,14 @@ public class SettingsFactory implements Serializable {
 				properties.getProperty( AvailableSettings.HQL_BULK_ID_STRATEGY )
 		);
 		if ( multiTableBulkIdStrategy == null ) {
-			multiTableBulkIdStrategy = jdbcServices.getDialect().supportsTemporaryTables()
-					? TemporaryTableBulkIdStrategy.INSTANCE
-					: new PersistentTableBulkIdStrategy();
+			if ( jdbcServices.getDialect().supportsDataModifyingCommonTableExpressions() ) {
+				multiTableBulkIdStrategy = new CteBulkIdStrategy();
+			}
+			else {
+				multiTableBulkIdStrategy = jdbcServices.getDialect().supportsTemporaryTables()
+						? TemporaryTableBulkIdStrategy.INSTANCE
+						: new PersistentTableBulkIdStrategy();
+			}
 		}
 		settings.setMultiTableBulkIdStrategy( multiTableBulkIdStrategy );
 
@@ -174,6 +183,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setJdbcFetchSize(statementFetchSize);
 
+		int statementCacheSize = ConfigurationHelper.getInt( AvailableSettings.STATEMENT_CACHE_SIZE, properties, 0 );
+		if ( debugEnabled ) {
+			LOG.debugf( "JDBC statement cache size: %s", statementCacheSize );
+		}
+		settings.setJdbcStatementCacheSize( statementCacheSize );
+
 		MultiTenancyStrategy multiTenancyStrategy = MultiTenancyStrategy.determineMultiTenancyStrategy( properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "multi-tenancy strategy : %s", multiTenancyStrategy );
@@ -207,6 +222,12 @@ public class SettingsFactory implements Serializable {
 		LOG.debugf( "Using BatchFetchStyle : " + batchFetchStyle.name() );
 		settings.setBatchFetchStyle( batchFetchStyle );
 
+		final boolean adaptiveBatchFetch = ConfigurationHelper.getBoolean( AvailableSettings.BATCH_FETCH_ADAPTIVE, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Adaptive batch fetch sizing: %s", enabledDisabled( adaptiveBatchFetch ) );
+		}
+		settings.setAdaptiveBatchFetchEnabled( adaptiveBatchFetch );
+
 
 		//SQL Generation settings:
 
@@ -233,6 +254,49 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDefaultBatchFetchSize( batchFetchSize );
 
+		int entityLoaderCacheMaxSize = ConfigurationHelper.getInt( AvailableSettings.ENTITY_LOADER_CACHE_MAX_SIZE, properties, 32 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Entity loader cache size: %s", entityLoaderCacheMaxSize );
+		}
+		settings.setEntityLoaderCacheMaxSize( entityLoaderCacheMaxSize );
+
+		boolean lazyEntityLoaders = ConfigurationHelper.getBoolean( AvailableSettings.LAZY_ENTITY_LOADERS, properties, true );
+		if ( debugEnabled ) {
+			LOG.debugf( "Lazy entity loaders: %s", enabledDisabled( lazyEntityLoaders ) );
+		}
+		settings.setLazyEntityLoadersEnabled( lazyEntityLoaders );
+
+		Set<LockMode> eagerEntityLoaderLockModes = EnumSet.noneOf( LockMode.class );
+		String eagerLockModeNames = ConfigurationHelper.getString( AvailableSettings.EAGER_ENTITY_LOADER_LOCK_MODES, properties );
+		if ( eagerLockModeNames != null ) {
+			for ( String lockModeName : StringHelper.split( ", ", eagerLockModeNames ) ) {
+				try {
+					eagerEntityLoaderLockModes.add( LockMode.valueOf( lockModeName.toUpperCase() ) );
+				}
+				catch ( IllegalArgumentException e ) {
+					throw new HibernateException(
+							"Unrecognized lock mode [" + lockModeName + "] in " + AvailableSettings.EAGER_ENTITY_LOADER_LOCK_MODES
+					);
+				}
+			}
+		}
+		if ( debugEnabled && !eagerEntityLoaderLockModes.isEmpty() ) {
+			LOG.debugf( "Eager entity loader lock modes: %s", eagerEntityLoaderLockModes );
+		}
+		settings.setEagerEntityLoaderLockModes( eagerEntityLoaderLockModes );
+
+		int dynamicSqlCacheMaxSize = ConfigurationHelper.getInt( AvailableSettings.DYNAMIC_SQL_CACHE_MAX_SIZE, properties, 64 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Dynamic insert/update SQL cache size: %s", dynamicSqlCacheMaxSize );
+		}
+		settings.setDynamicSqlCacheMaxSize( dynamicSqlCacheMaxSize );
+
+		int bootstrapParallelism = ConfigurationHelper.getInt( AvailableSettings.BOOTSTRAP_PARALLELISM, properties, 1 );
+		if ( debugEnabled ) {
+			LOG.debugf( "SessionFactory bootstrap parallelism: %s", bootstrapParallelism );
+		}
+		settings.setBootstrapParallelism( bootstrapParallelism );
+
 		boolean comments = ConfigurationHelper.getBoolean( AvailableSettings.USE_SQL_COMMENTS, properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "Generate SQL with comments: %s", enabledDisabled(comments) );
@@ -71,6 +71,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	private transient List<DelayedOperation> operationQueue;
 	private transient boolean directlyAccessible;
 	private transient boolean initializing;
+	private transient boolean batchPrefetched;
 	private Object owner;
 	private int cachedSize = -1;
 
@@ -538,6 +539,14 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 		}
 	}
 
+	/**
+	 * Called when this collection was initialized as an extra member of a batch while adaptive batch sizing is
+	 * enabled; the first subsequent read is then reported to the {@link org.hibernate.engine.spi.BatchFetchQueue}.
+	 */
+	public final void afterBatchPrefetch() {
+		batchPrefetched = true;
+	}
+
 	/**
 	 * Initialize the collection, if possible, wrapping any exceptions
 	 * in a runtime exception
@@ -548,6 +557,12 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	 */
 	protected final void initialize(final boolean writing) {
 		if ( initialized ) {
+			if ( batchPrefetched ) {
+				batchPrefetched = false;
+				if ( session != null ) {
+					session.getPersistenceContext().getBatchFetchQueue().collectionAccessed( this );
+				}
+			}
 			return;
 		}
 
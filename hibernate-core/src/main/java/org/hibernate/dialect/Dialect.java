@@ -2512,6 +2512,21 @@ public abstract class Dialect implements ConversionContext {
 		return true;
 	}
 
+	/**
+	 * Does this dialect support data-modifying statements (insert/update/delete) inside a
+	 * {@code WITH} clause?  Ex:
+	 * with ids as (select id from Table1 where ...), d1 as (delete from Table2 where id in (select id from ids))
+	 * select count(*) from ids
+	 * <p/>
+	 * Used to execute multi-table HQL bulk operations in a single statement; see
+	 * {@link org.hibernate.hql.spi.CteBulkIdStrategy}.
+	 *
+	 * @return boolean
+	 */
+	public boolean supportsDataModifyingCommonTableExpressions() {
+		return false;
+	}
+
 	public CallableStatementSupport getCallableStatementSupport() {
 		// most databases do not support returning cursors (ref_cursor)...
 		return StandardCallableStatementSupport.NO_REF_CURSOR_INSTANCE;
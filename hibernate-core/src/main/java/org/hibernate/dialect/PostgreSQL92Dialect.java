@@ -39,4 +39,9 @@ public class PostgreSQL92Dialect extends PostgreSQL9Dialect {
 		super();
 		this.registerColumnType( Types.JAVA_OBJECT, "json" );
 	}
+
+	@Override
+	public boolean supportsDataModifyingCommonTableExpressions() {
+		return true;
+	}
 }
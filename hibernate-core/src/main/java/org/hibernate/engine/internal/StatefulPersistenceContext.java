@@ -386,6 +386,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public void addEntity(EntityKey key, Object entity) {
 		entitiesByKey.put( key, entity );
 		getBatchFetchQueue().removeBatchLoadableEntityKey( key );
+		getBatchFetchQueue().entityAdded( key );
 	}
 
 	@Override
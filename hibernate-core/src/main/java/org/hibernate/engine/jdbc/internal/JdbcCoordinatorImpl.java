@@ -115,7 +115,8 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 				userSuppliedConnection,
 				transactionCoordinator.getTransactionContext().getConnectionReleaseMode(),
 				transactionCoordinator.getTransactionContext().getTransactionEnvironment().getJdbcServices(),
-				transactionCoordinator.getTransactionContext().getJdbcConnectionAccess()
+				transactionCoordinator.getTransactionContext().getJdbcConnectionAccess(),
+				LogicalConnectionImpl.determineStatementCacheSize( transactionCoordinator.getTransactionContext() )
 		);
 		this.exceptionHelper = logicalConnection.getJdbcServices().getSqlExceptionHelper();
 	}
@@ -246,12 +247,25 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		return statementPreparer;
 	}
 
+	PreparedStatementCache getStatementCache() {
+		return logicalConnection.getStatementCache();
+	}
+
+	private transient StatementExecutionTracker executionTracker;
+
+	StatementExecutionTracker getExecutionTracker() {
+		if ( executionTracker == null ) {
+			executionTracker = new StatementExecutionTracker( this );
+		}
+		return executionTracker;
+	}
+
 	private transient ResultSetReturn resultSetExtractor;
 
 	@Override
 	public ResultSetReturn getResultSetReturn() {
 		if ( resultSetExtractor == null ) {
-			resultSetExtractor = new ResultSetReturnImpl( this );
+			resultSetExtractor = new ResultSetReturnImpl( this, getExecutionTracker() );
 		}
 		return resultSetExtractor;
 	}
@@ -418,6 +432,9 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			resultSets.clear();
 		}
 		xref.remove( statement );
+		if ( executionTracker != null ) {
+			executionTracker.released( statement );
+		}
 		close( statement );
 		
 		afterStatementExecution();
@@ -482,6 +499,13 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		close( resultSet );
 	}
 
+	@Override
+	public void registerFetchedRows(Statement statement, int rowCount) {
+		if ( executionTracker != null ) {
+			executionTracker.rowsFetched( statement, rowCount );
+		}
+	}
+
 	@Override
 	public boolean hasRegisteredResources() {
 		return ! xref.isEmpty() || ! unassociatedResultSets.isEmpty();
@@ -504,6 +528,9 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	}
 
 	private void cleanup() {
+		if ( executionTracker != null ) {
+			executionTracker.clear();
+		}
 		for ( Map.Entry<Statement,Set<ResultSet>> entry : xref.entrySet() ) {
 			closeAll( entry.getValue() );
 			close( entry.getKey() );
@@ -554,10 +581,15 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 				// EARLY EXIT!!!
 				return;
 			}
-			statement.close();
 			if ( lastQuery == statement ) {
 				lastQuery = null;
 			}
+			final PreparedStatementCache statementCache = logicalConnection.getStatementCache();
+			if ( statementCache != null && statementCache.checkIn( statement ) ) {
+				// statement returned to the cache rather than closed
+				return;
+			}
+			statement.close();
 		}
 		catch( SQLException e ) {
 			LOG.debugf( "Unable to release JDBC statement [%s]", e.getMessage() );
@@ -40,6 +40,7 @@ import org.hibernate.engine.jdbc.spi.JdbcConnectionAccess;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.LogicalConnectionImplementor;
 import org.hibernate.engine.jdbc.spi.NonDurableConnectionObserver;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.transaction.spi.TransactionContext;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.CollectionHelper;
@@ -66,6 +67,7 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 	private final transient JdbcServices jdbcServices;
 	private final transient JdbcConnectionAccess jdbcConnectionAccess;
 	private final transient List<ConnectionObserver> observers;
+	private final transient PreparedStatementCache statementCache;
 
 	private final boolean isUserSuppliedConnection;
 
@@ -84,13 +86,32 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 			ConnectionReleaseMode connectionReleaseMode,
 			JdbcServices jdbcServices,
 			JdbcConnectionAccess jdbcConnectionAccess) {
+		this( userSuppliedConnection, connectionReleaseMode, jdbcServices, jdbcConnectionAccess, 0 );
+	}
+
+	/**
+	 * Constructs a LogicalConnectionImpl
+	 *
+	 * @param userSuppliedConnection The user-supplied connection
+	 * @param connectionReleaseMode The connection release mode to use
+	 * @param jdbcServices JdbcServices
+	 * @param jdbcConnectionAccess JDBC Connection access
+	 * @param statementCacheSize The maximum number of prepared statements to cache; {@code 0} disables caching
+	 */
+	public LogicalConnectionImpl(
+			Connection userSuppliedConnection,
+			ConnectionReleaseMode connectionReleaseMode,
+			JdbcServices jdbcServices,
+			JdbcConnectionAccess jdbcConnectionAccess,
+			int statementCacheSize) {
 		this(
 				connectionReleaseMode,
 				jdbcServices,
 				jdbcConnectionAccess,
 				(userSuppliedConnection != null),
 				false,
-				new ArrayList<ConnectionObserver>()
+				new ArrayList<ConnectionObserver>(),
+				statementCacheSize
 		);
 		this.physicalConnection = userSuppliedConnection;
 	}
@@ -104,7 +125,8 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 			JdbcConnectionAccess jdbcConnectionAccess,
 			boolean isUserSuppliedConnection,
 			boolean isClosed,
-			List<ConnectionObserver> observers) {
+			List<ConnectionObserver> observers,
+			int statementCacheSize) {
 		this.connectionReleaseMode = determineConnectionReleaseMode(
 				jdbcConnectionAccess, isUserSuppliedConnection, connectionReleaseMode
 		);
@@ -114,6 +136,7 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 
 		this.isUserSuppliedConnection = isUserSuppliedConnection;
 		this.isClosed = isClosed;
+		this.statementCache = statementCacheSize > 0 ? new PreparedStatementCache( statementCacheSize ) : null;
 	}
 
 	private static ConnectionReleaseMode determineConnectionReleaseMode(
@@ -138,6 +161,15 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		return jdbcServices;
 	}
 
+	/**
+	 * Access to the cache of prepared statements for the current physical connection.
+	 *
+	 * @return The statement cache, or {@code null} if statement caching is disabled.
+	 */
+	PreparedStatementCache getStatementCache() {
+		return statementCache;
+	}
+
 	@Override
 	public void addObserver(ConnectionObserver observer) {
 		observers.add( observer );
@@ -178,6 +210,9 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		LOG.trace( "Closing logical connection" );
 		final Connection c = isUserSuppliedConnection ? physicalConnection : null;
 		try {
+			if ( statementCache != null ) {
+				statementCache.clear();
+			}
 			if ( !isUserSuppliedConnection && physicalConnection != null ) {
 				releaseConnection();
 			}
@@ -247,6 +282,10 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		if ( physicalConnection == null ) {
 			return;
 		}
+		if ( statementCache != null ) {
+			// cached statements belong to the physical connection being released
+			statementCache.clear();
+		}
 		try {
 			if ( !physicalConnection.isClosed() ) {
 				getJdbcServices().getSqlExceptionHelper().logAndClearWarnings( physicalConnection );
@@ -387,7 +426,20 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 				transactionContext.getJdbcConnectionAccess(),
 				isUserSuppliedConnection,
 				isClosed,
-				observers
+				observers,
+				determineStatementCacheSize( transactionContext )
 		);
 	}
+
+	/**
+	 * Determine the configured statement cache size for the given transaction context.
+	 *
+	 * @param transactionContext The transaction context
+	 *
+	 * @return The statement cache size; {@code 0} if caching is disabled.
+	 */
+	public static int determineStatementCacheSize(TransactionContext transactionContext) {
+		final SessionFactoryImplementor sessionFactory = transactionContext.getTransactionEnvironment().getSessionFactory();
+		return sessionFactory == null ? 0 : sessionFactory.getSettings().getJdbcStatementCacheSize();
+	}
 }
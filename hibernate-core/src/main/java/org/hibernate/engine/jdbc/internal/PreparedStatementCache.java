@@ -0,0 +1,213 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * A size-bounded, LRU cache of idle {@link PreparedStatement}s for a single physical JDBC connection, keyed by
+ * SQL and result-set options.
+ * <p/>
+ * Statements are "checked out" of the cache when prepared and "checked in" again when released through the
+ * {@link JdbcCoordinatorImpl}, so a statement is never handed out twice at the same time.  Statements evicted
+ * from the cache, and all idle statements when the owning connection is released, are closed.
+ * <p/>
+ * Not thread-safe; scoped to a {@link LogicalConnectionImpl}.
+ */
+class PreparedStatementCache {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( PreparedStatementCache.class );
+
+	private final int maxSize;
+	private final LinkedHashMap<Key,CachedStatement> idleStatements;
+	private final Map<Statement,CachedStatement> checkedOutStatements = new IdentityHashMap<Statement,CachedStatement>();
+
+	PreparedStatementCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.idleStatements = new LinkedHashMap<Key,CachedStatement>( 16, 0.75f, true ) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,CachedStatement> eldest) {
+				if ( size() > PreparedStatementCache.this.maxSize ) {
+					close( eldest.getValue().statement );
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Build the cache key for a statement prepared with the given SQL and options.
+	 */
+	static Key key(String sql, int resultSetType, int autoGeneratedKeys) {
+		return new Key( sql, resultSetType, autoGeneratedKeys );
+	}
+
+	/**
+	 * Key for the plain {@link java.sql.Connection#prepareStatement(String)} form.
+	 */
+	static Key key(String sql) {
+		return key( sql, ResultSet.TYPE_FORWARD_ONLY, Statement.NO_GENERATED_KEYS );
+	}
+
+	/**
+	 * Check out an idle statement matching the given key.
+	 *
+	 * @return The statement, or {@code null} if none is cached.
+	 */
+	PreparedStatement checkOut(Key key) {
+		final CachedStatement cached = idleStatements.remove( key );
+		if ( cached == null ) {
+			return null;
+		}
+		LOG.tracev( "Reusing cached prepared statement [{0}]", key.sql );
+		checkedOutStatements.put( cached.statement, cached );
+		return cached.statement;
+	}
+
+	/**
+	 * Begin tracking a newly prepared statement so that it gets cached when released.
+	 */
+	void track(PreparedStatement statement, Key key) {
+		int fetchSize = 0;
+		try {
+			fetchSize = statement.getFetchSize();
+		}
+		catch (SQLException e) {
+			LOG.debugf( "Unable to determine statement fetch size [%s]", e.getMessage() );
+		}
+		checkedOutStatements.put( statement, new CachedStatement( key, statement, fetchSize ) );
+	}
+
+	/**
+	 * Return a released statement to the cache.
+	 *
+	 * @return {@code true} if the statement was cached; {@code false} if the caller should close it.
+	 */
+	boolean checkIn(Statement statement) {
+		final CachedStatement cached = checkedOutStatements.remove( statement );
+		if ( cached == null ) {
+			return false;
+		}
+		try {
+			cached.statement.clearParameters();
+			cached.statement.clearBatch();
+			if ( cached.statement.getFetchSize() != cached.fetchSize ) {
+				cached.statement.setFetchSize( cached.fetchSize );
+			}
+		}
+		catch (SQLException e) {
+			LOG.debugf( "Unable to reset prepared statement for caching [%s]", e.getMessage() );
+			return false;
+		}
+		final CachedStatement previous = idleStatements.put( cached.key, cached );
+		if ( previous != null && previous.statement != cached.statement ) {
+			close( previous.statement );
+		}
+		return true;
+	}
+
+	/**
+	 * Close all idle statements and forget about checked-out ones.  Called before the physical connection is
+	 * released.
+	 */
+	void clear() {
+		final Iterator<CachedStatement> itr = idleStatements.values().iterator();
+		while ( itr.hasNext() ) {
+			close( itr.next().statement );
+			itr.remove();
+		}
+		checkedOutStatements.clear();
+	}
+
+	int size() {
+		return idleStatements.size();
+	}
+
+	private static void close(PreparedStatement statement) {
+		try {
+			statement.close();
+		}
+		catch (SQLException e) {
+			LOG.debugf( "Unable to release cached JDBC statement [%s]", e.getMessage() );
+		}
+	}
+
+	private static class CachedStatement {
+		private final Key key;
+		private final PreparedStatement statement;
+		private final int fetchSize;
+
+		private CachedStatement(Key key, PreparedStatement statement, int fetchSize) {
+			this.key = key;
+			this.statement = statement;
+			this.fetchSize = fetchSize;
+		}
+	}
+
+	static final class Key {
+		private final String sql;
+		private final int resultSetType;
+		private final int autoGeneratedKeys;
+		private final int hashCode;
+
+		private Key(String sql, int resultSetType, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+			int result = sql.hashCode();
+			result = 31 * result + resultSetType;
+			result = 31 * result + autoGeneratedKeys;
+			this.hashCode = result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final Key that = (Key) o;
+			return resultSetType == that.resultSetType
+					&& autoGeneratedKeys == that.autoGeneratedKeys
+					&& sql.equals( that.sql );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
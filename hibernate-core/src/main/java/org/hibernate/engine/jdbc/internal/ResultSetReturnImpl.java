@@ -45,13 +45,20 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	private final SqlStatementLogger sqlStatementLogger;
 	private final SqlExceptionHelper sqlExceptionHelper;
 
+	private final StatementExecutionTracker executionTracker;
+
 	/**
 	 * Constructs a ResultSetReturnImpl
 	 *
 	 * @param jdbcCoordinator The JdbcCoordinator
 	 */
 	public ResultSetReturnImpl(JdbcCoordinator jdbcCoordinator) {
+		this( jdbcCoordinator, null );
+	}
+
+	ResultSetReturnImpl(JdbcCoordinator jdbcCoordinator, StatementExecutionTracker executionTracker) {
 		this.jdbcCoordinator = jdbcCoordinator;
+		this.executionTracker = executionTracker;
 
 		final JdbcServices jdbcServices = jdbcCoordinator.getTransactionCoordinator().getTransactionContext()
 				.getTransactionEnvironment()
@@ -75,6 +82,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		}
 		try {
 			final ResultSet rs;
+			final long startNanos = executionStarting();
 			try {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				rs = statement.executeQuery();
@@ -82,6 +90,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 			finally {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
 			}
+			queryExecuted( statement, null, startNanos );
 			postExtract( rs, statement );
 			return rs;
 		}
@@ -95,6 +104,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		// IMPL NOTE : SQL logged by caller
 		try {
 			final ResultSet rs;
+			final long startNanos = executionStarting();
 			try {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				rs = dialect.getResultSet( callableStatement );
@@ -102,6 +112,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 			finally {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
 			}
+			queryExecuted( callableStatement, null, startNanos );
 			postExtract( rs, callableStatement );
 			return rs;
 		}
@@ -115,6 +126,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		sqlStatementLogger.logStatement( sql );
 		try {
 			final ResultSet rs;
+			final long startNanos = executionStarting();
 			try {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				rs = statement.executeQuery( sql );
@@ -122,6 +134,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 			finally {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
 			}
+			queryExecuted( statement, sql, startNanos );
 			postExtract( rs, statement );
 			return rs;
 		}
@@ -135,6 +148,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		// sql logged by StatementPreparerImpl
 		try {
 			final ResultSet rs;
+			final long startNanos = executionStarting();
 			try {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				if ( !statement.execute() ) {
@@ -147,6 +161,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 			finally {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
 			}
+			queryExecuted( statement, null, startNanos );
 			postExtract( rs, statement );
 			return rs;
 		}
@@ -160,6 +175,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		sqlStatementLogger.logStatement( sql );
 		try {
 			final ResultSet rs;
+			final long startNanos = executionStarting();
 			try {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				if ( !statement.execute( sql ) ) {
@@ -172,6 +188,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 			finally {
 				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
 			}
+			queryExecuted( statement, sql, startNanos );
 			postExtract( rs, statement );
 			return rs;
 		}
@@ -183,8 +200,11 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	@Override
 	public int executeUpdate(PreparedStatement statement) {
 		try {
+			final long startNanos = executionStarting();
 			jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
-			return statement.executeUpdate();
+			final int rowCount = statement.executeUpdate();
+			updateExecuted( statement, null, startNanos, rowCount );
+			return rowCount;
 		}
 		catch (SQLException e) {
 			throw sqlExceptionHelper.convert( e, "could not execute statement" );
@@ -198,8 +218,11 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	public int executeUpdate(Statement statement, String sql) {
 		sqlStatementLogger.logStatement( sql );
 		try {
+			final long startNanos = executionStarting();
 			jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
-			return statement.executeUpdate( sql );
+			final int rowCount = statement.executeUpdate( sql );
+			updateExecuted( statement, sql, startNanos, rowCount );
+			return rowCount;
 		}
 		catch (SQLException e) {
 			throw sqlExceptionHelper.convert( e, "could not execute statement" );
@@ -209,6 +232,22 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		}
 	}
 
+	private long executionStarting() {
+		return executionTracker == null ? 0 : executionTracker.executionStarting();
+	}
+
+	private void queryExecuted(Statement statement, String sql, long startNanos) {
+		if ( executionTracker != null ) {
+			executionTracker.queryExecuted( statement, sql, startNanos );
+		}
+	}
+
+	private void updateExecuted(Statement statement, String sql, long startNanos, int rowCount) {
+		if ( executionTracker != null ) {
+			executionTracker.updateExecuted( statement, sql, startNanos, rowCount );
+		}
+	}
+
 	private void postExtract(ResultSet rs, Statement st) {
 		if ( rs != null ) {
 			jdbcCoordinator.register( rs, st );
@@ -0,0 +1,219 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Tracks the SQL, execution time, fetch time and row count of the statements managed by a
+ * {@link JdbcCoordinatorImpl}, feeding the slow query log (see {@link SqlStatementLogger#logSlowQuery}) and the
+ * per-statement {@link org.hibernate.stat.SqlStatementStatistics}.
+ * <p/>
+ * Tracking is only performed while statistics are enabled or a slow query threshold is configured; otherwise
+ * each callback reduces to a simple check.
+ */
+class StatementExecutionTracker {
+	private final JdbcCoordinatorImpl jdbcCoordinator;
+	private final SqlStatementLogger sqlStatementLogger;
+
+	private Map<Statement,Execution> executions;
+
+	StatementExecutionTracker(JdbcCoordinatorImpl jdbcCoordinator) {
+		this.jdbcCoordinator = jdbcCoordinator;
+		this.sqlStatementLogger = jdbcCoordinator.getLogicalConnection().getJdbcServices().getSqlStatementLogger();
+	}
+
+	private StatisticsImplementor statistics() {
+		final SessionFactoryImplementor sessionFactory = jdbcCoordinator.sessionFactory();
+		return sessionFactory == null ? null : sessionFactory.getStatisticsImplementor();
+	}
+
+	boolean isEnabled() {
+		if ( sqlStatementLogger.getLogSlowQuery() > 0 ) {
+			return true;
+		}
+		final StatisticsImplementor statistics = statistics();
+		return statistics != null && statistics.isStatisticsEnabled();
+	}
+
+	/**
+	 * Callback that a statement was prepared for the given SQL.
+	 */
+	void prepared(Statement statement, String sql) {
+		if ( isEnabled() ) {
+			executions().put( statement, new Execution( sql ) );
+		}
+	}
+
+	/**
+	 * Callback that a statement is about to be executed.
+	 *
+	 * @return The start time to pass to {@link #queryExecuted} or {@link #updateExecuted}; {@code 0} if we are
+	 * not tracking.
+	 */
+	long executionStarting() {
+		return isEnabled() ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Callback that a query statement was executed; its results are now being read.
+	 *
+	 * @param statement The executed statement
+	 * @param sql The executed SQL, or {@code null} if it should be taken from the prepared statement.
+	 * @param startNanos The value returned from {@link #executionStarting()}
+	 */
+	void queryExecuted(Statement statement, String sql, long startNanos) {
+		if ( startNanos == 0 ) {
+			return;
+		}
+		final Execution execution = locateExecution( statement, sql );
+		if ( execution != null ) {
+			final long now = System.nanoTime();
+			execution.executionNanos = now - startNanos;
+			execution.fetchStartNanos = now;
+			execution.rowCount = -1;
+		}
+	}
+
+	/**
+	 * Callback that a DML statement was executed.  Such executions are reported immediately.
+	 *
+	 * @param statement The executed statement
+	 * @param sql The executed SQL, or {@code null} if it should be taken from the prepared statement.
+	 * @param startNanos The value returned from {@link #executionStarting()}
+	 * @param rowCount The number of affected rows
+	 */
+	void updateExecuted(Statement statement, String sql, long startNanos, int rowCount) {
+		if ( startNanos == 0 ) {
+			return;
+		}
+		final Execution execution = locateExecution( statement, sql );
+		if ( execution != null ) {
+			execution.executionNanos = System.nanoTime() - startNanos;
+			execution.rowCount = rowCount;
+			report( execution, 0 );
+		}
+	}
+
+	/**
+	 * Callback that the given number of rows were read from the results of the given statement.
+	 */
+	void rowsFetched(Statement statement, int rowCount) {
+		if ( executions == null ) {
+			return;
+		}
+		final Execution execution = executions.get( statement );
+		if ( execution != null && execution.isFetching() ) {
+			execution.rowCount = execution.rowCount < 0 ? rowCount : execution.rowCount + rowCount;
+		}
+	}
+
+	/**
+	 * Callback that the given statement was released, completing any pending fetch.
+	 */
+	void released(Statement statement) {
+		if ( executions == null ) {
+			return;
+		}
+		final Execution execution = executions.remove( statement );
+		if ( execution != null && execution.isFetching() ) {
+			report( execution, System.nanoTime() - execution.fetchStartNanos );
+		}
+	}
+
+	void clear() {
+		if ( executions != null ) {
+			executions.clear();
+		}
+	}
+
+	private Map<Statement,Execution> executions() {
+		if ( executions == null ) {
+			executions = new IdentityHashMap<Statement,Execution>();
+		}
+		return executions;
+	}
+
+	private Execution locateExecution(Statement statement, String sql) {
+		Execution execution = executions == null ? null : executions.get( statement );
+		if ( execution == null ) {
+			if ( sql == null ) {
+				// statement prepared before tracking was enabled
+				return null;
+			}
+			execution = new Execution( sql );
+			executions().put( statement, execution );
+		}
+		else {
+			if ( execution.isFetching() ) {
+				// statement re-executed without being released
+				report( execution, System.nanoTime() - execution.fetchStartNanos );
+			}
+			if ( sql != null ) {
+				execution.sql = sql;
+			}
+		}
+		return execution;
+	}
+
+	private void report(Execution execution, long fetchNanos) {
+		final boolean slow = sqlStatementLogger.logSlowQuery(
+				execution.sql,
+				execution.executionNanos + fetchNanos,
+				execution.rowCount
+		);
+		final StatisticsImplementor statistics = statistics();
+		if ( statistics != null && statistics.isStatisticsEnabled() ) {
+			statistics.sqlStatementExecuted(
+					execution.sql,
+					execution.rowCount,
+					execution.executionNanos,
+					fetchNanos,
+					slow
+			);
+		}
+		execution.fetchStartNanos = 0;
+	}
+
+	private static class Execution {
+		private String sql;
+		private long executionNanos;
+		private long fetchStartNanos;
+		private long rowCount = -1;
+
+		private Execution(String sql) {
+			this.sql = sql;
+		}
+
+		private boolean isFetching() {
+			return fetchStartNanos != 0;
+		}
+	}
+}
@@ -104,6 +104,11 @@ class StatementPreparerImpl implements StatementPreparer {
 						? connection().prepareCall( sql )
 						: connection().prepareStatement( sql );
 			}
+
+			@Override
+			protected PreparedStatementCache.Key cacheKey() {
+				return isCallable ? null : PreparedStatementCache.key( sql );
+			}
 		};
 	}
 
@@ -123,6 +128,11 @@ class StatementPreparerImpl implements StatementPreparer {
 			public PreparedStatement doPrepare() throws SQLException {
 				return connection().prepareStatement( sql, autoGeneratedKeys );
 			}
+
+			@Override
+			protected PreparedStatementCache.Key cacheKey() {
+				return PreparedStatementCache.key( sql, ResultSet.TYPE_FORWARD_ONLY, autoGeneratedKeys );
+			}
 		}.prepareStatement();
 	}
 
@@ -152,6 +162,13 @@ class StatementPreparerImpl implements StatementPreparer {
 								? connection().prepareCall( sql, scrollMode.toResultSetType(), ResultSet.CONCUR_READ_ONLY )
 								: connection().prepareStatement( sql, scrollMode.toResultSetType(), ResultSet.CONCUR_READ_ONLY );
 				}
+
+				@Override
+				protected PreparedStatementCache.Key cacheKey() {
+					return isCallable
+							? null
+							: PreparedStatementCache.key( sql, scrollMode.toResultSetType(), Statement.NO_GENERATED_KEYS );
+				}
 			}.prepareStatement();
 			jdbcCoordinator.registerLastQuery( ps );
 			return ps;
@@ -163,6 +180,11 @@ class StatementPreparerImpl implements StatementPreparer {
 								? connection().prepareCall( sql )
 								: connection().prepareStatement( sql );
 				}
+
+				@Override
+				protected PreparedStatementCache.Key cacheKey() {
+					return isCallable ? null : PreparedStatementCache.key( sql );
+				}
 			}.prepareStatement();
 			jdbcCoordinator.registerLastQuery( ps );
 			return ps;
@@ -180,14 +202,26 @@ class StatementPreparerImpl implements StatementPreparer {
 			try {
 				jdbcCoordinator.getLogicalConnection().getJdbcServices().getSqlStatementLogger().logStatement( sql );
 
-				final PreparedStatement preparedStatement;
-				try {
-					jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startPrepareStatement();
-					preparedStatement = doPrepare();
+				final PreparedStatementCache statementCache = jdbcCoordinator.getStatementCache();
+				final PreparedStatementCache.Key cacheKey = statementCache == null ? null : cacheKey();
+
+				PreparedStatement preparedStatement = cacheKey == null ? null : statementCache.checkOut( cacheKey );
+				if ( preparedStatement != null ) {
 					setStatementTimeout( preparedStatement );
 				}
-				finally {
-					jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endPrepareStatement();
+				else {
+					try {
+						jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startPrepareStatement();
+						preparedStatement = doPrepare();
+						setStatementTimeout( preparedStatement );
+					}
+					finally {
+						jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endPrepareStatement();
+					}
+					if ( cacheKey != null ) {
+						statementCache.track( preparedStatement, cacheKey );
+					}
+					logicalConnection().notifyObserversStatementPrepared();
 				}
 				postProcess( preparedStatement );
 				return preparedStatement;
@@ -199,9 +233,18 @@ class StatementPreparerImpl implements StatementPreparer {
 
 		protected abstract PreparedStatement doPrepare() throws SQLException;
 
+		/**
+		 * The key under which the prepared statement may be cached.
+		 *
+		 * @return The cache key, or {@code null} if the statement should not be cached.
+		 */
+		protected PreparedStatementCache.Key cacheKey() {
+			return null;
+		}
+
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
 			jdbcCoordinator.register( preparedStatement );
-			logicalConnection().notifyObserversStatementPrepared();
+			jdbcCoordinator.getExecutionTracker().prepared( preparedStatement, sql );
 		}
 
 		private void setStatementTimeout(PreparedStatement preparedStatement) throws SQLException {
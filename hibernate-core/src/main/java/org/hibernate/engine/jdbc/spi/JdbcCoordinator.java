@@ -189,6 +189,15 @@ public interface JdbcCoordinator extends Serializable {
 	 */
 	public void release(ResultSet resultSet, Statement statement);
 
+	/**
+	 * Notification that the given number of rows were read from the results of a registered statement.  Used
+	 * to track per-statement row counts; see {@link org.hibernate.stat.SqlStatementStatistics#getRowCount()}.
+	 *
+	 * @param statement The statement whose results were read.
+	 * @param rowCount The number of rows read.
+	 */
+	public void registerFetchedRows(Statement statement, int rowCount);
+
 	/**
 	 * Does this registry currently have any registered resources?
 	 *
@@ -23,6 +23,8 @@
  */
 package org.hibernate.engine.jdbc.spi;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.engine.jdbc.internal.Formatter;
 import org.hibernate.internal.CoreLogging;
@@ -36,9 +38,11 @@ import org.jboss.logging.Logger;
  */
 public class SqlStatementLogger {
 	private static final Logger LOG = CoreLogging.logger( "org.hibernate.SQL" );
+	private static final Logger LOG_SLOW = CoreLogging.logger( "org.hibernate.SQL_SLOW" );
 
 	private boolean logToStdout;
 	private boolean format;
+	private volatile long logSlowQuery;
 
 	/**
 	 * Constructs a new SqlStatementLogger instance.
@@ -54,8 +58,20 @@ public class SqlStatementLogger {
 	 * @param format Should we format the statements prior to logging
 	 */
 	public SqlStatementLogger(boolean logToStdout, boolean format) {
+		this( logToStdout, format, 0 );
+	}
+
+	/**
+	 * Constructs a new SqlStatementLogger instance.
+	 *
+	 * @param logToStdout Should we log to STDOUT in addition to our internal logger.
+	 * @param format Should we format the statements prior to logging
+	 * @param logSlowQuery Threshold, in milliseconds, above which statements are considered slow; {@code 0} disables
+	 */
+	public SqlStatementLogger(boolean logToStdout, boolean format, long logSlowQuery) {
 		this.logToStdout = logToStdout;
 		this.format = format;
+		this.logSlowQuery = logSlowQuery;
 	}
 
 	/**
@@ -84,6 +100,19 @@ public class SqlStatementLogger {
 		this.format = format;
 	}
 
+	/**
+	 * The threshold, in milliseconds, above which executed statements are logged as slow.
+	 *
+	 * @return The slow query threshold; {@code 0} indicates slow query logging is disabled.
+	 */
+	public long getLogSlowQuery() {
+		return logSlowQuery;
+	}
+
+	public void setLogSlowQuery(long logSlowQuery) {
+		this.logSlowQuery = logSlowQuery;
+	}
+
 	/**
 	 * Log a SQL statement string.
 	 *
@@ -111,5 +140,31 @@ public class SqlStatementLogger {
 			System.out.println( "Hibernate: " + statement );
 		}
 	}
-}
 
+	/**
+	 * Log a SQL statement string to the slow query log if its duration exceeds the configured threshold.
+	 *
+	 * @param statement The SQL statement.
+	 * @param elapsedNanos The time spent executing the statement and reading its results, in nanoseconds.
+	 * @param rowCount The number of rows fetched or affected; negative if unknown.
+	 *
+	 * @return {@code true} if the statement was considered slow (and logged); {@code false} otherwise.
+	 */
+	public boolean logSlowQuery(String statement, long elapsedNanos, long rowCount) {
+		if ( logSlowQuery <= 0 ) {
+			return false;
+		}
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis( elapsedNanos );
+		if ( elapsedMillis < logSlowQuery ) {
+			return false;
+		}
+		final String logMessage = rowCount < 0
+				? "SlowQuery: " + elapsedMillis + " milliseconds. SQL: '" + statement + "'"
+				: "SlowQuery: " + elapsedMillis + " milliseconds, " + rowCount + " rows. SQL: '" + statement + "'";
+		LOG_SLOW.info( logMessage );
+		if ( logToStdout ) {
+			System.out.println( logMessage );
+		}
+		return true;
+	}
+}
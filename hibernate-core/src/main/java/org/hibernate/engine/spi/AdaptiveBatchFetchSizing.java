@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.spi;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.internal.CoreLogging;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Adapts the effective batch size of batch fetching per entity name / collection role to the observed hit ratio,
+ * i.e. the fraction of the instances loaded as extra members of a batch which are subsequently accessed.
+ * <p/>
+ * Each role starts at its configured batch size.  Once enough instances have been batch loaded for a role, the
+ * hit ratio over that window decides whether the effective size is doubled (up to the configured batch size) or
+ * halved (down to a minimum of 2, so that hits can still be observed).
+ * <p/>
+ * Enabled by {@link org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ADAPTIVE}; used by {@link BatchFetchQueue}.
+ */
+public class AdaptiveBatchFetchSizing {
+	private static final Logger log = CoreLogging.logger( AdaptiveBatchFetchSizing.class );
+
+	/**
+	 * Hit ratio at or above which the effective batch size grows.
+	 */
+	public static final double GROW_RATIO = 0.75;
+
+	/**
+	 * Hit ratio below which the effective batch size shrinks.
+	 */
+	public static final double SHRINK_RATIO = 0.25;
+
+	private static final int MINIMUM_BATCH_SIZE = 2;
+	private static final int MINIMUM_WINDOW = 16;
+
+	private final ConcurrentMap<String,RoleSizing> sizingByRole = new ConcurrentHashMap<String, RoleSizing>();
+
+	/**
+	 * Determine the number of keys to batch for the given role.
+	 *
+	 * @param role The entity name or collection role
+	 * @param configuredBatchSize The batch size defined by the mapping
+	 *
+	 * @return The effective batch size, never more than the configured one
+	 */
+	public int determineBatchSize(String role, int configuredBatchSize) {
+		if ( configuredBatchSize <= MINIMUM_BATCH_SIZE ) {
+			return configuredBatchSize;
+		}
+		return getSizing( role, configuredBatchSize ).effectiveBatchSize;
+	}
+
+	/**
+	 * Record that instances of the given role were loaded as extra (non-requested) members of a batch.
+	 *
+	 * @param role The entity name or collection role
+	 * @param count The number of extra instances loaded
+	 */
+	public void prefetched(String role, int count) {
+		final RoleSizing sizing = sizingByRole.get( role );
+		if ( sizing != null ) {
+			sizing.prefetched( role, count );
+		}
+	}
+
+	/**
+	 * Record that an instance loaded as extra member of a batch was subsequently accessed.
+	 *
+	 * @param role The entity name or collection role
+	 */
+	public void prefetchedInstanceAccessed(String role) {
+		final RoleSizing sizing = sizingByRole.get( role );
+		if ( sizing != null ) {
+			sizing.hits.incrementAndGet();
+		}
+	}
+
+	/**
+	 * The current effective batch size for the given role.
+	 *
+	 * @param role The entity name or collection role
+	 *
+	 * @return The effective batch size, or -1 if no batch was fetched for that role yet
+	 */
+	public int getEffectiveBatchSize(String role) {
+		final RoleSizing sizing = sizingByRole.get( role );
+		return sizing == null ? -1 : sizing.effectiveBatchSize;
+	}
+
+	private RoleSizing getSizing(String role, int configuredBatchSize) {
+		RoleSizing sizing = sizingByRole.get( role );
+		if ( sizing == null ) {
+			sizing = new RoleSizing( configuredBatchSize );
+			final RoleSizing previous = sizingByRole.putIfAbsent( role, sizing );
+			if ( previous != null ) {
+				sizing = previous;
+			}
+		}
+		return sizing;
+	}
+
+	private static class RoleSizing {
+		private final int maximumBatchSize;
+		private volatile int effectiveBatchSize;
+		private final AtomicInteger hits = new AtomicInteger();
+		private int prefetched;
+
+		private RoleSizing(int maximumBatchSize) {
+			this.maximumBatchSize = maximumBatchSize;
+			this.effectiveBatchSize = maximumBatchSize;
+		}
+
+		private synchronized void prefetched(String role, int count) {
+			prefetched += count;
+			if ( prefetched < Math.max( MINIMUM_WINDOW, effectiveBatchSize * 4 ) ) {
+				return;
+			}
+
+			final double hitRatio = (double) hits.getAndSet( 0 ) / prefetched;
+			prefetched = 0;
+
+			final int previousBatchSize = effectiveBatchSize;
+			if ( hitRatio >= GROW_RATIO ) {
+				effectiveBatchSize = Math.min( maximumBatchSize, previousBatchSize * 2 );
+			}
+			else if ( hitRatio < SHRINK_RATIO ) {
+				effectiveBatchSize = Math.max( MINIMUM_BATCH_SIZE, previousBatchSize / 2 );
+			}
+
+			if ( effectiveBatchSize != previousBatchSize ) {
+				log.debugf(
+						"Adjusted batch size of [%s] from %s to %s (hit ratio %s)",
+						role,
+						previousBatchSize,
+						effectiveBatchSize,
+						hitRatio
+				);
+			}
+		}
+	}
+}
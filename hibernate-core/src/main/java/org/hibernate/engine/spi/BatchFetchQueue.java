@@ -25,6 +25,7 @@ package org.hibernate.engine.spi;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -32,6 +33,7 @@ import java.util.Map.Entry;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.collection.internal.AbstractPersistentCollection;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.internal.CoreLogging;
@@ -76,6 +78,24 @@ public class BatchFetchQueue {
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
 			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
 
+	/**
+	 * With adaptive batch sizing, the keys (and their entity name) handed out as extra members of an entity batch
+	 * which have not been loaded yet.
+	 */
+	private Map<EntityKey, String> pendingEntityPrefetches;
+
+	/**
+	 * With adaptive batch sizing, the keys (and their entity name) of the entities loaded as extra members of a batch
+	 * which have not been accessed yet.
+	 */
+	private Map<EntityKey, String> prefetchedEntities;
+
+	/**
+	 * With adaptive batch sizing, the collections handed out as extra members of a collection batch which have not
+	 * been initialized yet.
+	 */
+	private Map<CollectionEntry, String> pendingCollectionPrefetches;
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -94,6 +114,13 @@ public class BatchFetchQueue {
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		pendingEntityPrefetches = null;
+		prefetchedEntities = null;
+		pendingCollectionPrefetches = null;
+	}
+
+	private AdaptiveBatchFetchSizing adaptiveBatchFetchSizing() {
+		return context.getSession().getFactory().getAdaptiveBatchFetchSizing();
 	}
 
 
@@ -168,6 +195,40 @@ public class BatchFetchQueue {
 		}
 	}
 
+	/**
+	 * With adaptive batch sizing, called when an entity was added to the persistence context, to recognize
+	 * the entities loaded as extra members of a batch.
+	 *
+	 * @param key The key of the added entity
+	 */
+	public void entityAdded(EntityKey key) {
+		if ( pendingEntityPrefetches != null ) {
+			final String role = pendingEntityPrefetches.remove( key );
+			if ( role != null ) {
+				if ( prefetchedEntities == null ) {
+					prefetchedEntities = new HashMap<EntityKey, String>();
+				}
+				prefetchedEntities.put( key, role );
+				adaptiveBatchFetchSizing().prefetched( role, 1 );
+			}
+		}
+	}
+
+	/**
+	 * With adaptive batch sizing, called when a load request was resolved from the persistence context, to
+	 * recognize accesses to entities loaded as extra members of a batch.
+	 *
+	 * @param key The key of the accessed entity
+	 */
+	public void entityAccessed(EntityKey key) {
+		if ( prefetchedEntities != null ) {
+			final String role = prefetchedEntities.remove( key );
+			if ( role != null ) {
+				adaptiveBatchFetchSizing().prefetchedInstanceAccessed( role );
+			}
+		}
+	}
+
 	/**
 	 * Get a batch of unloaded identifiers for this class, using a slightly
 	 * complex algorithm that tries to grab keys registered immediately after
@@ -183,6 +244,12 @@ public class BatchFetchQueue {
 			final Serializable id,
 			final int batchSize,
 			final EntityMode entityMode) {
+		final AdaptiveBatchFetchSizing adaptiveSizing = adaptiveBatchFetchSizing();
+		final int maxKeys = adaptiveSizing == null
+				? batchSize
+				: adaptiveSizing.determineBatchSize( persister.getEntityName(), batchSize );
+		final EntityKey[] keys = adaptiveSizing == null ? null : new EntityKey[maxKeys];
+
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
 		int i = 1;
@@ -196,17 +263,24 @@ public class BatchFetchQueue {
 			for ( EntityKey key : set ) {
 				if ( checkForEnd && i == end ) {
 					//the first id found after the given id
-					return ids;
+					break;
 				}
 				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
 					end = i;
+					if ( pendingEntityPrefetches != null ) {
+						// requested itself, so not loaded as an extra member of the batch
+						pendingEntityPrefetches.remove( key );
+					}
 				}
 				else {
 					if ( !isCached( key, persister ) ) {
+						if ( keys != null ) {
+							keys[i] = key;
+						}
 						ids[i++] = key.getIdentifier();
 					}
 				}
-				if ( i == batchSize ) {
+				if ( i == maxKeys ) {
 					i = 1; // end of array, start filling again from start
 					if ( end != -1 ) {
 						checkForEnd = true;
@@ -214,9 +288,24 @@ public class BatchFetchQueue {
 				}
 			}
 		}
+
+		if ( keys != null ) {
+			registerPendingEntityPrefetches( persister.getEntityName(), keys );
+		}
 		return ids; //we ran out of ids to try
 	}
 
+	private void registerPendingEntityPrefetches(String role, EntityKey[] keys) {
+		for ( int i = 1; i < keys.length; i++ ) {
+			if ( keys[i] != null ) {
+				if ( pendingEntityPrefetches == null ) {
+					pendingEntityPrefetches = new HashMap<EntityKey, String>();
+				}
+				pendingEntityPrefetches.put( keys[i], role );
+			}
+		}
+	}
+
 	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
 		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
 			final CacheKey key = context.getSession().generateCacheKey(
@@ -255,7 +344,28 @@ public class BatchFetchQueue {
 	public void removeBatchLoadableCollection(CollectionEntry ce) {
 		LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( ce.getLoadedPersister().getRole() );
 		if ( map != null ) {
-			map.remove( ce );
+			final PersistentCollection collection = map.remove( ce );
+			if ( pendingCollectionPrefetches != null ) {
+				final String role = pendingCollectionPrefetches.remove( ce );
+				if ( role != null && collection != null && collection.wasInitialized()
+						&& collection instanceof AbstractPersistentCollection ) {
+					( (AbstractPersistentCollection) collection ).afterBatchPrefetch();
+					adaptiveBatchFetchSizing().prefetched( role, 1 );
+				}
+			}
+		}
+	}
+
+	/**
+	 * With adaptive batch sizing, called on the first access to a collection which was initialized as an extra
+	 * member of a batch.
+	 *
+	 * @param collection The accessed collection
+	 */
+	public void collectionAccessed(PersistentCollection collection) {
+		final AdaptiveBatchFetchSizing adaptiveSizing = adaptiveBatchFetchSizing();
+		if ( adaptiveSizing != null ) {
+			adaptiveSizing.prefetchedInstanceAccessed( collection.getRole() );
 		}
 	}
 
@@ -271,6 +381,11 @@ public class BatchFetchQueue {
 			final CollectionPersister collectionPersister,
 			final Serializable id,
 			final int batchSize) {
+		final AdaptiveBatchFetchSizing adaptiveSizing = adaptiveBatchFetchSizing();
+		final int maxKeys = adaptiveSizing == null
+				? batchSize
+				: adaptiveSizing.determineBatchSize( collectionPersister.getRole(), batchSize );
+		final CollectionEntry[] entries = adaptiveSizing == null ? null : new CollectionEntry[maxKeys];
 
 		Serializable[] keys = new Serializable[batchSize];
 		keys[0] = id;
@@ -301,7 +416,7 @@ public class BatchFetchQueue {
 				}
 
 				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
+					break; //the first key found after the given key
 				}
 
 				final boolean isEqual = collectionPersister.getKeyType().isEqual(
@@ -313,13 +428,20 @@ public class BatchFetchQueue {
 				if ( isEqual ) {
 					end = i;
 					//checkForEnd = false;
+					if ( pendingCollectionPrefetches != null ) {
+						// requested itself, so not loaded as an extra member of the batch
+						pendingCollectionPrefetches.remove( ce );
+					}
 				}
 				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
+					if ( entries != null ) {
+						entries[i] = ce;
+					}
 					keys[i++] = ce.getLoadedKey();
 					//count++;
 				}
 
-				if ( i == batchSize ) {
+				if ( i == maxKeys ) {
 					i = 1; //end of array, start filling again from start
 					if ( end != -1 ) {
 						checkForEnd = true;
@@ -327,9 +449,24 @@ public class BatchFetchQueue {
 				}
 			}
 		}
+
+		if ( entries != null ) {
+			registerPendingCollectionPrefetches( collectionPersister.getRole(), entries );
+		}
 		return keys; //we ran out of keys to try
 	}
 
+	private void registerPendingCollectionPrefetches(String role, CollectionEntry[] entries) {
+		for ( int i = 1; i < entries.length; i++ ) {
+			if ( entries[i] != null ) {
+				if ( pendingCollectionPrefetches == null ) {
+					pendingCollectionPrefetches = new IdentityHashMap<CollectionEntry, String>();
+				}
+				pendingCollectionPrefetches.put( entries[i], role );
+			}
+		}
+	}
+
 	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
 		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
 			CacheKey cacheKey = context.getSession().generateCacheKey(
@@ -142,6 +142,13 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory {
 
 	public QueryPlanCache getQueryPlanCache();
 
+	/**
+	 * Get the adaptive sizing of batch fetches.
+	 *
+	 * @return The adaptive batch fetch sizing, or {@code null} if adaptive batch fetching is not enabled
+	 */
+	public AdaptiveBatchFetchSizing getAdaptiveBatchFetchSizing();
+
 	/**
 	 * Get the return types of a query
 	 */
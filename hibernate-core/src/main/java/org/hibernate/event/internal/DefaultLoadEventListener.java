@@ -484,6 +484,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
+			event.getSession().getPersistenceContext().getBatchFetchQueue().entityAccessed( keyToLoad );
 			return entity;
 		}
 
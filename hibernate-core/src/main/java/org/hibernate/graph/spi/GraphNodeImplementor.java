@@ -33,4 +33,12 @@ public interface GraphNodeImplementor {
 	List<AttributeNodeImplementor<?>> attributeImplementorNodes();
 	List<AttributeNode<?>> attributeNodes();
 	boolean containsAttribute(String name);
+
+	/**
+	 * Can attribute nodes still be added to this graph node?  Immutable graphs can safely be used
+	 * as part of cache keys.
+	 *
+	 * @return {@code true} if this node may still change
+	 */
+	boolean isMutable();
 }
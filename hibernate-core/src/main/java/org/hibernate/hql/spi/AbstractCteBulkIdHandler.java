@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+
+/**
+ * Base support for bulk id handlers which perform the whole multi-table operation as one statement, using
+ * data-modifying common table expressions.  The matching ids are selected into a {@code WITH} query which
+ * each per-table DML statement then references; the statement finally selects the number of matched ids.
+ */
+public abstract class AbstractCteBulkIdHandler extends AbstractTableBasedBulkIdHandler {
+	public static final String ID_CTE_NAME = "hql_bulk_ids";
+
+	protected AbstractCteBulkIdHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		super( factory, walker, null, null );
+	}
+
+	@Override
+	protected String determineIdTableName(Queryable persister) {
+		return ID_CTE_NAME;
+	}
+
+	/**
+	 * Renders the complete statement.
+	 *
+	 * @param idSelect The select of the matching ids
+	 * @param modifyingStatements The per-table DML statements, referencing the ids through
+	 * {@link #generateIdSubselect}
+	 *
+	 * @return The single statement
+	 */
+	protected String generateCteStatement(String idSelect, List<String> modifyingStatements) {
+		final StringBuilder buffer = new StringBuilder( "with " )
+				.append( ID_CTE_NAME ).append( " as (" ).append( idSelect ).append( ')' );
+		for ( int i = 0; i < modifyingStatements.size(); i++ ) {
+			buffer.append( ", hql_dml_" ).append( i ).append( " as (" ).append( modifyingStatements.get( i ) ).append( ')' );
+		}
+		return buffer.append( " select count(*) from " ).append( ID_CTE_NAME ).toString();
+	}
+
+	protected int execute(
+			String statement,
+			List<ParameterSpecification> parameterSpecifications,
+			SessionImplementor session,
+			QueryParameters queryParameters,
+			String errorMessage) {
+		final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+		PreparedStatement ps = null;
+		try {
+			try {
+				ps = jdbcCoordinator.getStatementPreparer().prepareStatement( statement, false );
+				int position = 1; // jdbc params are 1-based
+				for ( ParameterSpecification parameterSpecification : parameterSpecifications ) {
+					position += parameterSpecification.bind( ps, queryParameters, session, position );
+				}
+				final ResultSet rs = jdbcCoordinator.getResultSetReturn().extract( ps );
+				return rs.next() ? rs.getInt( 1 ) : 0;
+			}
+			finally {
+				if ( ps != null ) {
+					jdbcCoordinator.release( ps );
+				}
+			}
+		}
+		catch (SQLException e) {
+			throw convert( e, errorMessage, statement );
+		}
+	}
+
+	protected static String idRestriction(String[] columnNames, String idSubselect) {
+		return "(" + StringHelper.join( ", ", columnNames ) + ") IN (" + idSubselect + ")";
+	}
+}
@@ -124,6 +124,16 @@ public abstract class AbstractTableBasedBulkIdHandler {
 	}
 
 	protected String generateIdInsertSelect(Queryable persister, String tableAlias, ProcessedWhereClause whereClause) {
+		InsertSelect insert = new InsertSelect( sessionFactory.getDialect() );
+		if ( sessionFactory.getSettings().isCommentsEnabled() ) {
+			insert.setComment( "insert-select for " + persister.getEntityName() + " ids" );
+		}
+		insert.setTableName( determineIdTableName( persister ) );
+		insert.setSelect( generateIdSelect( persister, tableAlias, whereClause ) );
+		return insert.toStatementString();
+	}
+
+	protected Select generateIdSelect(Queryable persister, String tableAlias, ProcessedWhereClause whereClause) {
 		Select select = new Select( sessionFactory.getDialect() );
 		SelectValues selectClause = new SelectValues( sessionFactory.getDialect() )
 				.addColumns( tableAlias, persister.getIdentifierColumnNames(), persister.getIdentifierColumnNames() );
@@ -152,14 +162,7 @@ public abstract class AbstractTableBasedBulkIdHandler {
 			}
 		}
 		select.setWhereClause( whereJoinFragment + whereClause.getUserWhereClauseFragment() );
-
-		InsertSelect insert = new InsertSelect( sessionFactory.getDialect() );
-		if ( sessionFactory.getSettings().isCommentsEnabled() ) {
-			insert.setComment( "insert-select for " + persister.getEntityName() + " ids" );
-		}
-		insert.setTableName( determineIdTableName( persister ) );
-		insert.setSelect( select );
-		return insert.toStatementString();
+		return select;
 	}
 
 	protected void addAnyExtraIdSelectValues(SelectValues selectClause) {
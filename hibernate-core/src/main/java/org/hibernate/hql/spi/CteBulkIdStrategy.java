@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.util.Map;
+
+import org.hibernate.cfg.Mappings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Strategy that performs multi-table bulk operations as one statement per HQL update/delete, selecting the
+ * matching ids into a common table expression which data-modifying common table expressions then use to
+ * update/delete the rows of each table.  No id table is needed, so there is no DDL and only one round trip.
+ * <p/>
+ * Requires {@link Dialect#supportsDataModifyingCommonTableExpressions()}; for other dialects this strategy
+ * falls back to {@link TemporaryTableBulkIdStrategy} or, when the dialect does not support temporary tables
+ * either, to {@link PersistentTableBulkIdStrategy}.
+ */
+public class CteBulkIdStrategy implements MultiTableBulkIdStrategy {
+	public static final String SHORT_NAME = "cte";
+
+	private static final Logger log = Logger.getLogger( CteBulkIdStrategy.class );
+
+	private MultiTableBulkIdStrategy fallback;
+
+	@Override
+	public void prepare(JdbcServices jdbcServices, JdbcConnectionAccess connectionAccess, Mappings mappings, Mapping mapping, Map settings) {
+		final Dialect dialect = jdbcServices.getDialect();
+		if ( !dialect.supportsDataModifyingCommonTableExpressions() ) {
+			if ( dialect.supportsTemporaryTables() ) {
+				log.debugf(
+						"Dialect [%s] does not support data-modifying common table expressions; multi-table bulk operations will use temporary tables",
+						dialect
+				);
+				fallback = TemporaryTableBulkIdStrategy.INSTANCE;
+			}
+			else {
+				log.debugf(
+						"Dialect [%s] supports neither data-modifying common table expressions nor temporary tables; multi-table bulk operations will use persistent id tables",
+						dialect
+				);
+				fallback = new PersistentTableBulkIdStrategy();
+			}
+			fallback.prepare( jdbcServices, connectionAccess, mappings, mapping, settings );
+		}
+	}
+
+	@Override
+	public void release(JdbcServices jdbcServices, JdbcConnectionAccess connectionAccess) {
+		if ( fallback != null ) {
+			fallback.release( jdbcServices, connectionAccess );
+		}
+	}
+
+	@Override
+	public UpdateHandler buildUpdateHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		if ( fallback != null ) {
+			return fallback.buildUpdateHandler( factory, walker );
+		}
+		return new CteUpdateHandlerImpl( factory, walker );
+	}
+
+	@Override
+	public DeleteHandler buildDeleteHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		if ( fallback != null ) {
+			return fallback.buildDeleteHandler( factory, walker );
+		}
+		return new CteDeleteHandlerImpl( factory, walker );
+	}
+}
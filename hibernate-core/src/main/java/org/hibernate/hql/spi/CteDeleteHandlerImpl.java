@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.DeleteStatement;
+import org.hibernate.hql.internal.ast.tree.FromElement;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.Delete;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Handles a multi-table HQL bulk delete as a single statement using data-modifying common table expressions.
+ *
+ * @see CteBulkIdStrategy
+ */
+public class CteDeleteHandlerImpl
+		extends AbstractCteBulkIdHandler
+		implements MultiTableBulkIdStrategy.DeleteHandler {
+
+	private static final Logger log = Logger.getLogger( CteDeleteHandlerImpl.class );
+
+	private final Queryable targetedPersister;
+
+	private final String statement;
+	private final List<ParameterSpecification> parameterSpecifications;
+
+	public CteDeleteHandlerImpl(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		super( factory, walker );
+
+		DeleteStatement deleteStatement = ( DeleteStatement ) walker.getAST();
+		FromElement fromElement = deleteStatement.getFromClause().getFromElement();
+
+		this.targetedPersister = fromElement.getQueryable();
+		final String bulkTargetAlias = fromElement.getTableAlias();
+
+		final ProcessedWhereClause processedWhereClause = processWhereClause( deleteStatement.getWhereClause() );
+		this.parameterSpecifications = processedWhereClause.getIdSelectParameterSpecifications();
+		final String idSelect = generateIdSelect( targetedPersister, bulkTargetAlias, processedWhereClause ).toStatementString();
+
+		final String idSubselect = generateIdSubselect( targetedPersister );
+		final List<String> deletes = new ArrayList<String>();
+
+		// If many-to-many, delete the FK row in the collection table.
+		for ( Type type : targetedPersister.getPropertyTypes() ) {
+			if ( type.isCollectionType() ) {
+				CollectionType cType = (CollectionType) type;
+				AbstractCollectionPersister cPersister = (AbstractCollectionPersister) factory.getCollectionPersister( cType.getRole() );
+				if ( cPersister.isManyToMany() ) {
+					deletes.add( generateDelete( cPersister.getTableName(), cPersister.getKeyColumnNames(), idSubselect ) );
+				}
+			}
+		}
+
+		// all the deletes see the same snapshot and foreign keys are only checked at the end of the
+		// statement, so the constraint ordering of the tables does not matter here
+		String[] tableNames = targetedPersister.getConstraintOrderedTableNameClosure();
+		String[][] columnNames = targetedPersister.getContraintOrderedTableKeyColumnClosure();
+		for ( int i = 0; i < tableNames.length; i++ ) {
+			deletes.add( generateDelete( tableNames[i], columnNames[i], idSubselect ) );
+		}
+
+		this.statement = generateCteStatement( idSelect, deletes );
+		log.tracev( "Generated CTE SQL (multi-table delete) : {0}", statement );
+	}
+
+	private String generateDelete(String tableName, String[] columnNames, String idSubselect) {
+		return new Delete()
+				.setTableName( tableName )
+				.setWhere( idRestriction( columnNames, idSubselect ) )
+				.toStatementString();
+	}
+
+	@Override
+	public Queryable getTargetedQueryable() {
+		return targetedPersister;
+	}
+
+	@Override
+	public String[] getSqlStatements() {
+		return new String[] { statement };
+	}
+
+	@Override
+	public int execute(SessionImplementor session, QueryParameters queryParameters) {
+		return execute( statement, parameterSpecifications, session, queryParameters, "error performing bulk delete" );
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.AssignmentSpecification;
+import org.hibernate.hql.internal.ast.tree.FromElement;
+import org.hibernate.hql.internal.ast.tree.UpdateStatement;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.Update;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Handles a multi-table HQL bulk update as a single statement using data-modifying common table expressions.
+ *
+ * @see CteBulkIdStrategy
+ */
+public class CteUpdateHandlerImpl
+		extends AbstractCteBulkIdHandler
+		implements MultiTableBulkIdStrategy.UpdateHandler {
+
+	private static final Logger log = Logger.getLogger( CteUpdateHandlerImpl.class );
+
+	private final Queryable targetedPersister;
+
+	private final String statement;
+	private final List<ParameterSpecification> parameterSpecifications;
+
+	@SuppressWarnings("unchecked")
+	public CteUpdateHandlerImpl(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		super( factory, walker );
+
+		UpdateStatement updateStatement = ( UpdateStatement ) walker.getAST();
+		FromElement fromElement = updateStatement.getFromClause().getFromElement();
+
+		this.targetedPersister = fromElement.getQueryable();
+		final String bulkTargetAlias = fromElement.getTableAlias();
+
+		final ProcessedWhereClause processedWhereClause = processWhereClause( updateStatement.getWhereClause() );
+		final String idSelect = generateIdSelect( targetedPersister, bulkTargetAlias, processedWhereClause ).toStatementString();
+
+		// parameters are bound in the order they appear in the statement : first the id select
+		// restriction, then the assignments of each table update
+		this.parameterSpecifications = new ArrayList<ParameterSpecification>(
+				processedWhereClause.getIdSelectParameterSpecifications()
+		);
+
+		String[] tableNames = targetedPersister.getConstraintOrderedTableNameClosure();
+		String[][] columnNames = targetedPersister.getContraintOrderedTableKeyColumnClosure();
+		String idSubselect = generateIdSubselect( targetedPersister );
+
+		final List<AssignmentSpecification> assignmentSpecifications = walker.getAssignmentSpecifications();
+		final List<String> updates = new ArrayList<String>();
+		for ( int tableIndex = 0; tableIndex < tableNames.length; tableIndex++ ) {
+			boolean affected = false;
+			final List<ParameterSpecification> parameterList = new ArrayList<ParameterSpecification>();
+			final Update update = new Update( factory().getDialect() )
+					.setTableName( tableNames[tableIndex] )
+					.setWhere( idRestriction( columnNames[tableIndex], idSubselect ) );
+			for ( AssignmentSpecification assignmentSpecification : assignmentSpecifications ) {
+				if ( assignmentSpecification.affectsTable( tableNames[tableIndex] ) ) {
+					affected = true;
+					update.appendAssignmentFragment( assignmentSpecification.getSqlAssignmentFragment() );
+					if ( assignmentSpecification.getParameters() != null ) {
+						for ( ParameterSpecification parameter : assignmentSpecification.getParameters() ) {
+							parameterList.add( parameter );
+						}
+					}
+				}
+			}
+			if ( affected ) {
+				updates.add( update.toStatementString() );
+				parameterSpecifications.addAll( parameterList );
+			}
+		}
+
+		this.statement = generateCteStatement( idSelect, updates );
+		log.tracev( "Generated CTE SQL (multi-table update) : {0}", statement );
+	}
+
+	@Override
+	public Queryable getTargetedQueryable() {
+		return targetedPersister;
+	}
+
+	@Override
+	public String[] getSqlStatements() {
+		return new String[] { statement };
+	}
+
+	@Override
+	public int execute(SessionImplementor session, QueryParameters queryParameters) {
+		return execute( statement, parameterSpecifications, session, queryParameters, "error performing bulk update" );
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+
+/**
+ * Runs independent SessionFactory bootstrap tasks, such as building persisters or checking named queries,
+ * either on the calling thread or on a pool of worker threads.
+ * <p/>
+ * Error reporting does not depend on scheduling: when several tasks fail, the failure of the first one (in
+ * submission order) is thrown, which is the same failure serial execution would have hit first.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BOOTSTRAP_PARALLELISM
+ */
+final class BootstrapExecutor {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( BootstrapExecutor.class );
+
+	private final ExecutorService executorService;
+
+	BootstrapExecutor(int parallelism) {
+		if ( parallelism > 1 ) {
+			LOG.debugf( "Running SessionFactory bootstrap on %s threads", parallelism );
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+					parallelism,
+					parallelism,
+					1,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new BootstrapThreadFactory( Thread.currentThread().getContextClassLoader() )
+			);
+			// don't leave idle threads behind should bootstrap fail before shutdown()
+			executor.allowCoreThreadTimeOut( true );
+			this.executorService = executor;
+		}
+		else {
+			this.executorService = null;
+		}
+	}
+
+	/**
+	 * Run the tasks and return their results, in the order of the tasks.
+	 *
+	 * @param tasks The tasks to run
+	 *
+	 * @return The results of the tasks
+	 *
+	 * @throws HibernateException wrapping the failure of the first failed task if it threw a checked exception;
+	 * unchecked exceptions and errors are rethrown as is
+	 */
+	<T> List<T> invokeAll(List<Callable<T>> tasks) {
+		final List<T> results = new ArrayList<T>( tasks.size() );
+		if ( executorService == null ) {
+			for ( Callable<T> task : tasks ) {
+				try {
+					results.add( task.call() );
+				}
+				catch (Exception e) {
+					throw rethrow( e );
+				}
+			}
+			return results;
+		}
+
+		final List<Future<T>> futures;
+		try {
+			futures = executorService.invokeAll( tasks );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted during SessionFactory bootstrap", e );
+		}
+		for ( Future<T> future : futures ) {
+			try {
+				results.add( future.get() );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new HibernateException( "Interrupted during SessionFactory bootstrap", e );
+			}
+			catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if ( cause instanceof Error ) {
+					throw (Error) cause;
+				}
+				throw rethrow( (Exception) cause );
+			}
+		}
+		return results;
+	}
+
+	private static RuntimeException rethrow(Exception e) {
+		if ( e instanceof RuntimeException ) {
+			return (RuntimeException) e;
+		}
+		return new HibernateException( e );
+	}
+
+	void shutdown() {
+		if ( executorService != null ) {
+			executorService.shutdown();
+		}
+	}
+
+	private static class BootstrapThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+		private final ClassLoader contextClassLoader;
+
+		private BootstrapThreadFactory(ClassLoader contextClassLoader) {
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-bootstrap-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			thread.setContextClassLoader( contextClassLoader );
+			return thread;
+		}
+	}
+}
@@ -40,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import javax.naming.Reference;
@@ -105,6 +106,7 @@ import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.query.spi.ReturnMetadata;
 import org.hibernate.engine.query.spi.sql.NativeSQLQueryReturn;
 import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.AdaptiveBatchFetchSizing;
 import org.hibernate.engine.spi.CacheImplementor;
 import org.hibernate.engine.spi.FilterDefinition;
 import org.hibernate.engine.spi.NamedQueryDefinition;
@@ -206,6 +208,7 @@ public final class SessionFactoryImpl
 	private final transient SessionFactoryObserverChain observer = new SessionFactoryObserverChain();
 	private final transient ConcurrentMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<EntityNameResolver, Object>();
 	private final transient QueryPlanCache queryPlanCache;
+	private final transient AdaptiveBatchFetchSizing adaptiveBatchFetchSizing;
 	private final transient CacheImplementor cacheAccess;
 	private transient boolean isClosed;
 	private final transient TypeResolver typeResolver;
@@ -677,7 +680,7 @@ public final class SessionFactoryImpl
 
 	@SuppressWarnings( {"ThrowableResultOfMethodCallIgnored"})
 	public SessionFactoryImpl(
-			MetadataImplementor metadata,
+			final MetadataImplementor metadata,
 			SessionFactoryOptions providedSessionFactoryOptions) throws HibernateException {
 
 		final boolean traceEnabled = LOG.isTraceEnabled();
@@ -726,6 +729,7 @@ public final class SessionFactoryImpl
 			LOG.debugf( "Instantiating session factory with properties: %s", properties );
 		}
 		this.queryPlanCache = new QueryPlanCache( this );
+		this.adaptiveBatchFetchSizing = settings.isAdaptiveBatchFetchEnabled() ? new AdaptiveBatchFetchSizing() : null;
 
 		class IntegratorObserver implements SessionFactoryObserver {
 			private ArrayList<Integrator> integrators = new ArrayList<Integrator>();
@@ -771,122 +775,146 @@ public final class SessionFactoryImpl
 		Map<String, RegionAccessStrategy> entityAccessStrategies = new HashMap<String, RegionAccessStrategy>();
 		Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
 
-		final RegionFactory regionFactory = cacheAccess.getRegionFactory();
-		for ( EntityBinding model : metadata.getEntityBindings() ) {
-			// TODO: should temp table prep happen when metadata is being built?
-			//model.prepareTemporaryTables( metadata, getDialect() );
-
-			EntityRegionAccessStrategy accessStrategy = null;
-			NaturalIdRegionAccessStrategy naturalIdAccessStrategy = null;
-
-			if ( settings.isSecondLevelCacheEnabled() ) {
-				// caching is defined per hierarchy.. so only do this for the root of the hierarchy
-				if (  model.getSuperEntityBinding() == null ) {
-					if ( model.getHierarchyDetails().getCaching().getRequested() == TruthValue.TRUE ) {
-						String baseRegionName = model.getHierarchyDetails().getCaching().getRegion();
-						if ( baseRegionName == null ) {
-							baseRegionName = model.getEntityName();
-						}
-						final String cacheRegionName = StringHelper.makePath(
-								settings.getCacheRegionPrefix(),
-								baseRegionName
-						);
-						accessStrategy = EntityRegionAccessStrategy.class.cast( entityAccessStrategies.get( cacheRegionName ) );
-						if ( accessStrategy == null ) {
-							AccessType accessType = model.getHierarchyDetails().getCaching().getAccessType();
-							if ( accessType == null ) {
-								accessType = regionFactory.getDefaultAccessType();
-							}
-							if ( traceEnabled ) {
-								LOG.tracev( "Building cache for entity data [{0}]", model.getEntityName() );
+		// cache regions are set up serially, building the persisters themselves may be run in parallel
+		final BootstrapExecutor bootstrapExecutor = new BootstrapExecutor( settings.getBootstrapParallelism() );
+		try {
+			final PersisterFactory persisterFactory = serviceRegistry.getService( PersisterFactory.class );
+			final List<Callable<EntityPersister>> entityPersisterTasks = new ArrayList<Callable<EntityPersister>>();
+			final RegionFactory regionFactory = cacheAccess.getRegionFactory();
+			for ( final EntityBinding model : metadata.getEntityBindings() ) {
+				// TODO: should temp table prep happen when metadata is being built?
+				//model.prepareTemporaryTables( metadata, getDialect() );
+
+				EntityRegionAccessStrategy accessStrategy = null;
+				NaturalIdRegionAccessStrategy naturalIdAccessStrategy = null;
+
+				if ( settings.isSecondLevelCacheEnabled() ) {
+					// caching is defined per hierarchy.. so only do this for the root of the hierarchy
+					if (  model.getSuperEntityBinding() == null ) {
+						if ( model.getHierarchyDetails().getCaching().getRequested() == TruthValue.TRUE ) {
+							String baseRegionName = model.getHierarchyDetails().getCaching().getRegion();
+							if ( baseRegionName == null ) {
+								baseRegionName = model.getEntityName();
 							}
-							EntityRegion entityRegion = regionFactory.buildEntityRegion(
-									cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
+							final String cacheRegionName = StringHelper.makePath(
+									settings.getCacheRegionPrefix(),
+									baseRegionName
 							);
-							accessStrategy = entityRegion.buildAccessStrategy( accessType );
-							entityAccessStrategies.put( cacheRegionName, accessStrategy );
-							cacheAccess.addCacheRegion( cacheRegionName, entityRegion );
-						}
-					}
-
-					if (  model.getHierarchyDetails().getNaturalIdCaching().getRequested() == TruthValue.TRUE ) {
-						String baseRegionName = model.getHierarchyDetails().getNaturalIdCaching().getRegion();
-						if ( StringHelper.isEmpty( baseRegionName ) ) {
-							baseRegionName = model.getEntityName() + "##NaturalId";
-						}
-						final String naturalIdCacheRegionName = StringHelper.makePath(
-								settings.getCacheRegionPrefix(),
-								baseRegionName
-						);
-						naturalIdAccessStrategy = (NaturalIdRegionAccessStrategy) entityAccessStrategies.get(
-								naturalIdCacheRegionName
-						);
-						if ( naturalIdAccessStrategy == null ) {
-							final CacheDataDescriptionImpl naturalIdCacheDataDescription = CacheDataDescriptionImpl.decode( model );
-							NaturalIdRegion naturalIdRegion = null;
-							try {
-								naturalIdRegion = regionFactory.buildNaturalIdRegion(
-										naturalIdCacheRegionName,
-										properties,
-										naturalIdCacheDataDescription
+							accessStrategy = EntityRegionAccessStrategy.class.cast( entityAccessStrategies.get( cacheRegionName ) );
+							if ( accessStrategy == null ) {
+								AccessType accessType = model.getHierarchyDetails().getCaching().getAccessType();
+								if ( accessType == null ) {
+									accessType = regionFactory.getDefaultAccessType();
+								}
+								if ( traceEnabled ) {
+									LOG.tracev( "Building cache for entity data [{0}]", model.getEntityName() );
+								}
+								EntityRegion entityRegion = regionFactory.buildEntityRegion(
+										cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
 								);
+								accessStrategy = entityRegion.buildAccessStrategy( accessType );
+								entityAccessStrategies.put( cacheRegionName, accessStrategy );
+								cacheAccess.addCacheRegion( cacheRegionName, entityRegion );
 							}
-							catch ( UnsupportedOperationException e ) {
-								LOG.warnf(
-										"Shared cache region factory [%s] does not support natural id caching; " +
-												"shared NaturalId caching will be disabled for not be enabled for %s",
-										regionFactory.getClass().getName(),
-										model.getEntityName()
-								);
+						}
+
+						if (  model.getHierarchyDetails().getNaturalIdCaching().getRequested() == TruthValue.TRUE ) {
+							String baseRegionName = model.getHierarchyDetails().getNaturalIdCaching().getRegion();
+							if ( StringHelper.isEmpty( baseRegionName ) ) {
+								baseRegionName = model.getEntityName() + "##NaturalId";
 							}
-							if ( naturalIdRegion != null ) {
-								naturalIdAccessStrategy = naturalIdRegion.buildAccessStrategy( regionFactory.getDefaultAccessType() );
-								entityAccessStrategies.put( naturalIdCacheRegionName, naturalIdAccessStrategy );
-								cacheAccess.addCacheRegion( naturalIdCacheRegionName, naturalIdRegion );
+							final String naturalIdCacheRegionName = StringHelper.makePath(
+									settings.getCacheRegionPrefix(),
+									baseRegionName
+							);
+							naturalIdAccessStrategy = (NaturalIdRegionAccessStrategy) entityAccessStrategies.get(
+									naturalIdCacheRegionName
+							);
+							if ( naturalIdAccessStrategy == null ) {
+								final CacheDataDescriptionImpl naturalIdCacheDataDescription = CacheDataDescriptionImpl.decode( model );
+								NaturalIdRegion naturalIdRegion = null;
+								try {
+									naturalIdRegion = regionFactory.buildNaturalIdRegion(
+											naturalIdCacheRegionName,
+											properties,
+											naturalIdCacheDataDescription
+									);
+								}
+								catch ( UnsupportedOperationException e ) {
+									LOG.warnf(
+											"Shared cache region factory [%s] does not support natural id caching; " +
+													"shared NaturalId caching will be disabled for not be enabled for %s",
+											regionFactory.getClass().getName(),
+											model.getEntityName()
+									);
+								}
+								if ( naturalIdRegion != null ) {
+									naturalIdAccessStrategy = naturalIdRegion.buildAccessStrategy( regionFactory.getDefaultAccessType() );
+									entityAccessStrategies.put( naturalIdCacheRegionName, naturalIdAccessStrategy );
+									cacheAccess.addCacheRegion( naturalIdCacheRegionName, naturalIdRegion );
+								}
 							}
 						}
 					}
 				}
-			}
 
-			EntityPersister cp = serviceRegistry.getService( PersisterFactory.class ).createEntityPersister(
-					model, accessStrategy, naturalIdAccessStrategy, this, metadata
-			);
-			entityPersisters.put( model.getEntityName(), cp );
-			classMeta.put( model.getEntityName(), cp.getClassMetadata() );
-		}
-		this.classMetadata = Collections.unmodifiableMap(classMeta);
-
-		Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
-		collectionPersisters = new HashMap<String,CollectionPersister>();
-		Map<String, CollectionMetadata> tmpCollectionMetadata = new HashMap<String, CollectionMetadata>();
-		for ( PluralAttributeBinding model : metadata.getCollectionBindings() ) {
-			if ( model.getAttribute() == null ) {
-				throw new IllegalStateException( "No attribute defined for a AbstractPluralAttributeBinding: " +  model );
-			}
-			if ( model.getAttribute().isSingular() ) {
-				throw new IllegalStateException(
-						"AbstractPluralAttributeBinding has a Singular attribute defined: " + model.getAttribute().getName()
+				final EntityRegionAccessStrategy entityAccessStrategy = accessStrategy;
+				final NaturalIdRegionAccessStrategy entityNaturalIdAccessStrategy = naturalIdAccessStrategy;
+				entityPersisterTasks.add(
+						new Callable<EntityPersister>() {
+							@Override
+							public EntityPersister call() {
+								return persisterFactory.createEntityPersister(
+										model, entityAccessStrategy, entityNaturalIdAccessStrategy, SessionFactoryImpl.this, metadata
+								);
+							}
+						}
 				);
 			}
-			CollectionRegionAccessStrategy accessStrategy = null;
-			if ( settings.isSecondLevelCacheEnabled()
-					&& model.getCaching().getRequested() == TruthValue.TRUE ) {
-				String baseRegionName = model.getCaching().getRegion();
-				if ( baseRegionName == null ) {
-					baseRegionName = model.getAttributePath().getFullPath();
+			for ( EntityPersister cp : bootstrapExecutor.invokeAll( entityPersisterTasks ) ) {
+				entityPersisters.put( cp.getEntityName(), cp );
+				classMeta.put( cp.getEntityName(), cp.getClassMetadata() );
+			}
+			this.classMetadata = Collections.unmodifiableMap(classMeta);
+
+			Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
+			collectionPersisters = new HashMap<String,CollectionPersister>();
+			Map<String, CollectionMetadata> tmpCollectionMetadata = new HashMap<String, CollectionMetadata>();
+			final List<Callable<CollectionPersister>> collectionPersisterTasks = new ArrayList<Callable<CollectionPersister>>();
+			for ( final PluralAttributeBinding model : metadata.getCollectionBindings() ) {
+				if ( model.getAttribute() == null ) {
+					throw new IllegalStateException( "No attribute defined for a AbstractPluralAttributeBinding: " +  model );
 				}
-				final String cacheRegionName = StringHelper.makePath(
-						settings.getCacheRegionPrefix(),
-						baseRegionName
-				);
-				AccessType accessType = model.getCaching().getAccessType();
-				if ( accessType == null ) {
-					accessType = regionFactory.getDefaultAccessType();
+				if ( model.getAttribute().isSingular() ) {
+					throw new IllegalStateException(
+							"AbstractPluralAttributeBinding has a Singular attribute defined: " + model.getAttribute().getName()
+					);
 				}
-				if ( accessType != null ) {
-					if ( traceEnabled ) {
-						LOG.tracev( "Building cache for collection data [{0}]", model.getAttribute().getRole() );
+				CollectionRegionAccessStrategy accessStrategy = null;
+				if ( settings.isSecondLevelCacheEnabled()
+						&& model.getCaching().getRequested() == TruthValue.TRUE ) {
+					String baseRegionName = model.getCaching().getRegion();
+					if ( baseRegionName == null ) {
+						baseRegionName = model.getAttributePath().getFullPath();
+					}
+					final String cacheRegionName = StringHelper.makePath(
+							settings.getCacheRegionPrefix(),
+							baseRegionName
+					);
+					AccessType accessType = model.getCaching().getAccessType();
+					if ( accessType == null ) {
+						accessType = regionFactory.getDefaultAccessType();
+					}
+					if ( accessType != null ) {
+						if ( traceEnabled ) {
+							LOG.tracev( "Building cache for collection data [{0}]", model.getAttribute().getRole() );
+						}
+						CollectionRegion collectionRegion = regionFactory.buildCollectionRegion(
+								cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
+						);
+						accessStrategy = collectionRegion.buildAccessStrategy( accessType );
+						entityAccessStrategies.put( cacheRegionName, accessStrategy );
+						cacheAccess.addCacheRegion( cacheRegionName, collectionRegion );
 					}
 					CollectionRegion collectionRegion = regionFactory.buildCollectionRegion(
 							cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
@@ -895,140 +923,143 @@ public final class SessionFactoryImpl
 					entityAccessStrategies.put( cacheRegionName, accessStrategy );
 					cacheAccess.addCacheRegion( cacheRegionName, collectionRegion );
 				}
-				CollectionRegion collectionRegion = regionFactory.buildCollectionRegion(
-						cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
+				final CollectionRegionAccessStrategy collectionAccessStrategy = accessStrategy;
+				collectionPersisterTasks.add(
+						new Callable<CollectionPersister>() {
+							@Override
+							public CollectionPersister call() {
+								return persisterFactory.createCollectionPersister(
+										metadata, model, collectionAccessStrategy, SessionFactoryImpl.this
+								);
+							}
+						}
 				);
-				accessStrategy = collectionRegion.buildAccessStrategy( accessType );
-				entityAccessStrategies.put( cacheRegionName, accessStrategy );
-				cacheAccess.addCacheRegion( cacheRegionName, collectionRegion );
 			}
-			CollectionPersister persister = serviceRegistry
-					.getService( PersisterFactory.class )
-					.createCollectionPersister( metadata, model, accessStrategy, this );
-			collectionPersisters.put( model.getAttribute().getRole(), persister );
-			tmpCollectionMetadata.put( model.getAttribute().getRole(), persister.getCollectionMetadata() );
-			Type indexType = persister.getIndexType();
-			if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
-				String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
-				Set<String> roles = tmpEntityToCollectionRoleMap.get( entityName );
-				if ( roles == null ) {
-					roles = new HashSet<String>();
-					tmpEntityToCollectionRoleMap.put( entityName, roles );
+			for ( CollectionPersister persister : bootstrapExecutor.invokeAll( collectionPersisterTasks ) ) {
+				collectionPersisters.put( persister.getRole(), persister );
+				tmpCollectionMetadata.put( persister.getRole(), persister.getCollectionMetadata() );
+				Type indexType = persister.getIndexType();
+				if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
+					String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
+					Set<String> roles = tmpEntityToCollectionRoleMap.get( entityName );
+					if ( roles == null ) {
+						roles = new HashSet<String>();
+						tmpEntityToCollectionRoleMap.put( entityName, roles );
+					}
+					roles.add( persister.getRole() );
 				}
-				roles.add( persister.getRole() );
-			}
-			Type elementType = persister.getElementType();
-			if ( elementType.isAssociationType() && !elementType.isAnyType() ) {
-				String entityName = ( ( AssociationType ) elementType ).getAssociatedEntityName( this );
-				Set<String> roles = tmpEntityToCollectionRoleMap.get( entityName );
-				if ( roles == null ) {
-					roles = new HashSet<String>();
-					tmpEntityToCollectionRoleMap.put( entityName, roles );
+				Type elementType = persister.getElementType();
+				if ( elementType.isAssociationType() && !elementType.isAnyType() ) {
+					String entityName = ( ( AssociationType ) elementType ).getAssociatedEntityName( this );
+					Set<String> roles = tmpEntityToCollectionRoleMap.get( entityName );
+					if ( roles == null ) {
+						roles = new HashSet<String>();
+						tmpEntityToCollectionRoleMap.put( entityName, roles );
+					}
+					roles.add( persister.getRole() );
 				}
-				roles.add( persister.getRole() );
 			}
-		}
-		collectionMetadata = Collections.unmodifiableMap( tmpCollectionMetadata );
-		for ( Map.Entry<String, Set<String>> entry : tmpEntityToCollectionRoleMap.entrySet() ) {
-			entry.setValue( Collections.unmodifiableSet( entry.getValue() ) );
-		}
-		collectionRolesByEntityParticipant = Collections.unmodifiableMap( tmpEntityToCollectionRoleMap );
-
-
-		//Named Queries:
-		namedQueryRepository = new NamedQueryRepository(
-				metadata.getNamedQueryDefinitions(),
-				metadata.getNamedNativeQueryDefinitions(),
-				metadata.getResultSetMappingDefinitions().values(),
-				toProcedureCallMementos(
-						metadata.getNamedStoredProcedureQueryDefinitions(),
-						metadata.getResultSetMappingDefinitions()
-				)
-		);
-
-		imports = new HashMap<String,String>();
-		for ( Map.Entry<String,String> importEntry : metadata.getImports().entrySet() ) {
-			imports.put( importEntry.getKey(), importEntry.getValue() );
-		}
+			collectionMetadata = Collections.unmodifiableMap( tmpCollectionMetadata );
+			for ( Map.Entry<String, Set<String>> entry : tmpEntityToCollectionRoleMap.entrySet() ) {
+				entry.setValue( Collections.unmodifiableSet( entry.getValue() ) );
+			}
+			collectionRolesByEntityParticipant = Collections.unmodifiableMap( tmpEntityToCollectionRoleMap );
+
+
+			//Named Queries:
+			namedQueryRepository = new NamedQueryRepository(
+					metadata.getNamedQueryDefinitions(),
+					metadata.getNamedNativeQueryDefinitions(),
+					metadata.getResultSetMappingDefinitions().values(),
+					toProcedureCallMementos(
+							metadata.getNamedStoredProcedureQueryDefinitions(),
+							metadata.getResultSetMappingDefinitions()
+					)
+			);
 
-		// after *all* persisters and named queries are registered
-		for ( EntityPersister persister : entityPersisters.values() ) {
-			persister.generateEntityDefinition();
-		}
+			imports = new HashMap<String,String>();
+			for ( Map.Entry<String,String> importEntry : metadata.getImports().entrySet() ) {
+				imports.put( importEntry.getKey(), importEntry.getValue() );
+			}
 
-		for ( EntityPersister persister : entityPersisters.values() ) {
-			persister.postInstantiate();
-			registerEntityNameResolvers( persister );
-		}
+			// after *all* persisters and named queries are registered
+			for ( EntityPersister persister : entityPersisters.values() ) {
+				persister.generateEntityDefinition();
+			}
 
-		if ( sessionFactoryOptions.getEntityNameResolvers() != null ) {
-			for ( EntityNameResolver resolver : sessionFactoryOptions.getEntityNameResolvers() ) {
-				registerEntityNameResolver( resolver );
+			postInstantiate( entityPersisters.values(), collectionPersisters.values(), bootstrapExecutor );
+			for ( EntityPersister persister : entityPersisters.values() ) {
+				registerEntityNameResolvers( persister );
 			}
-		}
 
-		for ( CollectionPersister persister : collectionPersisters.values() ) {
-			persister.postInstantiate();
-		}
+			if ( sessionFactoryOptions.getEntityNameResolvers() != null ) {
+				for ( EntityNameResolver resolver : sessionFactoryOptions.getEntityNameResolvers() ) {
+					registerEntityNameResolver( resolver );
+				}
+			}
 
-		//JNDI + Serialization:
+			//JNDI + Serialization:
 
-		name = settings.getSessionFactoryName();
-		try {
-			uuid = (String) UUID_GENERATOR.generate(null, null);
-		}
-		catch (Exception e) {
-			throw new AssertionFailure("Could not generate UUID");
-		}
+			name = settings.getSessionFactoryName();
+			try {
+				uuid = (String) UUID_GENERATOR.generate(null, null);
+			}
+			catch (Exception e) {
+				throw new AssertionFailure("Could not generate UUID");
+			}
 
-		if ( debugEnabled ) {
-			LOG.debug("Instantiated session factory");
-		}
+			if ( debugEnabled ) {
+				LOG.debug("Instantiated session factory");
+			}
 
-		// TODO: FIX this
-		//settings.getMultiTableBulkIdStrategy().prepare(
-		//		jdbcServices,
-		//		buildLocalConnectionAccess(),
-		//		mapp,
-		//		metadata,
-		//		properties
-		//);
+			// TODO: FIX this
+			//settings.getMultiTableBulkIdStrategy().prepare(
+			//		jdbcServices,
+			//		buildLocalConnectionAccess(),
+			//		mapp,
+			//		metadata,
+			//		properties
+			//);
 
 
-		if ( settings.isAutoCreateSchema() ) {
-			new SchemaExport( metadata )
-					.setImportSqlCommandExtractor( serviceRegistry.getService( ImportSqlCommandExtractor.class ) )
-					.create( false, true );
-		}
+			if ( settings.isAutoCreateSchema() ) {
+				new SchemaExport( metadata )
+						.setImportSqlCommandExtractor( serviceRegistry.getService( ImportSqlCommandExtractor.class ) )
+						.create( false, true );
+			}
 
-		// TODO: implement these for new metamodel
-		//if ( settings.isAutoUpdateSchema() ) {
-		//	new SchemaUpdate( metadata ).execute( false, true );
-		//}
-		//if ( settings.isAutoValidateSchema() ) {
-		//	new SchemaValidator( metadata ).validate();
-		//}
-		if ( settings.isAutoDropSchema() ) {
-			schemaExport = new SchemaExport( metadata )
-					.setImportSqlCommandExtractor( serviceRegistry.getService( ImportSqlCommandExtractor.class ) );
-		}
+			// TODO: implement these for new metamodel
+			//if ( settings.isAutoUpdateSchema() ) {
+			//	new SchemaUpdate( metadata ).execute( false, true );
+			//}
+			//if ( settings.isAutoValidateSchema() ) {
+			//	new SchemaValidator( metadata ).validate();
+			//}
+			if ( settings.isAutoDropSchema() ) {
+				schemaExport = new SchemaExport( metadata )
+						.setImportSqlCommandExtractor( serviceRegistry.getService( ImportSqlCommandExtractor.class ) );
+			}
 
-		currentSessionContext = buildCurrentSessionContext();
-
-		//checking for named queries
-		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			final Map<String,HibernateException> errors = checkNamedQueries();
-			if ( ! errors.isEmpty() ) {
-				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
-				String sep = "";
-				for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
-					LOG.namedQueryError( entry.getKey(), entry.getValue() );
-					failingQueries.append( entry.getKey() ).append( sep );
-					sep = ", ";
+			currentSessionContext = buildCurrentSessionContext();
+
+			//checking for named queries
+			if ( settings.isNamedQueryStartupCheckingEnabled() ) {
+				final Map<String,HibernateException> errors = checkNamedQueries( bootstrapExecutor );
+				if ( ! errors.isEmpty() ) {
+					StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
+					String sep = "";
+					for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
+						LOG.namedQueryError( entry.getKey(), entry.getValue() );
+						failingQueries.append( entry.getKey() ).append( sep );
+						sep = ", ";
+					}
+					throw new HibernateException( failingQueries.toString() );
 				}
-				throw new HibernateException( failingQueries.toString() );
 			}
 		}
+		finally {
+			bootstrapExecutor.shutdown();
+		}
 
 		// this needs to happen after persisters are all ready to go...
 		this.fetchProfiles = new HashMap<String,FetchProfile>();
@@ -1298,8 +1329,49 @@ public final class SessionFactoryImpl
 		return queryPlanCache;
 	}
 
-	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
+	@Override
+	public AdaptiveBatchFetchSizing getAdaptiveBatchFetchSizing() {
+		return adaptiveBatchFetchSizing;
+	}
+
+	private Map<String,HibernateException> checkNamedQueries(BootstrapExecutor bootstrapExecutor) throws HibernateException {
+		return namedQueryRepository.checkNamedQueries( queryPlanCache, bootstrapExecutor );
+	}
+
+	/**
+	 * Initialize all entity persisters, then all collection persisters, possibly in parallel.
+	 */
+	private static void postInstantiate(
+			Collection<EntityPersister> entityPersisters,
+			Collection<CollectionPersister> collectionPersisters,
+			BootstrapExecutor bootstrapExecutor) {
+		final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>( entityPersisters.size() );
+		for ( final EntityPersister persister : entityPersisters ) {
+			tasks.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
+		}
+		bootstrapExecutor.invokeAll( tasks );
+
+		tasks.clear();
+		for ( final CollectionPersister persister : collectionPersisters ) {
+			tasks.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
+		}
+		bootstrapExecutor.invokeAll( tasks );
 	}
 
 	public EntityPersister getEntityPersister(String entityName) throws MappingException {
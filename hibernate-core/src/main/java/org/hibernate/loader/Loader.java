@@ -917,7 +917,9 @@ public abstract class Loader {
 // that I could do the control breaking at the means to know when to stop
 
 		try {
-			return processResultSet( rs, queryParameters, session, returnProxies, forcedResultTransformer, maxRows, afterLoadActions );
+			final List results = processResultSet( rs, queryParameters, session, returnProxies, forcedResultTransformer, maxRows, afterLoadActions );
+			session.getTransactionCoordinator().getJdbcCoordinator().registerFetchedRows( st, results.size() );
+			return results;
 		}
 		finally {
 			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
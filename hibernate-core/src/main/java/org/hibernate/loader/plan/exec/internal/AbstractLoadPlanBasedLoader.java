@@ -150,6 +150,10 @@ public abstract class AbstractLoadPlanBasedLoader {
 						forcedResultTransformer,
 						afterLoadActions
 				);
+				session.getTransactionCoordinator().getJdbcCoordinator().registerFetchedRows(
+						wrapper.getStatement(),
+						results.size()
+				);
 			}
 			finally {
 				if ( wrapper != null ) {
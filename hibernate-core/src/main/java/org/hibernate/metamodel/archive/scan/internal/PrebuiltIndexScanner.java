@@ -0,0 +1,251 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.metamodel.archive.scan.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.metamodel.archive.internal.UrlInputStreamAccess;
+import org.hibernate.metamodel.archive.scan.spi.ScanEnvironment;
+import org.hibernate.metamodel.archive.scan.spi.ScanOptions;
+import org.hibernate.metamodel.archive.scan.spi.ScanParameters;
+import org.hibernate.metamodel.archive.scan.spi.ScanResult;
+import org.hibernate.metamodel.archive.scan.spi.Scanner;
+import org.hibernate.metamodel.archive.spi.InputStreamAccess;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+import org.jboss.logging.Logger;
+
+/**
+ * Scanner implementation working from Jandex indexes built ahead of time and packaged as
+ * {@value #INDEX_NAME} in each of the scanned archives.  Classes and packages are discovered from
+ * the index rather than by walking the archive, and the class files are never read.
+ * <p/>
+ * Mapping files cannot be discovered from an index; {@code META-INF/orm.xml} and the explicitly
+ * listed mapping files are looked up directly in each archive instead.  Hence this scanner should
+ * not be used if hbm.xml files need to be detected.
+ */
+public class PrebuiltIndexScanner implements Scanner {
+	private static final Logger log = Logger.getLogger( PrebuiltIndexScanner.class );
+
+	/**
+	 * The location of the index within an archive, as written by the Jandex tooling.
+	 */
+	public static final String INDEX_NAME = "META-INF/jandex.idx";
+
+	private static final String ORM_XML = "META-INF/orm.xml";
+	private static final String PACKAGE_INFO_SUFFIX = ".package-info";
+
+	private final List<IndexedArchive> archives;
+	private final IndexView indexView;
+
+	private PrebuiltIndexScanner(List<IndexedArchive> archives) {
+		this.archives = archives;
+
+		final List<IndexView> indexes = new ArrayList<IndexView>( archives.size() );
+		for ( IndexedArchive archive : archives ) {
+			indexes.add( archive.index );
+		}
+		this.indexView = indexes.size() == 1 ? indexes.get( 0 ) : CompositeIndex.create( indexes );
+	}
+
+	/**
+	 * Locate the prebuilt indexes for the archives making up the scan environment.
+	 *
+	 * @param environment The scan environment
+	 *
+	 * @return The scanner, or {@code null} if any of the archives does not contain a prebuilt index
+	 */
+	public static PrebuiltIndexScanner locate(ScanEnvironment environment) {
+		final List<IndexedArchive> archives = new ArrayList<IndexedArchive>();
+		if ( environment.getRootUrl() != null ) {
+			final IndexedArchive archive = IndexedArchive.locate( environment.getRootUrl(), true );
+			if ( archive == null ) {
+				return null;
+			}
+			archives.add( archive );
+		}
+		if ( environment.getNonRootUrls() != null ) {
+			for ( URL nonRootUrl : environment.getNonRootUrls() ) {
+				final IndexedArchive archive = IndexedArchive.locate( nonRootUrl, false );
+				if ( archive == null ) {
+					return null;
+				}
+				archives.add( archive );
+			}
+		}
+		if ( archives.isEmpty() ) {
+			return null;
+		}
+		return new PrebuiltIndexScanner( archives );
+	}
+
+	/**
+	 * The prebuilt indexes of all scanned archives, as one view.
+	 *
+	 * @return The index view
+	 */
+	public IndexView getIndexView() {
+		return indexView;
+	}
+
+	@Override
+	public ScanResult scan(ScanEnvironment environment, ScanOptions options, ScanParameters params) {
+		final ScanResultCollector collector = new ScanResultCollector( environment, options, params );
+
+		final Set<String> mappingFileNames = new LinkedHashSet<String>();
+		mappingFileNames.add( ORM_XML );
+		mappingFileNames.addAll( environment.getExplicitlyListedMappingFiles() );
+
+		for ( IndexedArchive archive : archives ) {
+			for ( ClassInfo classInfo : archive.index.getKnownClasses() ) {
+				final String name = classInfo.name().toString();
+				final InputStreamAccess streamAccess = new UrlInputStreamAccess(
+						archive.entryUrl( name.replace( '.', '/' ) + ".class" )
+				);
+				if ( name.endsWith( PACKAGE_INFO_SUFFIX ) ) {
+					final String packageName = name.substring( 0, name.length() - PACKAGE_INFO_SUFFIX.length() );
+					collector.handlePackage( new PackageDescriptorImpl( packageName, streamAccess ), archive.root );
+				}
+				else {
+					collector.handleClass( new ClassDescriptorImpl( name, streamAccess ), archive.root );
+				}
+			}
+
+			for ( String mappingFileName : mappingFileNames ) {
+				final URL mappingFileUrl = archive.entryUrl( mappingFileName );
+				if ( exists( mappingFileUrl ) ) {
+					collector.handleMappingFile(
+							new MappingFileDescriptorImpl( mappingFileName, new UrlInputStreamAccess( mappingFileUrl ) ),
+							archive.root
+					);
+				}
+			}
+		}
+
+		return collector.toScanResult();
+	}
+
+	private static boolean exists(URL url) {
+		if ( url == null ) {
+			return false;
+		}
+		try {
+			url.openStream().close();
+			return true;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static class IndexedArchive {
+		private final URL url;
+		private final File directory;
+		private final boolean root;
+		private Index index;
+
+		private IndexedArchive(URL url, File directory, boolean root) {
+			this.url = url;
+			this.directory = directory;
+			this.root = root;
+		}
+
+		private static IndexedArchive locate(URL url, boolean root) {
+			File directory = null;
+			if ( "file".equals( url.getProtocol() ) ) {
+				try {
+					final File file = new File( url.toURI() );
+					if ( file.isDirectory() ) {
+						directory = file;
+					}
+				}
+				catch (URISyntaxException e) {
+					log.debugf( "Unable to resolve archive url %s, scanning it", url );
+					return null;
+				}
+			}
+			else if ( !"jar".equals( url.getProtocol() ) ) {
+				log.debugf( "Prebuilt index lookup not supported for archive url %s, scanning it", url );
+				return null;
+			}
+
+			final IndexedArchive archive = new IndexedArchive( url, directory, root );
+			final URL indexUrl = archive.entryUrl( INDEX_NAME );
+			if ( !exists( indexUrl ) ) {
+				log.debugf( "No prebuilt index found in archive %s, scanning it", url );
+				return null;
+			}
+			try {
+				final InputStream stream = indexUrl.openStream();
+				try {
+					archive.index = new IndexReader( stream ).read();
+				}
+				finally {
+					stream.close();
+				}
+			}
+			catch (Exception e) {
+				log.debugf( e, "Unable to read prebuilt index %s, scanning archive instead", indexUrl );
+				return null;
+			}
+			log.debugf( "Using prebuilt index %s", indexUrl );
+			return archive;
+		}
+
+		private URL entryUrl(String entryName) {
+			try {
+				if ( directory != null ) {
+					return new File( directory, entryName ).toURI().toURL();
+				}
+				final String archiveUrl = url.toExternalForm();
+				if ( "jar".equals( url.getProtocol() ) ) {
+					if ( archiveUrl.endsWith( "!/" ) ) {
+						return new URL( archiveUrl + entryName );
+					}
+					else if ( archiveUrl.contains( "!/" ) ) {
+						return new URL( archiveUrl + '/' + entryName );
+					}
+					return new URL( archiveUrl + "!/" + entryName );
+				}
+				return new URL( "jar:" + archiveUrl + "!/" + entryName );
+			}
+			catch (IOException e) {
+				log.debugf( "Unable to build url for entry %s in archive %s", entryName, url );
+				return null;
+			}
+		}
+	}
+}
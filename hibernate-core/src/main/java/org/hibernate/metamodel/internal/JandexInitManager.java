@@ -26,6 +26,7 @@ package org.hibernate.metamodel.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,7 @@ import org.hibernate.metamodel.spi.ClassLoaderAccess;
 
 import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.CompositeIndex;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexView;
@@ -64,6 +66,10 @@ public class JandexInitManager implements JandexInitializer {
 	// supplied index
 	private final IndexView suppliedIndexView;
 
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// prebuilt index, only classes missing from it are indexed
+	private final IndexView prebuiltIndexView;
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// indexer
 	private final Indexer indexer;
@@ -75,8 +81,27 @@ public class JandexInitManager implements JandexInitializer {
 			IndexView suppliedIndexView,
 			ClassLoaderAccess classLoaderAccess,
 			boolean autoIndexMembers) {
+		this( suppliedIndexView, null, classLoaderAccess, autoIndexMembers );
+	}
+
+	/**
+	 * Builds an index on top of a prebuilt one.  Unlike a supplied index, the prebuilt index is not considered
+	 * complete: classes missing from it are still indexed, and the built index is the combination of both.
+	 *
+	 * @param suppliedIndexView The complete index to use as-is, if any
+	 * @param prebuiltIndexView The index of classes which need not be indexed again, if any.  Ignored if an
+	 * index is supplied.
+	 * @param classLoaderAccess Access to the classes to index
+	 * @param autoIndexMembers Should the types of class members automatically be added to the index?
+	 */
+	public JandexInitManager(
+			IndexView suppliedIndexView,
+			IndexView prebuiltIndexView,
+			ClassLoaderAccess classLoaderAccess,
+			boolean autoIndexMembers) {
 
 		this.suppliedIndexView = suppliedIndexView;
+		this.prebuiltIndexView = suppliedIndexView == null ? prebuiltIndexView : null;
 		this.classLoaderAccess = classLoaderAccess;
 		this.autoIndexMembers = autoIndexMembers;
 
@@ -126,9 +151,12 @@ public class JandexInitManager implements JandexInitializer {
 		if ( suppliedIndexView != null ) {
 			return suppliedIndexView.getClassByName( DotName.createSimple( classFileDescriptor.getName() ) );
 		}
-		else {
-			return index( classFileDescriptor );
+		final ClassInfo prebuiltClassInfo = locatePrebuilt( DotName.createSimple( classFileDescriptor.getName() ) );
+		if ( prebuiltClassInfo != null ) {
+			furtherProcess( prebuiltClassInfo );
+			return prebuiltClassInfo;
 		}
+		return index( classFileDescriptor );
 	}
 
 	private ClassInfo index(ClassDescriptor classDescriptor) {
@@ -200,6 +228,17 @@ public class JandexInitManager implements JandexInitializer {
 
 
 	public ClassInfo indexResource(String resourceName) {
+		if ( prebuiltIndexView != null && resourceName.endsWith( ".class" ) ) {
+			final ClassInfo prebuiltClassInfo = locatePrebuilt(
+					DotName.createSimple(
+							resourceName.substring( 0, resourceName.length() - ".class".length() ).replace( '/', '.' )
+					)
+			);
+			if ( prebuiltClassInfo != null ) {
+				return prebuiltClassInfo;
+			}
+		}
+
 		final URL resourceUrl = classLoaderAccess.locateResource( resourceName );
 
 		if ( resourceUrl == null ) {
@@ -230,9 +269,25 @@ public class JandexInitManager implements JandexInitializer {
 		if ( suppliedIndexView != null ) {
 			return suppliedIndexView.getClassByName( DotName.createSimple( packageInfoFileDescriptor.getName() ) );
 		}
-		else {
-			return index( packageInfoFileDescriptor );
+		final ClassInfo prebuiltClassInfo = locatePrebuilt( DotName.createSimple( packageInfoFileDescriptor.getName() ) );
+		if ( prebuiltClassInfo != null ) {
+			return prebuiltClassInfo;
 		}
+		return index( packageInfoFileDescriptor );
+	}
+
+	/**
+	 * Look the class up in the prebuilt index, marking it as known if found.
+	 */
+	private ClassInfo locatePrebuilt(DotName classDotName) {
+		if ( prebuiltIndexView == null ) {
+			return null;
+		}
+		final ClassInfo classInfo = prebuiltIndexView.getClassByName( classDotName );
+		if ( classInfo != null ) {
+			inflightClassInfoMap.put( classDotName, classInfo );
+		}
+		return classInfo;
 	}
 
 	private ClassInfo index(PackageDescriptor packageDescriptor) {
@@ -303,6 +358,10 @@ public class JandexInitManager implements JandexInitializer {
 				jandexIndex.printSubclasses();
 				jandexIndex.printAnnotations();
 			}
+			if ( prebuiltIndexView != null ) {
+				// the prebuilt classes were never handed to the indexer, so the two do not overlap
+				return CompositeIndex.create( Arrays.<IndexView>asList( prebuiltIndexView, jandexIndex ) );
+			}
 			return jandexIndex;
 		}
 	}
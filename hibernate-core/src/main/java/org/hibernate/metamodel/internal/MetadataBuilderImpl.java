@@ -23,6 +23,7 @@
  */
 package org.hibernate.metamodel.internal;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,6 +43,7 @@ import org.hibernate.cfg.EJB3NamingStrategy;
 import org.hibernate.cfg.NamingStrategy;
 import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.internal.util.StringHelper;
 import org.hibernate.metamodel.MetadataBuilder;
 import org.hibernate.metamodel.MetadataSources;
 import org.hibernate.metamodel.archive.scan.internal.StandardScanOptions;
@@ -302,6 +304,7 @@ public class MetadataBuilderImpl implements MetadataBuilder, TypeContributions {
 		private List<BasicType> basicTypeRegistrations = new ArrayList<BasicType>();
 
 		private IndexView jandexView;
+		private File metadataSnapshotFile;
 		private ClassLoader tempClassLoader;
 
 		private ScanOptions scanOptions;
@@ -342,6 +345,14 @@ public class MetadataBuilderImpl implements MetadataBuilder, TypeContributions {
 
 			jandexView = (IndexView) configService.getSettings().get( AvailableSettings.JANDEX_INDEX );
 
+			final Object snapshotSetting = configService.getSettings().get( AvailableSettings.METADATA_SNAPSHOT_FILE );
+			if ( snapshotSetting instanceof File ) {
+				metadataSnapshotFile = (File) snapshotSetting;
+			}
+			else if ( snapshotSetting != null && StringHelper.isNotEmpty( snapshotSetting.toString().trim() ) ) {
+				metadataSnapshotFile = new File( snapshotSetting.toString().trim() );
+			}
+
 			scanOptions = new StandardScanOptions(
 					(String) configService.getSettings().get( AvailableSettings.SCANNER_DISCOVERY ),
 					false
@@ -400,6 +411,11 @@ public class MetadataBuilderImpl implements MetadataBuilder, TypeContributions {
 			return jandexView;
 		}
 
+		@Override
+		public File getMetadataSnapshotFile() {
+			return metadataSnapshotFile;
+		}
+
 		@Override
 		public ScanOptions getScanOptions() {
 			return scanOptions;
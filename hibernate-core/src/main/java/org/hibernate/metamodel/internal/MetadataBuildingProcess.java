@@ -23,6 +23,7 @@
  */
 package org.hibernate.metamodel.internal;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
@@ -64,6 +65,7 @@ import org.hibernate.metamodel.MetadataSources;
 import org.hibernate.metamodel.NamedStoredProcedureQueryDefinition;
 import org.hibernate.metamodel.SessionFactoryBuilder;
 import org.hibernate.metamodel.archive.internal.StandardArchiveDescriptorFactory;
+import org.hibernate.metamodel.archive.scan.internal.PrebuiltIndexScanner;
 import org.hibernate.metamodel.archive.scan.internal.StandardScanner;
 import org.hibernate.metamodel.archive.scan.spi.ClassDescriptor;
 import org.hibernate.metamodel.archive.scan.spi.JandexInitializer;
@@ -131,6 +133,7 @@ import org.hibernate.usertype.CompositeUserType;
 import org.hibernate.usertype.UserType;
 import org.hibernate.xml.spi.BindResult;
 import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexView;
 import org.jboss.logging.Logger;
 
@@ -149,44 +152,7 @@ public class MetadataBuildingProcess {
 				options.getServiceRegistry()
 		);
 
-		final JandexInitManager jandexInitializer = buildJandexInitializer( options, classLoaderAccess );
-		
-		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
-		// scanning - Jandex initialization and source discovery
-		if ( options.getScanEnvironment() != null ) {
-			final Scanner scanner = buildScanner( options, classLoaderAccess );
-			final ScanResult scanResult = scanner.scan(
-					options.getScanEnvironment(),
-					options.getScanOptions(),
-					new ScanParameters() {
-						@Override
-						public JandexInitializer getJandexInitializer() {
-							return jandexInitializer;
-						}
-					}
-			);
-
-			// Add to the MetadataSources any classes/packages/mappings discovered during scanning
-			addScanResultsToSources( scanResult, sources );
-		}
-
-		// todo : add options.getScanEnvironment().getExplicitlyListedClassNames() to jandex?
-		//		^^ - another option is to make sure that they are added to sources
-
-		if ( !jandexInitializer.wasIndexSupplied() ) {
-			// If the Jandex Index(View) was supplied, we consider that supplied
-			// one "complete".
-			// Here though we were NOT supplied an index; in this case we want to
-			// additionally ensure that any-and-all "known" classes are added to
-			// the index we are building
-			sources.indexKnownClasses( jandexInitializer );
-		}
-		
-		// It's necessary to delay the binding of XML resources until now.  ClassLoaderAccess is needed for
-		// reflection, etc.
-		sources.buildBindResults( classLoaderAccess );
-
-		final IndexView jandexView = augmentJandexFromMappings( jandexInitializer.buildIndex(), sources, options );
+		final IndexView jandexView = resolveJandexView( sources, options, classLoaderAccess );
 
 		final BasicTypeRegistry basicTypeRegistry = handleTypes( options );
 
@@ -258,8 +224,109 @@ public class MetadataBuildingProcess {
 		return metadataCollector.buildMetadataInstance();
 	}
 
+	private static IndexView resolveJandexView(
+			MetadataSources sources,
+			MetadataBuildingOptions options,
+			ClassLoaderAccess classLoaderAccess) {
+		// a supplied index is used as-is, there is nothing to snapshot
+		final File snapshotFile = options.getJandexView() == null ? options.getMetadataSnapshotFile() : null;
+		if ( snapshotFile == null ) {
+			return buildJandexView( sources, options, classLoaderAccess );
+		}
+
+		// the snapshot replaces scanning, XML binding and indexing; the binding itself still happens
+		final ClassLoaderService classLoaderService = options.getServiceRegistry().getService( ClassLoaderService.class );
+		final String inputsHash = MetadataSnapshot.hashInputs( sources, options );
+		if ( inputsHash == null ) {
+			return buildJandexView( sources, options, classLoaderAccess );
+		}
+		final Index snapshot = MetadataSnapshot.read( snapshotFile, inputsHash, classLoaderService );
+		if ( snapshot != null ) {
+			return snapshot;
+		}
+
+		final IndexView jandexView = buildJandexView( sources, options, classLoaderAccess );
+		if ( jandexView instanceof Index ) {
+			MetadataSnapshot.write( snapshotFile, inputsHash, (Index) jandexView, sources, classLoaderService );
+		}
+		return jandexView;
+	}
+
+	private static IndexView buildJandexView(
+			MetadataSources sources,
+			final MetadataBuildingOptions options,
+			ClassLoaderAccess classLoaderAccess) {
+		final PrebuiltIndexScanner prebuiltIndexScanner = locatePrebuiltIndex( options );
+		final JandexInitManager jandexInitializer = buildJandexInitializer(
+				options,
+				prebuiltIndexScanner == null ? null : prebuiltIndexScanner.getIndexView(),
+				classLoaderAccess
+		);
+		
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// scanning - Jandex initialization and source discovery
+		if ( options.getScanEnvironment() != null ) {
+			final Scanner scanner;
+			if ( prebuiltIndexScanner != null && !options.getScanOptions().canDetectHibernateMappingFiles() ) {
+				scanner = prebuiltIndexScanner;
+			}
+			else {
+				// hbm.xml files can only be detected by walking the archives
+				scanner = buildScanner( options, classLoaderAccess );
+			}
+			final ScanResult scanResult = scanner.scan(
+					options.getScanEnvironment(),
+					options.getScanOptions(),
+					new ScanParameters() {
+						@Override
+						public JandexInitializer getJandexInitializer() {
+							return jandexInitializer;
+						}
+					}
+			);
+
+			// Add to the MetadataSources any classes/packages/mappings discovered during scanning
+			addScanResultsToSources( scanResult, sources );
+		}
+
+		// todo : add options.getScanEnvironment().getExplicitlyListedClassNames() to jandex?
+		//		^^ - another option is to make sure that they are added to sources
+
+		if ( !jandexInitializer.wasIndexSupplied() ) {
+			// If the Jandex Index(View) was supplied, we consider that supplied one "complete".
+			// Here though we were NOT supplied an index; in this case we want to
+			// additionally ensure that any-and-all "known" classes are added to
+			// the index we are building (a prebuilt index only spares indexing the
+			// classes it already contains)
+			sources.indexKnownClasses( jandexInitializer );
+		}
+		
+		// It's necessary to delay the binding of XML resources until now.  ClassLoaderAccess is needed for
+		// reflection, etc.
+		sources.buildBindResults( classLoaderAccess );
+
+		return augmentJandexFromMappings( jandexInitializer.buildIndex(), sources, options );
+	}
+
+	private static PrebuiltIndexScanner locatePrebuiltIndex(MetadataBuildingOptions options) {
+		if ( options.getJandexView() != null || options.getScanEnvironment() == null ) {
+			return null;
+		}
+		if ( options.getScanner() != null || options.getArchiveDescriptorFactory() != null ) {
+			// custom scanning, the archives may not be plain jars or directories
+			return null;
+		}
+		final boolean enabled = ConfigurationHelper.getBoolean(
+				org.hibernate.cfg.AvailableSettings.SCANNER_PREBUILT_INDEX,
+				options.getServiceRegistry().getService( ConfigurationService.class ).getSettings(),
+				false
+		);
+		return enabled ? PrebuiltIndexScanner.locate( options.getScanEnvironment() ) : null;
+	}
+
 	private static JandexInitManager buildJandexInitializer(
 			MetadataBuildingOptions options,
+			IndexView prebuiltIndexView,
 			ClassLoaderAccess classLoaderAccess) {
 		final boolean autoIndexMembers = ConfigurationHelper.getBoolean(
 				org.hibernate.cfg.AvailableSettings.ENABLE_AUTO_INDEX_MEMBER_TYPES,
@@ -267,7 +334,12 @@ public class MetadataBuildingProcess {
 				false
 		);
 
-		return new JandexInitManager( options.getJandexView(), classLoaderAccess, autoIndexMembers );
+		return new JandexInitManager(
+				options.getJandexView(),
+				prebuiltIndexView,
+				classLoaderAccess,
+				autoIndexMembers
+		);
 	}
 
 	private static final Class[] SINGLE_ARG = new Class[] { ArchiveDescriptorFactory.class };
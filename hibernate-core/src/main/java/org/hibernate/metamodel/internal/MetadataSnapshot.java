@@ -0,0 +1,422 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.metamodel.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Version;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.metamodel.MetadataSources;
+import org.hibernate.metamodel.archive.scan.spi.ScanEnvironment;
+import org.hibernate.metamodel.archive.scan.spi.ScanOptions;
+import org.hibernate.metamodel.spi.MetadataBuildingOptions;
+import org.hibernate.xml.spi.BindResult;
+import org.hibernate.xml.spi.Origin;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.logging.Logger;
+
+/**
+ * Reads and writes the boot model snapshot named by {@link AvailableSettings#METADATA_SNAPSHOT_FILE}.
+ * <p/>
+ * The snapshot is the Jandex index binding works from, i.e. the indexed classes with the XML mappings already
+ * unified into it.  It is stored together with two fingerprints:<ul>
+ *     <li>a hash of the inputs known before scanning: the explicitly listed classes, packages and mapping
+ *     files, the scan environment and options, the archives scanning visits, and the Hibernate version</li>
+ *     <li>a hash of the location of every class and mapping file the index was built from</li>
+ * </ul>
+ * The snapshot is only used if both still match.  Both fingerprints stay cheap to check, so that checking
+ * them costs far less than the scan they replace: files and jars are fingerprinted by path, size and
+ * modification time, never by content, and scanned directories by that of every file they contain.  Only
+ * resources which are not on the local file system are hashed by content.  Scanned archives which are not on
+ * the local file system cannot be fingerprinted; no snapshot is used for such deployments.
+ *
+ * @see MetadataBuildingProcess
+ */
+final class MetadataSnapshot {
+	private static final Logger log = Logger.getLogger( MetadataSnapshot.class );
+
+	private static final int MAGIC = 0x48424d53;
+	private static final int FORMAT_VERSION = 2;
+
+	private MetadataSnapshot() {
+	}
+
+	/**
+	 * Hash the inputs which are known before scanning and XML binding.
+	 *
+	 * @return The hash, or {@code null} if the inputs cannot be fingerprinted and no snapshot should be used
+	 */
+	static String hashInputs(MetadataSources sources, MetadataBuildingOptions options) {
+		final MessageDigest digest = newDigest();
+		update( digest, Version.getVersionString() );
+		update(
+				digest,
+				String.valueOf(
+						options.getServiceRegistry().getService( ConfigurationService.class ).getSettings()
+								.get( AvailableSettings.ENABLE_AUTO_INDEX_MEMBER_TYPES )
+				)
+		);
+		for ( Class<?> annotatedClass : sources.getAnnotatedClasses() ) {
+			update( digest, "class:" + annotatedClass.getName() );
+		}
+		for ( String annotatedClassName : sources.getAnnotatedClassNames() ) {
+			update( digest, "class:" + annotatedClassName );
+		}
+		for ( String annotatedPackage : sources.getAnnotatedPackages() ) {
+			update( digest, "package:" + annotatedPackage );
+		}
+		for ( BindResult bindResult : sources.getBindResultList() ) {
+			update( digest, "mapping:" + bindResult.getOrigin().getType() + ":" + bindResult.getOrigin().getName() );
+		}
+		final ScanEnvironment scanEnvironment = options.getScanEnvironment();
+		if ( scanEnvironment != null ) {
+			update( digest, "root:" + scanEnvironment.getRootUrl() );
+			update( digest, "non-root:" + scanEnvironment.getNonRootUrls() );
+			update( digest, "listed-classes:" + scanEnvironment.getExplicitlyListedClassNames() );
+			update( digest, "listed-mappings:" + scanEnvironment.getExplicitlyListedMappingFiles() );
+			final ScanOptions scanOptions = options.getScanOptions();
+			update(
+					digest,
+					"scan:" + scanOptions.canDetectUnlistedClassesInRoot()
+							+ scanOptions.canDetectUnlistedClassesInNonRoot()
+							+ scanOptions.canDetectHibernateMappingFiles()
+			);
+			// scanning may discover classes and mapping files nobody listed, so fingerprint what it visits
+			final List<URL> scannedUrls = new ArrayList<URL>();
+			if ( scanEnvironment.getRootUrl() != null ) {
+				scannedUrls.add( scanEnvironment.getRootUrl() );
+			}
+			if ( scanEnvironment.getNonRootUrls() != null ) {
+				scannedUrls.addAll( scanEnvironment.getNonRootUrls() );
+			}
+			for ( URL scannedUrl : scannedUrls ) {
+				if ( !updateArchive( digest, scannedUrl ) ) {
+					return null;
+				}
+			}
+		}
+		return toHex( digest.digest() );
+	}
+
+	private static boolean updateArchive(MessageDigest digest, URL url) {
+		final File file = toFile( url );
+		if ( file == null || !file.exists() ) {
+			log.debugf( "Unable to fingerprint scanned archive %s, not using a metadata snapshot", url );
+			return false;
+		}
+		update( digest, "archive:" + url );
+		try {
+			if ( file.isDirectory() ) {
+				updateDirectory( digest, file, "" );
+			}
+			else {
+				update( digest, fingerprint( file ) );
+			}
+			return true;
+		}
+		catch (IOException e) {
+			log.debugf( e, "Unable to fingerprint scanned archive %s, not using a metadata snapshot", url );
+			return false;
+		}
+	}
+
+	private static void updateDirectory(MessageDigest digest, File directory, String path) throws IOException {
+		final String[] names = directory.list();
+		if ( names == null ) {
+			throw new IOException( "Unable to list " + directory );
+		}
+		// the listing order is unspecified
+		Arrays.sort( names );
+		for ( String name : names ) {
+			final File child = new File( directory, name );
+			final String childPath = path + '/' + name;
+			if ( child.isDirectory() ) {
+				update( digest, childPath + "/" );
+				updateDirectory( digest, child, childPath );
+			}
+			else {
+				update( digest, childPath + ":" + child.length() + ":" + child.lastModified() );
+			}
+		}
+	}
+
+	/**
+	 * Resolve the local file behind a scanned URL, unwrapping {@code jar:} URLs.
+	 *
+	 * @return The file, or {@code null} if the URL does not point to the local file system
+	 */
+	private static File toFile(URL url) {
+		URL fileUrl = url;
+		if ( "jar".equals( url.getProtocol() ) ) {
+			final String spec = url.getFile();
+			final int separator = spec.indexOf( "!/" );
+			try {
+				fileUrl = new URL( separator == -1 ? spec : spec.substring( 0, separator ) );
+			}
+			catch (MalformedURLException e) {
+				return null;
+			}
+		}
+		if ( !"file".equals( fileUrl.getProtocol() ) ) {
+			return null;
+		}
+		try {
+			return new File( fileUrl.toURI() );
+		}
+		catch (URISyntaxException e) {
+			// unescaped (from the container), keep as is
+			return new File( fileUrl.getFile() );
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Read the snapshot.
+	 *
+	 * @return The snapshot index, or {@code null} if there is no usable snapshot
+	 */
+	static Index read(File file, String inputsHash, ClassLoaderService classLoaderService) {
+		if ( !file.exists() ) {
+			log.debugf( "No metadata snapshot found at %s", file );
+			return null;
+		}
+		try {
+			final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+			try {
+				if ( in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION ) {
+					log.debugf( "Ignoring metadata snapshot %s written in an unknown format", file );
+					return null;
+				}
+				if ( !inputsHash.equals( in.readUTF() ) ) {
+					log.debugf( "Ignoring metadata snapshot %s, the metadata sources changed", file );
+					return null;
+				}
+				final int resourceCount = in.readInt();
+				final List<String> resources = new ArrayList<String>( resourceCount );
+				for ( int i = 0; i < resourceCount; i++ ) {
+					resources.add( in.readUTF() );
+				}
+				if ( !in.readUTF().equals( hashContent( resources, classLoaderService ) ) ) {
+					log.debugf( "Ignoring metadata snapshot %s, classes or mapping files changed", file );
+					return null;
+				}
+				final Index index = new IndexReader( in ).read();
+				log.debugf( "Using metadata snapshot %s", file );
+				return index;
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch (Exception e) {
+			log.debugf( e, "Unable to read metadata snapshot %s, ignoring it", file );
+			return null;
+		}
+	}
+
+	/**
+	 * Write the snapshot.  Failures are logged, they do not prevent the metadata from being built.
+	 */
+	static void write(
+			File file,
+			String inputsHash,
+			Index index,
+			MetadataSources sources,
+			ClassLoaderService classLoaderService) {
+		final List<String> resources = new ArrayList<String>();
+		for ( ClassInfo classInfo : index.getKnownClasses() ) {
+			resources.add( "class:" + classInfo.name().toString() );
+		}
+		for ( BindResult bindResult : sources.getBindResultList() ) {
+			final Origin origin = bindResult.getOrigin();
+			switch ( origin.getType() ) {
+				case RESOURCE:
+				case FILE:
+				case URL: {
+					resources.add( origin.getType().name() + ":" + origin.getName() );
+					break;
+				}
+				default: {
+					log.debugf(
+							"Not writing metadata snapshot, the content of mapping %s cannot be checked later",
+							origin.getName()
+					);
+					return;
+				}
+			}
+		}
+
+		final File tempFile = new File( file.getPath() + ".tmp" );
+		try {
+			final DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream( new FileOutputStream( tempFile ) )
+			);
+			try {
+				out.writeInt( MAGIC );
+				out.writeInt( FORMAT_VERSION );
+				out.writeUTF( inputsHash );
+				out.writeInt( resources.size() );
+				for ( String resource : resources ) {
+					out.writeUTF( resource );
+				}
+				out.writeUTF( hashContent( resources, classLoaderService ) );
+				new IndexWriter( out ).write( index );
+			}
+			finally {
+				out.close();
+			}
+			if ( file.exists() && !file.delete() ) {
+				throw new IOException( "Unable to replace " + file );
+			}
+			if ( !tempFile.renameTo( file ) ) {
+				throw new IOException( "Unable to rename " + tempFile + " to " + file );
+			}
+			log.debugf( "Wrote metadata snapshot %s", file );
+		}
+		catch (Exception e) {
+			log.warnf( "Unable to write metadata snapshot %s: %s", file, e.getMessage() );
+			tempFile.delete();
+		}
+	}
+
+	private static String hashContent(List<String> resources, ClassLoaderService classLoaderService)
+			throws IOException {
+		final MessageDigest digest = newDigest();
+		// classes mostly come from a handful of jars, stat each of them once
+		final Map<File, String> fingerprints = new HashMap<File, String>();
+		for ( String resource : resources ) {
+			update( digest, resource );
+			final URL url = locate( resource, classLoaderService );
+			if ( url == null ) {
+				// e.g. classes only known to the index through the XML mappings
+				update( digest, "<absent>" );
+				continue;
+			}
+			final File file = toFile( url );
+			if ( file != null && file.exists() ) {
+				String fingerprint = fingerprints.get( file );
+				if ( fingerprint == null ) {
+					fingerprint = fingerprint( file );
+					fingerprints.put( file, fingerprint );
+				}
+				update( digest, url.toExternalForm() );
+				update( digest, fingerprint );
+				continue;
+			}
+			final InputStream stream = url.openStream();
+			try {
+				updateStream( digest, stream );
+			}
+			finally {
+				stream.close();
+			}
+		}
+		return toHex( digest.digest() );
+	}
+
+	private static String fingerprint(File file) {
+		return file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+	}
+
+	private static void updateStream(MessageDigest digest, InputStream stream) throws IOException {
+		final byte[] buffer = new byte[8192];
+		int read;
+		while ( ( read = stream.read( buffer ) ) != -1 ) {
+			digest.update( buffer, 0, read );
+		}
+	}
+
+	private static URL locate(String resource, ClassLoaderService classLoaderService) throws IOException {
+		final int separator = resource.indexOf( ':' );
+		final String type = resource.substring( 0, separator );
+		final String name = resource.substring( separator + 1 );
+		if ( "class".equals( type ) ) {
+			return classLoaderService.locateResource( name.replace( '.', '/' ) + ".class" );
+		}
+		else if ( "RESOURCE".equals( type ) ) {
+			return classLoaderService.locateResource( name );
+		}
+		else if ( "FILE".equals( type ) ) {
+			final File file = new File( name );
+			return file.exists() ? file.toURI().toURL() : null;
+		}
+		else {
+			return new URL( name );
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance( "SHA-1" );
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new HibernateException( "SHA-1 digest not available", e );
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		try {
+			digest.update( value.getBytes( "UTF-8" ) );
+			digest.update( (byte) 0 );
+		}
+		catch (java.io.UnsupportedEncodingException e) {
+			throw new HibernateException( e );
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		final StringBuilder hex = new StringBuilder( bytes.length * 2 );
+		for ( byte b : bytes ) {
+			hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+		}
+		return hex.toString();
+	}
+}
@@ -1444,6 +1444,9 @@ public class Binder {
 				attributeSource.getAttributePath(),
 				attributeSource.getGeneration()
 		);
+		if ( attributeSource.isLazy() ) {
+			attributeBinding.setLazyGroup( attributeSource.getLazyGroup() );
+		}
 		typeHelper().bindSingularAttributeType(
 				attributeSource,
 				attributeBinding
@@ -63,6 +63,11 @@ public class BasicAttributeSourceImpl extends SingularAttributeSourceImpl {
 		return (BasicAttribute) super.getAnnotatedAttribute();
 	}
 
+	@Override
+	public String getLazyGroup() {
+		return getAnnotatedAttribute().getLazyGroup();
+	}
+
 	@Override
 	public SingularAttributeNature getSingularAttributeNature() {
 		return SingularAttributeNature.BASIC;
@@ -161,6 +161,11 @@ public class EmbeddedAttributeSourceImpl implements EmbeddedAttributeSource, Ann
 		return false;
 	}
 
+	@Override
+	public String getLazyGroup() {
+		return null;
+	}
+
 	@Override
 	public NaturalIdMutability getNaturalIdMutability() {
 		return attribute.getNaturalIdMutability();
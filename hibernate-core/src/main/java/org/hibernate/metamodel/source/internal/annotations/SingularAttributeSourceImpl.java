@@ -72,6 +72,11 @@ public abstract class SingularAttributeSourceImpl implements SingularAttributeSo
 		return attribute.isLazy();
 	}
 
+	@Override
+	public String getLazyGroup() {
+		return null;
+	}
+
 	@Override
 	public NaturalIdMutability getNaturalIdMutability() {
 		return attribute.getNaturalIdMutability();
@@ -67,6 +67,7 @@ public class BasicAttribute extends AbstractSingularAttribute {
 	private final IdentifierGeneratorDefinition identifierGeneratorDefinition;
 
 	private boolean isLazy;
+	private final String lazyGroup;
 	private boolean isOptional;
 
 	private final PropertyGeneration propertyGeneration;
@@ -137,6 +138,10 @@ public class BasicAttribute extends AbstractSingularAttribute {
 			this.isOptional = optional;
 		}
 
+		// @LazyGroup
+		final AnnotationInstance lazyGroupAnnotation = backingMember.getAnnotations().get( HibernateDotNames.LAZY_GROUP );
+		this.lazyGroup = lazyGroupAnnotation == null ? null : lazyGroupAnnotation.value().asString();
+
 		// @Generated
 		// todo : hook in the new generation stuff
 		final AnnotationInstance generatedAnnotation = backingMember.getAnnotations().get( HibernateDotNames.GENERATED );
@@ -328,6 +333,15 @@ public class BasicAttribute extends AbstractSingularAttribute {
 		return isLazy;
 	}
 
+	/**
+	 * The name of the lazy fetch group this attribute belongs to, if one was named.
+	 *
+	 * @return The fetch group name, or {@code null}
+	 */
+	public String getLazyGroup() {
+		return lazyGroup;
+	}
+
 	@Override
 	public boolean isOptional() {
 		return isOptional;
@@ -63,6 +63,7 @@ import org.hibernate.annotations.JoinColumnOrFormula;
 import org.hibernate.annotations.JoinColumnsOrFormulas;
 import org.hibernate.annotations.JoinFormula;
 import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.LazyToOne;
 import org.hibernate.annotations.ListIndexBase;
 import org.hibernate.annotations.Loader;
@@ -161,6 +162,7 @@ public interface HibernateDotNames {
 	DotName JOIN_COLUMNS_OR_FORMULAS = DotName.createSimple( JoinColumnsOrFormulas.class.getName() );
 	DotName JOIN_FORMULA = DotName.createSimple( JoinFormula.class.getName() );
 	DotName LAZY_COLLECTION = DotName.createSimple( LazyCollection.class.getName() );
+	DotName LAZY_GROUP = DotName.createSimple( LazyGroup.class.getName() );
 	DotName LAZY_TO_ONE = DotName.createSimple( LazyToOne.class.getName() );
 	DotName LIST_INDEX_BASE = DotName.createSimple( ListIndexBase.class.getName() );
 	DotName LOADER = DotName.createSimple( Loader.class.getName() );
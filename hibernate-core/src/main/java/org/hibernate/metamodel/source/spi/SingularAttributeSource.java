@@ -62,6 +62,13 @@ public interface SingularAttributeSource extends AttributeSource, AttributeRelat
 	 */
 	public boolean isLazy();
 
+	/**
+	 * For {@link #isLazy() lazy} attributes, the name of the lazy fetch group the attribute belongs to.
+	 *
+	 * @return The fetch group name, or {@code null} to indicate the default group.
+	 */
+	public String getLazyGroup();
+
 	/**
 	 * Retrieve the natural id mutability
 	 *
@@ -23,6 +23,7 @@
  */
 package org.hibernate.metamodel.spi;
 
+import java.io.File;
 import java.util.List;
 
 import javax.persistence.SharedCacheMode;
@@ -80,6 +81,15 @@ public interface MetadataBuildingOptions {
 	 */
 	IndexView getJandexView();
 
+	/**
+	 * Access to the file holding the boot model snapshot, if any.
+	 *
+	 * @return The snapshot file, or {@code null} if snapshots are not used
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#METADATA_SNAPSHOT_FILE
+	 */
+	File getMetadataSnapshotFile();
+
 	/**
 	 * Access to the options to be used for scanning
 	 *
@@ -41,6 +41,7 @@ public class BasicAttributeBinding
 
 	private final RelationalValueBindingContainer relationalValueBindingContainer;
 	private final PropertyGeneration generation;
+	private String lazyGroup;
 
 	public BasicAttributeBinding(
 			AttributeBindingContainer container,
@@ -78,6 +79,19 @@ public class BasicAttributeBinding
 		return generation;
 	}
 
+	/**
+	 * The name of the lazy fetch group of this attribute, if it is lazy and a group was named.
+	 *
+	 * @return The fetch group name, or {@code null} for the default group
+	 */
+	public String getLazyGroup() {
+		return lazyGroup;
+	}
+
+	public void setLazyGroup(String lazyGroup) {
+		this.lazyGroup = lazyGroup;
+	}
+
 	@Override
 	protected RelationalValueBindingContainer getRelationalValueBindingContainer() {
 		return relationalValueBindingContainer;
@@ -38,6 +38,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
@@ -91,6 +92,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterHelper;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
@@ -162,6 +164,24 @@ public abstract class AbstractEntityPersister
 
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, AbstractEntityPersister.class.getName() );
 
+	// fetch group of the lazy properties that do not name one
+	private static final String DEFAULT_LAZY_GROUP = "DEFAULT";
+
+	/**
+	 * Lock modes, beyond NONE and READ, that get a static loader (see {@link #createLoaders()}).
+	 */
+	private static final LockMode[] STATIC_LOADER_LOCK_MODES = new LockMode[] {
+			LockMode.UPGRADE,
+			LockMode.UPGRADE_NOWAIT,
+			LockMode.UPGRADE_SKIPLOCKED,
+			LockMode.FORCE,
+			LockMode.PESSIMISTIC_READ,
+			LockMode.PESSIMISTIC_WRITE,
+			LockMode.PESSIMISTIC_FORCE_INCREMENT,
+			LockMode.OPTIMISTIC,
+			LockMode.OPTIMISTIC_FORCE_INCREMENT
+	};
+
 	public static final String ENTITY_CLASS = "class";
 
 	// moved up from AbstractEntityPersister ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -213,6 +233,8 @@ public abstract class AbstractEntityPersister
 	private final int[] lazyPropertyNumbers;
 	private final Type[] lazyPropertyTypes;
 	private final String[][] lazyPropertyColumnAliases;
+	private final String[] lazyPropertyGroups;
+	private final Map<String, Set<String>> lazyPropertyNamesByGroup;
 
 	//information about all properties in class hierarchy
 	private final String[] subclassPropertyNameClosure;
@@ -247,12 +269,18 @@ public abstract class AbstractEntityPersister
 
 	private final Map<String, EntityLoader> uniqueKeyLoaders = new HashMap<String, EntityLoader>();
 	private final Map<LockMode, LockingStrategy> lockers = new HashMap<LockMode, LockingStrategy>();
-	private final Map loaders = new HashMap();
+	// the static loaders, keyed by lock mode or internal fetch profile name; built lazily unless disabled
+	private final ConcurrentHashMap loaders = new ConcurrentHashMap();
+	// loaders built for filters, fetch profiles, entity graphs and lock timeouts, keyed by those influencers
+	private BoundedConcurrentHashMap<EntityLoaderCacheKey, UniqueEntityLoader> influencedLoaders;
+	// SQL generated for dynamic-insert and dynamic-update, keyed by the included properties
+	private BoundedConcurrentHashMap<DynamicSqlCacheKey, String> dynamicSqlStrings;
 
 	// SQL strings
 	private String sqlVersionSelectString;
 	private String sqlSnapshotSelectString;
 	private String sqlLazySelectString;
+	private Map<String, String> sqlLazySelectStringsByGroup;
 
 	private String sqlIdentityInsertString;
 	private String sqlUpdateByRowIdString;
@@ -671,6 +699,8 @@ public abstract class AbstractEntityPersister
 		ArrayList<Integer> lazyNumbers = new ArrayList<Integer>();
 		ArrayList<Type> lazyTypes = new ArrayList<Type>();
 		ArrayList<String[]> lazyColAliases = new ArrayList<String[]>();
+		ArrayList<String> lazyGroups = new ArrayList<String>();
+		lazyPropertyNamesByGroup = new LinkedHashMap<String, Set<String>>();
 
 		int i = 0;
 		boolean foundFormula = false;
@@ -732,6 +762,20 @@ public abstract class AbstractEntityPersister
 				lazyNumbers.add( i );
 				lazyTypes.add( attributeBinding.getHibernateTypeDescriptor().getResolvedTypeMapping());
 				lazyColAliases.add( colAliases );
+
+				String lazyGroup = attributeBinding instanceof BasicAttributeBinding
+						? ( (BasicAttributeBinding) attributeBinding ).getLazyGroup()
+						: null;
+				if ( lazyGroup == null ) {
+					lazyGroup = DEFAULT_LAZY_GROUP;
+				}
+				lazyGroups.add( lazyGroup );
+				Set<String> groupMembers = lazyPropertyNamesByGroup.get( lazyGroup );
+				if ( groupMembers == null ) {
+					groupMembers = new HashSet<String>();
+					lazyPropertyNamesByGroup.put( lazyGroup, groupMembers );
+				}
+				groupMembers.add( attributeBinding.getAttribute().getName() );
 			}
 
 			propertySelectable[i] = !attributeBinding.isBackRef();
@@ -750,6 +794,7 @@ public abstract class AbstractEntityPersister
 		lazyPropertyNames = ArrayHelper.toStringArray( lazyNames );
 		lazyPropertyNumbers = ArrayHelper.toIntArray( lazyNumbers );
 		lazyPropertyTypes = ArrayHelper.toTypeArray( lazyTypes );
+		lazyPropertyGroups = ArrayHelper.toStringArray( lazyGroups );
 
 		// SUBCLASS PROPERTY CLOSURE
 
@@ -947,6 +992,17 @@ public abstract class AbstractEntityPersister
 	}
 
 	protected String generateLazySelectString() {
+		return generateLazySelectString( null );
+	}
+
+	/**
+	 * Generate the SQL selecting the lazy properties of a single fetch group.
+	 *
+	 * @param lazyGroup The name of the fetch group, or {@code null} to select all lazy properties
+	 *
+	 * @return The select, or {@code null} if there is nothing to select
+	 */
+	protected String generateLazySelectString(String lazyGroup) {
 
 		if ( !entityMetamodel.hasLazyProperties() ) {
 			return null;
@@ -956,6 +1012,9 @@ public abstract class AbstractEntityPersister
 		ArrayList columnNumbers = new ArrayList();
 		ArrayList formulaNumbers = new ArrayList();
 		for ( int i = 0; i < lazyPropertyNames.length; i++ ) {
+			if ( lazyGroup != null && !lazyGroup.equals( lazyPropertyGroups[i] ) ) {
+				continue;
+			}
 			// all this only really needs to consider properties
 			// of this class, not its subclasses, but since we
 			// are reusing code used for sequential selects, we
@@ -1009,7 +1068,9 @@ public abstract class AbstractEntityPersister
 			final Object ce = CacheHelper.fromSharedCache( session, cacheKey, getCacheAccessStrategy() );
 			if ( ce != null ) {
 				final CacheEntry cacheEntry = (CacheEntry) getCacheEntryStructure().destructure(ce, factory);
-				if ( !cacheEntry.areLazyPropertiesUnfetched() ) {
+				// a group loaded from the datastore below is not added to the cache entry, only groups
+				// cached along with the entity (e.g. on update) can be served from it
+				if ( !cacheEntry.areLazyPropertiesUnfetched() || isLazyGroupCached( fieldName, cacheEntry ) ) {
 					//note early exit here:
 					return initializeLazyPropertiesFromCache( fieldName, entity, session, entry, cacheEntry );
 				}
@@ -1031,12 +1092,13 @@ public abstract class AbstractEntityPersister
 
 		LOG.trace( "Initializing lazy properties from datastore" );
 
+		final String lazyGroup = getLazyGroup( fieldName );
+		final String lazySelect = sqlLazySelectStringsByGroup.get( lazyGroup );
 		try {
 
 			Object result = null;
 			PreparedStatement ps = null;
 			try {
-				final String lazySelect = getSQLLazySelectString();
 				ResultSet rs = null;
 				try {
 					if ( lazySelect != null ) {
@@ -1053,6 +1115,9 @@ public abstract class AbstractEntityPersister
 					}
 					final Object[] snapshot = entry.getLoadedState();
 					for ( int j = 0; j < lazyPropertyNames.length; j++ ) {
+						if ( !lazyGroup.equals( lazyPropertyGroups[j] ) ) {
+							continue;
+						}
 						Object propValue = lazyPropertyTypes[j].nullSafeGet( rs, lazyPropertyColumnAliases[j], session, entity );
 						if ( initializeLazyProperty( fieldName, entity, session, snapshot, j, propValue ) ) {
 							result = propValue;
@@ -1081,7 +1146,7 @@ public abstract class AbstractEntityPersister
 					sqle,
 					"could not initialize lazy properties: " +
 					MessageHelper.infoString( this, id, getFactory() ),
-					getSQLLazySelectString()
+					lazySelect
 				);
 		}
 	}
@@ -1096,10 +1161,14 @@ public abstract class AbstractEntityPersister
 
 		LOG.trace( "Initializing lazy properties from second-level cache" );
 
+		final String lazyGroup = getLazyGroup( fieldName );
 		Object result = null;
 		Serializable[] disassembledValues = cacheEntry.getDisassembledState();
 		final Object[] snapshot = entry.getLoadedState();
 		for ( int j = 0; j < lazyPropertyNames.length; j++ ) {
+			if ( !lazyGroup.equals( lazyPropertyGroups[j] ) ) {
+				continue;
+			}
 			final Object propValue = lazyPropertyTypes[j].assemble(
 					disassembledValues[ lazyPropertyNumbers[j] ],
 					session,
@@ -1130,6 +1199,52 @@ public abstract class AbstractEntityPersister
 		return fieldName.equals( lazyPropertyNames[j] );
 	}
 
+	/**
+	 * The fetch group of the named lazy property.
+	 */
+	private String getLazyGroup(String fieldName) {
+		for ( int j = 0; j < lazyPropertyNames.length; j++ ) {
+			if ( lazyPropertyNames[j].equals( fieldName ) ) {
+				return lazyPropertyGroups[j];
+			}
+		}
+		return DEFAULT_LAZY_GROUP;
+	}
+
+	/**
+	 * Does the cache entry hold the values of the fetch group of the named lazy property?  Unfetched
+	 * properties are disassembled as {@link LazyPropertyInitializer#UNFETCHED_PROPERTY}, so an entry cached
+	 * after some groups were initialized can still serve those groups.
+	 */
+	private boolean isLazyGroupCached(String fieldName, CacheEntry cacheEntry) {
+		if ( !isLazyPropertiesCacheable() ) {
+			return false;
+		}
+		final String lazyGroup = getLazyGroup( fieldName );
+		final Serializable[] disassembledValues = cacheEntry.getDisassembledState();
+		for ( int j = 0; j < lazyPropertyNames.length; j++ ) {
+			if ( lazyGroup.equals( lazyPropertyGroups[j] )
+					&& disassembledValues[ lazyPropertyNumbers[j] ] == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public Set<String> getLazyPropertyGroupMembers(String fieldName) {
+		final Set<String> members = lazyPropertyNamesByGroup.get( getLazyGroup( fieldName ) );
+		return members == null ? lazyProperties : members;
+	}
+
+	/**
+	 * Are the lazy properties split over more than one fetch group?  If so an entity can have some lazy
+	 * properties initialized while others are not.
+	 */
+	private boolean hasMultipleLazyGroups() {
+		return lazyPropertyNamesByGroup.size() > 1;
+	}
+
 	public boolean isBatchable() {
 		return optimisticLockStyle() == OptimisticLockStyle.NONE
 				|| ( !isVersioned() && optimisticLockStyle() == OptimisticLockStyle.VERSION )
@@ -2501,6 +2616,42 @@ public abstract class AbstractEntityPersister
 				|| entityMetamodel.isVersionGenerated();
 	}
 
+	/**
+	 * Get the dynamic-update SQL for the given properties, generating it only if it is not cached yet.
+	 */
+	private String getDynamicUpdateString(boolean[] includeProperty, int j, Object[] oldFields, boolean useRowId) {
+		// with optimistic-lock="all" or "dirty" the where clause depends on the nullness of the old values
+		if ( dynamicSqlStrings == null || ( oldFields != null && isAllOrDirtyOptLocking() ) ) {
+			return generateUpdateString( includeProperty, j, oldFields, useRowId );
+		}
+		final DynamicSqlCacheKey key = DynamicSqlCacheKey.forUpdate( includeProperty, j, useRowId );
+		String sql = dynamicSqlStrings.get( key );
+		if ( sql == null ) {
+			sql = generateUpdateString( includeProperty, j, oldFields, useRowId );
+			// null means there is nothing to update in that table, cheap enough to work out again
+			if ( sql != null ) {
+				dynamicSqlStrings.putIfAbsent( key, sql );
+			}
+		}
+		return sql;
+	}
+
+	/**
+	 * Get the dynamic-insert SQL for the given properties, generating it only if it is not cached yet.
+	 */
+	private String getDynamicInsertString(boolean identityInsert, boolean[] includeProperty, int j) {
+		if ( dynamicSqlStrings == null ) {
+			return generateInsertString( identityInsert, includeProperty, j );
+		}
+		final DynamicSqlCacheKey key = DynamicSqlCacheKey.forInsert( identityInsert, includeProperty, j );
+		String sql = dynamicSqlStrings.get( key );
+		if ( sql == null ) {
+			sql = generateInsertString( identityInsert, includeProperty, j );
+			dynamicSqlStrings.putIfAbsent( key, sql );
+		}
+		return sql;
+	}
+
 	protected String generateInsertString(boolean[] includeProperty, int j) {
 		return generateInsertString( false, includeProperty, j );
 	}
@@ -3328,14 +3479,16 @@ public abstract class AbstractEntityPersister
 		if ( entry == null && ! isMutable() ) {
 			throw new IllegalStateException( "Updating immutable entity that is not in session yet!" );
 		}
-		if ( ( entityMetamodel.isDynamicUpdate() && dirtyFields != null ) ) {
-			// We need to generate the UPDATE SQL when dynamic-update="true"
+		final boolean partiallyInitialized = hasMultipleLazyGroups() && hasUninitializedLazyProperties( object );
+		if ( ( ( entityMetamodel.isDynamicUpdate() || partiallyInitialized ) && dirtyFields != null ) ) {
+			// We need to generate the UPDATE SQL when dynamic-update="true", or when only some
+			// of the lazy fetch groups are initialized (the static SQL excludes every lazy property)
 			propsToUpdate = getPropertiesToUpdate( dirtyFields, hasDirtyCollection );
 			// don't need to check laziness (dirty checking algorithm handles that)
 			updateStrings = new String[span];
 			for ( int j = 0; j < span; j++ ) {
 				updateStrings[j] = tableUpdateNeeded[j] ?
-						generateUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
+						getDynamicUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
 						null;
 			}
 		}
@@ -3397,9 +3550,9 @@ public abstract class AbstractEntityPersister
 		if ( entityMetamodel.isDynamicInsert() ) {
 			// For the case of dynamic-insert="true", we need to generate the INSERT SQL
 			boolean[] notNull = getPropertiesToInsert( fields );
-			id = insert( fields, notNull, generateInsertString( true, notNull ), object, session );
+			id = insert( fields, notNull, getDynamicInsertString( true, notNull, 0 ), object, session );
 			for ( int j = 1; j < span; j++ ) {
-				insert( id, fields, notNull, j, generateInsertString( notNull, j ), object, session );
+				insert( id, fields, notNull, j, getDynamicInsertString( false, notNull, j ), object, session );
 			}
 		}
 		else {
@@ -3421,7 +3574,7 @@ public abstract class AbstractEntityPersister
 			// For the case of dynamic-insert="true", we need to generate the INSERT SQL
 			boolean[] notNull = getPropertiesToInsert( fields );
 			for ( int j = 0; j < span; j++ ) {
-				insert( id, fields, notNull, j, generateInsertString( notNull, j ), object, session );
+				insert( id, fields, notNull, j, getDynamicInsertString( false, notNull, j ), object, session );
 			}
 		}
 		else {
@@ -3526,6 +3679,11 @@ public abstract class AbstractEntityPersister
             if ( sqlLazySelectString != null ) {
 				LOG.debugf( " Lazy select: %s", sqlLazySelectString );
 			}
+			if ( hasMultipleLazyGroups() ) {
+				for ( Map.Entry<String, String> entry : sqlLazySelectStringsByGroup.entrySet() ) {
+					LOG.debugf( " Lazy select (%s): %s", entry.getKey(), entry.getValue() );
+				}
+			}
             if ( sqlVersionSelectString != null ) {
 				LOG.debugf( " Version select: %s", sqlVersionSelectString );
 			}
@@ -3839,6 +3997,13 @@ public abstract class AbstractEntityPersister
 		//select SQL
 		sqlSnapshotSelectString = generateSnapshotSelectString();
 		sqlLazySelectString = generateLazySelectString();
+		sqlLazySelectStringsByGroup = new HashMap<String, String>();
+		for ( String lazyGroup : lazyPropertyNamesByGroup.keySet() ) {
+			sqlLazySelectStringsByGroup.put(
+					lazyGroup,
+					hasMultipleLazyGroups() ? generateLazySelectString( lazyGroup ) : sqlLazySelectString
+			);
+		}
 		sqlVersionSelectString = generateSelectVersionString();
 		if ( hasInsertGeneratedProperties() ) {
 			sqlInsertGeneratedValuesSelectString = generateInsertGeneratedValuesSelectString();
@@ -3863,6 +4028,24 @@ public abstract class AbstractEntityPersister
 	public final void postInstantiate() throws MappingException {
 		doLateInit();
 
+		final int entityLoaderCacheMaxSize = getFactory().getSettings().getEntityLoaderCacheMaxSize();
+		if ( entityLoaderCacheMaxSize > 0 ) {
+			influencedLoaders = new BoundedConcurrentHashMap<EntityLoaderCacheKey, UniqueEntityLoader>(
+					entityLoaderCacheMaxSize,
+					4,
+					BoundedConcurrentHashMap.Eviction.LIRS
+			);
+		}
+
+		final int dynamicSqlCacheMaxSize = getFactory().getSettings().getDynamicSqlCacheMaxSize();
+		if ( dynamicSqlCacheMaxSize > 0 && ( entityMetamodel.isDynamicInsert() || entityMetamodel.isDynamicUpdate() ) ) {
+			dynamicSqlStrings = new BoundedConcurrentHashMap<DynamicSqlCacheKey, String>(
+					dynamicSqlCacheMaxSize,
+					4,
+					BoundedConcurrentHashMap.Eviction.LIRS
+			);
+		}
+
 		createLoaders();
 		createUniqueKeyLoaders();
 		createQueryLoader();
@@ -3881,69 +4064,69 @@ public abstract class AbstractEntityPersister
 	//Relational based Persisters should be content with this implementation
 	protected void createLoaders() {
 		final Map loaders = getLoaders();
-		loaders.put( LockMode.NONE, createEntityLoader( LockMode.NONE ) );
+		final boolean lazy = getFactory().getSettings().isLazyEntityLoadersEnabled();
+		final Set<LockMode> eagerLockModes = getFactory().getSettings().getEagerEntityLoaderLockModes();
 
-		UniqueEntityLoader readLoader = createEntityLoader( LockMode.READ );
-		loaders.put( LockMode.READ, readLoader );
+		// NONE and READ are used by nearly every load, and building them validates the mapping up front
+		loaders.put( LockMode.NONE, createLoader( LockMode.NONE ) );
+		loaders.put( LockMode.READ, createLoader( LockMode.READ ) );
 
+		for ( LockMode lockMode : STATIC_LOADER_LOCK_MODES ) {
+			if ( !lazy || eagerLockModes.contains( lockMode ) ) {
+				loaders.put( lockMode, createLoader( lockMode ) );
+			}
+		}
+		if ( !lazy ) {
+			loaders.put( "merge", createLoader( "merge" ) );
+			loaders.put( "refresh", createLoader( "refresh" ) );
+		}
+	}
+
+	/**
+	 * Builds the static loader for a lock mode or internal fetch profile name.
+	 *
+	 * @return the loader, or {@code null} if there is no static loader for that key
+	 */
+	private UniqueEntityLoader createLoader(Object key) {
+		if ( "merge".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingActions.MERGE, getFactory() );
+		}
+		if ( "refresh".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingActions.REFRESH, getFactory() );
+		}
+		if ( key == LockMode.NONE || key == LockMode.READ
+				|| key == LockMode.OPTIMISTIC || key == LockMode.OPTIMISTIC_FORCE_INCREMENT ) {
+			return createEntityLoader( (LockMode) key );
+		}
+		if ( !Arrays.asList( STATIC_LOADER_LOCK_MODES ).contains( key ) ) {
+			return null;
+		}
 		//TODO: inexact, what we really need to know is: are any outer joins used?
 		boolean disableForUpdate = getSubclassTableSpan() > 1 &&
 				hasSubclasses() &&
 				!getFactory().getDialect().supportsOuterJoinForUpdate();
+		return disableForUpdate
+				? getStaticLoader( LockMode.READ )
+				: createEntityLoader( (LockMode) key );
+	}
 
-		loaders.put(
-				LockMode.UPGRADE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE )
-			);
-		loaders.put(
-				LockMode.UPGRADE_NOWAIT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_NOWAIT )
-			);
-		loaders.put(
-				LockMode.UPGRADE_SKIPLOCKED,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_SKIPLOCKED )
-			);
-		loaders.put(
-				LockMode.FORCE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.FORCE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_READ,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_READ )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_WRITE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_WRITE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_FORCE_INCREMENT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_FORCE_INCREMENT )
-			);
-		loaders.put( LockMode.OPTIMISTIC, createEntityLoader( LockMode.OPTIMISTIC) );
-		loaders.put( LockMode.OPTIMISTIC_FORCE_INCREMENT, createEntityLoader(LockMode.OPTIMISTIC_FORCE_INCREMENT) );
-
-		loaders.put(
-				"merge",
-				new CascadeEntityLoader( this, CascadingActions.MERGE, getFactory() )
-			);
-		loaders.put(
-				"refresh",
-				new CascadeEntityLoader( this, CascadingActions.REFRESH, getFactory() )
-			);
+	/**
+	 * Returns the static loader for a lock mode or internal fetch profile name, building it on first use.
+	 */
+	private UniqueEntityLoader getStaticLoader(Object key) {
+		UniqueEntityLoader loader = (UniqueEntityLoader) loaders.get( key );
+		if ( loader == null ) {
+			loader = createLoader( key );
+			if ( loader == null ) {
+				return null;
+			}
+			LOG.debugf( "Built static loader for %s on first use: %s", key, getEntityName() );
+			final Object existing = loaders.putIfAbsent( key, loader );
+			if ( existing != null ) {
+				loader = (UniqueEntityLoader) existing;
+			}
+		}
+		return loader;
 	}
 
 	protected void createQueryLoader() {
@@ -3998,7 +4181,7 @@ public abstract class AbstractEntityPersister
 				&& filterHelper.isAffectedBy( session.getLoadQueryInfluencers().getEnabledFilters() );
 	}
 
-	private UniqueEntityLoader getAppropriateLoader(LockOptions lockOptions, SessionImplementor session) {
+	UniqueEntityLoader getAppropriateLoader(LockOptions lockOptions, SessionImplementor session) {
 		if ( queryLoader != null ) {
 			// if the user specified a custom query loader we need to that
 			// regardless of any other consideration
@@ -4007,30 +4190,66 @@ public abstract class AbstractEntityPersister
 		else if ( isAffectedByEnabledFilters( session ) ) {
 			// because filters affect the rows returned (because they add
 			// restrictions) these need to be next in precedence
-			return createEntityLoader(lockOptions, session.getLoadQueryInfluencers() );
+			return getInfluencedEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else if ( session.getLoadQueryInfluencers().getInternalFetchProfile() != null && LockMode.UPGRADE.greaterThan( lockOptions.getLockMode() ) ) {
 			// Next, we consider whether an 'internal' fetch profile has been set.
 			// This indicates a special fetch profile Hibernate needs applied
 			// (for its merge loading process e.g.).
-			return ( UniqueEntityLoader ) getLoaders().get( session.getLoadQueryInfluencers().getInternalFetchProfile() );
+			return getStaticLoader( session.getLoadQueryInfluencers().getInternalFetchProfile() );
 		}
 		else if ( isAffectedByEnabledFetchProfiles( session ) ) {
 			// If the session has associated influencers we need to adjust the
 			// SQL query used for loading based on those influencers
-			return createEntityLoader(lockOptions, session.getLoadQueryInfluencers() );
+			return getInfluencedEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else if ( isAffectedByEntityGraph( session ) ) {
-			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
+			return getInfluencedEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else if ( lockOptions.getTimeOut() != LockOptions.WAIT_FOREVER ) {
-			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
+			return getInfluencedEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else {
-			return ( UniqueEntityLoader ) getLoaders().get( lockOptions.getLockMode() );
+			return getStaticLoader( lockOptions.getLockMode() );
 		}
 	}
 
+	private UniqueEntityLoader getInfluencedEntityLoader(LockOptions lockOptions, LoadQueryInfluencers influencers) {
+		final EntityLoaderCacheKey key = influencedLoaders == null
+				? null
+				: EntityLoaderCacheKey.generate( lockOptions, influencers );
+		if ( key == null ) {
+			return createEntityLoader( lockOptions, influencers );
+		}
+		UniqueEntityLoader loader = influencedLoaders.get( key );
+		if ( loader == null ) {
+			// the loader only needs the options while building its plan; copy them so later changes
+			// by the caller cannot make the loader disagree with its key.  The influencers are detached
+			// from the session as well: the cached loader outlives it and filter parameter values are
+			// bound from the executing session anyway
+			loader = createEntityLoader( lockOptions.makeCopy(), detachInfluencers( influencers ) );
+			final UniqueEntityLoader existing = influencedLoaders.putIfAbsent( key, loader );
+			if ( existing != null ) {
+				loader = existing;
+			}
+		}
+		return loader;
+	}
+
+	private LoadQueryInfluencers detachInfluencers(LoadQueryInfluencers influencers) {
+		final LoadQueryInfluencers detached = new LoadQueryInfluencers( getFactory() );
+		for ( String filterName : influencers.getEnabledFilterNames() ) {
+			detached.enableFilter( filterName );
+		}
+		for ( String fetchProfileName : influencers.getEnabledFetchProfileNames() ) {
+			detached.enableFetchProfile( fetchProfileName );
+		}
+		detached.setInternalFetchProfile( influencers.getInternalFetchProfile() );
+		detached.setFetchGraph( influencers.getFetchGraph() );
+		detached.setLoadGraph( influencers.getLoadGraph() );
+		return detached;
+	}
+
 	private boolean isAllNull(Object[] array, int tableNumber) {
 		for ( int i = 0; i < array.length; i++ ) {
 			if ( isPropertyOfTable( i, tableNumber ) && array[i] != null ) {
@@ -4094,7 +4313,7 @@ public abstract class AbstractEntityPersister
 				currentState,
 				previousState,
 				propertyColumnUpdateable,
-				hasUninitializedLazyProperties( entity ),
+				isDirtyCheckLimitedToNonLazyProperties( entity ),
 				session
 			);
 		if ( props == null ) {
@@ -4123,7 +4342,7 @@ public abstract class AbstractEntityPersister
 				current,
 				old,
 				propertyColumnUpdateable,
-				hasUninitializedLazyProperties( entity ),
+				isDirtyCheckLimitedToNonLazyProperties( entity ),
 				session
 			);
 		if ( props == null ) {
@@ -4135,6 +4354,15 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	/**
+	 * With several fetch groups only the unfetched lazy properties must be left out of dirty checking; those
+	 * come back as {@link LazyPropertyInitializer#UNFETCHED_PROPERTY} in the current state, which the
+	 * dirty checking algorithm already skips.
+	 */
+	private boolean isDirtyCheckLimitedToNonLazyProperties(Object entity) {
+		return !hasMultipleLazyGroups() && hasUninitializedLazyProperties( entity );
+	}
+
 	/**
 	 * Which properties appear in the SQL update?
 	 * (Initialized, updateable ones!)
@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import java.util.Arrays;
+
+/**
+ * Identifies a dynamic-insert or dynamic-update SQL string generated by an entity persister: the kind of
+ * statement, the table number and the property inclusion mask, the latter encoded as a bitset.  Used to cache
+ * such strings per persister, so entities flushed with the same set of dirty (or non-null) properties reuse
+ * the same SQL.
+ *
+ * @see AbstractEntityPersister
+ */
+final class DynamicSqlCacheKey {
+	private static final int INSERT = 0;
+	private static final int IDENTITY_INSERT = 1;
+	private static final int UPDATE = 2;
+	private static final int UPDATE_BY_ROWID = 3;
+
+	private final int kind;
+	private final int table;
+	private final long[] mask;
+	private final int hashCode;
+
+	private DynamicSqlCacheKey(int kind, int table, boolean[] includeProperty) {
+		this.kind = kind;
+		this.table = table;
+		this.mask = encode( includeProperty );
+
+		int result = kind;
+		result = 31 * result + table;
+		result = 31 * result + Arrays.hashCode( mask );
+		this.hashCode = result;
+	}
+
+	static DynamicSqlCacheKey forInsert(boolean identityInsert, boolean[] includeProperty, int table) {
+		return new DynamicSqlCacheKey( identityInsert ? IDENTITY_INSERT : INSERT, table, includeProperty );
+	}
+
+	static DynamicSqlCacheKey forUpdate(boolean[] includeProperty, int table, boolean useRowId) {
+		return new DynamicSqlCacheKey( useRowId ? UPDATE_BY_ROWID : UPDATE, table, includeProperty );
+	}
+
+	private static long[] encode(boolean[] includeProperty) {
+		final long[] words = new long[ ( includeProperty.length + 63 ) >>> 6 ];
+		for ( int i = 0; i < includeProperty.length; i++ ) {
+			if ( includeProperty[i] ) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+		return words;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final DynamicSqlCacheKey that = (DynamicSqlCacheKey) o;
+		return hashCode == that.hashCode
+				&& kind == that.kind
+				&& table == that.table
+				&& Arrays.equals( mask, that.mask );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "DynamicSqlCacheKey(kind=" + kind + ", table=" + table + ", mask=" + Arrays.toString( mask ) + ")";
+	}
+}
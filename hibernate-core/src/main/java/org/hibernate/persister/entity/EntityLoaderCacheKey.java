@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.EntityGraph;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.graph.spi.GraphNodeImplementor;
+import org.hibernate.internal.util.compare.EqualsHelper;
+
+/**
+ * Fingerprint of the {@link LoadQueryInfluencers} and {@link LockOptions} a (non-static) entity loader is built
+ * for, i.e. everything which affects the load plan and the SQL it generates.  Used to cache such loaders per
+ * persister.  Filter parameter values are bound when the loader is executed, so only the filter names matter here.
+ * <p/>
+ * Entity graphs are compared by identity, and only immutable graphs (such as named entity graphs) are supported.
+ *
+ * @see AbstractEntityPersister
+ */
+final class EntityLoaderCacheKey {
+	private final LockMode lockMode;
+	private final int timeOut;
+	private final boolean scope;
+	private final String internalFetchProfile;
+	private final Set<String> enabledFilterNames;
+	private final Set<String> enabledFetchProfileNames;
+	private final EntityGraph fetchGraph;
+	private final EntityGraph loadGraph;
+	private final int hashCode;
+
+	private EntityLoaderCacheKey(LockOptions lockOptions, LoadQueryInfluencers influencers) {
+		this.lockMode = lockOptions.getLockMode();
+		this.timeOut = lockOptions.getTimeOut();
+		this.scope = lockOptions.getScope();
+		this.internalFetchProfile = influencers.getInternalFetchProfile();
+		this.enabledFilterNames = copy( influencers.getEnabledFilterNames() );
+		this.enabledFetchProfileNames = copy( influencers.getEnabledFetchProfileNames() );
+		this.fetchGraph = influencers.getFetchGraph();
+		this.loadGraph = influencers.getLoadGraph();
+
+		int result = lockMode.hashCode();
+		result = 31 * result + timeOut;
+		result = 31 * result + ( scope ? 1 : 0 );
+		result = 31 * result + ( internalFetchProfile != null ? internalFetchProfile.hashCode() : 0 );
+		result = 31 * result + enabledFilterNames.hashCode();
+		result = 31 * result + enabledFetchProfileNames.hashCode();
+		result = 31 * result + System.identityHashCode( fetchGraph );
+		result = 31 * result + System.identityHashCode( loadGraph );
+		this.hashCode = result;
+	}
+
+	/**
+	 * Generate the key for the given lock options and influencers.
+	 *
+	 * @param lockOptions The lock options of the load
+	 * @param influencers The influencers of the load
+	 *
+	 * @return The key, or {@code null} if a loader built for these options cannot be safely reused
+	 */
+	static EntityLoaderCacheKey generate(LockOptions lockOptions, LoadQueryInfluencers influencers) {
+		if ( lockOptions.getAliasLockCount() > 0 ) {
+			return null;
+		}
+		if ( !isImmutable( influencers.getFetchGraph() ) || !isImmutable( influencers.getLoadGraph() ) ) {
+			return null;
+		}
+		return new EntityLoaderCacheKey( lockOptions, influencers );
+	}
+
+	private static boolean isImmutable(EntityGraph graph) {
+		return graph == null
+				|| ( graph instanceof GraphNodeImplementor && !( (GraphNodeImplementor) graph ).isMutable() );
+	}
+
+	private static Set<String> copy(Set<String> names) {
+		return names.isEmpty() ? Collections.<String>emptySet() : new HashSet<String>( names );
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final EntityLoaderCacheKey that = (EntityLoaderCacheKey) o;
+		return hashCode == that.hashCode
+				&& lockMode == that.lockMode
+				&& timeOut == that.timeOut
+				&& scope == that.scope
+				&& fetchGraph == that.fetchGraph
+				&& loadGraph == that.loadGraph
+				&& EqualsHelper.equals( internalFetchProfile, that.internalFetchProfile )
+				&& enabledFilterNames.equals( that.enabledFilterNames )
+				&& enabledFetchProfileNames.equals( that.enabledFetchProfileNames );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "EntityLoaderCacheKey(lockMode=" + lockMode + ", timeOut=" + timeOut
+				+ ", filters=" + enabledFilterNames + ", fetchProfiles=" + enabledFetchProfileNames
+				+ ", fetchGraph=" + fetchGraph + ", loadGraph=" + loadGraph + ")";
+	}
+}
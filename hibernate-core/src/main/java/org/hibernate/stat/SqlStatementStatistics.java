@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Statistics about a single SQL statement, as executed through JDBC.
+ * <p/>
+ * SQL strings are normalized before being used as the key for these statistics, so that statements differing only
+ * in whitespace or in the number of parameters in an {@code IN} list (batch fetching) are tracked together.
+ * <p/>
+ * Times are reported in milliseconds.  Fetch time covers the time between the end of statement execution and the
+ * release of its results, which for queries includes the time spent reading and hydrating rows.
+ */
+public interface SqlStatementStatistics extends Serializable {
+	/**
+	 * The normalized SQL for which these statistics were collected.
+	 *
+	 * @return The SQL
+	 */
+	String getSql();
+
+	long getExecutionCount();
+
+	long getExecutionTotalTime();
+
+	long getExecutionAvgTime();
+
+	long getExecutionMaxTime();
+
+	long getExecutionMinTime();
+
+	long getFetchTotalTime();
+
+	/**
+	 * The number of rows fetched (queries) or affected (DML) by all executions of this statement.
+	 *
+	 * @return The cumulative row count
+	 */
+	long getRowCount();
+
+	/**
+	 * The number of executions whose total (execution plus fetch) time exceeded the slow query threshold.
+	 *
+	 * @return The slow execution count
+	 */
+	long getSlowExecutionCount();
+
+	/**
+	 * The total time, in milliseconds, attributable to this statement (execution plus fetch).  Used to rank
+	 * statements in {@link Statistics#getHottestSqlStatementStatistics}.
+	 *
+	 * @return The total time
+	 */
+	long getTotalTime();
+}
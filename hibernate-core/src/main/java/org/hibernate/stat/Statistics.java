@@ -75,6 +75,24 @@ public interface Statistics {
 	 */
 	public QueryStatistics getQueryStatistics(String queryString);
 
+	/**
+	 * JDBC statement statistics for the given SQL string.  The SQL is normalized the same way it is when
+	 * statistics are collected.
+	 *
+	 * @param sql The SQL statement
+	 * @return SqlStatementStatistics
+	 */
+	public SqlStatementStatistics getSqlStatementStatistics(String sql);
+
+	/**
+	 * Get the JDBC statement statistics for the statements accounting for the most time (execution plus fetch),
+	 * ordered from most to least expensive.
+	 *
+	 * @param maxResults The maximum number of statements to return
+	 * @return The "hottest" statements
+	 */
+	public SqlStatementStatistics[] getHottestSqlStatementStatistics(int maxResults);
+
     /**
      * Get global number of entity deletes
 	 * @return entity deletion count
@@ -239,6 +257,10 @@ public interface Statistics {
 	 * Get all executed query strings
 	 */
 	public String[] getQueries();
+	/**
+	 * Get all executed (normalized) SQL statements
+	 */
+	public String[] getSqlStatements();
 	/**
 	 * Get the names of all entities
 	 */
@@ -267,6 +289,11 @@ public interface Statistics {
 	 * The number of prepared statements that were released
 	 */
 	public long getCloseStatementCount();
+	/**
+	 * The number of JDBC statement executions which exceeded the slow query threshold
+	 * (see {@link org.hibernate.cfg.AvailableSettings#LOG_SLOW_QUERY})
+	 */
+	public long getSlowSqlStatementCount();
 	/**
 	 * The number of <tt>StaleObjectStateException</tt>s 
 	 * that occurred
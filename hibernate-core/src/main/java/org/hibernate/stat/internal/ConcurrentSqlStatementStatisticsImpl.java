@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.stat.SqlStatementStatistics;
+
+/**
+ * SQL statement statistics, based on the {@link java.util.concurrent} package.
+ * <p/>
+ * Times are accumulated in nanoseconds and reported in milliseconds.
+ */
+public class ConcurrentSqlStatementStatisticsImpl extends CategorizedStatistics implements SqlStatementStatistics {
+	private final AtomicLong executionCount = new AtomicLong();
+	private final AtomicLong executionTotalTime = new AtomicLong();
+	private final AtomicLong executionMaxTime = new AtomicLong();
+	private final AtomicLong executionMinTime = new AtomicLong( Long.MAX_VALUE );
+	private final AtomicLong fetchTotalTime = new AtomicLong();
+	private final AtomicLong rowCount = new AtomicLong();
+	private final AtomicLong slowExecutionCount = new AtomicLong();
+
+	ConcurrentSqlStatementStatisticsImpl(String sql) {
+		super( sql );
+	}
+
+	@Override
+	public String getSql() {
+		return getCategoryName();
+	}
+
+	@Override
+	public long getExecutionCount() {
+		return executionCount.get();
+	}
+
+	@Override
+	public long getExecutionTotalTime() {
+		return toMillis( executionTotalTime.get() );
+	}
+
+	@Override
+	public long getExecutionAvgTime() {
+		final long count = executionCount.get();
+		return count == 0 ? 0 : toMillis( executionTotalTime.get() / count );
+	}
+
+	@Override
+	public long getExecutionMaxTime() {
+		return toMillis( executionMaxTime.get() );
+	}
+
+	@Override
+	public long getExecutionMinTime() {
+		final long min = executionMinTime.get();
+		return min == Long.MAX_VALUE ? 0 : toMillis( min );
+	}
+
+	@Override
+	public long getFetchTotalTime() {
+		return toMillis( fetchTotalTime.get() );
+	}
+
+	@Override
+	public long getRowCount() {
+		return rowCount.get();
+	}
+
+	@Override
+	public long getSlowExecutionCount() {
+		return slowExecutionCount.get();
+	}
+
+	@Override
+	public long getTotalTime() {
+		return toMillis( totalNanos() );
+	}
+
+	long totalNanos() {
+		return executionTotalTime.get() + fetchTotalTime.get();
+	}
+
+	/**
+	 * add statistics report of a JDBC statement execution
+	 *
+	 * @param rows rows fetched or affected; negative if unknown
+	 * @param executionNanos time spent executing the statement
+	 * @param fetchNanos time spent reading the statement results
+	 * @param slow whether the execution was considered slow
+	 */
+	void executed(long rows, long executionNanos, long fetchNanos, boolean slow) {
+		for ( long old = executionMinTime.get(); ( executionNanos < old ) && !executionMinTime.compareAndSet( old, executionNanos ); old = executionMinTime.get() );
+		for ( long old = executionMaxTime.get(); ( executionNanos > old ) && !executionMaxTime.compareAndSet( old, executionNanos ); old = executionMaxTime.get() );
+		executionCount.getAndIncrement();
+		executionTotalTime.addAndGet( executionNanos );
+		fetchTotalTime.addAndGet( fetchNanos );
+		if ( rows > 0 ) {
+			rowCount.addAndGet( rows );
+		}
+		if ( slow ) {
+			slowExecutionCount.getAndIncrement();
+		}
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis( nanos );
+	}
+
+	public String toString() {
+		return new StringBuilder()
+				.append( "SqlStatementStatistics" )
+				.append( "[sql=" ).append( getSql() )
+				.append( ",executionCount=" ).append( getExecutionCount() )
+				.append( ",executionTotalTime=" ).append( getExecutionTotalTime() )
+				.append( ",executionAvgTime=" ).append( getExecutionAvgTime() )
+				.append( ",executionMaxTime=" ).append( getExecutionMaxTime() )
+				.append( ",executionMinTime=" ).append( getExecutionMinTime() )
+				.append( ",fetchTotalTime=" ).append( getFetchTotalTime() )
+				.append( ",rowCount=" ).append( getRowCount() )
+				.append( ",slowExecutionCount=" ).append( getSlowExecutionCount() )
+				.append( ']' )
+				.toString();
+	}
+}
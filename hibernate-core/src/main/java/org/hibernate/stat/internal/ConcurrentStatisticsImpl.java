@@ -23,20 +23,30 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
 
+import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.service.Service;
+import org.hibernate.service.spi.Manageable;
 import org.hibernate.stat.CollectionStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.NaturalIdCacheStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.SqlStatementStatistics;
+import org.hibernate.stat.Statistics;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
 import org.jboss.logging.Logger;
@@ -47,7 +57,7 @@ import org.jboss.logging.Logger;
  * @author Alex Snaps
  */
 @SuppressWarnings({ "unchecked" })
-public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service {
+public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service, Manageable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ConcurrentStatisticsImpl.class.getName());
 
@@ -101,6 +111,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	private AtomicLong optimisticFailureCount = new AtomicLong();
 
+	private AtomicLong slowSqlStatementCount = new AtomicLong();
+
 	/**
 	 * natural id cache statistics per region
 	 */
@@ -121,6 +133,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * entity statistics per query string (HQL or SQL)
 	 */
 	private final ConcurrentMap queryStatistics = new ConcurrentHashMap();
+	/**
+	 * JDBC statement statistics per normalized SQL string
+	 */
+	private final ConcurrentMap sqlStatementStatistics = new ConcurrentHashMap();
 
 	@SuppressWarnings({ "UnusedDeclaration" })
 	public ConcurrentStatisticsImpl() {
@@ -183,10 +199,13 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 		optimisticFailureCount.set( 0 );
 
+		slowSqlStatementCount.set( 0 );
+
 		secondLevelCacheStatistics.clear();
 		entityStatistics.clear();
 		collectionStatistics.clear();
 		queryStatistics.clear();
+		sqlStatementStatistics.clear();
 		naturalIdCacheStatistics.clear();
 
 		startTime = System.currentTimeMillis();
@@ -425,6 +444,18 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 			qs.executed( rows, time );
 		}
 	}
+
+	@Override
+	public void sqlStatementExecuted(String sql, long rows, long executionNanos, long fetchNanos, boolean slow) {
+		if ( slow ) {
+			slowSqlStatementCount.getAndIncrement();
+		}
+		if ( sql != null ) {
+			ConcurrentSqlStatementStatisticsImpl ss = (ConcurrentSqlStatementStatisticsImpl) getSqlStatementStatistics( sql );
+			ss.executed( rows, executionNanos, fetchNanos, slow );
+		}
+	}
+
 	@Override
 	public void queryCacheHit(String hql, String regionName) {
 		queryCacheHitCount.getAndIncrement();
@@ -499,6 +530,48 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return qs;
 	}
 
+	/**
+	 * JDBC statement statistics from a SQL string
+	 *
+	 * @param sql The SQL statement
+	 *
+	 * @return SqlStatementStatistics
+	 */
+	@Override
+	public SqlStatementStatistics getSqlStatementStatistics(String sql) {
+		final String normalizedSql = SqlStatementNormalizer.normalize( sql );
+		ConcurrentSqlStatementStatisticsImpl ss = (ConcurrentSqlStatementStatisticsImpl) sqlStatementStatistics.get( normalizedSql );
+		if ( ss == null ) {
+			ss = new ConcurrentSqlStatementStatisticsImpl( normalizedSql );
+			ConcurrentSqlStatementStatisticsImpl previous;
+			if ( ( previous = (ConcurrentSqlStatementStatisticsImpl) sqlStatementStatistics.putIfAbsent(
+					normalizedSql, ss
+			) ) != null ) {
+				ss = previous;
+			}
+		}
+		return ss;
+	}
+
+	@Override
+	public SqlStatementStatistics[] getHottestSqlStatementStatistics(int maxResults) {
+		final List<ConcurrentSqlStatementStatisticsImpl> all
+				= new ArrayList<ConcurrentSqlStatementStatisticsImpl>( sqlStatementStatistics.values() );
+		Collections.sort( all, HOTTEST_FIRST );
+		final int size = Math.min( Math.max( maxResults, 0 ), all.size() );
+		return all.subList( 0, size ).toArray( new SqlStatementStatistics[size] );
+	}
+
+	private static final Comparator<ConcurrentSqlStatementStatisticsImpl> HOTTEST_FIRST
+			= new Comparator<ConcurrentSqlStatementStatisticsImpl>() {
+		@Override
+		public int compare(ConcurrentSqlStatementStatisticsImpl o1, ConcurrentSqlStatementStatisticsImpl o2) {
+			final long t1 = o1.totalNanos();
+			final long t2 = o2.totalNanos();
+			return t1 > t2 ? -1 : ( t1 == t2 ? 0 : 1 );
+		}
+	};
+
 	/**
 	 * @return entity deletion count
 	 */
@@ -779,6 +852,14 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return ArrayHelper.toStringArray( queryStatistics.keySet() );
 	}
 
+	/**
+	 * Get all executed (normalized) SQL statements
+	 */
+	@Override
+	public String[] getSqlStatements() {
+		return ArrayHelper.toStringArray( sqlStatementStatistics.keySet() );
+	}
+
 	/**
 	 * Get the names of all entities
 	 */
@@ -898,9 +979,38 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append(",update timestamps cache hits=").append(updateTimestampsCacheHitCount)
 				.append(",update timestamps cache misses=").append(updateTimestampsCacheMissCount)
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
+				.append( ",slow sql statements=" ).append( slowSqlStatementCount )
 				.append( ']' )
 				.toString();
 	}
+
+	@Override
+	public String getManagementDomain() {
+		// use Hibernate default domain
+		return null;
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		// use Hibernate default scheme
+		return null;
+	}
+
+	@Override
+	public Object getManagementBean() {
+		try {
+			return new StandardMBean( this, Statistics.class );
+		}
+		catch (NotCompliantMBeanException e) {
+			throw new HibernateException( "Unable to build statistics MBean", e );
+		}
+	}
+
+	@Override
+	public long getSlowSqlStatementCount() {
+		return slowSqlStatementCount.get();
+	}
+
 	@Override
 	public String getQueryExecutionMaxTimeQueryString() {
 		return queryExecutionMaxTimeQueryString;
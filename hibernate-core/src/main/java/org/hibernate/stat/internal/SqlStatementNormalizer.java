@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+/**
+ * Normalizes SQL strings for use as {@link org.hibernate.stat.SqlStatementStatistics} keys.
+ * <p/>
+ * Runs of whitespace are collapsed into a single space and lists of JDBC parameter markers (as generated for
+ * batch fetching or {@code IN} restrictions, e.g. {@code in (?, ?, ?)}) are collapsed into a single marker.
+ */
+public final class SqlStatementNormalizer {
+	private SqlStatementNormalizer() {
+	}
+
+	/**
+	 * Normalize the given SQL string.
+	 *
+	 * @param sql The SQL to normalize
+	 *
+	 * @return The normalized form.
+	 */
+	public static String normalize(String sql) {
+		if ( sql == null ) {
+			return null;
+		}
+		final int length = sql.length();
+		final StringBuilder buffer = new StringBuilder( length );
+		boolean pendingSpace = false;
+		int i = 0;
+		while ( i < length ) {
+			final char c = sql.charAt( i );
+			if ( Character.isWhitespace( c ) ) {
+				pendingSpace = buffer.length() > 0;
+				i++;
+				continue;
+			}
+			if ( pendingSpace ) {
+				buffer.append( ' ' );
+				pendingSpace = false;
+			}
+			buffer.append( c );
+			i++;
+			if ( c == '?' ) {
+				i = skipParameterList( sql, i );
+			}
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Skips any {@code , ?} sequences immediately following a parameter marker.
+	 */
+	private static int skipParameterList(String sql, int start) {
+		final int length = sql.length();
+		int position = start;
+		while ( true ) {
+			int i = skipWhitespace( sql, position );
+			if ( i >= length || sql.charAt( i ) != ',' ) {
+				return position;
+			}
+			i = skipWhitespace( sql, i + 1 );
+			if ( i >= length || sql.charAt( i ) != '?' ) {
+				return position;
+			}
+			position = i + 1;
+		}
+	}
+
+	private static int skipWhitespace(String sql, int start) {
+		int i = start;
+		while ( i < sql.length() && Character.isWhitespace( sql.charAt( i ) ) ) {
+			i++;
+		}
+		return i;
+	}
+}
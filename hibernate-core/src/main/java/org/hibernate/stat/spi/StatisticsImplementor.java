@@ -234,6 +234,17 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void queryExecuted(String hql, int rows, long time);
 
+	/**
+	 * Callback indicating the execution of a JDBC statement completed, including reading of its results
+	 *
+	 * @param sql The SQL statement
+	 * @param rows Number of rows fetched (queries) or affected (DML); negative if unknown
+	 * @param executionNanos time spent executing the statement, in nanoseconds
+	 * @param fetchNanos time spent reading the statement results, in nanoseconds
+	 * @param slow whether the execution exceeded the slow query threshold
+	 */
+	public void sqlStatementExecuted(String sql, long rows, long executionNanos, long fetchNanos, boolean slow);
+
 
 	/**
 	 * Callback indicating a hit to the timestamp cache
@@ -31,9 +31,14 @@ import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
 import org.hibernate.HibernateException;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.bytecode.spi.AccessorReflectionOptimizerProvider;
 import org.hibernate.bytecode.spi.BasicProxyFactory;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.mapping.Component;
@@ -106,13 +111,26 @@ public class PojoComponentTuplizer extends AbstractComponentTuplizer {
 			parentGetter = pa.getGetter( componentClass, parentPropertyName );
 		}
 
-		if ( hasCustomAccessors() || !Environment.useReflectionOptimizer() ) {
+		final boolean useGeneratedAccessors = serviceRegistry.getService( ConfigurationService.class ).getSetting(
+				AvailableSettings.USE_GENERATED_ACCESSORS,
+				StandardConverters.BOOLEAN,
+				false
+		);
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+		if ( useGeneratedAccessors && bytecodeProvider instanceof AccessorReflectionOptimizerProvider ) {
+			optimizer = ( (AccessorReflectionOptimizerProvider) bytecodeProvider ).getReflectionOptimizer(
+					componentClass,
+					getters(),
+					setters()
+			);
+		}
+		else if ( hasCustomAccessors() || !Environment.useReflectionOptimizer() ) {
 			optimizer = null;
 		}
 		else {
 			// TODO: here is why we need to make bytecode provider global :(
 			// TODO : again, fix this after HHH-1907 is complete
-			optimizer = Environment.getBytecodeProvider().getReflectionOptimizer(
+			optimizer = bytecodeProvider.getReflectionOptimizer(
 					componentClass, getterNames, setterNames, propTypes
 			);
 		}
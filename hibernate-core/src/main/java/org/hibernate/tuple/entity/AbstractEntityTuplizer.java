@@ -518,7 +518,7 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 
 		for ( int j = 0; j < span; j++ ) {
 			NonIdentifierAttribute property = entityMetamodel.getProperties()[j];
-			if ( getAll || !property.isLazy() ) {
+			if ( getAll || !property.isLazy() || isLazyPropertyInitialized( entity, property.getName() ) ) {
 				result[j] = getters[j].get( entity );
 			}
 			else {
@@ -528,6 +528,19 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 		return result;
 	}
 
+	/**
+	 * Has the named lazy property of an entity with uninitialized lazy properties been fetched?  That is
+	 * only possible when the lazy properties are split over several fetch groups.
+	 *
+	 * @param entity The entity
+	 * @param propertyName The name of the lazy property
+	 *
+	 * @return {@code true} if the property value is available
+	 */
+	protected boolean isLazyPropertyInitialized(Object entity, String propertyName) {
+		return false;
+	}
+
 	@Override
 	public Object[] getPropertyValuesToInsert(Object entity, Map mergeMap, SessionImplementor session)
 			throws HibernateException {
@@ -37,9 +37,14 @@ import org.hibernate.PropertyNotFoundException;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+import org.hibernate.bytecode.spi.AccessorReflectionOptimizerProvider;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Environment;
 import org.hibernate.classic.Lifecycle;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreLogging;
@@ -75,7 +80,8 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	private final Class proxyInterface;
 	private final boolean lifecycleImplementor;
 	private final Set<String> lazyPropertyNames = new HashSet<String>();
-	private final ReflectionOptimizer optimizer;
+	// not final: built by buildInstantiator(), which the super constructor calls
+	private ReflectionOptimizer optimizer;
 	private final boolean isInstrumented;
 
 	public PojoEntityTuplizer(ServiceRegistry serviceRegistry, EntityMetamodel entityMetamodel, EntityBinding mappedEntity) {
@@ -98,28 +104,6 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 				lazyPropertyNames.add( property.getAttribute().getName() );
 			}
 		}
-
-		String[] getterNames = new String[propertySpan];
-		String[] setterNames = new String[propertySpan];
-		Class[] propTypes = new Class[propertySpan];
-		for ( int i = 0; i < propertySpan; i++ ) {
-			getterNames[i] = getters[ i ].getMethodName();
-			setterNames[i] = setters[ i ].getMethodName();
-			propTypes[i] = getters[ i ].getReturnType();
-		}
-
-		if ( hasCustomAccessors || ! Environment.useReflectionOptimizer() ) {
-			optimizer = null;
-		}
-		else {
-			// todo : YUCK!!!
-			optimizer = Environment.getBytecodeProvider().getReflectionOptimizer(
-					mappedClass, getterNames, setterNames, propTypes
-			);
-//			optimizer = getFactory().getSettings().getBytecodeProvider().getReflectionOptimizer(
-//					mappedClass, getterNames, setterNames, propTypes
-//			);
-		}
 	}
 
 	@Override
@@ -223,6 +207,9 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 
 	@Override
 	protected Instantiator buildInstantiator(EntityBinding entityBinding) {
+		optimizer = buildReflectionOptimizer(
+				classForName( entityBinding.getEntity().getDescriptor().getName().toString() )
+		);
 		if ( optimizer == null ) {
 			return new PojoInstantiator( serviceRegistry(), entityBinding, null );
 		}
@@ -231,6 +218,42 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 		}
 	}
 
+	private ReflectionOptimizer buildReflectionOptimizer(Class mappedClass) {
+		final boolean useGeneratedAccessors = serviceRegistry().getService( ConfigurationService.class ).getSetting(
+				AvailableSettings.USE_GENERATED_ACCESSORS,
+				StandardConverters.BOOLEAN,
+				false
+		);
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+		if ( useGeneratedAccessors && bytecodeProvider instanceof AccessorReflectionOptimizerProvider ) {
+			return ( (AccessorReflectionOptimizerProvider) bytecodeProvider ).getReflectionOptimizer(
+					mappedClass,
+					getters,
+					setters
+			);
+		}
+		if ( hasCustomAccessors || ! Environment.useReflectionOptimizer() ) {
+			return null;
+		}
+
+		String[] getterNames = new String[propertySpan];
+		String[] setterNames = new String[propertySpan];
+		Class[] propTypes = new Class[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			getterNames[i] = getters[ i ].getMethodName();
+			setterNames[i] = setters[ i ].getMethodName();
+			propTypes[i] = getters[ i ].getReturnType();
+		}
+
+		// todo : YUCK!!!
+		return bytecodeProvider.getReflectionOptimizer(
+				mappedClass, getterNames, setterNames, propTypes
+		);
+//		return getFactory().getSettings().getBytecodeProvider().getReflectionOptimizer(
+//				mappedClass, getterNames, setterNames, propTypes
+//		);
+	}
+
 	@Override
     public void setPropertyValues(Object entity, Object[] values) throws HibernateException {
 		if ( !getEntityMetamodel().hasLazyProperties() && optimizer != null && optimizer.getAccessOptimizer() != null ) {
@@ -343,10 +366,9 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	@Override
     public void afterInitialize(Object entity, boolean lazyPropertiesAreUnfetched, SessionImplementor session) {
 		if ( isInstrumented() ) {
+			// the interceptor copies the set before removing the fields of an initialized fetch group
 			Set lazyProps = lazyPropertiesAreUnfetched && getEntityMetamodel().hasLazyProperties() ?
 					lazyPropertyNames : null;
-			//TODO: if we support multiple fetch groups, we would need
-			//      to clone the set of lazy properties!
 			FieldInterceptionHelper.injectFieldInterceptor( entity, getEntityName(), lazyProps, session );
 
             //also clear the fields that are marked as dirty in the dirtyness tracker
@@ -367,6 +389,12 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 		}
 	}
 
+	@Override
+	protected boolean isLazyPropertyInitialized(Object entity, String propertyName) {
+		final FieldInterceptor callback = FieldInterceptionHelper.extractFieldInterceptor( entity );
+		return callback != null && callback.isInitialized( propertyName );
+	}
+
 	@Override
 	public boolean isInstrumented() {
 		return isInstrumented;
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.HibernateException;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+/**
+ * Tests running bootstrap tasks serially and in parallel.
+ */
+public class BootstrapExecutorTest extends BaseUnitTestCase {
+	@Test
+	public void testResultsKeepTaskOrder() {
+		for ( int parallelism : new int[] { 1, 4 } ) {
+			final BootstrapExecutor executor = new BootstrapExecutor( parallelism );
+			try {
+				final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+				for ( int i = 0; i < 20; i++ ) {
+					final int value = i;
+					tasks.add(
+							new Callable<Integer>() {
+								@Override
+								public Integer call() throws Exception {
+									Thread.sleep( ( 20 - value ) % 5 );
+									return value;
+								}
+							}
+					);
+				}
+				final List<Integer> results = executor.invokeAll( tasks );
+				assertEquals( 20, results.size() );
+				for ( int i = 0; i < 20; i++ ) {
+					assertEquals( Integer.valueOf( i ), results.get( i ) );
+				}
+			}
+			finally {
+				executor.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void testFirstFailureInTaskOrderIsReported() {
+		final BootstrapExecutor executor = new BootstrapExecutor( 4 );
+		// the second task fails last, yet it is the one reported
+		final CountDownLatch laterFailureDone = new CountDownLatch( 1 );
+		try {
+			executor.invokeAll(
+					Arrays.<Callable<Object>>asList(
+							new Callable<Object>() {
+								@Override
+								public Object call() {
+									return "ok";
+								}
+							},
+							new Callable<Object>() {
+								@Override
+								public Object call() throws Exception {
+									laterFailureDone.await( 10, TimeUnit.SECONDS );
+									throw new HibernateException( "first" );
+								}
+							},
+							new Callable<Object>() {
+								@Override
+								public Object call() {
+									laterFailureDone.countDown();
+									throw new HibernateException( "second" );
+								}
+							}
+					)
+			);
+			fail( "expected a failure" );
+		}
+		catch (HibernateException e) {
+			assertEquals( "first", e.getMessage() );
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.metamodel.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.metamodel.Metadata;
+import org.hibernate.metamodel.MetadataSources;
+import org.hibernate.metamodel.archive.scan.spi.ScanEnvironment;
+import org.hibernate.metamodel.spi.MetadataBuildingOptions;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetadataSnapshot}
+ */
+public class MetadataSnapshotTest extends BaseUnitTestCase {
+	private File snapshotFile;
+	private StandardServiceRegistry serviceRegistry;
+
+	@Entity(name = "SnapshotEntity")
+	public static class SnapshotEntity {
+		@Id
+		private Integer id;
+		private String name;
+	}
+
+	@Entity(name = "OtherEntity")
+	public static class OtherEntity {
+		@Id
+		private Integer id;
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		snapshotFile = File.createTempFile( "metadata", ".snapshot" );
+		snapshotFile.delete();
+		serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.METADATA_SNAPSHOT_FILE, snapshotFile.getAbsolutePath() )
+				.build();
+	}
+
+	@After
+	public void tearDown() {
+		StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		snapshotFile.delete();
+	}
+
+	@Test
+	public void testSnapshotWrittenAndReused() {
+		Metadata metadata = new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( SnapshotEntity.class )
+				.buildMetadata();
+		assertNotNull( metadata.getEntityBinding( SnapshotEntity.class.getName() ) );
+		assertTrue( snapshotFile.exists() );
+
+		MetadataSources sources = new MetadataSources( serviceRegistry ).addAnnotatedClass( SnapshotEntity.class );
+		assertNotNull( read( sources ) );
+
+		metadata = sources.buildMetadata();
+		assertNotNull( metadata.getEntityBinding( SnapshotEntity.class.getName() ) );
+		assertNull( metadata.getEntityBinding( OtherEntity.class.getName() ) );
+	}
+
+	@Test
+	public void testSnapshotIgnoredWhenSourcesChange() {
+		new MetadataSources( serviceRegistry ).addAnnotatedClass( SnapshotEntity.class ).buildMetadata();
+		assertTrue( snapshotFile.exists() );
+
+		MetadataSources sources = new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( SnapshotEntity.class )
+				.addAnnotatedClass( OtherEntity.class );
+		assertNull( read( sources ) );
+
+		Metadata metadata = sources.buildMetadata();
+		assertNotNull( metadata.getEntityBinding( OtherEntity.class.getName() ) );
+		// the snapshot was rewritten for the new sources
+		assertNotNull( read( sources ) );
+	}
+
+	@Test
+	public void testUnreadableSnapshotIgnored() throws Exception {
+		assertTrue( snapshotFile.createNewFile() );
+		MetadataSources sources = new MetadataSources( serviceRegistry ).addAnnotatedClass( SnapshotEntity.class );
+		assertNull( read( sources ) );
+
+		Metadata metadata = sources.buildMetadata();
+		assertNotNull( metadata.getEntityBinding( SnapshotEntity.class.getName() ) );
+		assertTrue( snapshotFile.length() > 0 );
+	}
+
+	@Test
+	public void testNewFileInScannedDirectoryChangesInputs() throws Exception {
+		final File directory = File.createTempFile( "scanned", "" );
+		directory.delete();
+		assertTrue( directory.mkdirs() );
+		try {
+			write( new File( directory, "Existing.class" ), 1 );
+			final MetadataSources sources = new MetadataSources( serviceRegistry );
+			final MetadataBuildingOptions options = scanning( directory.toURI().toURL() );
+
+			final String hash = MetadataSnapshot.hashInputs( sources, options );
+			assertNotNull( hash );
+			assertEquals( hash, MetadataSnapshot.hashInputs( sources, options ) );
+
+			final File added = new File( directory, "Added.class" );
+			write( added, 1 );
+			try {
+				assertFalse( hash.equals( MetadataSnapshot.hashInputs( sources, options ) ) );
+			}
+			finally {
+				added.delete();
+			}
+		}
+		finally {
+			new File( directory, "Existing.class" ).delete();
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testChangedScannedJarChangesInputs() throws Exception {
+		final File jar = File.createTempFile( "scanned", ".jar" );
+		try {
+			write( jar, 1 );
+			final MetadataSources sources = new MetadataSources( serviceRegistry );
+			final MetadataBuildingOptions options = scanning( new URL( "jar:" + jar.toURI().toURL() + "!/" ) );
+
+			final String hash = MetadataSnapshot.hashInputs( sources, options );
+			assertNotNull( hash );
+
+			// same size, only the modification time tells the jar was replaced
+			write( jar, 2 );
+			assertTrue( jar.setLastModified( jar.lastModified() + 2000 ) );
+			assertFalse( hash.equals( MetadataSnapshot.hashInputs( sources, options ) ) );
+		}
+		finally {
+			jar.delete();
+		}
+	}
+
+	@Test
+	public void testTouchedClassFileInvalidatesSnapshot() throws Exception {
+		new MetadataSources( serviceRegistry ).addAnnotatedClass( SnapshotEntity.class ).buildMetadata();
+		MetadataSources sources = new MetadataSources( serviceRegistry ).addAnnotatedClass( SnapshotEntity.class );
+		assertNotNull( read( sources ) );
+
+		final URL classFile = serviceRegistry.getService( ClassLoaderService.class )
+				.locateResource( SnapshotEntity.class.getName().replace( '.', '/' ) + ".class" );
+		assertEquals( "file", classFile.getProtocol() );
+		final File file = new File( classFile.toURI() );
+		final long lastModified = file.lastModified();
+		assertTrue( file.setLastModified( lastModified + 2000 ) );
+		try {
+			assertNull( read( sources ) );
+		}
+		finally {
+			file.setLastModified( lastModified );
+		}
+		assertNotNull( read( sources ) );
+	}
+
+	@Test
+	public void testRemoteScannedArchiveDisablesSnapshot() throws Exception {
+		final MetadataSources sources = new MetadataSources( serviceRegistry );
+		assertNull( MetadataSnapshot.hashInputs( sources, scanning( new URL( "http://localhost/scanned.jar" ) ) ) );
+	}
+
+	private MetadataBuildingOptions scanning(final URL rootUrl) {
+		final ScanEnvironment scanEnvironment = new ScanEnvironment() {
+			@Override
+			public URL getRootUrl() {
+				return rootUrl;
+			}
+
+			@Override
+			public List<URL> getNonRootUrls() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public List<String> getExplicitlyListedClassNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public List<String> getExplicitlyListedMappingFiles() {
+				return Collections.emptyList();
+			}
+		};
+		return new MetadataBuilderImpl.Options( serviceRegistry ) {
+			@Override
+			public ScanEnvironment getScanEnvironment() {
+				return scanEnvironment;
+			}
+		};
+	}
+
+	private static void write(File file, int content) throws IOException {
+		final FileOutputStream out = new FileOutputStream( file );
+		try {
+			out.write( content );
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	private Object read(MetadataSources sources) {
+		final MetadataBuildingOptions options = new MetadataBuilderImpl.Options( serviceRegistry );
+		return MetadataSnapshot.read(
+				snapshotFile,
+				MetadataSnapshot.hashInputs( sources, options ),
+				serviceRegistry.getService( ClassLoaderService.class )
+		);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.metamodel.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.metamodel.Metadata;
+import org.hibernate.metamodel.MetadataSources;
+import org.hibernate.metamodel.archive.scan.internal.PrebuiltIndexScanner;
+import org.hibernate.metamodel.archive.scan.internal.StandardScanOptions;
+import org.hibernate.metamodel.archive.scan.spi.ScanEnvironment;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests building the metadata from a scanned archive shipping a prebuilt index
+ */
+public class PrebuiltIndexTest extends BaseUnitTestCase {
+	private File archive;
+	private File indexFile;
+	private StandardServiceRegistry serviceRegistry;
+
+	@Entity(name = "IndexedEntity")
+	public static class IndexedEntity {
+		@Id
+		private Integer id;
+	}
+
+	@Entity(name = "ListedEntity")
+	public static class ListedEntity {
+		@Id
+		private Integer id;
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		archive = File.createTempFile( "indexed", "" );
+		archive.delete();
+		indexFile = new File( archive, PrebuiltIndexScanner.INDEX_NAME );
+		assertTrue( indexFile.getParentFile().mkdirs() );
+
+		// the index only knows about IndexedEntity
+		final Indexer indexer = new Indexer();
+		final InputStream classFile = getClass().getClassLoader().getResourceAsStream(
+				IndexedEntity.class.getName().replace( '.', '/' ) + ".class"
+		);
+		try {
+			indexer.index( classFile );
+		}
+		finally {
+			classFile.close();
+		}
+		final FileOutputStream out = new FileOutputStream( indexFile );
+		try {
+			new IndexWriter( out ).write( indexer.complete() );
+		}
+		finally {
+			out.close();
+		}
+
+		serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.SCANNER_PREBUILT_INDEX, "true" )
+				.build();
+	}
+
+	@After
+	public void tearDown() {
+		StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		indexFile.delete();
+		indexFile.getParentFile().delete();
+		archive.delete();
+	}
+
+	@Test
+	public void testListedClassMissingFromPrebuiltIndexIsBound() throws Exception {
+		final URL rootUrl = archive.toURI().toURL();
+		assertNotNull( PrebuiltIndexScanner.locate( scanEnvironment( rootUrl ) ) );
+
+		final MetadataSources sources = new MetadataSources( serviceRegistry ).addAnnotatedClass( ListedEntity.class );
+		final Metadata metadata = sources.getMetadataBuilder()
+				.with( scanEnvironment( rootUrl ) )
+				.with( new StandardScanOptions( "class", false ) )
+				.build();
+
+		// discovered through the prebuilt index
+		assertNotNull( metadata.getEntityBinding( IndexedEntity.class.getName() ) );
+		// not in the prebuilt index, indexed on the fly
+		assertNotNull( metadata.getEntityBinding( ListedEntity.class.getName() ) );
+	}
+
+	private static ScanEnvironment scanEnvironment(final URL rootUrl) {
+		return new ScanEnvironment() {
+			@Override
+			public URL getRootUrl() {
+				return rootUrl;
+			}
+
+			@Override
+			public List<URL> getNonRootUrls() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public List<String> getExplicitlyListedClassNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public List<String> getExplicitlyListedMappingFiles() {
+				return Collections.emptyList();
+			}
+		};
+	}
+}
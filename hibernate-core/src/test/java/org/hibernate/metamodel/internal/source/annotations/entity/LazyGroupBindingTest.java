@@ -0,0 +1,81 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.metamodel.internal.source.annotations.entity;
+
+import javax.persistence.Basic;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.metamodel.spi.binding.BasicAttributeBinding;
+import org.hibernate.metamodel.spi.binding.EntityBinding;
+
+import org.hibernate.testing.junit4.BaseAnnotationBindingTestCase;
+import org.hibernate.testing.junit4.Resources;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Tests for {@code o.h.a.LazyGroup}.
+ */
+public class LazyGroupBindingTest extends BaseAnnotationBindingTestCase {
+	@Test
+	@Resources(annotatedClasses = Document.class)
+	public void testLazyGroups() {
+		EntityBinding binding = getEntityBinding( Document.class );
+
+		BasicAttributeBinding text = (BasicAttributeBinding) binding.locateAttributeBinding( "text" );
+		assertTrue( "Wrong laziness", text.isLazy() );
+		assertEquals( "Wrong lazy group", "content", text.getLazyGroup() );
+
+		BasicAttributeBinding json = (BasicAttributeBinding) binding.locateAttributeBinding( "json" );
+		assertTrue( "Wrong laziness", json.isLazy() );
+		assertEquals( "Wrong lazy group", "metadata", json.getLazyGroup() );
+
+		BasicAttributeBinding summary = (BasicAttributeBinding) binding.locateAttributeBinding( "summary" );
+		assertTrue( "Wrong laziness", summary.isLazy() );
+		assertNull( "Wrong lazy group", summary.getLazyGroup() );
+	}
+
+	@Entity
+	class Document {
+		@Id
+		private int id;
+
+		@Basic(fetch = FetchType.LAZY)
+		@LazyGroup("content")
+		private String text;
+
+		@Basic(fetch = FetchType.LAZY)
+		@LazyGroup("metadata")
+		private String json;
+
+		@Basic(fetch = FetchType.LAZY)
+		private String summary;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+/**
+ * Tests the keys used to cache dynamic-insert and dynamic-update SQL.
+ */
+public class DynamicSqlCacheKeyTest extends BaseUnitTestCase {
+	@Test
+	public void testEqualMasksGenerateEqualKeys() {
+		final DynamicSqlCacheKey first = DynamicSqlCacheKey.forUpdate( new boolean[] { true, false, true }, 0, false );
+		final DynamicSqlCacheKey second = DynamicSqlCacheKey.forUpdate( new boolean[] { true, false, true }, 0, false );
+		assertEquals( first, second );
+		assertEquals( first.hashCode(), second.hashCode() );
+	}
+
+	@Test
+	public void testDifferentMasksGenerateDifferentKeys() {
+		final DynamicSqlCacheKey key = DynamicSqlCacheKey.forUpdate( new boolean[] { true, false, true }, 0, false );
+		assertFalse( key.equals( DynamicSqlCacheKey.forUpdate( new boolean[] { true, true, true }, 0, false ) ) );
+		assertFalse( key.equals( DynamicSqlCacheKey.forUpdate( new boolean[] { true, false, true }, 1, false ) ) );
+		assertFalse( key.equals( DynamicSqlCacheKey.forUpdate( new boolean[] { true, false, true }, 0, true ) ) );
+		assertFalse( key.equals( DynamicSqlCacheKey.forInsert( false, new boolean[] { true, false, true }, 0 ) ) );
+		assertFalse(
+				DynamicSqlCacheKey.forInsert( false, new boolean[] { true, false, true }, 0 )
+						.equals( DynamicSqlCacheKey.forInsert( true, new boolean[] { true, false, true }, 0 ) )
+		);
+	}
+
+	@Test
+	public void testMasksLongerThanOneWord() {
+		final boolean[] mask = new boolean[130];
+		mask[1] = true;
+		mask[129] = true;
+		final boolean[] other = mask.clone();
+		other[65] = true;
+		assertEquals( DynamicSqlCacheKey.forInsert( false, mask, 0 ), DynamicSqlCacheKey.forInsert( false, mask.clone(), 0 ) );
+		assertFalse( DynamicSqlCacheKey.forInsert( false, mask, 0 ).equals( DynamicSqlCacheKey.forInsert( false, other, 0 ) ) );
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that dynamic-update SQL is cached per set of updated properties, except when the
+ * WHERE clause depends on the old values.
+ */
+public class DynamicSqlCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Parcel.class, AllLockedParcel.class, DirtyLockedParcel.class };
+	}
+
+	@Test
+	public void testSameDirtyPropertiesReuseCachedSql() {
+		persist( new Parcel( 1, "a", 1 ), new Parcel( 2, "b", 2 ) );
+
+		final String first = update( Parcel.class, 1, "label", "c" );
+		final String second = update( Parcel.class, 2, "label", "d" );
+		assertSame( first, second );
+
+		final String other = update( Parcel.class, 1, "weight", 3 );
+		assertFalse( first.equals( other ) );
+
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals( "c", ( (Parcel) s.get( Parcel.class, 1 ) ).label );
+		assertEquals( 3, ( (Parcel) s.get( Parcel.class, 1 ) ).weight );
+		assertEquals( "d", ( (Parcel) s.get( Parcel.class, 2 ) ).label );
+		s.createQuery( "delete Parcel" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testAllOptimisticLockingBypassesCache() throws Exception {
+		persist( new AllLockedParcel( 1, "a" ) );
+
+		// the old values of all properties are part of the where clause, null ones as "is null"
+		final String nullNotes = update( AllLockedParcel.class, 1, "label", "b" );
+		assertTrue( whereClause( nullNotes ).contains( "notes is null" ) );
+		update( AllLockedParcel.class, 1, "notes", "n" );
+		final String notes = update( AllLockedParcel.class, 1, "label", "c" );
+		assertTrue( whereClause( notes ).contains( "notes=?" ) );
+		assertTrue( whereClause( notes ).contains( "label=?" ) );
+		assertEquals( 0, dynamicSqlStrings( AllLockedParcel.class ).size() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final AllLockedParcel parcel = (AllLockedParcel) s.get( AllLockedParcel.class, 1 );
+		assertEquals( "c", parcel.label );
+		assertEquals( "n", parcel.notes );
+		s.delete( parcel );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testDirtyOptimisticLockingBypassesCache() throws Exception {
+		persist( new DirtyLockedParcel( 1, "a" ) );
+
+		// only the old values of the dirty properties are part of the where clause
+		final String nullNotes = update( DirtyLockedParcel.class, 1, "notes", "n" );
+		assertTrue( whereClause( nullNotes ).contains( "notes is null" ) );
+		assertFalse( whereClause( nullNotes ).contains( "label" ) );
+		final String notes = update( DirtyLockedParcel.class, 1, "notes", "m" );
+		assertTrue( whereClause( notes ).contains( "notes=?" ) );
+		assertEquals( 0, dynamicSqlStrings( DirtyLockedParcel.class ).size() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final DirtyLockedParcel parcel = (DirtyLockedParcel) s.get( DirtyLockedParcel.class, 1 );
+		assertEquals( "a", parcel.label );
+		assertEquals( "m", parcel.notes );
+		s.delete( parcel );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void persist(Object... entities) {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( Object entity : entities ) {
+			s.persist( entity );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	/**
+	 * Sets a property of the entity in its own transaction and returns the UPDATE statement that was prepared.
+	 */
+	private String update(Class<?> entityClass, Integer id, String property, Object value) {
+		final SqlRecorder recorder = new SqlRecorder();
+		Session s = openSession( recorder );
+		s.beginTransaction();
+		final Object entity = s.get( entityClass, id );
+		try {
+			final Field field = entityClass.getDeclaredField( property );
+			field.setAccessible( true );
+			field.set( entity, value );
+		}
+		catch (Exception e) {
+			throw new RuntimeException( e );
+		}
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, recorder.updates.size() );
+		return recorder.updates.get( 0 );
+	}
+
+	private static String whereClause(String sql) {
+		return sql.substring( sql.toLowerCase().indexOf( " where " ) ).toLowerCase();
+	}
+
+	private Map dynamicSqlStrings(Class<?> entityClass) throws Exception {
+		final Field field = AbstractEntityPersister.class.getDeclaredField( "dynamicSqlStrings" );
+		field.setAccessible( true );
+		return (Map) field.get( sessionFactory().getEntityPersister( entityClass.getName() ) );
+	}
+
+	private static class SqlRecorder extends EmptyInterceptor {
+		private final List<String> updates = new ArrayList<String>();
+
+		@Override
+		public String onPrepareStatement(String sql) {
+			if ( sql.toLowerCase().startsWith( "update" ) ) {
+				updates.add( sql );
+			}
+			return sql;
+		}
+	}
+
+	@Entity(name = "Parcel")
+	@DynamicUpdate
+	public static class Parcel {
+		@Id
+		private Integer id;
+		private String label;
+		private int weight;
+
+		public Parcel() {
+		}
+
+		public Parcel(Integer id, String label, int weight) {
+			this.id = id;
+			this.label = label;
+			this.weight = weight;
+		}
+	}
+
+	@Entity(name = "AllLockedParcel")
+	@DynamicUpdate
+	@OptimisticLocking(type = OptimisticLockType.ALL)
+	public static class AllLockedParcel {
+		@Id
+		private Integer id;
+		private String label;
+		private String notes;
+
+		public AllLockedParcel() {
+		}
+
+		public AllLockedParcel(Integer id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+	}
+
+	@Entity(name = "DirtyLockedParcel")
+	@DynamicUpdate
+	@OptimisticLocking(type = OptimisticLockType.DIRTY)
+	public static class DirtyLockedParcel {
+		@Id
+		private Integer id;
+		private String label;
+		private String notes;
+
+		public DirtyLockedParcel() {
+		}
+
+		public DirtyLockedParcel(Integer id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+/**
+ * Tests the keys used to cache influenced entity loaders.
+ */
+public class EntityLoaderCacheKeyTest extends BaseUnitTestCase {
+	@Test
+	public void testEqualOptionsGenerateEqualKeys() {
+		final EntityLoaderCacheKey first = EntityLoaderCacheKey.generate(
+				new LockOptions( LockMode.PESSIMISTIC_WRITE ).setTimeOut( 500 ),
+				LoadQueryInfluencers.NONE
+		);
+		final EntityLoaderCacheKey second = EntityLoaderCacheKey.generate(
+				new LockOptions( LockMode.PESSIMISTIC_WRITE ).setTimeOut( 500 ),
+				LoadQueryInfluencers.NONE
+		);
+		assertNotNull( first );
+		assertEquals( first, second );
+		assertEquals( first.hashCode(), second.hashCode() );
+	}
+
+	@Test
+	public void testDifferentLockOptionsGenerateDifferentKeys() {
+		final EntityLoaderCacheKey key = EntityLoaderCacheKey.generate(
+				new LockOptions( LockMode.PESSIMISTIC_WRITE ).setTimeOut( 500 ),
+				LoadQueryInfluencers.NONE
+		);
+		assertFalse(
+				key.equals(
+						EntityLoaderCacheKey.generate(
+								new LockOptions( LockMode.PESSIMISTIC_WRITE ).setTimeOut( 1000 ),
+								LoadQueryInfluencers.NONE
+						)
+				)
+		);
+		assertFalse(
+				key.equals(
+						EntityLoaderCacheKey.generate(
+								new LockOptions( LockMode.PESSIMISTIC_READ ).setTimeOut( 500 ),
+								LoadQueryInfluencers.NONE
+						)
+				)
+		);
+	}
+
+	@Test
+	public void testAliasSpecificLockModesAreNotCached() {
+		final LockOptions lockOptions = new LockOptions( LockMode.PESSIMISTIC_WRITE )
+				.setAliasSpecificLockMode( "e", LockMode.PESSIMISTIC_READ );
+		assertNull( EntityLoaderCacheKey.generate( lockOptions, LoadQueryInfluencers.NONE ) );
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.entity.UniqueEntityLoader;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests that loaders cached for enabled filters are shared between sessions without
+ * retaining the state of the session that built them.
+ */
+public class InfluencedEntityLoaderCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Ticket.class };
+	}
+
+	@Test
+	public void testSecondSessionReusesLoader() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Ticket( 5 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory().getEntityPersister(
+				Ticket.class.getName()
+		);
+
+		final Session first = openSession();
+		first.enableFilter( "minimumId" ).setParameter( "minId", 0 );
+		final UniqueEntityLoader firstLoader = persister.getAppropriateLoader(
+				LockOptions.READ,
+				(SessionImplementor) first
+		);
+		assertNotNull( first.get( Ticket.class, 5 ) );
+		first.close();
+
+		// a different parameter value must be bound from the second session, not from the first one
+		final Session second = openSession();
+		second.enableFilter( "minimumId" ).setParameter( "minId", 10 );
+		final UniqueEntityLoader secondLoader = persister.getAppropriateLoader(
+				LockOptions.READ,
+				(SessionImplementor) second
+		);
+		assertSame( firstLoader, secondLoader );
+		assertNull( second.get( Ticket.class, 5 ) );
+		second.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Ticket" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Ticket")
+	@FilterDef(name = "minimumId", parameters = @ParamDef(name = "minId", type = "integer"))
+	@Filter(name = "minimumId", condition = "id >= :minId")
+	public static class Ticket {
+		@Id
+		private Integer id;
+
+		public Ticket() {
+		}
+
+		public Ticket(Integer id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests adaptive sizing of entity batch fetches.
+ */
+public class AdaptiveBatchFetchTest extends BaseCoreFunctionalTestCase {
+	private static final int ENTITY_COUNT = 100;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { BatchLoadableEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.BATCH_FETCH_ADAPTIVE, "true" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+	}
+
+	@Test
+	public void testBatchSizeAdaptsToAccessPattern() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= ENTITY_COUNT; i++ ) {
+			s.save( new BatchLoadableEntity( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final String entityName = BatchLoadableEntity.class.getName();
+
+		// only the requested instance of each batch is used : the batch size should shrink
+		for ( int round = 0; round < 10; round++ ) {
+			s = openSession();
+			s.beginTransaction();
+			final List<BatchLoadableEntity> proxies = loadProxies( s );
+			Hibernate.initialize( proxies.get( 0 ) );
+			s.getTransaction().commit();
+			s.close();
+		}
+		final int shrunkBatchSize = sessionFactory().getAdaptiveBatchFetchSizing().getEffectiveBatchSize( entityName );
+		assertTrue( shrunkBatchSize < 32 );
+
+		// every batch loaded instance is used : the batch size should grow again
+		for ( int round = 0; round < 10; round++ ) {
+			s = openSession();
+			s.beginTransaction();
+			for ( BatchLoadableEntity proxy : loadProxies( s ) ) {
+				Hibernate.initialize( proxy );
+			}
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertTrue( sessionFactory().getAdaptiveBatchFetchSizing().getEffectiveBatchSize( entityName ) > shrunkBatchSize );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( ENTITY_COUNT, s.createQuery( "delete BatchLoadableEntity" ).executeUpdate() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private List<BatchLoadableEntity> loadProxies(Session s) {
+		final List<BatchLoadableEntity> proxies = new ArrayList<BatchLoadableEntity>();
+		for ( int i = 1; i <= ENTITY_COUNT; i++ ) {
+			proxies.add( (BatchLoadableEntity) s.load( BatchLoadableEntity.class, i ) );
+		}
+		return proxies;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import java.lang.reflect.Field;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.bytecode.internal.javassist.GeneratedAccessOptimizer;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.ComponentType;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the pojo tuplizers with {@value AvailableSettings#USE_GENERATED_ACCESSORS} enabled.
+ */
+public class GeneratedAccessorsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Shipment.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_GENERATED_ACCESSORS, "true" );
+	}
+
+	@Test
+	public void testTuplizersUseGeneratedAccessors() throws Exception {
+		final EntityPersister persister = sessionFactory().getEntityPersister( Shipment.class.getName() );
+		assertTrue( accessOptimizer( persister.getEntityTuplizer() ) instanceof GeneratedAccessOptimizer );
+
+		final ComponentType destinationType = (ComponentType) persister.getPropertyType( "destination" );
+		assertTrue( accessOptimizer( destinationType.getComponentTuplizer() ) instanceof GeneratedAccessOptimizer );
+	}
+
+	@Test
+	public void testPersistLoadAndUpdate() {
+		Shipment shipment = new Shipment();
+		shipment.id = 1;
+		shipment.reference = "S-1";
+		shipment.parcels = 3;
+		shipment.weight = 12.5d;
+		shipment.fragile = true;
+		shipment.destination = new Destination();
+		shipment.destination.city = "Lyon";
+		shipment.destination.zip = 69001;
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( shipment );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		shipment = (Shipment) s.get( Shipment.class, 1 );
+		assertEquals( "S-1", shipment.reference );
+		assertEquals( 3, shipment.parcels );
+		assertEquals( 12.5d, shipment.weight, 0d );
+		assertTrue( shipment.fragile );
+		assertEquals( "Lyon", shipment.destination.city );
+		assertEquals( 69001, shipment.destination.zip );
+		shipment.parcels = 4;
+		shipment.destination.zip = 69002;
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		shipment = (Shipment) s.get( Shipment.class, 1 );
+		assertEquals( 4, shipment.parcels );
+		assertEquals( 69002, shipment.destination.zip );
+		s.delete( shipment );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static Object accessOptimizer(Object tuplizer) throws Exception {
+		final Field field = tuplizer.getClass().getDeclaredField( "optimizer" );
+		field.setAccessible( true );
+		final ReflectionOptimizer optimizer = (ReflectionOptimizer) field.get( tuplizer );
+		return optimizer == null ? null : optimizer.getAccessOptimizer();
+	}
+
+	@Entity(name = "Shipment")
+	public static class Shipment {
+		@Id
+		Integer id;
+		protected String reference;
+		int parcels;
+		protected double weight;
+		boolean fragile;
+		Destination destination;
+	}
+
+	@Embeddable
+	public static class Destination {
+		protected String city;
+		int zip;
+	}
+}
@@ -23,17 +23,28 @@
  */
 package org.hibernate.test.bytecode.javassist;
 
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Map;
+
 import org.junit.Test;
 
 import org.hibernate.bytecode.internal.javassist.BulkAccessor;
 import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.property.BasicPropertyAccessor;
+import org.hibernate.property.DirectPropertyAccessor;
+import org.hibernate.property.Getter;
+import org.hibernate.property.PropertyAccessor;
+import org.hibernate.property.Setter;
 import org.hibernate.test.bytecode.Bean;
 import org.hibernate.test.bytecode.BeanReflectionHelper;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Steve Ebersole
@@ -72,6 +83,116 @@ public class ReflectionOptimizerTest extends BaseUnitTestCase {
 		assertEquivalent( values, BeanReflectionHelper.TEST_VALUES );
 	}
 
+	@Test
+	public void testGeneratedAccessors() {
+		final String[] propertyNames = new String[] {
+				"someString", "someLong", "someInteger", "someDate", "somelong", "someint", "someObject"
+		};
+		final PropertyAccessor basic = new BasicPropertyAccessor();
+		// private fields are not reachable from generated code, so these exercise the per-property fallback
+		final PropertyAccessor direct = new DirectPropertyAccessor();
+		final Getter[] getters = new Getter[propertyNames.length];
+		final Setter[] setters = new Setter[propertyNames.length];
+		for ( int i = 0; i < propertyNames.length; i++ ) {
+			final PropertyAccessor accessor = i % 2 == 0 ? basic : direct;
+			getters[i] = accessor.getGetter( Bean.class, propertyNames[i] );
+			setters[i] = accessor.getSetter( Bean.class, propertyNames[i] );
+		}
+
+		BytecodeProviderImpl provider = new BytecodeProviderImpl();
+		ReflectionOptimizer optimizer = provider.getReflectionOptimizer( Bean.class, getters, setters );
+		assertNotNull( optimizer );
+		assertNotNull( optimizer.getInstantiationOptimizer() );
+		assertNotNull( optimizer.getAccessOptimizer() );
+
+		Object instance = optimizer.getInstantiationOptimizer().newInstance();
+		assertEquals( instance.getClass(), Bean.class );
+		Bean bean = ( Bean ) instance;
+
+		optimizer.getAccessOptimizer().setPropertyValues( bean, BeanReflectionHelper.TEST_VALUES );
+		assertEquals( bean.getSomeString(), BeanReflectionHelper.TEST_VALUES[0] );
+		assertEquals( bean.getSomeLong(), BeanReflectionHelper.TEST_VALUES[1] );
+		Object[] values = optimizer.getAccessOptimizer().getPropertyValues( bean );
+		assertEquivalent( values, BeanReflectionHelper.TEST_VALUES );
+	}
+
+	@Test
+	public void testGeneratedFieldAccessors() {
+		final String[] propertyNames = new String[] {
+				"someString", "someLong", "someint", "somelong", "someboolean", "somedouble", "somechar"
+		};
+		final Object[] testValues = new Object[] {
+				"some string", Long.valueOf( 1 ), Integer.valueOf( 2 ), Long.valueOf( 3 ), Boolean.TRUE,
+				Double.valueOf( 4.5d ), Character.valueOf( 'c' )
+		};
+		final PropertyAccessor direct = new DirectPropertyAccessor();
+		final Getter[] getters = new Getter[propertyNames.length];
+		final Setter[] setters = new Setter[propertyNames.length];
+		for ( int i = 0; i < propertyNames.length; i++ ) {
+			// every field is reachable, so reads must never fall back to the getter
+			getters[i] = new GeneratedOnlyGetter( direct.getGetter( FieldBean.class, propertyNames[i] ) );
+			setters[i] = direct.getSetter( FieldBean.class, propertyNames[i] );
+		}
+
+		BytecodeProviderImpl provider = new BytecodeProviderImpl();
+		ReflectionOptimizer optimizer = provider.getReflectionOptimizer( FieldBean.class, getters, setters );
+		assertNotNull( optimizer );
+		assertNotNull( optimizer.getInstantiationOptimizer() );
+		assertNotNull( optimizer.getAccessOptimizer() );
+
+		Object instance = optimizer.getInstantiationOptimizer().newInstance();
+		assertEquals( instance.getClass(), FieldBean.class );
+		FieldBean bean = ( FieldBean ) instance;
+
+		optimizer.getAccessOptimizer().setPropertyValues( bean, testValues );
+		assertEquals( testValues[0], bean.someString );
+		assertEquals( testValues[1], bean.someLong );
+		assertEquals( 2, bean.someint );
+		assertEquals( 3L, bean.somelong );
+		assertTrue( bean.someboolean );
+		assertEquals( 4.5d, bean.somedouble, 0d );
+		assertEquals( 'c', bean.somechar );
+		assertEquivalent( optimizer.getAccessOptimizer().getPropertyValues( bean ), testValues );
+	}
+
+	private static class GeneratedOnlyGetter implements Getter {
+		private final Getter delegate;
+
+		private GeneratedOnlyGetter(Getter delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Object get(Object owner) {
+			throw new AssertionError( "Expected the generated accessor to read " + delegate.getMember() );
+		}
+
+		@Override
+		public Object getForInsert(Object owner, Map mergeMap, SessionImplementor session) {
+			return get( owner );
+		}
+
+		@Override
+		public Member getMember() {
+			return delegate.getMember();
+		}
+
+		@Override
+		public Class getReturnType() {
+			return delegate.getReturnType();
+		}
+
+		@Override
+		public String getMethodName() {
+			return delegate.getMethodName();
+		}
+
+		@Override
+		public Method getMethod() {
+			return delegate.getMethod();
+		}
+	}
+
 	private void assertEquivalent(Object[] checkValues, Object[] values) {
 		assertEquals( "Different lengths", checkValues.length, values.length );
 		for ( int i = 0; i < checkValues.length; i++ ) {
@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.test.bytecode.ProxyBean;
+import org.hibernate.testing.Skip;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SessionFactory instances mapping the same entity share its javassist proxy class.
+ */
+@Skip(
+		condition = InvocationTargetExceptionTest.LocalSkipMatcher.class,
+		message = "environment not configured for javassist bytecode provider"
+)
+public class SharedProxyClassTest extends BaseUnitTestCase {
+	@Test
+	public void testProxyClassIsSharedAcrossSessionFactories() {
+		final SessionFactory first = buildSessionFactory();
+		try {
+			final SessionFactory second = buildSessionFactory();
+			try {
+				assertSame( proxyClass( first ), proxyClass( second ) );
+			}
+			finally {
+				second.close();
+			}
+		}
+		finally {
+			first.close();
+		}
+	}
+
+	private static SessionFactory buildSessionFactory() {
+		return new Configuration()
+				.addResource( "org/hibernate/test/bytecode/Bean.hbm.xml" )
+				.buildSessionFactory();
+	}
+
+	private static Class proxyClass(SessionFactory sessionFactory) {
+		final Session s = sessionFactory.openSession();
+		try {
+			final Object proxy = s.load( ProxyBean.class, "shared" );
+			assertTrue( proxy instanceof HibernateProxy );
+			assertFalse( Hibernate.isInitialized( proxy ) );
+			return proxy.getClass();
+		}
+		finally {
+			s.close();
+		}
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.CascadeType;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Builds a SessionFactory whose persisters, their initialization and the named query checks run on several
+ * threads, and makes sure the result is fully usable.
+ */
+public class ParallelBootstrapTest extends BaseCoreFunctionalTestCase {
+	private static final String[] NAMED_QUERIES = {
+			"Author.byName", "Author.withNickname",
+			"Book.byTitle", "Book.byAuthor", "Book.byTag",
+			"Tag.byLabel", "Tag.unused",
+			"Publisher.byName", "Publisher.withBooks",
+			"Review.byBook", "Review.byRating",
+			"Shelf.byLabel", "Shelf.withBook"
+	};
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.BOOTSTRAP_PARALLELISM, "4" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Author.class, Book.class, Tag.class, Publisher.class, Review.class, Shelf.class };
+	}
+
+	@Test
+	public void testFactoryBuiltInParallel() {
+		assertEquals( 4, sessionFactory().getSettings().getBootstrapParallelism() );
+
+		for ( Class<?> entityClass : getAnnotatedClasses() ) {
+			assertNotNull( sessionFactory().getEntityPersister( entityClass.getName() ) );
+		}
+		assertEquals( getAnnotatedClasses().length, sessionFactory().getAllClassMetadata().size() );
+		assertNotNull( sessionFactory().getCollectionPersister( Author.class.getName() + ".nicknames" ) );
+		assertNotNull( sessionFactory().getCollectionPersister( Author.class.getName() + ".books" ) );
+		assertNotNull( sessionFactory().getCollectionPersister( Book.class.getName() + ".tags" ) );
+		assertNotNull( sessionFactory().getCollectionPersister( Publisher.class.getName() + ".books" ) );
+		assertNotNull( sessionFactory().getCollectionPersister( Shelf.class.getName() + ".books" ) );
+		assertEquals( 5, sessionFactory().getAllCollectionMetadata().size() );
+
+		for ( String queryName : NAMED_QUERIES ) {
+			final NamedQueryDefinition definition = sessionFactory().getNamedQuery( queryName );
+			assertNotNull( queryName, definition );
+		}
+	}
+
+	@Test
+	public void testNamedQueriesUsable() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Author author = new Author( 1, "Tolkien" );
+		author.nicknames.add( "JRR" );
+		final Publisher publisher = new Publisher( 1, "Allen & Unwin" );
+		final Tag tag = new Tag( 1, "fantasy" );
+		final Book book = new Book( 1, "The Hobbit", author );
+		book.tags.add( tag );
+		author.books.add( book );
+		publisher.books.add( book );
+		final Shelf shelf = new Shelf( 1, "top" );
+		shelf.books.add( book );
+		s.persist( tag );
+		s.persist( author );
+		s.persist( book );
+		s.persist( publisher );
+		s.persist( shelf );
+		s.persist( new Review( 1, book, 5 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 1, s.getNamedQuery( "Author.byName" ).setParameter( "name", "Tolkien" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Author.withNickname" ).setParameter( "nickname", "JRR" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Book.byTitle" ).setParameter( "title", "The Hobbit" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Book.byAuthor" ).setParameter( "name", "Tolkien" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Book.byTag" ).setParameter( "label", "fantasy" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Tag.byLabel" ).setParameter( "label", "fantasy" ).list().size() );
+		assertEquals( 0, s.getNamedQuery( "Tag.unused" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Publisher.byName" ).setParameter( "name", "Allen & Unwin" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Publisher.withBooks" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Review.byBook" ).setParameter( "title", "The Hobbit" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Review.byRating" ).setParameter( "rating", 4 ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Shelf.byLabel" ).setParameter( "label", "top" ).list().size() );
+		assertEquals( 1, s.getNamedQuery( "Shelf.withBook" ).setParameter( "title", "The Hobbit" ).list().size() );
+
+		final Author loaded = (Author) s.get( Author.class, 1 );
+		assertEquals( 1, loaded.books.size() );
+		assertEquals( 1, loaded.books.iterator().next().tags.size() );
+
+		s.createQuery( "delete Review" ).executeUpdate();
+		for ( Object shelfToDelete : s.createQuery( "from Shelf" ).list() ) {
+			s.delete( shelfToDelete );
+		}
+		for ( Object publisherToDelete : s.createQuery( "from Publisher" ).list() ) {
+			s.delete( publisherToDelete );
+		}
+		s.delete( loaded );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Tag.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity( name = "Author" )
+	@Table( name = "pb_author" )
+	@NamedQueries( {
+			@NamedQuery( name = "Author.byName", query = "from Author a where a.name = :name" ),
+			@NamedQuery( name = "Author.withNickname", query = "select a from Author a join a.nicknames n where n = :nickname" )
+	} )
+	public static class Author {
+		@Id
+		public Integer id;
+		public String name;
+		@ElementCollection
+		public Set<String> nicknames = new HashSet<String>();
+		@OneToMany( mappedBy = "author", cascade = CascadeType.ALL )
+		public Set<Book> books = new HashSet<Book>();
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Book" )
+	@Table( name = "pb_book" )
+	@NamedQueries( {
+			@NamedQuery( name = "Book.byTitle", query = "from Book b where b.title = :title" ),
+			@NamedQuery( name = "Book.byAuthor", query = "from Book b where b.author.name = :name" ),
+			@NamedQuery( name = "Book.byTag", query = "select b from Book b join b.tags t where t.label = :label" )
+	} )
+	public static class Book {
+		@Id
+		public Integer id;
+		public String title;
+		@ManyToOne
+		public Author author;
+		@ManyToMany
+		public Set<Tag> tags = new HashSet<Tag>();
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	@Entity( name = "Tag" )
+	@Table( name = "pb_tag" )
+	@NamedQueries( {
+			@NamedQuery( name = "Tag.byLabel", query = "from Tag t where t.label = :label" ),
+			@NamedQuery( name = "Tag.unused", query = "from Tag t where not exists (select b from Book b join b.tags bt where bt = t)" )
+	} )
+	public static class Tag {
+		@Id
+		public Integer id;
+		public String label;
+
+		public Tag() {
+		}
+
+		public Tag(Integer id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+	}
+
+	@Entity( name = "Publisher" )
+	@Table( name = "pb_publisher" )
+	@NamedQueries( {
+			@NamedQuery( name = "Publisher.byName", query = "from Publisher p where p.name = :name" ),
+			@NamedQuery( name = "Publisher.withBooks", query = "from Publisher p where p.books is not empty" )
+	} )
+	public static class Publisher {
+		@Id
+		public Integer id;
+		public String name;
+		@OneToMany
+		public Set<Book> books = new HashSet<Book>();
+
+		public Publisher() {
+		}
+
+		public Publisher(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Review" )
+	@Table( name = "pb_review" )
+	@NamedQueries( {
+			@NamedQuery( name = "Review.byBook", query = "from Review r where r.book.title = :title" ),
+			@NamedQuery( name = "Review.byRating", query = "from Review r where r.rating > :rating" )
+	} )
+	public static class Review {
+		@Id
+		public Integer id;
+		@ManyToOne
+		public Book book;
+		public int rating;
+
+		public Review() {
+		}
+
+		public Review(Integer id, Book book, int rating) {
+			this.id = id;
+			this.book = book;
+			this.rating = rating;
+		}
+	}
+
+	@Entity( name = "Shelf" )
+	@Table( name = "pb_shelf" )
+	@NamedQueries( {
+			@NamedQuery( name = "Shelf.byLabel", query = "from Shelf s where s.label = :label" ),
+			@NamedQuery( name = "Shelf.withBook", query = "select s from Shelf s join s.books b where b.title = :title" )
+	} )
+	public static class Shelf {
+		@Id
+		public Integer id;
+		public String label;
+		@ManyToMany
+		public List<Book> books = new ArrayList<Book>();
+
+		public Shelf() {
+		}
+
+		public Shelf(Integer id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+	}
+}
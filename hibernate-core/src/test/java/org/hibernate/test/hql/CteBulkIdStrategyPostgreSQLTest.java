@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQL92Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.spi.CteBulkIdStrategy;
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs multi-table bulk operations through {@link CteBulkIdStrategy} against a database supporting
+ * data-modifying common table expressions.
+ */
+@RequiresDialect(PostgreSQL92Dialect.class)
+public class CteBulkIdStrategyPostgreSQLTest extends BaseCoreFunctionalTestCase {
+	@Entity( name = "CteBase" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class CteBase {
+		@Id
+		private Long id;
+		private String name;
+
+		public CteBase() {
+		}
+
+		public CteBase(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity( name = "CteSub" )
+	public static class CteSub extends CteBase {
+		private String detail;
+
+		public CteSub() {
+		}
+
+		public CteSub(Long id, String name, String detail) {
+			super( id, name );
+			this.detail = detail;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { CteBase.class, CteSub.class };
+	}
+
+	@Test
+	public void testBulkUpdateAndDelete() {
+		assertTrue(
+				( (SessionFactoryImplementor) sessionFactory() ).getSettings().getMultiTableBulkIdStrategy()
+						instanceof CteBulkIdStrategy
+		);
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new CteSub( 1L, "a", "first" ) );
+		s.save( new CteSub( 2L, "b", "second" ) );
+		s.save( new CteSub( 3L, "a", "third" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		int count = s.createQuery( "update CteSub set name = :name, detail = :detail where name = 'a'" )
+				.setParameter( "name", "c" )
+				.setParameter( "detail", "updated" )
+				.executeUpdate();
+		assertEquals( 2, count );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		CteSub updated = (CteSub) s.get( CteSub.class, 3L );
+		assertEquals( "c", updated.getName() );
+		assertEquals( "updated", updated.detail );
+		assertEquals( "b", ( (CteSub) s.get( CteSub.class, 2L ) ).getName() );
+
+		count = s.createQuery( "delete CteSub where name = 'c'" ).executeUpdate();
+		assertEquals( 2, count );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertNull( s.get( CteSub.class, 1L ) );
+		assertNull( s.get( CteBase.class, 3L ) );
+		assertEquals( 1L, ( (Number) s.createQuery( "select count(*) from CteBase" ).uniqueResult() ).longValue() );
+		s.createQuery( "delete CteSub" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
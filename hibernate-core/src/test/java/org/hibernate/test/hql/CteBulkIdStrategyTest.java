@@ -0,0 +1,142 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+
+import org.hibernate.Filter;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.spi.CteBulkIdStrategy;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the SQL generated by {@link CteBulkIdStrategy} for multi-table bulk operations.
+ */
+public class CteBulkIdStrategyTest extends BaseUnitTestCase {
+	@Entity( name = "BaseEntity" )
+	@Inheritance( strategy = InheritanceType.JOINED )
+	public static class BaseEntity {
+		@Id
+		private Long id;
+		private String name;
+	}
+
+	@Entity( name = "SubEntity" )
+	public static class SubEntity extends BaseEntity {
+		private String detail;
+	}
+
+	private SessionFactory sessionFactory;
+
+	@Before
+	public void buildSessionFactory() {
+		Configuration cfg = new Configuration()
+				.addAnnotatedClass( BaseEntity.class )
+				.addAnnotatedClass( SubEntity.class );
+		cfg.getProperties().put( AvailableSettings.DIALECT, CteSupportDialect.class.getName() );
+		sessionFactory = cfg.buildSessionFactory();
+	}
+
+	@After
+	public void releaseSessionFactory() {
+		sessionFactory.close();
+	}
+
+	@Test
+	public void testStrategySelectedByDefault() {
+		assertTrue(
+				( (SessionFactoryImplementor) sessionFactory ).getSettings().getMultiTableBulkIdStrategy()
+						instanceof CteBulkIdStrategy
+		);
+	}
+
+	@Test
+	public void testDeleteIsSingleStatement() {
+		HQLQueryPlan queryPlan = ( (SessionFactoryImplementor) sessionFactory ).getQueryPlanCache()
+				.getHQLQueryPlan( "delete SubEntity where name = :name", false, Collections.<String,Filter>emptyMap() );
+
+		assertEquals( 1, queryPlan.getSqlStrings().length );
+		final String sql = queryPlan.getSqlStrings()[0];
+		assertTrue( sql.startsWith( "with " ) );
+		assertTrue( sql.contains( "delete from SubEntity" ) );
+		assertTrue( sql.contains( "delete from BaseEntity" ) );
+	}
+
+	@Test
+	public void testUpdateIsSingleStatement() {
+		HQLQueryPlan queryPlan = ( (SessionFactoryImplementor) sessionFactory ).getQueryPlanCache()
+				.getHQLQueryPlan( "update SubEntity set name = :name, detail = :detail where id > 0", false, Collections.<String,Filter>emptyMap() );
+
+		assertEquals( 1, queryPlan.getSqlStrings().length );
+		final String sql = queryPlan.getSqlStrings()[0];
+		assertTrue( sql.startsWith( "with " ) );
+		assertTrue( sql.contains( "update SubEntity" ) );
+		assertTrue( sql.contains( "update BaseEntity" ) );
+	}
+
+	@Test
+	public void testFallbackForDialectWithoutCteSupport() {
+		// H2 supports temporary tables, so the strategy must fall back to the id table handlers
+		final Configuration cfg = new Configuration()
+				.addAnnotatedClass( BaseEntity.class )
+				.addAnnotatedClass( SubEntity.class );
+		cfg.getProperties().put( AvailableSettings.DIALECT, H2Dialect.class.getName() );
+		cfg.getProperties().put( AvailableSettings.HQL_BULK_ID_STRATEGY, CteBulkIdStrategy.SHORT_NAME );
+		final SessionFactory fallbackFactory = cfg.buildSessionFactory();
+		try {
+			HQLQueryPlan queryPlan = ( (SessionFactoryImplementor) fallbackFactory ).getQueryPlanCache()
+					.getHQLQueryPlan( "delete SubEntity where name = :name", false, Collections.<String,Filter>emptyMap() );
+			assertEquals( 2, queryPlan.getSqlStrings().length );
+			for ( String sql : queryPlan.getSqlStrings() ) {
+				assertTrue( sql.startsWith( "delete from " ) );
+			}
+		}
+		finally {
+			fallbackFactory.close();
+		}
+	}
+
+	public static class CteSupportDialect extends H2Dialect {
+		@Override
+		public boolean supportsDataModifyingCommonTableExpressions() {
+			return true;
+		}
+	}
+}
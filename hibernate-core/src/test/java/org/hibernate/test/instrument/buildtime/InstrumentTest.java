@@ -33,6 +33,7 @@ import org.hibernate.test.instrument.cases.TestFetchAllExecutable;
 import org.hibernate.test.instrument.cases.TestInjectFieldInterceptorExecutable;
 import org.hibernate.test.instrument.cases.TestIsPropertyInitializedExecutable;
 import org.hibernate.test.instrument.cases.TestLazyExecutable;
+import org.hibernate.test.instrument.cases.TestLazyGroupsExecutable;
 import org.hibernate.test.instrument.cases.TestLazyManyToOneExecutable;
 import org.hibernate.test.instrument.cases.TestLazyPropertyCustomTypeExecutable;
 import org.hibernate.test.instrument.cases.TestManyToOneProxyExecutable;
@@ -64,6 +65,11 @@ public class InstrumentTest extends BaseUnitTestCase {
 		execute( new TestLazyExecutable() );
 	}
 
+	@Test
+	public void testLazyGroups() throws Exception {
+		execute( new TestLazyGroupsExecutable() );
+	}
+
 	@Test
 	public void testLazyManyToOne() throws Exception {
 		execute( new TestLazyManyToOneExecutable() );
@@ -20,6 +20,10 @@ public abstract class AbstractExecutable implements Executable {
 		for ( String resource : resources ) {
 			cfg.addResource( resource );
 		}
+		for ( Class annotatedClass : getAnnotatedClasses() ) {
+			cfg.addAnnotatedClass( annotatedClass );
+		}
+		configure( cfg );
 		serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
 		factory = cfg.buildSessionFactory( serviceRegistry );
 	}
@@ -48,4 +52,11 @@ public abstract class AbstractExecutable implements Executable {
 	protected String[] getResources() {
 		return new String[] { "org/hibernate/test/instrument/domain/Documents.hbm.xml" };
 	}
+
+	protected Class[] getAnnotatedClasses() {
+		return new Class[0];
+	}
+
+	protected void configure(Configuration cfg) {
+	}
 }
@@ -0,0 +1,135 @@
+package org.hibernate.test.instrument.cases;
+
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
+import org.hibernate.bytecode.instrumentation.spi.AbstractFieldInterceptor;
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.test.instrument.domain.GroupedDocument;
+
+/**
+ * Lazy properties split over the "summary" (summary, keywords) and "content" (text, notes) fetch groups.
+ */
+public class TestLazyGroupsExecutable extends AbstractExecutable {
+	@Override
+	protected String[] getResources() {
+		return new String[0];
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { GroupedDocument.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	public void execute() {
+		final Statistics stats = getFactory().getStatistics();
+		final EntityPersister persister = ( (SessionFactoryImplementor) getFactory() )
+				.getEntityPersister( GroupedDocument.class.getName() );
+
+		Session s = getFactory().openSession();
+		Transaction t = s.beginTransaction();
+		GroupedDocument doc = new GroupedDocument( "first", "first summary", "first keywords", "first text", "first notes" );
+		GroupedDocument other = new GroupedDocument( "other", "other summary", "other keywords", "other text", "other notes" );
+		s.persist( doc );
+		s.persist( other );
+		t.commit();
+		s.close();
+
+		// start from the database rather than from the entries cached on insert
+		getFactory().getCache().evictEntityRegion( GroupedDocument.class );
+
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		doc = (GroupedDocument) s.get( GroupedDocument.class, doc.getId() );
+		other = (GroupedDocument) s.get( GroupedDocument.class, other.getId() );
+		assertInitialized( doc, false, false );
+
+		// accessing one property selects its group only
+		stats.clear();
+		Assert.assertEquals( "first summary", doc.getSummary() );
+		Assert.assertEquals( 1, stats.getPrepareStatementCount() );
+		assertInitialized( doc, true, false );
+		Assert.assertEquals( "first keywords", doc.getKeywords() );
+		Assert.assertEquals( 1, stats.getPrepareStatementCount() );
+
+		// the interceptor shrank its own copy of the uninitialized fields, not the set shared with other
+		Assert.assertEquals( 2, uninitializedFields( doc ).size() );
+		Assert.assertEquals( 4, uninitializedFields( other ).size() );
+		assertInitialized( other, false, false );
+
+		// the initialized group is part of the property values, the other one is not
+		final Object[] values = persister.getPropertyValues( doc );
+		Assert.assertEquals( "first keywords", values[ propertyIndex( persister, "keywords" ) ] );
+		Assert.assertSame( LazyPropertyInitializer.UNFETCHED_PROPERTY, values[ propertyIndex( persister, "text" ) ] );
+
+		// the change to the initialized group is detected and written by a dynamic update
+		doc.setKeywords( "changed keywords" );
+		stats.clear();
+		t.commit();
+		s.close();
+		Assert.assertEquals( 1, stats.getEntityUpdateCount() );
+
+		// the update cached the summary group, but not the content group it never fetched
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		stats.clear();
+		doc = (GroupedDocument) s.get( GroupedDocument.class, doc.getId() );
+		Assert.assertEquals( 1, stats.getSecondLevelCacheHitCount() );
+		assertInitialized( doc, false, false );
+		Assert.assertEquals( "changed keywords", doc.getKeywords() );
+		Assert.assertEquals( "first summary", doc.getSummary() );
+		Assert.assertEquals( 0, stats.getPrepareStatementCount() );
+		assertInitialized( doc, true, false );
+
+		// the unfetched columns were left alone by the update
+		Assert.assertEquals( "first text", doc.getText() );
+		Assert.assertEquals( 1, stats.getPrepareStatementCount() );
+		Assert.assertEquals( "first notes", doc.getNotes() );
+		Assert.assertEquals( 1, stats.getPrepareStatementCount() );
+		assertInitialized( doc, true, true );
+		Assert.assertNull( uninitializedFields( doc ) );
+		t.commit();
+		s.close();
+	}
+
+	private static void assertInitialized(GroupedDocument doc, boolean summaryGroup, boolean contentGroup) {
+		Assert.assertEquals( summaryGroup, Hibernate.isPropertyInitialized( doc, "summary" ) );
+		Assert.assertEquals( summaryGroup, Hibernate.isPropertyInitialized( doc, "keywords" ) );
+		Assert.assertEquals( contentGroup, Hibernate.isPropertyInitialized( doc, "text" ) );
+		Assert.assertEquals( contentGroup, Hibernate.isPropertyInitialized( doc, "notes" ) );
+	}
+
+	private static Set uninitializedFields(Object entity) {
+		return ( (AbstractFieldInterceptor) FieldInterceptionHelper.extractFieldInterceptor( entity ) )
+				.getUninitializedFields();
+	}
+
+	private static int propertyIndex(EntityPersister persister, String propertyName) {
+		return persister.getEntityMetamodel().getPropertyIndex( propertyName );
+	}
+
+	@Override
+	protected void cleanup() {
+		Session s = getFactory().openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from GroupedDocument" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
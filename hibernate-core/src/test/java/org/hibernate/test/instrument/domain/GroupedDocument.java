@@ -0,0 +1,96 @@
+package org.hibernate.test.instrument.domain;
+
+import javax.persistence.Basic;
+import javax.persistence.Cacheable;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
+
+/**
+ * Document whose lazy properties are split over two fetch groups.
+ */
+@javax.persistence.Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class GroupedDocument {
+	@Id
+	@GeneratedValue
+	private Long id;
+
+	private String name;
+
+	@Basic(fetch = FetchType.LAZY)
+	@LazyGroup("summary")
+	private String summary;
+
+	@Basic(fetch = FetchType.LAZY)
+	@LazyGroup("summary")
+	private String keywords;
+
+	@Basic(fetch = FetchType.LAZY)
+	@LazyGroup("content")
+	private String text;
+
+	@Basic(fetch = FetchType.LAZY)
+	@LazyGroup("content")
+	private String notes;
+
+	public GroupedDocument() {
+	}
+
+	public GroupedDocument(String name, String summary, String keywords, String text, String notes) {
+		this.name = name;
+		this.summary = summary;
+		this.keywords = keywords;
+		this.text = text;
+		this.notes = notes;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getSummary() {
+		return summary;
+	}
+
+	public void setSummary(String summary) {
+		this.summary = summary;
+	}
+
+	public String getKeywords() {
+		return keywords;
+	}
+
+	public void setKeywords(String keywords) {
+		this.keywords = keywords;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+
+	public String getNotes() {
+		return notes;
+	}
+
+	public void setNotes(String notes) {
+		this.notes = notes;
+	}
+}
@@ -105,6 +105,11 @@ public abstract class AbstractTransformingClassLoaderInstrumentTestCase extends
 		executeExecutable( "org.hibernate.test.instrument.cases.TestLazyExecutable" );
 	}
 
+	@Test
+	public void testLazyGroups() {
+		executeExecutable( "org.hibernate.test.instrument.cases.TestLazyGroupsExecutable" );
+	}
+
 	@Test
     @SkipForDialect( value = { MySQLDialect.class, AbstractHANADialect.class }, comment = "wrong sql in mapping, mysql/hana need double type, but it is float type in mapping")
 	@FailureExpectedWithNewMetamodel
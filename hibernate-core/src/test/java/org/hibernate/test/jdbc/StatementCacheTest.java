@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for the Hibernate-managed prepared statement cache ({@link AvailableSettings#STATEMENT_CACHE_SIZE})
+ */
+public class StatementCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String getBaseForMappings() {
+		return "org/hibernate/test/jdbc/";
+	}
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "Mappings.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.STATEMENT_CACHE_SIZE, "10" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.RELEASE_CONNECTIONS, "after_transaction" );
+	}
+
+	@Test
+	public void testStatementReuse() {
+		Session s = openSession();
+		s.beginTransaction();
+		Long[] ids = new Long[3];
+		for ( int i = 0; i < ids.length; i++ ) {
+			ids[i] = (Long) s.save( new Person( "first" + i, "last" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		s = openSession();
+		s.beginTransaction();
+		statistics.clear();
+		for ( Long id : ids ) {
+			assertNotNull( s.get( Person.class, id ) );
+		}
+		assertEquals( "loads by id should reuse the cached statement", 1, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+
+		// the connection (and with it the cached statements) is released after the transaction
+		s.clear();
+		s.beginTransaction();
+		for ( Long id : ids ) {
+			assertNotNull( s.get( Person.class, id ) );
+		}
+		assertEquals( 2, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Person" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.locking;
+
+import org.junit.Test;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Loads in every lock mode with lazily built entity loaders, some of them warmed at boot.
+ */
+public class LazyEntityLoaderTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { A.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.LAZY_ENTITY_LOADERS, "true" );
+		configuration.setProperty( AvailableSettings.EAGER_ENTITY_LOADER_LOCK_MODES, "pessimistic_write, optimistic" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testLoadInEveryLockMode() {
+		Session s = openSession();
+		s.beginTransaction();
+		Long id = (Long) s.save( new A( "it" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		LockMode[] lockModes = new LockMode[] {
+				LockMode.NONE,
+				LockMode.READ,
+				LockMode.OPTIMISTIC,
+				LockMode.PESSIMISTIC_READ,
+				LockMode.PESSIMISTIC_WRITE
+		};
+		for ( LockMode lockMode : lockModes ) {
+			// twice, to go through both the building and the cached loader
+			for ( int i = 0; i < 2; i++ ) {
+				s = openSession();
+				s.beginTransaction();
+				A a = (A) s.get( A.class, id, new LockOptions( lockMode ) );
+				assertNotNull( "not loaded with " + lockMode, a );
+				assertEquals( "it", a.getValue() );
+				s.getTransaction().commit();
+				s.close();
+			}
+		}
+
+		// merge of a detached instance uses the lazily built cascade loader
+		A detached = new A( "merged" );
+		detached.setId( id );
+		s = openSession();
+		s.beginTransaction();
+		A merged = (A) s.merge( detached );
+		assertEquals( "merged", merged.getValue() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
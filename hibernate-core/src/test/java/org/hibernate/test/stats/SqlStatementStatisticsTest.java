@@ -0,0 +1,110 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SqlStatementStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.internal.SqlStatementNormalizer;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the per-statement JDBC statistics
+ */
+public class SqlStatementStatisticsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stats/Continent2.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testNormalization() {
+		assertEquals(
+				"select a from b where c in (?) and d = ?",
+				SqlStatementNormalizer.normalize( "select a\n  from b where c in (?, ?,?) and d = ?  " )
+		);
+		assertEquals( "insert into x (a, b) values (?)", SqlStatementNormalizer.normalize( "insert into x (a, b) values (?, ?)" ) );
+	}
+
+	@Test
+	public void testStatementExecutionTracking() {
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			Continent continent = new Continent();
+			continent.setName( "Continent " + i );
+			s.save( continent );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 3, s.createQuery( "from Continent" ).list().size() );
+		assertEquals( 3, s.createQuery( "from Continent" ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertTrue( stats.getSqlStatements().length > 0 );
+
+		SqlStatementStatistics[] hottest = stats.getHottestSqlStatementStatistics( 100 );
+		assertEquals( stats.getSqlStatements().length, hottest.length );
+		for ( int i = 1; i < hottest.length; i++ ) {
+			assertTrue( hottest[i - 1].getTotalTime() >= hottest[i].getTotalTime() );
+		}
+
+		SqlStatementStatistics select = null;
+		for ( SqlStatementStatistics statement : hottest ) {
+			if ( statement.getSql().startsWith( "select" ) && statement.getSql().contains( "tbl_continent" ) ) {
+				select = statement;
+			}
+		}
+		assertTrue( select != null );
+		assertEquals( 2, select.getExecutionCount() );
+		assertEquals( 6, select.getRowCount() );
+		assertEquals( 1, stats.getHottestSqlStatementStatistics( 1 ).length );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 3, s.createQuery( "delete Continent" ).executeUpdate() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
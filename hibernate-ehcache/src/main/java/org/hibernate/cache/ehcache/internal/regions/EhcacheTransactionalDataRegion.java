@@ -52,6 +52,7 @@ import org.hibernate.cfg.Settings;
  */
 public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements TransactionalDataRegion {
 	private static final int LOCAL_LOCK_PROVIDER_CONCURRENCY = 128;
+	private static final String LOCK_FREE_READ_WRITE_PROPERTY = "net.sf.ehcache.hibernate.lock_free_read_write";
 
 	private final Settings settings;
 
@@ -62,6 +63,8 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 
 	private final CacheLockProvider lockProvider;
 
+	private final boolean lockFreeReadWrite;
+
 	/**
 	 * Construct an transactional Hibernate cache region around the given Ehcache instance.
 	 */
@@ -79,6 +82,8 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		else {
 			this.lockProvider = new StripedReadWriteLockSync( LOCAL_LOCK_PROVIDER_CONCURRENCY );
 		}
+
+		this.lockFreeReadWrite = Boolean.parseBoolean( properties.getProperty( LOCK_FREE_READ_WRITE_PROPERTY ) );
 	}
 
 	/**
@@ -90,6 +95,16 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		return settings;
 	}
 
+	/**
+	 * Should read/write access to this region use atomic conditional cache operations rather than explicit
+	 * per-key locks.
+	 *
+	 * @return true/false
+	 */
+	public boolean isLockFreeReadWrite() {
+		return lockFreeReadWrite;
+	}
+
 	@Override
 	public boolean isTransactionAware() {
 		return false;
@@ -159,6 +174,71 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		}
 	}
 
+	/**
+	 * Map the given value to the given key, only if no mapping exists for this key yet.
+	 *
+	 * @param key The cache key
+	 * @param value The data to cache
+	 *
+	 * @return true if the value was mapped, or if the cache is unavailable and the failure was ignored
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final boolean putIfAbsent(Object key, Object value) throws CacheException {
+		try {
+			return getCache().putIfAbsent( new Element( key, value ) ) == null;
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return true;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
+	/**
+	 * Map the given value to the given key, only if the key is currently mapped to the expected value.
+	 *
+	 * @param key The cache key
+	 * @param expected The data expected to be currently cached
+	 * @param value The data to cache
+	 *
+	 * @return true if the value was mapped, or if the cache is unavailable and the failure was ignored
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final boolean replace(Object key, Object expected, Object value) throws CacheException {
+		try {
+			return getCache().replace( new Element( key, expected ), new Element( key, value ) );
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return true;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
 	/**
 	 * Remove the mapping for this key (if any exists).
 	 *
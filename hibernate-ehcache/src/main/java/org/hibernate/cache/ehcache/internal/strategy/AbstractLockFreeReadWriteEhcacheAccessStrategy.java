@@ -0,0 +1,372 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.ehcache.internal.strategy;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ehcache.EhCacheMessageLogger;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
+import org.hibernate.cache.ehcache.internal.strategy.AbstractReadWriteEhcacheAccessStrategy.Item;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Superclass for all Ehcache specific read/write AccessStrategy implementations relying on atomic conditional
+ * cache operations rather than explicit per-key locks.
+ * <p/>
+ * Cached items and soft locks are immutable; every state change builds a new entry and installs it with
+ * {@code putIfAbsent} or {@code replace} against the entry it was derived from, retrying when another
+ * thread won the race.  Cache hits therefore never take a lock.  Both entry types define equality by
+ * value, so the cache's value comparison also works on copies (e.g. with {@code copyOnRead}).  A state
+ * change losing the race {@value #MAX_ATTEMPTS} times in a row gives up and leaves the key locked until
+ * the soft lock timeout instead of spinning.
+ *
+ * @param <T> the type of the enclosed cache region
+ */
+abstract class AbstractLockFreeReadWriteEhcacheAccessStrategy<T
+		extends EhcacheTransactionalDataRegion>
+		extends AbstractEhcacheAccessStrategy<T> {
+
+	private static final EhCacheMessageLogger LOG = Logger.getMessageLogger(
+			EhCacheMessageLogger.class,
+			AbstractLockFreeReadWriteEhcacheAccessStrategy.class.getName()
+	);
+
+	private static final int MAX_ATTEMPTS = 64;
+
+	private final UUID uuid = UUID.randomUUID();
+	private final AtomicLong nextLockId = new AtomicLong();
+
+	private final Comparator versionComparator;
+
+	/**
+	 * Creates a lock-free read/write cache access strategy around the given cache region.
+	 */
+	public AbstractLockFreeReadWriteEhcacheAccessStrategy(T region, Settings settings) {
+		super( region, settings );
+		this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+	}
+
+	/**
+	 * Returns <code>null</code> if the item is not readable.  Locked items are not readable, nor are items created
+	 * after the start of this transaction.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public final Object get(Object key, long txTimestamp) throws CacheException {
+		final Object entry = region().get( key );
+		if ( entry instanceof Item && ( (Item) entry ).isReadable( txTimestamp ) ) {
+			return ( (Item) entry ).getValue();
+		}
+		else {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
+	 * key, or if the mapping changed concurrently.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 */
+	@Override
+	public final boolean putFromLoad(
+			Object key,
+			Object value,
+			long txTimestamp,
+			Object version,
+			boolean minimalPutOverride)
+			throws CacheException {
+		final Object entry = region().get( key );
+		if ( !isWriteable( entry, txTimestamp, version ) ) {
+			return false;
+		}
+		final Item item = new Item( value, version, region().nextTimestamp() );
+		return entry == null ? region().putIfAbsent( key, item ) : region().replace( key, entry, item );
+	}
+
+	/**
+	 * Soft-lock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+	 */
+	public final SoftLock lockItem(Object key, Object version) throws CacheException {
+		final long timeout = region().nextTimestamp() + region().getTimeout();
+		Object entry = null;
+		for ( int attempt = 0; attempt < MAX_ATTEMPTS; attempt++ ) {
+			entry = region().get( key );
+			final Lock lock;
+			if ( entry instanceof Lock ) {
+				lock = ( (Lock) entry ).lock( timeout );
+			}
+			else if ( entry instanceof Item ) {
+				lock = new Lock( timeout, uuid, nextLockId.getAndIncrement(), ( (Item) entry ).getVersion() );
+			}
+			else {
+				lock = new Lock( timeout, uuid, nextLockId.getAndIncrement(), version );
+			}
+			if ( compareAndSet( key, entry, lock ) ) {
+				return lock;
+			}
+		}
+		// too much contention: take over the key with a lock marked as concurrent, which none of the
+		// current holders can release and which keeps the item unwriteable until it times out
+		LOG.debugf( "Giving up locking key %s in region %s after %s attempts", key, region().getName(), MAX_ATTEMPTS );
+		final Object lockedVersion = entry instanceof Item ? ( (Item) entry ).getVersion() : version;
+		final Lock lock = new Lock( timeout, uuid, nextLockId.getAndIncrement(), lockedVersion ).lock( timeout );
+		region().put( key, lock );
+		return lock;
+	}
+
+	/**
+	 * Soft-unlock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+	 */
+	public final void unlockItem(Object key, SoftLock lock) throws CacheException {
+		Object entry = null;
+		for ( int attempt = 0; attempt < MAX_ATTEMPTS; attempt++ ) {
+			entry = region().get( key );
+			if ( entry instanceof Lock && ( (Lock) entry ).isUnlockable( lock ) ) {
+				if ( region().replace( key, entry, ( (Lock) entry ).unlock( region().nextTimestamp() ) ) ) {
+					return;
+				}
+			}
+			else {
+				break;
+			}
+		}
+		handleLockExpiry( key, entry );
+	}
+
+	/**
+	 * Caches a newly inserted value, if there is no existing value mapped to this key.
+	 */
+	protected final boolean insertItem(Object key, Object value, Object version) throws CacheException {
+		return region().putIfAbsent( key, new Item( value, version, region().nextTimestamp() ) );
+	}
+
+	/**
+	 * Replaces the soft-lock held by this transaction with the updated value, unless the entry was locked
+	 * concurrently by another transaction or the soft-lock expired.
+	 */
+	protected final boolean updateItem(Object key, Object value, Object version, SoftLock lock)
+			throws CacheException {
+		Object entry = null;
+		for ( int attempt = 0; attempt < MAX_ATTEMPTS; attempt++ ) {
+			entry = region().get( key );
+			if ( entry instanceof Lock && ( (Lock) entry ).isUnlockable( lock ) ) {
+				final Lock lockItem = (Lock) entry;
+				if ( lockItem.wasLockedConcurrently() ) {
+					if ( region().replace( key, entry, lockItem.unlock( region().nextTimestamp() ) ) ) {
+						return false;
+					}
+				}
+				else if ( region().replace( key, entry, new Item( value, version, region().nextTimestamp() ) ) ) {
+					return true;
+				}
+			}
+			else {
+				break;
+			}
+		}
+		handleLockExpiry( key, entry );
+		return false;
+	}
+
+	private boolean compareAndSet(Object key, Object expected, Object value) {
+		return expected == null ? region().putIfAbsent( key, value ) : region().replace( key, expected, value );
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isWriteable(Object entry, long txTimestamp, Object version) {
+		if ( entry == null ) {
+			return true;
+		}
+		else if ( entry instanceof Lock ) {
+			return ( (Lock) entry ).isWriteable( txTimestamp, version, versionComparator );
+		}
+		else {
+			return ( (Item) entry ).isWriteable( txTimestamp, version, versionComparator );
+		}
+	}
+
+	/**
+	 * Handle the timeout of a previous lock mapped to this key
+	 */
+	private void handleLockExpiry(Object key, Object entry) {
+		LOG.softLockedCacheExpired( region().getName(), key, entry == null ? "(null)" : entry.toString() );
+
+		final long ts = region().nextTimestamp() + region().getTimeout();
+		// create new lock that times out immediately
+		final Lock newLock = new Lock( ts, uuid, nextLockId.getAndIncrement(), null ).unlock( ts );
+		region().put( key, newLock );
+	}
+
+	/**
+	 * Immutable wrapper type representing locked items.  Locking or unlocking produces a new instance, so that
+	 * conditional cache operations can tell the states apart.
+	 */
+	protected static final class Lock implements Serializable, SoftLock {
+		private static final long serialVersionUID = 1L;
+
+		private final UUID sourceUuid;
+		private final long lockId;
+		private final Object version;
+
+		private final long timeout;
+		private final boolean concurrent;
+		private final int multiplicity;
+		private final long unlockTimestamp;
+
+		/**
+		 * Creates a locked item with the given identifiers and object version.
+		 */
+		Lock(long timeout, UUID sourceUuid, long lockId, Object version) {
+			this( sourceUuid, lockId, version, timeout, false, 1, 0 );
+		}
+
+		private Lock(
+				UUID sourceUuid,
+				long lockId,
+				Object version,
+				long timeout,
+				boolean concurrent,
+				int multiplicity,
+				long unlockTimestamp) {
+			this.sourceUuid = sourceUuid;
+			this.lockId = lockId;
+			this.version = version;
+			this.timeout = timeout;
+			this.concurrent = concurrent;
+			this.multiplicity = multiplicity;
+			this.unlockTimestamp = unlockTimestamp;
+		}
+
+		/**
+		 * Returns <code>true</code> if the enclosed value can be replaced with one of the given version by a
+		 * transaction started at the given time.
+		 */
+		@SuppressWarnings({"SimplifiableIfStatement", "unchecked"})
+		public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			if ( txTimestamp > timeout ) {
+				// if timedout then allow write
+				return true;
+			}
+			if ( multiplicity > 0 ) {
+				// if still locked then disallow write
+				return false;
+			}
+			return version == null
+					? txTimestamp > unlockTimestamp
+					: versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		/**
+		 * Returns <code>true</code> if the given lock can be unlocked using the given SoftLock instance as a handle.
+		 */
+		public boolean isUnlockable(SoftLock lock) {
+			if ( lock instanceof Lock ) {
+				return lockId == ( (Lock) lock ).lockId && sourceUuid.equals( ( (Lock) lock ).sourceUuid );
+			}
+			else {
+				return false;
+			}
+		}
+
+		/**
+		 * Returns true if this Lock has been concurrently locked by more than one transaction.
+		 */
+		public boolean wasLockedConcurrently() {
+			return concurrent;
+		}
+
+		/**
+		 * Returns a copy of this Lock locked once more, with the lock timeout occuring at the specified time.
+		 */
+		public Lock lock(long timeout) {
+			return new Lock( sourceUuid, lockId, version, timeout, true, multiplicity + 1, unlockTimestamp );
+		}
+
+		/**
+		 * Returns a copy of this Lock unlocked once, timestamping the unlock event if it is no longer held.
+		 */
+		public Lock unlock(long timestamp) {
+			final int remaining = multiplicity - 1;
+			return new Lock(
+					sourceUuid,
+					lockId,
+					version,
+					timeout,
+					concurrent,
+					remaining,
+					remaining == 0 ? timestamp : unlockTimestamp
+			);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof Lock ) {
+				final Lock other = (Lock) o;
+				return lockId == other.lockId
+						&& sourceUuid.equals( other.sourceUuid )
+						&& ( version == null ? other.version == null : version.equals( other.version ) )
+						&& timeout == other.timeout
+						&& concurrent == other.concurrent
+						&& multiplicity == other.multiplicity
+						&& unlockTimestamp == other.unlockTimestamp;
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			int result = sourceUuid.hashCode();
+			result = 31 * result + (int) ( lockId ^ ( lockId >>> 32 ) );
+			result = 31 * result + (int) ( timeout ^ ( timeout >>> 32 ) );
+			result = 31 * result + multiplicity;
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return "Lock Source-UUID:" + sourceUuid + " Lock-ID:" + lockId;
+		}
+	}
+}
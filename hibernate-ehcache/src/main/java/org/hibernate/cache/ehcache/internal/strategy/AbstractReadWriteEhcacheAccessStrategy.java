@@ -280,6 +280,13 @@ abstract class AbstractReadWriteEhcacheAccessStrategy<T
 			return value;
 		}
 
+		/**
+		 * Returns the version of the enclosed value.
+		 */
+		Object getVersion() {
+			return version;
+		}
+
 		@Override
 		public boolean isUnlockable(SoftLock lock) {
 			return false;
@@ -289,6 +296,31 @@ abstract class AbstractReadWriteEhcacheAccessStrategy<T
 		public Lock lock(long timeout, UUID uuid, long lockId) {
 			return new Lock( timeout, uuid, lockId, version );
 		}
+
+		/**
+		 * Items are equal if they share version and creation timestamp.  Region timestamps are unique, so this
+		 * tells items apart without comparing the enclosed values, which (like cache entries) need not implement
+		 * equality and may be copies.
+		 */
+		@Override
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof Item ) {
+				final Item other = (Item) o;
+				return timestamp == other.timestamp
+						&& ( version == null ? other.version == null : version.equals( other.version ) );
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) ( timestamp ^ ( timestamp >>> 32 ) );
+		}
 	}
 
 	/**
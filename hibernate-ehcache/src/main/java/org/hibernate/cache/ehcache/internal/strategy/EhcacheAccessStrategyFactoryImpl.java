@@ -58,6 +58,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 				}
 				return new ReadOnlyEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 			case READ_WRITE:
+				if ( entityRegion.isLockFreeReadWrite() ) {
+					return new LockFreeReadWriteEhcacheEntityRegionAccessStrategy(
+							entityRegion,
+							entityRegion.getSettings()
+					);
+				}
 				return new ReadWriteEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 
 			case NONSTRICT_READ_WRITE:
@@ -93,6 +99,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 						collectionRegion.getSettings()
 				);
 			case READ_WRITE:
+				if ( collectionRegion.isLockFreeReadWrite() ) {
+					return new LockFreeReadWriteEhcacheCollectionRegionAccessStrategy(
+							collectionRegion,
+							collectionRegion.getSettings()
+					);
+				}
 				return new ReadWriteEhcacheCollectionRegionAccessStrategy(
 						collectionRegion,
 						collectionRegion.getSettings()
@@ -126,6 +138,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 						naturalIdRegion.getSettings()
 				);
 			case READ_WRITE:
+				if ( naturalIdRegion.isLockFreeReadWrite() ) {
+					return new LockFreeReadWriteEhcacheNaturalIdRegionAccessStrategy(
+							naturalIdRegion,
+							naturalIdRegion.getSettings()
+					);
+				}
 				return new ReadWriteEhcacheNaturalIdRegionAccessStrategy(
 						naturalIdRegion,
 						naturalIdRegion.getSettings()
@@ -188,7 +188,10 @@ public abstract class EhCacheTest extends BaseCoreFunctionalTestCase {
 //		} else
 		if ( entry.getClass()
 				.getName()
-				.equals( "org.hibernate.cache.ehcache.internal.strategy.AbstractReadWriteEhcacheAccessStrategy$Lock" ) ) {
+				.equals( "org.hibernate.cache.ehcache.internal.strategy.AbstractReadWriteEhcacheAccessStrategy$Lock" )
+				|| entry.getClass()
+				.getName()
+				.equals( "org.hibernate.cache.ehcache.internal.strategy.AbstractLockFreeReadWriteEhcacheAccessStrategy$Lock" ) ) {
 			//FIXME don't know what to test here
 		}
 		else {
@@ -0,0 +1,14 @@
+package org.hibernate.test.cache.ehcache;
+
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Runs the lock-free read/write tests against caches returning copies of their values on every read.
+ */
+public class LockFreeCopyOnReadEhCacheRegionTest extends LockFreeEhCacheRegionTest {
+	@Override
+	protected void configCache(final Configuration cfg) {
+		super.configCache( cfg );
+		cfg.setProperty( "net.sf.ehcache.configurationResourceName", "ehcache-copy-on-read.xml" );
+	}
+}
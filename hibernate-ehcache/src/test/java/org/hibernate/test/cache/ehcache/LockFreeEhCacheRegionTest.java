@@ -0,0 +1,95 @@
+package org.hibernate.test.cache.ehcache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the read/write tests against the lock-free read/write access strategy.
+ */
+public class LockFreeEhCacheRegionTest extends EhCacheRegionTest {
+	private static final int THREADS = 4;
+	private static final int ITERATIONS = 500;
+
+	@Override
+	protected void configCache(final Configuration cfg) {
+		super.configCache( cfg );
+		cfg.setProperty( "net.sf.ehcache.hibernate.lock_free_read_write", "true" );
+	}
+
+	/**
+	 * Updates, deletes and loads race on the same key.  Every thread must get through, and once they are all done
+	 * no soft lock may be left held: the key either maps to a readable value or accepts a fresh load.
+	 */
+	@Test
+	public void testConcurrentLockUnlockAndPutFromLoadOnSameKey() throws Exception {
+		final EntityRegionAccessStrategy strategy = sessionFactory().getEntityPersister( Item.class.getName() )
+				.getCacheAccessStrategy();
+		final Region region = strategy.getRegion();
+		final Object key = "contended";
+		final CyclicBarrier barrier = new CyclicBarrier( THREADS );
+
+		final ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+		try {
+			final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for ( int i = 0; i < THREADS; i++ ) {
+				final int thread = i;
+				futures.add(
+						executor.submit(
+								new Callable<Void>() {
+									@Override
+									public Void call() throws Exception {
+										barrier.await();
+										for ( int j = 0; j < ITERATIONS; j++ ) {
+											final String value = "value-" + thread + "-" + j;
+											strategy.putFromLoad( key, value, region.nextTimestamp(), null );
+											final SoftLock lock = strategy.lockItem( key, null );
+											if ( thread % 2 == 0 ) {
+												// update
+												strategy.afterUpdate( key, value, null, null, lock );
+											}
+											else {
+												// delete
+												strategy.unlockItem( key, lock );
+											}
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Void> future : futures ) {
+				future.get( 30, TimeUnit.SECONDS );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		final long txTimestamp = region.nextTimestamp();
+		final Object cached = strategy.get( key, txTimestamp );
+		if ( cached == null ) {
+			assertTrue( "soft lock left held", strategy.putFromLoad( key, "loaded", txTimestamp, null ) );
+			assertEquals( "loaded", strategy.get( key, region.nextTimestamp() ) );
+		}
+		else {
+			assertTrue( String.valueOf( cached ).startsWith( "value-" ) );
+		}
+	}
+}
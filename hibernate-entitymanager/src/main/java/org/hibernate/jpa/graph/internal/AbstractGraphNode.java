@@ -119,6 +119,11 @@ public abstract class AbstractGraphNode<T> implements GraphNodeImplementor, Hibe
 		return buildAttributeNode( resolveAttribute( attributeName ) );
 	}
 
+	@Override
+	public boolean isMutable() {
+		return mutable;
+	}
+
 	protected abstract Attribute<T,?> resolveAttribute(String attributeName);
 
 	protected <X> AttributeNodeImpl<X> buildAttributeNode(Attribute<T, X> attribute) {
@@ -229,7 +229,9 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 				applyNamedAttributeNodes( namedEntityGraph.attributeNodes(), namedEntityGraph, entityGraph );
 			}
 
-			entityGraphs.put( definition.getRegisteredName(), entityGraph );
+			// register an immutable copy, as addNamedEntityGraph does, so persisters can cache the
+			// loaders built for it; createEntityGraph hands out mutable copies for modification
+			entityGraphs.put( definition.getRegisteredName(), entityGraph.makeImmutableCopy( definition.getRegisteredName() ) );
 		}
 	}
 
@@ -25,9 +25,16 @@ package org.hibernate.jpa.test.packaging;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import org.hibernate.jpa.AvailableSettings;
 import org.hibernate.jpa.boot.internal.ParsedPersistenceXmlDescriptor;
@@ -35,6 +42,8 @@ import org.hibernate.jpa.boot.internal.StandardJpaScanEnvironmentImpl;
 import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
 import org.hibernate.jpa.test.pack.defaultpar.ApplicationServer;
 import org.hibernate.jpa.test.pack.defaultpar.Version;
+import org.hibernate.metamodel.archive.internal.ArchiveHelper;
+import org.hibernate.metamodel.archive.scan.internal.PrebuiltIndexScanner;
 import org.hibernate.metamodel.archive.scan.internal.StandardScanOptions;
 import org.hibernate.metamodel.archive.scan.internal.StandardScanner;
 import org.hibernate.metamodel.archive.scan.spi.ClassDescriptor;
@@ -47,10 +56,13 @@ import org.hibernate.metamodel.archive.scan.spi.ScanResult;
 import org.hibernate.metamodel.archive.scan.spi.Scanner;
 import org.hibernate.metamodel.internal.JandexInitManager;
 
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -94,6 +106,84 @@ public class ScannerTest extends PackagingTestCase {
 		}
 	}
 
+	@Test
+	public void testPrebuiltIndexScanner() throws Exception {
+		File explicitPar = buildExplicitPar();
+		PersistenceUnitDescriptor descriptor = new ParsedPersistenceXmlDescriptor( explicitPar.toURL() );
+		assertNull( PrebuiltIndexScanner.locate( new StandardJpaScanEnvironmentImpl( descriptor ) ) );
+
+		File defaultPar = buildDefaultPar();
+		addJandexIndex( defaultPar );
+		addPackageToClasspath( defaultPar );
+
+		descriptor = new ParsedPersistenceXmlDescriptor( defaultPar.toURL() );
+		ScanEnvironment env = new StandardJpaScanEnvironmentImpl( descriptor );
+		final PrebuiltIndexScanner scanner = PrebuiltIndexScanner.locate( env );
+		assertNotNull( scanner );
+		ScanOptions options = new StandardScanOptions( "class", descriptor.isExcludeUnlistedClasses() );
+		ScanResult scanResult = scanner.scan(
+				env,
+				options,
+				new ScanParameters() {
+					private final JandexInitManager jandexInitManager = new JandexInitManager(
+							scanner.getIndexView(),
+							null,
+							false
+					);
+					@Override
+					public JandexInitializer getJandexInitializer() {
+						return jandexInitManager;
+					}
+				}
+		);
+
+		assertEquals( 3, scanResult.getLocatedClasses().size() );
+		assertClassesContained( scanResult, ApplicationServer.class );
+		assertClassesContained( scanResult, Version.class );
+
+		// the hbm.xml file is not detected, only META-INF/orm.xml
+		assertEquals( 1, scanResult.getLocatedMappingFiles().size() );
+		MappingFileDescriptor mappingFileDescriptor = scanResult.getLocatedMappingFiles().iterator().next();
+		assertEquals( "META-INF/orm.xml", mappingFileDescriptor.getName() );
+		InputStream stream = mappingFileDescriptor.getStreamAccess().accessInputStream();
+		assertNotNull( stream );
+		stream.close();
+	}
+
+	private void addJandexIndex(File archive) throws Exception {
+		final Indexer indexer = new Indexer();
+		final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+		final ZipOutputStream out = new ZipOutputStream( copy );
+		final ZipInputStream in = new ZipInputStream( new FileInputStream( archive ) );
+		try {
+			ZipEntry entry;
+			while ( ( entry = in.getNextEntry() ) != null ) {
+				final byte[] bytes = ArchiveHelper.getBytesFromInputStream( in );
+				if ( entry.getName().endsWith( ".class" ) ) {
+					indexer.index( new ByteArrayInputStream( bytes ) );
+				}
+				out.putNextEntry( new ZipEntry( entry.getName() ) );
+				out.write( bytes );
+				out.closeEntry();
+			}
+		}
+		finally {
+			in.close();
+		}
+		out.putNextEntry( new ZipEntry( PrebuiltIndexScanner.INDEX_NAME ) );
+		new IndexWriter( out ).write( indexer.complete() );
+		out.closeEntry();
+		out.close();
+
+		final FileOutputStream fileOut = new FileOutputStream( archive );
+		try {
+			fileOut.write( copy.toByteArray() );
+		}
+		finally {
+			fileOut.close();
+		}
+	}
+
 	private void assertClassesContained(ScanResult scanResult, Class classToCheckFor) {
 		for ( ClassDescriptor classDescriptor : scanResult.getLocatedClasses() ) {
 			if ( classDescriptor.getName().equals( classToCheckFor.getName() ) ) {
@@ -131,4 +131,53 @@ public interface EnversSettings {
 	 * Exactly one row with {@code null} end date exists for each identifier.
 	 */
 	public static final String ALLOW_IDENTIFIER_REUSE = "org.hibernate.envers.allow_identifier_reuse";
+
+	/**
+	 * Directory of the local journal used to write audit data asynchronously. When set, audit rows are appended
+	 * to a journal file on transaction completion and inserted into the audit tables by a background writer;
+	 * only the revision entity is persisted within the audited transaction. Requires the default audit strategy,
+	 * and a serializable revision entity. Every session factory needs a directory of its own; a directory in use by
+	 * another session factory is rejected on start. Disabled by default.
+	 */
+	public static final String ASYNC_AUDIT_JOURNAL_DIRECTORY = "org.hibernate.envers.async_audit_journal_directory";
+
+	/**
+	 * Maximum number of audit rows inserted by the asynchronous audit writer in one JDBC batch and transaction.
+	 * Defaults to {@literal 500}.
+	 */
+	public static final String ASYNC_AUDIT_BATCH_SIZE = "org.hibernate.envers.async_audit_batch_size";
+
+	/**
+	 * Number of attempts made by the asynchronous audit writer to write the audit data of a revision. A revision
+	 * which still cannot be written is moved from the journal to a dead letter file of the journal directory and
+	 * a warning is logged. Defaults to {@literal 5}.
+	 */
+	public static final String ASYNC_AUDIT_MAX_WRITE_ATTEMPTS = "org.hibernate.envers.async_audit_max_write_attempts";
+
+	/**
+	 * Maximum number of historical entities, referenced by to-one relations at the same revision, loaded together
+	 * by a single audit query when one of the relations is initialized. {@literal 1} loads each relation separately.
+	 * Defaults to {@literal 16}.
+	 */
+	public static final String RELATION_BATCH_SIZE = "org.hibernate.envers.relation_batch_size";
+
+	/**
+	 * Number of threads reconstructing historical entity snapshots from the rows of a revisions of entity query
+	 * in parallel. The query itself is still executed by the calling thread. Only snapshots of entities without
+	 * relations, whose reconstruction does not use the session, are reconstructed in parallel. {@literal 1}
+	 * reconstructs all snapshots in the calling thread. Defaults to {@literal 1}.
+	 */
+	public static final String PARALLEL_RECONSTRUCTION_THREADS = "org.hibernate.envers.parallel_reconstruction_threads";
+
+	/**
+	 * Number of revision numbers allocated at once by the sequence (or table) of the default revision entity, when
+	 * {@link #USE_REVISION_ENTITY_WITH_NATIVE_ID} is {@code false}. Values greater than {@literal 1} hand out revision
+	 * numbers from a pool kept in memory, so that the revision number generator is accessed only once per pool.
+	 * Revision numbers of different application instances are then no longer ordered by time, which is why pooled
+	 * allocation should only be used by a single instance per database. A sequence that already exists must be
+	 * altered to {@code INCREMENT BY} the same value; otherwise the pools would overlap and yield duplicate revision
+	 * numbers, so the session factory fails to start with an {@link org.hibernate.envers.exception.AuditException}
+	 * when the database catalog shows the sequence incrementing by a different amount. Defaults to {@literal 1}.
+	 */
+	public static final String REVISION_NUMBER_INCREMENT_SIZE = "org.hibernate.envers.revision_number_increment_size";
 }
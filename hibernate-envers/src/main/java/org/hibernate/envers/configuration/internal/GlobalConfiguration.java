@@ -34,6 +34,7 @@ import org.hibernate.engine.config.spi.StandardConverters;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.envers.RevisionListener;
 import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 
 /**
  * @author Adam Warski (adam at warski dot org)
@@ -81,6 +82,24 @@ public class GlobalConfiguration {
 	// Support reused identifiers of previously deleted entities
 	private final boolean allowIdentifierReuse;
 
+	// Directory of the asynchronous audit journal, null when audit data is written synchronously
+	private final String asyncAuditJournalDirectory;
+
+	// Number of audit rows written by the asynchronous audit writer per batch
+	private final int asyncAuditBatchSize;
+
+	// Number of attempts to write the audit data of a revision asynchronously, before it is given up
+	private final int asyncAuditMaxWriteAttempts;
+
+	// Number of historical to-one relations loaded by a single audit query
+	private final int relationBatchSize;
+
+	// Number of threads reconstructing historical entities of revisions of entity queries
+	private final int parallelReconstructionThreads;
+
+	// Number of revision numbers allocated at once by the default revision entity's sequence
+	private final int revisionNumberIncrementSize;
+
 	/*
 		 Which operator to use in correlated subqueries (when we want a property to be equal to the result of
 		 a correlated subquery, for example: e.p <operator> (select max(e2.p) where e2.p2 = e.p2 ...).
@@ -162,6 +181,28 @@ public class GlobalConfiguration {
 		allowIdentifierReuse = configurationService.getSetting(
 				EnversSettings.ALLOW_IDENTIFIER_REUSE, StandardConverters.BOOLEAN, false
 		);
+
+		asyncAuditJournalDirectory = configurationService.getSetting(
+				EnversSettings.ASYNC_AUDIT_JOURNAL_DIRECTORY, StandardConverters.STRING
+		);
+		asyncAuditBatchSize = ConfigurationHelper.getInt(
+				EnversSettings.ASYNC_AUDIT_BATCH_SIZE, configurationService.getSettings(), 500
+		);
+		asyncAuditMaxWriteAttempts = ConfigurationHelper.getInt(
+				EnversSettings.ASYNC_AUDIT_MAX_WRITE_ATTEMPTS, configurationService.getSettings(), 5
+		);
+
+		relationBatchSize = ConfigurationHelper.getInt(
+				EnversSettings.RELATION_BATCH_SIZE, configurationService.getSettings(), 16
+		);
+
+		parallelReconstructionThreads = ConfigurationHelper.getInt(
+				EnversSettings.PARALLEL_RECONSTRUCTION_THREADS, configurationService.getSettings(), 1
+		);
+
+		revisionNumberIncrementSize = ConfigurationHelper.getInt(
+				EnversSettings.REVISION_NUMBER_INCREMENT_SIZE, configurationService.getSettings(), 1
+		);
 	}
 
 	public boolean isGenerateRevisionsForCollections() {
@@ -223,4 +264,28 @@ public class GlobalConfiguration {
 	public boolean isAllowIdentifierReuse() {
 		return allowIdentifierReuse;
 	}
+
+	public String getAsyncAuditJournalDirectory() {
+		return asyncAuditJournalDirectory;
+	}
+
+	public int getAsyncAuditBatchSize() {
+		return asyncAuditBatchSize;
+	}
+
+	public int getAsyncAuditMaxWriteAttempts() {
+		return asyncAuditMaxWriteAttempts;
+	}
+
+	public int getRelationBatchSize() {
+		return relationBatchSize;
+	}
+
+	public int getParallelReconstructionThreads() {
+		return parallelReconstructionThreads;
+	}
+
+	public int getRevisionNumberIncrementSize() {
+		return revisionNumberIncrementSize;
+	}
 }
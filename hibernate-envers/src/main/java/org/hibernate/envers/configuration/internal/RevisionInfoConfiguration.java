@@ -116,6 +116,7 @@ public class RevisionInfoConfiguration {
 				revisionInfoIdData.getName(),
 				revisionPropType,
 				globalCfg.isUseRevisionEntityWithNativeId(),
+				globalCfg.getRevisionNumberIncrementSize(),
 				"REV"
 		);
 
@@ -49,6 +49,7 @@ public final class MetadataTools {
 	public static Element addNativelyGeneratedId(
 			Element parent, String name, String type,
 			boolean useRevisionEntityWithNativeId,
+			int incrementSize,
 			String idColumnName) {
 		final Element idMapping = parent.addElement( "id" );
 		idMapping.addAttribute( "name", name ).addAttribute( "type", type );
@@ -67,7 +68,13 @@ public final class MetadataTools {
 					.addAttribute( "name", "table_name" )
 					.setText( "REVISION_GENERATOR" );
 			generatorMapping.addElement( "param" ).addAttribute( "name", "initial_value" ).setText( "1" );
-			generatorMapping.addElement( "param" ).addAttribute( "name", "increment_size" ).setText( "1" );
+			generatorMapping.addElement( "param" )
+					.addAttribute( "name", "increment_size" )
+					.setText( String.valueOf( incrementSize ) );
+			if ( incrementSize > 1 ) {
+				// Pooled optimizer keeps generated revision numbers ascending within the application instance
+				generatorMapping.addElement( "param" ).addAttribute( "name", "optimizer" ).setText( "pooled" );
+			}
 		}
 //        generatorMapping.addAttribute("class", "sequence");
 //        generatorMapping.addElement("param").addAttribute("name", "sequence").setText("custom");
@@ -23,16 +23,22 @@
  */
 package org.hibernate.envers.configuration.spi;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.IndexView;
+import org.jboss.logging.Logger;
 
 import org.hibernate.MappingException;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
@@ -46,8 +52,11 @@ import org.hibernate.envers.internal.revisioninfo.ModifiedEntityNamesReader;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoNumberReader;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoQueryCreator;
 import org.hibernate.envers.internal.synchronization.AuditProcessManager;
+import org.hibernate.envers.internal.synchronization.journal.AuditJournal;
+import org.hibernate.envers.internal.synchronization.journal.JournalingAuditStrategy;
 import org.hibernate.envers.internal.tools.ReflectionTools;
 import org.hibernate.envers.strategy.AuditStrategy;
+import org.hibernate.envers.strategy.DefaultAuditStrategy;
 import org.hibernate.envers.strategy.ValidityAuditStrategy;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.metamodel.Metadata;
@@ -63,6 +72,8 @@ import org.hibernate.property.Getter;
  * @author Stephanie Pau at Markit Group Plc
  */
 public class AuditConfiguration {
+	private static final Logger log = Logger.getLogger( AuditConfiguration.class );
+
 	private final GlobalConfiguration globalCfg;
 	private final AuditEntitiesConfiguration auditEntCfg;
 	private final AuditProcessManager auditProcessManager;
@@ -71,6 +82,7 @@ public class AuditConfiguration {
 	private final RevisionInfoQueryCreator revisionInfoQueryCreator;
 	private final RevisionInfoNumberReader revisionInfoNumberReader;
 	private final ModifiedEntityNamesReader modifiedEntityNamesReader;
+	private final ExecutorService reconstructionExecutor;
 	private ClassLoaderService classLoaderService;
 
 	public AuditEntitiesConfiguration getAuditEntCfg() {
@@ -109,6 +121,14 @@ public class AuditConfiguration {
 		return classLoaderService;
 	}
 
+	/**
+	 * @return Executor reconstructing historical entities in parallel, or {@code null} if reconstruction
+	 * is done by the querying thread.
+	 */
+	public ExecutorService getReconstructionExecutor() {
+		return reconstructionExecutor;
+	}
+
 	//public AuditConfiguration(Configuration cfg) {
 	//	this( cfg, null );
 	//}
@@ -117,22 +137,27 @@ public class AuditConfiguration {
 		this.globalCfg = context.getGlobalConfiguration();
 		this.auditEntCfg = context.getAuditEntitiesConfiguration();
 
-		this.auditProcessManager = new AuditProcessManager( context.getRevisionInfoConfigurationResult().getRevisionInfoGenerator() );
 		this.revisionInfoQueryCreator = context.getRevisionInfoConfigurationResult().getRevisionInfoQueryCreator();
 		this.revisionInfoNumberReader = context.getRevisionInfoConfigurationResult().getRevisionInfoNumberReader();
 		this.modifiedEntityNamesReader = context.getRevisionInfoConfigurationResult().getModifiedEntityNamesReader();
 
-		this.auditStrategy = initializeAuditStrategy(
+		final AuditStrategy strategy = initializeAuditStrategy(
 				context.getRevisionInfoConfigurationResult().getRevisionInfoClass(),
 				context.getRevisionInfoConfigurationResult().getRevisionInfoTimestampData()
 		);
+		final AuditJournal auditJournal = initializeAuditJournal( strategy );
+		this.auditStrategy = auditJournal != null ? new JournalingAuditStrategy( strategy ) : strategy;
+		this.auditProcessManager = new AuditProcessManager(
+				context.getRevisionInfoConfigurationResult().getRevisionInfoGenerator(),
+				auditJournal
+		);
 		this.entCfg = new EntitiesConfigurator().configure(
 				context,
-				auditStrategy,
+				strategy,
 				context.getRevisionInfoConfigurationResult().getRevisionInfoXmlMapping(),
 				context.getRevisionInfoConfigurationResult().getRevisionInfoRelationMapping()
 		);
-
+		this.reconstructionExecutor = initializeReconstructionExecutor();
 	}
 
 	private AuditStrategy initializeAuditStrategy(Class<?> revisionInfoClass, PropertyData revisionInfoTimestampData) {
@@ -167,6 +192,52 @@ public class AuditConfiguration {
 		return strategy;
 	}
 
+	private AuditJournal initializeAuditJournal(AuditStrategy strategy) {
+		final String journalDirectory = globalCfg.getAsyncAuditJournalDirectory();
+		if ( journalDirectory == null ) {
+			return null;
+		}
+		if ( strategy.getClass() != DefaultAuditStrategy.class ) {
+			// other strategies read or update previous audit rows while writing
+			log.warnf(
+					"Asynchronous audit writing is only supported by %s, writing audit data synchronously",
+					DefaultAuditStrategy.class.getName()
+			);
+			return null;
+		}
+		return new AuditJournal(
+				new File( journalDirectory ),
+				globalCfg.getAsyncAuditBatchSize(),
+				globalCfg.getAsyncAuditMaxWriteAttempts(),
+				auditEntCfg.getRevisionInfoEntityName(),
+				auditEntCfg.getRevisionNumberPath(),
+				revisionInfoNumberReader
+		);
+	}
+
+	private ExecutorService initializeReconstructionExecutor() {
+		final int threads = globalCfg.getParallelReconstructionThreads();
+		if ( threads <= 1 ) {
+			return null;
+		}
+		return Executors.newFixedThreadPool(
+				threads,
+				new ThreadFactory() {
+					private final AtomicInteger threadNumber = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread(
+								runnable,
+								"Envers snapshot reconstruction " + threadNumber.incrementAndGet()
+						);
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+	}
+
 	private static final Map<UUID, AuditConfiguration> CFGS = new WeakHashMap<UUID, AuditConfiguration>();
 
 	//public synchronized static AuditConfiguration register(MetadataImplementor metadata) {
@@ -194,6 +265,9 @@ public class AuditConfiguration {
 				}
 			}
 		}
+		if ( reconstructionExecutor != null ) {
+			reconstructionExecutor.shutdown();
+		}
 		classLoaderService = null;
 	}
 
@@ -23,18 +23,31 @@
  */
 package org.hibernate.envers.enhanced;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 import org.hibernate.HibernateException;
+import org.hibernate.JDBCException;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.Oracle8iDialect;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.exception.AuditException;
+import org.hibernate.id.enhanced.DatabaseStructure;
 import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.internal.util.StringHelper;
 
+import org.jboss.logging.Logger;
+
 /**
  * Revision number generator has to produce values in ascending order (gaps may occur).
  *
  * @author Lukasz Antoniak (lukasz dot antoniak at gmail dot com)
  */
 public class OrderedSequenceGenerator extends SequenceStyleGenerator {
+	private static final Logger LOG = Logger.getLogger( OrderedSequenceGenerator.class );
+
 	@Override
 	public String[] sqlCreateStrings(Dialect dialect) throws HibernateException {
 		String[] create = super.sqlCreateStrings( dialect );
@@ -44,4 +57,88 @@ public class OrderedSequenceGenerator extends SequenceStyleGenerator {
 		}
 		return create;
 	}
+
+	/**
+	 * Verifies that the physical sequence steps by the configured increment size. A pooled optimizer reserves
+	 * {@code incrementSize} revision numbers per sequence value, so a pre-existing sequence created with a smaller
+	 * increment (e.g. {@code INCREMENT BY 1}) would make concurrent application instances hand out duplicate
+	 * revision numbers. The increment is read from the database catalog ({@code user_sequences} on Oracle,
+	 * {@code information_schema.sequences} elsewhere), so no sequence value is consumed. Databases exposing
+	 * neither are not verified.
+	 *
+	 * @param session The session used to query the database catalog.
+	 *
+	 * @throws AuditException If the sequence increment does not match the configured increment size.
+	 */
+	public void verifyIncrementSize(SessionImplementor session) {
+		final DatabaseStructure databaseStructure = getDatabaseStructure();
+		final int incrementSize = databaseStructure.getIncrementSize();
+		if ( incrementSize <= 1 || !databaseStructure.isPhysicalSequence() ) {
+			// table structures apply the increment themselves
+			return;
+		}
+		final Long sequenceIncrement = readSequenceIncrement( session, databaseStructure.getName() );
+		if ( sequenceIncrement == null ) {
+			LOG.debugf(
+					"Unable to read the increment of sequence [%s], not verifying it",
+					databaseStructure.getName()
+			);
+			return;
+		}
+		if ( sequenceIncrement != incrementSize ) {
+			throw new AuditException(
+					"Sequence [" + databaseStructure.getName() + "] increments by " + sequenceIncrement
+							+ " instead of the configured revision number increment size [" + incrementSize
+							+ "]; alter the sequence to INCREMENT BY " + incrementSize + " or change "
+							+ "the org.hibernate.envers.revision_number_increment_size setting"
+			);
+		}
+	}
+
+	private static Long readSequenceIncrement(SessionImplementor session, String qualifiedName) {
+		final String sql = session.getFactory().getDialect() instanceof Oracle8iDialect
+				? "select sequence_name, increment_by from user_sequences"
+				: "select sequence_name, increment from information_schema.sequences";
+		final String name = unquote( StringHelper.unqualify( qualifiedName ) );
+		final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+		try {
+			final PreparedStatement st = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+			try {
+				final ResultSet rs = jdbcCoordinator.getResultSetReturn().extract( st );
+				try {
+					while ( rs.next() ) {
+						// the catalog may hold the name in another case than the mapping
+						if ( name.equalsIgnoreCase( rs.getString( 1 ) ) ) {
+							return Long.valueOf( rs.getString( 2 ).trim() );
+						}
+					}
+					return null;
+				}
+				finally {
+					jdbcCoordinator.release( rs, st );
+				}
+			}
+			finally {
+				jdbcCoordinator.release( st );
+			}
+		}
+		catch (SQLException e) {
+			LOG.debugf( e, "Unable to query the sequence catalog with [%s]", sql );
+			return null;
+		}
+		catch (JDBCException e) {
+			LOG.debugf( e, "Unable to query the sequence catalog with [%s]", sql );
+			return null;
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static String unquote(String name) {
+		if ( name.length() > 1 && "`\"[".indexOf( name.charAt( 0 ) ) != -1 ) {
+			return name.substring( 1, name.length() - 1 );
+		}
+		return name;
+	}
 }
@@ -24,13 +24,20 @@
 package org.hibernate.envers.event.spi;
 
 import org.hibernate.AssertionFailure;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.config.spi.StandardConverters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.configuration.spi.AuditConfiguration;
+import org.hibernate.envers.enhanced.OrderedSequenceGenerator;
+import org.hibernate.envers.internal.synchronization.journal.AuditJournal;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.EventType;
+import org.hibernate.id.IdentifierGenerator;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.config.ConfigurationHelper;
@@ -143,6 +150,39 @@ public class EnversIntegrator implements Integrator {
 				metadata
 		);
 
+		final AuditJournal auditJournal = enversConfiguration.getSyncManager().getAuditJournal();
+		if ( auditJournal != null ) {
+			sessionFactory.addObserver(
+					new SessionFactoryObserver() {
+						@Override
+						public void sessionFactoryCreated(SessionFactory factory) {
+							auditJournal.start( (SessionFactoryImplementor) factory );
+						}
+
+						@Override
+						public void sessionFactoryClosed(SessionFactory factory) {
+							auditJournal.stop();
+						}
+					}
+			);
+		}
+
+		if ( enversConfiguration.getGlobalCfg().getRevisionNumberIncrementSize() > 1 ) {
+			final String revisionInfoEntityName = enversConfiguration.getAuditEntCfg().getRevisionInfoEntityName();
+			sessionFactory.addObserver(
+					new SessionFactoryObserver() {
+						@Override
+						public void sessionFactoryCreated(SessionFactory factory) {
+							verifyRevisionNumberIncrementSize( (SessionFactoryImplementor) factory, revisionInfoEntityName );
+						}
+
+						@Override
+						public void sessionFactoryClosed(SessionFactory factory) {
+						}
+					}
+			);
+		}
+
 		if ( enversConfiguration.getEntCfg().hasAuditedEntities() ) {
 			listenerRegistry.appendListeners(
 					EventType.POST_DELETE, new EnversPostDeleteEventListenerImpl(
@@ -173,4 +213,19 @@ public class EnversIntegrator implements Integrator {
 			);
 		}
 	}
+
+	private static void verifyRevisionNumberIncrementSize(SessionFactoryImplementor factory, String revisionInfoEntityName) {
+		final IdentifierGenerator generator = factory.getIdentifierGenerator( revisionInfoEntityName );
+		if ( !OrderedSequenceGenerator.class.isInstance( generator ) ) {
+			// custom revision entity with its own generator
+			return;
+		}
+		final Session session = factory.openSession();
+		try {
+			( (OrderedSequenceGenerator) generator ).verifyIncrementSize( (SessionImplementor) session );
+		}
+		finally {
+			session.close();
+		}
+	}
 }
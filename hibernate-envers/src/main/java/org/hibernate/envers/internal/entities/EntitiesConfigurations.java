@@ -29,6 +29,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.envers.internal.entities.mapper.CompositeMapperBuilder;
+import org.hibernate.envers.internal.entities.mapper.PropertyMapper;
+import org.hibernate.envers.internal.entities.mapper.SinglePropertyMapper;
 
 /**
  * Configuration of the user entities: property mapping of the entities, relations, inheritance.
@@ -44,6 +50,9 @@ public class EntitiesConfigurations {
 	// Map versions entity name -> entity name
 	private Map<String, String> entityNamesForVersionsEntityNames = new HashMap<String, String>();
 
+	// Map entity name -> whether its instances are reconstructed without the session, computed on first use
+	private final ConcurrentMap<String, Boolean> mappedWithoutSession = new ConcurrentHashMap<String, Boolean>();
+
 	public EntitiesConfigurations(
 			Map<String, EntityConfiguration> entitiesConfigurations,
 			Map<String, EntityConfiguration> notAuditedEntitiesConfigurations) {
@@ -110,6 +119,47 @@ public class EntitiesConfigurations {
 		return entitiesConfigurations.size() != 0;
 	}
 
+	/**
+	 * Determines whether historical instances of an entity, and of all its audited subclasses, are reconstructed
+	 * without using the session. That is the case when only basic properties and components of basic properties
+	 * are audited; relations are resolved through the session.
+	 *
+	 * @param entityName Name of the entity.
+	 *
+	 * @return {@code true} if reconstructing instances of the entity does not use the session.
+	 */
+	public boolean isMappedWithoutSession(String entityName) {
+		Boolean result = mappedWithoutSession.get( entityName );
+		if ( result == null ) {
+			result = Boolean.TRUE;
+			for ( Map.Entry<String, EntityConfiguration> entry : entitiesConfigurations.entrySet() ) {
+				if ( getEntityAndParentsNames( entry.getKey() ).contains( entityName )
+						&& !isMappedWithoutSession( entry.getValue().getPropertyMapper() ) ) {
+					result = Boolean.FALSE;
+					break;
+				}
+			}
+			mappedWithoutSession.put( entityName, result );
+		}
+		return result;
+	}
+
+	private boolean isMappedWithoutSession(PropertyMapper propertyMapper) {
+		if ( propertyMapper instanceof SinglePropertyMapper ) {
+			return true;
+		}
+		if ( propertyMapper instanceof CompositeMapperBuilder ) {
+			for ( PropertyMapper nested : ( (CompositeMapperBuilder) propertyMapper ).getProperties().values() ) {
+				if ( !isMappedWithoutSession( nested ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		// relation mappers
+		return false;
+	}
+
 	public RelationDescription getRelationDescription(String entityName, String propertyName) {
 		final EntityConfiguration entCfg = entitiesConfigurations.get( entityName );
 		final RelationDescription relDesc = entCfg.getRelationDescription( propertyName );
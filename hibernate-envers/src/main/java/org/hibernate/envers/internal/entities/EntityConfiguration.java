@@ -45,6 +45,8 @@ public class EntityConfiguration {
 	// Maps from property name
 	private Map<String, RelationDescription> relations;
 	private String parentEntityName;
+	// Computed on first use, as properties are added to the mapper after creating the configuration
+	private volatile Boolean usingModifiedFlags;
 
 	public EntityConfiguration(String versionsEntityName, String entityClassName, IdMappingData idMappingData,
 							   ExtendedPropertyMapper propertyMapper, String parentEntityName) {
@@ -130,6 +132,23 @@ public class EntityConfiguration {
 		return propertyMapper;
 	}
 
+	/**
+	 * @return Whether any audited property of the entity stores a modified flag.
+	 */
+	public boolean isUsingModifiedFlags() {
+		if ( usingModifiedFlags == null ) {
+			boolean result = false;
+			for ( PropertyData propertyData : propertyMapper.getProperties().keySet() ) {
+				if ( propertyData.isUsingModifiedFlag() ) {
+					result = true;
+					break;
+				}
+			}
+			usingModifiedFlags = result;
+		}
+		return usingModifiedFlags;
+	}
+
 	public String getParentEntityName() {
 		return parentEntityName;
 	}
@@ -107,8 +107,11 @@ public class EntityInstantiator {
 		}
 
 		// Putting the newly created entity instance into the first level cache, in case a one-to-one bidirectional
-		// relation is present (which is eagerly loaded).
-		versionsReader.getFirstLevelCache().put( entityName, revision, primaryKey, ret );
+		// relation is present (which is eagerly loaded). Historical entities may be reconstructed by several threads,
+		// the instance cached first wins.
+		if ( !versionsReader.getFirstLevelCache().putIfAbsent( entityName, revision, primaryKey, ret ) ) {
+			return versionsReader.getFirstLevelCache().get( entityName, revision, primaryKey );
+		}
 
 		verCfg.getEntCfg().get( entityName ).getPropertyMapper().mapToEntityFromMap(
 				verCfg,
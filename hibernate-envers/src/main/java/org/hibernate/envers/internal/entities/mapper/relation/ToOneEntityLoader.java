@@ -24,10 +24,13 @@
 package org.hibernate.envers.internal.entities.mapper.relation;
 
 import java.io.Serializable;
+import java.util.List;
 
 import org.hibernate.envers.configuration.spi.AuditConfiguration;
 import org.hibernate.envers.internal.entities.mapper.relation.lazy.ToOneDelegateSessionImplementor;
 import org.hibernate.envers.internal.reader.AuditReaderImplementor;
+import org.hibernate.envers.internal.reader.FirstLevelCache;
+import org.hibernate.envers.query.AuditEntity;
 import org.hibernate.persister.entity.EntityPersister;
 
 /**
@@ -53,6 +56,10 @@ public final class ToOneEntityLoader {
 			// Audited relation, look up entity with Envers.
 			// When user traverses removed entities graph, do not restrict revision type of referencing objects
 			// to ADD or MOD (DEL possible). See HHH-5845.
+			final int batchSize = verCfg.getGlobalCfg().getRelationBatchSize();
+			if ( batchSize > 1 ) {
+				loadBatch( versionsReader, entityClass, entityName, entityId, revision, removed, batchSize );
+			}
 			return versionsReader.find( entityClass, entityName, entityId, revision, removed );
 		}
 		else {
@@ -61,6 +68,39 @@ public final class ToOneEntityLoader {
 		}
 	}
 
+	/**
+	 * Loads the historical entity together with other entities of the same name referenced by not yet initialized
+	 * proxies at the same revision, using a single query. Loaded entities, as well as ids without historical state,
+	 * are put into the first level cache.
+	 */
+	private static void loadBatch(
+			AuditReaderImplementor versionsReader,
+			Class<?> entityClass,
+			String entityName,
+			Object entityId,
+			Number revision,
+			boolean removed,
+			int batchSize) {
+		final FirstLevelCache firstLevelCache = versionsReader.getFirstLevelCache();
+		if ( firstLevelCache.contains( entityName, revision, entityId ) ) {
+			return;
+		}
+
+		final List<Object> ids = firstLevelCache.takePendingToOneBatch(
+				entityName, revision, removed, entityId, batchSize
+		);
+		if ( ids.size() > 1 ) {
+			// The results are put into the cache by the entity instantiator called from the query
+			versionsReader.createQuery().forEntitiesAtRevision( entityClass, entityName, revision, removed )
+					.add( AuditEntity.id().in( ids ) ).getResultList();
+			for ( Object id : ids ) {
+				if ( !firstLevelCache.contains( entityName, revision, id ) ) {
+					firstLevelCache.put( entityName, revision, id, null );
+				}
+			}
+		}
+	}
+
 	/**
 	 * Creates proxy of referenced *-to-one entity.
 	 */
@@ -75,6 +115,11 @@ public final class ToOneEntityLoader {
 		final EntityPersister persister = versionsReader.getSessionImplementor()
 				.getFactory()
 				.getEntityPersister( entityName );
+		// pending ids are only tracked when they can be loaded in batches
+		if ( verCfg.getGlobalCfg().getRelationBatchSize() > 1
+				&& verCfg.getEntCfg().getNotVersionEntityConfiguration( entityName ) == null ) {
+			versionsReader.getFirstLevelCache().addPendingToOne( entityName, revision, removed, entityId );
+		}
 		return persister.createProxy(
 				(Serializable) entityId,
 				new ToOneDelegateSessionImplementor( versionsReader, entityClass, entityId, revision, removed, verCfg )
@@ -229,6 +229,11 @@ public class AuditReaderImpl implements AuditReaderImplementor {
 		checkPositive( revision, "Entity revision" );
 		checkSession();
 
+		final Object cachedRevisionData = firstLevelCache.getRevision( revision );
+		if ( cachedRevisionData != null ) {
+			return (T) cachedRevisionData;
+		}
+
 		final Set<Number> revisions = new HashSet<Number>( 1 );
 		revisions.add( revision );
 		final Criteria query = verCfg.getRevisionInfoQueryCreator().getRevisionsQuery( session, revisions );
@@ -240,6 +245,7 @@ public class AuditReaderImpl implements AuditReaderImplementor {
 				throw new RevisionDoesNotExistException( revision );
 			}
 
+			firstLevelCache.putRevision( revision, revisionData );
 			return revisionData;
 		}
 		catch (NonUniqueResultException e) {
@@ -261,13 +267,29 @@ public class AuditReaderImpl implements AuditReaderImplementor {
 		}
 		checkSession();
 
-		final Criteria query = verCfg.getRevisionInfoQueryCreator().getRevisionsQuery( session, revisions );
+		// Revisions already looked up by this reader are served from memory
+		final Set<Number> missingRevisions = new HashSet<Number>( revisions.size() );
+		for ( Number revision : revisions ) {
+			final Object cachedRevisionData = firstLevelCache.getRevision( revision );
+			if ( cachedRevisionData != null ) {
+				result.put( revision, (T) cachedRevisionData );
+			}
+			else {
+				missingRevisions.add( revision );
+			}
+		}
+		if ( missingRevisions.isEmpty() ) {
+			return result;
+		}
+
+		final Criteria query = verCfg.getRevisionInfoQueryCreator().getRevisionsQuery( session, missingRevisions );
 
 		try {
 			final List<T> revisionList = query.list();
 			for ( T revision : revisionList ) {
 				final Number revNo = verCfg.getRevisionInfoNumberReader().getRevisionNumber( revision );
 				result.put( revNo, revision );
+				firstLevelCache.putRevision( revNo, revision );
 			}
 
 			return result;
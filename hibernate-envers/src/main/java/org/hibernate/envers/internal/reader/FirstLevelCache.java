@@ -23,7 +23,12 @@
  */
 package org.hibernate.envers.internal.reader;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.envers.internal.EnversMessageLogger;
 import org.hibernate.envers.internal.tools.Triple;
@@ -35,7 +40,8 @@ import static org.hibernate.envers.internal.tools.Triple.make;
 
 /**
  * First level cache for versioned entities, versions reader-scoped. Each entity is uniquely identified by a
- * revision number and entity id.
+ * revision number and entity id. Access is synchronized, as historical entities of a query may be reconstructed
+ * by several threads.
  *
  * @author Adam Warski (adam at warski dot org)
  * @author Hern&aacute;n Chanfreau
@@ -56,12 +62,25 @@ public class FirstLevelCache {
 	 */
 	private final Map<Triple<Object, Number, Object>, String> entityNameCache;
 
+	/**
+	 * ids of to-one relations resolved to uninitialized proxies, per entity name, revision and "removed" flag;
+	 * loaded together when the first of them is initialized.
+	 */
+	private final Map<Triple<String, Number, Boolean>, Set<Object>> pendingToOneIds;
+
+	/**
+	 * revision entities, per revision number.
+	 */
+	private final Map<Number, Object> revisions;
+
 	public FirstLevelCache() {
 		cache = newHashMap();
 		entityNameCache = newHashMap();
+		pendingToOneIds = newHashMap();
+		revisions = newHashMap();
 	}
 
-	public Object get(String entityName, Number revision, Object id) {
+	public synchronized Object get(String entityName, Number revision, Object id) {
 		LOG.debugf(
 				"Resolving object from First Level Cache: EntityName:%s - primaryKey:%s - revision:%s",
 				entityName,
@@ -71,7 +90,7 @@ public class FirstLevelCache {
 		return cache.get( make( entityName, revision, id ) );
 	}
 
-	public void put(String entityName, Number revision, Object id, Object entity) {
+	public synchronized void put(String entityName, Number revision, Object id, Object entity) {
 		LOG.debugf(
 				"Caching entity on First Level Cache:  - primaryKey:%s - revision:%s - entityName:%s",
 				id,
@@ -81,7 +100,28 @@ public class FirstLevelCache {
 		cache.put( make( entityName, revision, id ), entity );
 	}
 
-	public boolean contains(String entityName, Number revision, Object id) {
+	/**
+	 * Adds an entity to the cache, unless an entity (or {@code null}) is already cached for the given name,
+	 * revision and id.
+	 *
+	 * @return {@code true} if the entity has been added.
+	 */
+	public synchronized boolean putIfAbsent(String entityName, Number revision, Object id, Object entity) {
+		final Triple<String, Number, Object> key = make( entityName, revision, id );
+		if ( cache.containsKey( key ) ) {
+			return false;
+		}
+		LOG.debugf(
+				"Caching entity on First Level Cache:  - primaryKey:%s - revision:%s - entityName:%s",
+				id,
+				revision,
+				entityName
+		);
+		cache.put( key, entity );
+		return true;
+	}
+
+	public synchronized boolean contains(String entityName, Number revision, Object id) {
 		return cache.containsKey( make( entityName, revision, id ) );
 	}
 
@@ -93,7 +133,7 @@ public class FirstLevelCache {
 	 * @param entity object retrieved by envers
 	 * @param entityName value of the cache
 	 */
-	public void putOnEntityNameCache(Object id, Number revision, Object entity, String entityName) {
+	public synchronized void putOnEntityNameCache(Object id, Number revision, Object entity, String entityName) {
 		LOG.debugf(
 				"Caching entityName on First Level Cache:  - primaryKey:%s - revision:%s - entity:%s -> entityName:%s",
 				id,
@@ -113,7 +153,7 @@ public class FirstLevelCache {
 	 *
 	 * @return The appropriate entity name
 	 */
-	public String getFromEntityNameCache(Object id, Number revision, Object entity) {
+	public synchronized String getFromEntityNameCache(Object id, Number revision, Object entity) {
 		LOG.debugf(
 				"Trying to resolve entityName from First Level Cache: - primaryKey:%s - revision:%s - entity:%s",
 				id,
@@ -130,7 +170,82 @@ public class FirstLevelCache {
 	 *
 	 * @return true if entityNameCache contains the triple
 	 */
-	public boolean containsEntityName(Object id, Number revision, Object entity) {
+	public synchronized boolean containsEntityName(Object id, Number revision, Object entity) {
 		return entityNameCache.containsKey( make( id, revision, entity ) );
 	}
+
+	/**
+	 * Registers the id of an entity referenced by an uninitialized to-one proxy, so that it can be loaded
+	 * together with the other entities referenced at the same revision.
+	 *
+	 * @param entityName name of the referenced entity
+	 * @param revision revision number
+	 * @param removed whether entities removed at the revision are included
+	 * @param id primaryKey
+	 */
+	public synchronized void addPendingToOne(String entityName, Number revision, boolean removed, Object id) {
+		final Triple<String, Number, Boolean> key = make( entityName, revision, removed );
+		Set<Object> ids = pendingToOneIds.get( key );
+		if ( ids == null ) {
+			ids = new LinkedHashSet<Object>();
+			pendingToOneIds.put( key, ids );
+		}
+		ids.add( id );
+	}
+
+	/**
+	 * Takes a batch of pending to-one ids to load: the given id, followed by other pending ids of the same entity
+	 * name, revision and "removed" flag which are not cached yet.
+	 *
+	 * @param entityName name of the referenced entity
+	 * @param revision revision number
+	 * @param removed whether entities removed at the revision are included
+	 * @param id primaryKey which has to be loaded
+	 * @param maxSize maximum number of ids to return
+	 *
+	 * @return ids to load, starting with the given id
+	 */
+	public synchronized List<Object> takePendingToOneBatch(String entityName, Number revision, boolean removed, Object id, int maxSize) {
+		final List<Object> batch = new ArrayList<Object>( maxSize );
+		batch.add( id );
+
+		final Set<Object> ids = pendingToOneIds.get( make( entityName, revision, removed ) );
+		if ( ids != null ) {
+			ids.remove( id );
+			final Iterator<Object> iterator = ids.iterator();
+			while ( iterator.hasNext() && batch.size() < maxSize ) {
+				final Object pendingId = iterator.next();
+				iterator.remove();
+				if ( !contains( entityName, revision, pendingId ) ) {
+					batch.add( pendingId );
+				}
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Gets a revision entity, looked up before by this reader.
+	 *
+	 * @param revision revision number
+	 *
+	 * @return the revision entity, or {@code null} if not cached
+	 */
+	public synchronized Object getRevision(Number revision) {
+		return revisions.get( revision );
+	}
+
+	public synchronized void putRevision(Number revision, Object revisionEntity) {
+		revisions.put( revision, revisionEntity );
+	}
+
+	/**
+	 * Removes all cached entities, entity names, pending to-one ids and revisions.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+		entityNameCache.clear();
+		pendingToOneIds.clear();
+		revisions.clear();
+	}
 }
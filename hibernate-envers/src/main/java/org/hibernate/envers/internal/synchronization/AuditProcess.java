@@ -24,6 +24,8 @@
 package org.hibernate.envers.internal.synchronization;
 
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
@@ -31,33 +33,45 @@ import java.util.Queue;
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.FlushMode;
 import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoGenerator;
+import org.hibernate.envers.internal.synchronization.journal.AuditJournal;
+import org.hibernate.envers.internal.synchronization.journal.JournaledRevision;
 import org.hibernate.envers.internal.synchronization.work.AuditWorkUnit;
-import org.hibernate.envers.tools.Pair;
 
 /**
  * @author Adam Warski (adam at warski dot org)
  */
-public class AuditProcess implements BeforeTransactionCompletionProcess {
+public class AuditProcess implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
 	private final RevisionInfoGenerator revisionInfoGenerator;
 	private final SessionImplementor session;
+	private final AuditJournal auditJournal;
 
-	private final LinkedList<AuditWorkUnit> workUnits;
+	// Ordered set, so that replaced work units are removed in constant time (work units are compared by identity)
+	private final LinkedHashSet<AuditWorkUnit> workUnits;
 	private final Queue<AuditWorkUnit> undoQueue;
-	private final Map<Pair<String, Object>, AuditWorkUnit> usedIds;
+	// Work unit kept for each entity id, per entity name
+	private final Map<String, Map<Object, AuditWorkUnit>> usedIds;
 	private final EntityChangeNotifier entityChangeNotifier;
 
 	private Object revisionData;
+	private JournaledRevision journaledRevision;
+	private Object auditStrategyState;
 
 	public AuditProcess(RevisionInfoGenerator revisionInfoGenerator, SessionImplementor session) {
+		this( revisionInfoGenerator, session, null );
+	}
+
+	public AuditProcess(RevisionInfoGenerator revisionInfoGenerator, SessionImplementor session, AuditJournal auditJournal) {
 		this.revisionInfoGenerator = revisionInfoGenerator;
 		this.session = session;
+		this.auditJournal = auditJournal;
 
-		workUnits = new LinkedList<AuditWorkUnit>();
+		workUnits = new LinkedHashSet<AuditWorkUnit>();
 		undoQueue = new LinkedList<AuditWorkUnit>();
-		usedIds = new HashMap<Pair<String, Object>, AuditWorkUnit>();
+		usedIds = new HashMap<String, Map<Object, AuditWorkUnit>>();
 		entityChangeNotifier = new EntityChangeNotifier( revisionInfoGenerator, session );
 	}
 
@@ -75,30 +89,34 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 
 			if ( entityId == null ) {
 				// Just adding the work unit - it's not associated with any persistent entity.
-				workUnits.offer( vwu );
+				workUnits.add( vwu );
 			}
 			else {
 				final String entityName = vwu.getEntityName();
-				final Pair<String, Object> usedIdsKey = Pair.make( entityName, entityId );
+				Map<Object, AuditWorkUnit> usedEntityIds = usedIds.get( entityName );
+				if ( usedEntityIds == null ) {
+					usedEntityIds = new HashMap<Object, AuditWorkUnit>();
+					usedIds.put( entityName, usedEntityIds );
+				}
 
-				if ( usedIds.containsKey( usedIdsKey ) ) {
-					final AuditWorkUnit other = usedIds.get( usedIdsKey );
+				final AuditWorkUnit other = usedEntityIds.get( entityId );
+				if ( other != null ) {
 					final AuditWorkUnit result = vwu.dispatch( other );
 
 					if ( result != other ) {
 						removeWorkUnit( other );
 
 						if ( result != null ) {
-							usedIds.put( usedIdsKey, result );
-							workUnits.offer( result );
+							usedEntityIds.put( entityId, result );
+							workUnits.add( result );
 						}
 						// else: a null result means that no work unit should be kept
 					}
 					// else: the result is the same as the work unit already added. No need to do anything.
 				}
 				else {
-					usedIds.put( usedIdsKey, vwu );
-					workUnits.offer( vwu );
+					usedEntityIds.put( entityId, vwu );
+					workUnits.add( vwu );
 				}
 			}
 		}
@@ -115,12 +133,23 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			vwu.undo( session );
 		}
 
-		while ( (vwu = workUnits.poll()) != null ) {
+		while ( (vwu = pollWorkUnit()) != null ) {
 			vwu.perform( session, revisionData );
 			entityChangeNotifier.entityChanged( session, currentRevisionData, vwu );
 		}
 	}
 
+	private AuditWorkUnit pollWorkUnit() {
+		// Not iterating over the work units, as performing them may add further ones
+		final Iterator<AuditWorkUnit> iterator = workUnits.iterator();
+		if ( !iterator.hasNext() ) {
+			return null;
+		}
+		final AuditWorkUnit vwu = iterator.next();
+		iterator.remove();
+		return vwu;
+	}
+
 	public Object getCurrentRevisionData(Session session, boolean persist) {
 		// Generating the revision data if not yet generated
 		if ( revisionData == null ) {
@@ -135,6 +164,37 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 		return revisionData;
 	}
 
+	/**
+	 * @return State kept by the audit strategy for the transaction of this process, or {@code null} if none
+	 * has been set yet.
+	 */
+	public Object getAuditStrategyState() {
+		return auditStrategyState;
+	}
+
+	/**
+	 * Sets state to be kept by the audit strategy for the transaction of this process. The state is discarded
+	 * together with the process once the transaction completes.
+	 *
+	 * @param auditStrategyState The state.
+	 */
+	public void setAuditStrategyState(Object auditStrategyState) {
+		this.auditStrategyState = auditStrategyState;
+	}
+
+	/**
+	 * Captures audit data to be appended to the audit journal, instead of being saved in the session.
+	 *
+	 * @param auditEntityName Name of the audit entity.
+	 * @param data Audit data.
+	 */
+	public void journal(String auditEntityName, Object data) {
+		if ( journaledRevision == null ) {
+			journaledRevision = new JournaledRevision( revisionData );
+		}
+		journaledRevision.addRow( auditEntityName, data );
+	}
+
 	@Override
 	public void doBeforeTransactionCompletion(SessionImplementor session) {
 		if ( workUnits.size() == 0 && undoQueue.size() == 0 ) {
@@ -163,5 +223,23 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			// Explicitly flushing the session, as the auto-flush may have already happened.
 			session.flush();
 		}
+
+		if ( journaledRevision != null ) {
+			// The revision entity is persisted, now only a local append is required before committing.
+			auditJournal.append( journaledRevision );
+		}
+	}
+
+	@Override
+	public void doAfterTransactionCompletion(boolean success, SessionImplementor session) {
+		if ( journaledRevision != null ) {
+			if ( success ) {
+				auditJournal.committed( journaledRevision );
+			}
+			else {
+				auditJournal.rolledBack( journaledRevision );
+			}
+			journaledRevision = null;
+		}
 	}
 }
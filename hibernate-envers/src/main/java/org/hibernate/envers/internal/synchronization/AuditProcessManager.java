@@ -31,6 +31,7 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoGenerator;
+import org.hibernate.envers.internal.synchronization.journal.AuditJournal;
 import org.hibernate.event.spi.EventSource;
 
 /**
@@ -39,11 +40,25 @@ import org.hibernate.event.spi.EventSource;
 public class AuditProcessManager {
 	private final Map<Transaction, AuditProcess> auditProcesses;
 	private final RevisionInfoGenerator revisionInfoGenerator;
+	private final AuditJournal auditJournal;
 
 	public AuditProcessManager(RevisionInfoGenerator revisionInfoGenerator) {
+		this( revisionInfoGenerator, null );
+	}
+
+	public AuditProcessManager(RevisionInfoGenerator revisionInfoGenerator, AuditJournal auditJournal) {
 		auditProcesses = new ConcurrentHashMap<Transaction, AuditProcess>();
 
 		this.revisionInfoGenerator = revisionInfoGenerator;
+		this.auditJournal = auditJournal;
+	}
+
+	/**
+	 * @return The journal of the asynchronous audit writing mode, or {@code null} if audit data is written
+	 * synchronously.
+	 */
+	public AuditJournal getAuditJournal() {
+		return auditJournal;
 	}
 
 	public AuditProcess get(EventSource session) {
@@ -52,7 +67,7 @@ public class AuditProcessManager {
 		AuditProcess auditProcess = auditProcesses.get( transaction );
 		if ( auditProcess == null ) {
 			// No worries about registering a transaction twice - a transaction is single thread
-			auditProcess = new AuditProcess( revisionInfoGenerator, session );
+			auditProcess = new AuditProcess( revisionInfoGenerator, session, auditJournal );
 			auditProcesses.put( transaction, auditProcess );
 
 			session.getActionQueue().registerProcess(
@@ -69,7 +84,10 @@ public class AuditProcessManager {
 			session.getActionQueue().registerProcess(
 					new AfterTransactionCompletionProcess() {
 						public void doAfterTransactionCompletion(boolean success, SessionImplementor session) {
-							auditProcesses.remove( transaction );
+							final AuditProcess process = auditProcesses.remove( transaction );
+							if ( process != null ) {
+								process.doAfterTransactionCompletion( success, session );
+							}
 						}
 					}
 			);
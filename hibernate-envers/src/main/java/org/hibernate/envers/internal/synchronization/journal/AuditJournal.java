@@ -0,0 +1,679 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.internal.synchronization.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.exception.AuditException;
+import org.hibernate.envers.internal.revisioninfo.RevisionInfoNumberReader;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.internal.util.SerializationHelper;
+
+/**
+ * Local, append-only journal backing the asynchronous audit writing mode.
+ * <p/>
+ * On completion of an audited transaction the audit rows of its revision are appended to the journal file, which
+ * is the only synchronous cost paid by the transaction. Appends of concurrent transactions are forced to disk
+ * together, outside of the journal monitor. Once the transaction has committed, the revision is handed to a single
+ * background writer, which inserts the audit rows of as many revisions as fit into
+ * {@link org.hibernate.envers.configuration.EnversSettings#ASYNC_AUDIT_BATCH_SIZE} rows per transaction, in the
+ * order in which the revisions committed, and then appends a completion record to the journal.
+ * <p/>
+ * A revision which cannot be written stays in the journal and is retried with the next committed revision, up to
+ * {@link org.hibernate.envers.configuration.EnversSettings#ASYNC_AUDIT_MAX_WRITE_ATTEMPTS} times. It is then moved
+ * to the dead letter file {@value #DEAD_LETTER_FILE_NAME} of the journal directory, so that later revisions are no
+ * longer held back by it.
+ * <p/>
+ * On start, revisions of the journal without a completion record are replayed if their revision entity exists
+ * in the database (that is, if the audited transaction committed), and discarded otherwise. Revisions whose rows
+ * turn out to be already written (a crash between the writer's commit and its completion record) are skipped.
+ * <p/>
+ * The journal directory must not be shared: every session factory needs a directory of its own, as the journal is
+ * compacted and replayed on start. The directory is locked while the journal is open.
+ */
+public class AuditJournal {
+	private static final Logger log = Logger.getLogger( AuditJournal.class );
+
+	public static final String JOURNAL_FILE_NAME = "envers-audit.journal";
+	public static final String DEAD_LETTER_FILE_NAME = "envers-audit.dead-letter";
+
+	private static final byte REVISION_RECORD = 1;
+	private static final byte COMPLETION_RECORD = 2;
+
+	private final File journalFile;
+	private final File compactedJournalFile;
+	private final File deadLetterFile;
+	private final File lockFile;
+	private final int batchSize;
+	private final int maxWriteAttempts;
+	private final String revisionInfoEntityName;
+	private final String revisionNumberPath;
+	private final RevisionInfoNumberReader revisionInfoNumberReader;
+
+	// revisions committed by their transaction, not yet picked up by the writer
+	private final BlockingQueue<JournaledRevision> committedRevisions = new LinkedBlockingQueue<JournaledRevision>();
+	// revisions picked up but not written yet, in revision order; only accessed by the writer thread
+	private final LinkedList<JournaledRevision> backlog = new LinkedList<JournaledRevision>();
+	// failed attempts to write the first revision of the backlog; only accessed by the writer thread
+	private int headWriteFailures;
+	// revisions of a failed batch, written one at a time to isolate the failing one; only accessed by the writer thread
+	private int revisionsToWriteSingly;
+
+	private final Runnable writeTask = new Runnable() {
+		@Override
+		public void run() {
+			writeCommittedRevisions();
+		}
+	};
+
+	// guarded by this
+	private RandomAccessFile journal;
+	private int incompleteRevisions;
+	// bytes appended to the journal since it was opened, including truncated ones
+	private long appendedBytes;
+
+	// serializes forcing the journal to disk
+	private final Object syncLock = new Object();
+	// guarded by syncLock
+	private long syncedBytes;
+
+	private RandomAccessFile lockFileAccess;
+	private FileLock directoryLock;
+
+	private volatile SessionFactoryImplementor sessionFactory;
+	private volatile ExecutorService writer;
+
+	public AuditJournal(
+			File directory,
+			int batchSize,
+			int maxWriteAttempts,
+			String revisionInfoEntityName,
+			String revisionNumberPath,
+			RevisionInfoNumberReader revisionInfoNumberReader) {
+		this.journalFile = new File( directory, JOURNAL_FILE_NAME );
+		this.compactedJournalFile = new File( directory, JOURNAL_FILE_NAME + ".tmp" );
+		this.deadLetterFile = new File( directory, DEAD_LETTER_FILE_NAME );
+		this.lockFile = new File( directory, JOURNAL_FILE_NAME + ".lock" );
+		this.batchSize = batchSize;
+		this.maxWriteAttempts = maxWriteAttempts;
+		this.revisionInfoEntityName = revisionInfoEntityName;
+		this.revisionNumberPath = revisionNumberPath;
+		this.revisionInfoNumberReader = revisionInfoNumberReader;
+	}
+
+	/**
+	 * Opens the journal and starts the background writer, replaying revisions left incomplete by a previous run.
+	 *
+	 * @param sessionFactory The session factory used to write the audit data.
+	 */
+	public void start(SessionFactoryImplementor sessionFactory) {
+		this.sessionFactory = sessionFactory;
+
+		lockDirectory();
+		final List<JournaledRevision> incomplete;
+		try {
+			incomplete = readIncompleteRevisions();
+			synchronized ( this ) {
+				openJournal( incomplete );
+			}
+		}
+		catch (RuntimeException e) {
+			unlockDirectory();
+			throw e;
+		}
+
+		writer = Executors.newSingleThreadExecutor(
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread( runnable, "Envers audit writer" );
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+		if ( !incomplete.isEmpty() ) {
+			log.infof( "Replaying %s incomplete revisions of audit journal %s", incomplete.size(), journalFile );
+			writer.execute(
+					new Runnable() {
+						@Override
+						public void run() {
+							recover( incomplete );
+						}
+					}
+			);
+		}
+	}
+
+	/**
+	 * Stops the background writer, after it has written the revisions committed so far, and closes the journal.
+	 */
+	public void stop() {
+		final ExecutorService writer = this.writer;
+		if ( writer != null ) {
+			writer.shutdown();
+			try {
+				if ( !writer.awaitTermination( 30, TimeUnit.SECONDS ) ) {
+					log.warnf( "Audit writer did not terminate, pending revisions will be replayed from %s", journalFile );
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		synchronized ( this ) {
+			closeJournal();
+		}
+		unlockDirectory();
+	}
+
+	/**
+	 * Stops the background writer immediately. Revisions not written yet, including the ones committed from now on,
+	 * stay in the journal and are replayed on the next start, as after a crash. The journal remains open until
+	 * {@link #stop()}.
+	 */
+	public void halt() {
+		final ExecutorService writer = this.writer;
+		if ( writer != null ) {
+			writer.shutdownNow();
+		}
+	}
+
+	/**
+	 * Waits until every revision appended to the journal has been written or discarded.
+	 *
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 *
+	 * @return {@code true} if the journal has been drained, {@code false} if the timeout elapsed first.
+	 *
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public synchronized boolean awaitWritten(long timeout, TimeUnit unit) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + unit.toMillis( timeout );
+		while ( incompleteRevisions > 0 ) {
+			final long remaining = deadline - System.currentTimeMillis();
+			if ( remaining <= 0 ) {
+				return false;
+			}
+			wait( remaining );
+		}
+		return true;
+	}
+
+	/**
+	 * Durably appends the audit data of a revision to the journal. Called before the audited transaction completes.
+	 *
+	 * @param revision The audit data of the revision.
+	 */
+	public void append(JournaledRevision revision) {
+		final byte[] record = serialize( revision );
+		final long position;
+		synchronized ( this ) {
+			if ( journal == null ) {
+				throw new AuditException( "Audit journal " + journalFile + " is not open" );
+			}
+			try {
+				appendRecord( REVISION_RECORD, record );
+			}
+			catch (IOException e) {
+				throw new AuditException( "Unable to append to audit journal " + journalFile, e );
+			}
+			incompleteRevisions++;
+			position = appendedBytes;
+		}
+		try {
+			sync( position );
+		}
+		catch (IOException e) {
+			throw new AuditException( "Unable to append to audit journal " + journalFile, e );
+		}
+	}
+
+	/**
+	 * Hands a journaled revision to the background writer, once its transaction has committed.
+	 *
+	 * @param revision The audit data of the revision.
+	 */
+	public void committed(JournaledRevision revision) {
+		committedRevisions.offer( revision );
+		try {
+			writer.execute( writeTask );
+		}
+		catch (RejectedExecutionException e) {
+			// shutting down; the revision is replayed from the journal on the next start
+			log.debugf( "Audit writer stopped, revision left in journal %s", journalFile );
+		}
+	}
+
+	/**
+	 * Discards a journaled revision, because its transaction has been rolled back.
+	 *
+	 * @param revision The audit data of the revision.
+	 */
+	public void rolledBack(JournaledRevision revision) {
+		complete( Collections.singletonList( revision ) );
+	}
+
+	private void writeCommittedRevisions() {
+		committedRevisions.drainTo( backlog );
+		while ( !backlog.isEmpty() ) {
+			final List<JournaledRevision> chunk = nextChunk();
+			try {
+				write( chunk );
+			}
+			catch (RuntimeException e) {
+				if ( chunk.size() > 1 ) {
+					log.debugf( e, "Unable to write audit data of %s revisions, writing them one at a time", chunk.size() );
+					revisionsToWriteSingly = chunk.size();
+					continue;
+				}
+				final Number revisionNumber = getRevisionNumber( chunk.get( 0 ) );
+				headWriteFailures++;
+				if ( headWriteFailures < maxWriteAttempts ) {
+					// left in the backlog, retried with the next committed revision or replayed on the next start
+					log.errorf(
+							e,
+							"Unable to write audit data of revision %s (attempt %s of %s)",
+							revisionNumber,
+							headWriteFailures,
+							maxWriteAttempts
+					);
+					return;
+				}
+				if ( !deadLetter( chunk.get( 0 ), e ) ) {
+					return;
+				}
+			}
+			for ( int i = 0; i < chunk.size(); i++ ) {
+				backlog.removeFirst();
+			}
+			headWriteFailures = 0;
+			revisionsToWriteSingly = Math.max( 0, revisionsToWriteSingly - chunk.size() );
+			complete( chunk );
+		}
+	}
+
+	private List<JournaledRevision> nextChunk() {
+		if ( revisionsToWriteSingly > 0 || headWriteFailures > 0 ) {
+			return Collections.singletonList( backlog.getFirst() );
+		}
+		final List<JournaledRevision> chunk = new ArrayList<JournaledRevision>();
+		int rows = 0;
+		for ( JournaledRevision revision : backlog ) {
+			if ( !chunk.isEmpty() && rows + revision.getRows().size() > batchSize ) {
+				break;
+			}
+			chunk.add( revision );
+			rows += revision.getRows().size();
+		}
+		return chunk;
+	}
+
+	private void write(List<JournaledRevision> revisions) {
+		try {
+			insert( revisions );
+		}
+		catch (ConstraintViolationException e) {
+			// only a single revision whose rows are all present is known to have been written before
+			if ( revisions.size() == 1 && isWritten( revisions.get( 0 ) ) ) {
+				log.warnf(
+						"Audit data of revision %s has already been written, skipping",
+						getRevisionNumber( revisions.get( 0 ) )
+				);
+			}
+			else {
+				throw e;
+			}
+		}
+	}
+
+	private void insert(List<JournaledRevision> revisions) {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.setFlushMode( FlushMode.MANUAL );
+			final Transaction transaction = session.beginTransaction();
+			try {
+				for ( JournaledRevision revision : revisions ) {
+					for ( JournaledRevision.Row row : revision.getRows() ) {
+						session.save( row.getAuditEntityName(), row.getData() );
+					}
+				}
+				session.flush();
+				transaction.commit();
+			}
+			catch (RuntimeException e) {
+				if ( transaction.isActive() ) {
+					transaction.rollback();
+				}
+				throw e;
+			}
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private boolean isWritten(JournaledRevision revision) {
+		final Map<String, Integer> rowCounts = new HashMap<String, Integer>();
+		for ( JournaledRevision.Row row : revision.getRows() ) {
+			final Integer rowCount = rowCounts.get( row.getAuditEntityName() );
+			rowCounts.put( row.getAuditEntityName(), rowCount == null ? 1 : rowCount + 1 );
+		}
+
+		final Number revisionNumber = getRevisionNumber( revision );
+		final Session session = sessionFactory.openSession();
+		try {
+			for ( Map.Entry<String, Integer> entry : rowCounts.entrySet() ) {
+				final Number written = (Number) session.createQuery(
+						"select count(e) from " + entry.getKey() + " e where e." + revisionNumberPath + " = :revision"
+				).setParameter( "revision", revisionNumber ).uniqueResult();
+				if ( written.intValue() != entry.getValue() ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private boolean deadLetter(JournaledRevision revision, RuntimeException cause) {
+		try {
+			final RandomAccessFile deadLetters = new RandomAccessFile( deadLetterFile, "rw" );
+			try {
+				writeRecord( deadLetters, REVISION_RECORD, serialize( revision ) );
+				deadLetters.getChannel().force( false );
+			}
+			finally {
+				deadLetters.close();
+			}
+		}
+		catch (IOException e) {
+			log.errorf( e, "Unable to move revision %s to dead letter file %s", getRevisionNumber( revision ), deadLetterFile );
+			return false;
+		}
+		log.warnf(
+				cause,
+				"Gave up writing audit data of revision %s after %s attempts, moved it to dead letter file %s",
+				getRevisionNumber( revision ),
+				maxWriteAttempts,
+				deadLetterFile
+		);
+		return true;
+	}
+
+	private void recover(List<JournaledRevision> incomplete) {
+		final List<JournaledRevision> rolledBack = new ArrayList<JournaledRevision>();
+		final Session session = sessionFactory.openSession();
+		try {
+			for ( JournaledRevision revision : incomplete ) {
+				if ( session.get( revisionInfoEntityName, getRevisionNumber( revision ) ) != null ) {
+					backlog.add( revision );
+				}
+				else {
+					rolledBack.add( revision );
+				}
+			}
+		}
+		finally {
+			session.close();
+		}
+		complete( rolledBack );
+		writeCommittedRevisions();
+	}
+
+	private void complete(List<JournaledRevision> revisions) {
+		final long position;
+		synchronized ( this ) {
+			if ( revisions.isEmpty() || journal == null ) {
+				return;
+			}
+			try {
+				for ( JournaledRevision revision : revisions ) {
+					appendRecord( COMPLETION_RECORD, serialize( getRevisionNumber( revision ) ) );
+				}
+				incompleteRevisions -= revisions.size();
+				if ( incompleteRevisions == 0 ) {
+					// everything written, start over with an empty journal
+					journal.setLength( 0 );
+					notifyAll();
+				}
+			}
+			catch (IOException e) {
+				log.errorf( e, "Unable to append completion records to audit journal %s", journalFile );
+				return;
+			}
+			position = appendedBytes;
+		}
+		try {
+			sync( position );
+		}
+		catch (IOException e) {
+			log.errorf( e, "Unable to append completion records to audit journal %s", journalFile );
+		}
+	}
+
+	/**
+	 * Forces the journal to disk up to the given position, unless a concurrent call already did. A single force
+	 * covers the records appended by every thread in the meantime.
+	 */
+	private void sync(long position) throws IOException {
+		synchronized ( syncLock ) {
+			if ( syncedBytes >= position ) {
+				return;
+			}
+			final FileChannel channel;
+			final long target;
+			synchronized ( this ) {
+				if ( journal == null ) {
+					throw new IOException( "Audit journal " + journalFile + " has been closed" );
+				}
+				channel = journal.getChannel();
+				target = appendedBytes;
+			}
+			channel.force( false );
+			syncedBytes = target;
+		}
+	}
+
+	private void appendRecord(byte type, byte[] data) throws IOException {
+		appendedBytes += writeRecord( journal, type, data );
+	}
+
+	private static int writeRecord(RandomAccessFile file, byte type, byte[] data) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate( 5 + data.length );
+		buffer.put( type ).putInt( data.length ).put( data );
+		file.seek( file.length() );
+		file.write( buffer.array() );
+		return buffer.capacity();
+	}
+
+	private Number getRevisionNumber(JournaledRevision revision) {
+		return revisionInfoNumberReader.getRevisionNumber( revision.getRevisionData() );
+	}
+
+	private List<JournaledRevision> readIncompleteRevisions() {
+		final Map<Object, JournaledRevision> incomplete = new LinkedHashMap<Object, JournaledRevision>();
+		// a crash while compacting may leave only the compacted journal behind
+		final File source = journalFile.exists() ? journalFile : compactedJournalFile;
+		if ( !source.exists() ) {
+			return new ArrayList<JournaledRevision>();
+		}
+		try {
+			final DataInputStream input = new DataInputStream(
+					new BufferedInputStream( new FileInputStream( source ) )
+			);
+			try {
+				while ( true ) {
+					final byte type;
+					final byte[] data;
+					try {
+						type = input.readByte();
+						data = new byte[input.readInt()];
+						input.readFully( data );
+					}
+					catch (EOFException e) {
+						// end of the journal, possibly a record cut short by a crash
+						break;
+					}
+					if ( type == REVISION_RECORD ) {
+						final JournaledRevision revision = (JournaledRevision) SerializationHelper.deserialize( data );
+						incomplete.put( getRevisionNumber( revision ), revision );
+					}
+					else {
+						incomplete.remove( SerializationHelper.deserialize( data ) );
+					}
+				}
+			}
+			finally {
+				input.close();
+			}
+		}
+		catch (IOException e) {
+			throw new AuditException( "Unable to read audit journal " + journalFile, e );
+		}
+		return new ArrayList<JournaledRevision>( incomplete.values() );
+	}
+
+	private void lockDirectory() {
+		final File directory = journalFile.getParentFile();
+		if ( !directory.exists() && !directory.mkdirs() ) {
+			throw new AuditException( "Unable to create audit journal directory " + directory );
+		}
+		try {
+			lockFileAccess = new RandomAccessFile( lockFile, "rw" );
+			try {
+				directoryLock = lockFileAccess.getChannel().tryLock();
+			}
+			catch (OverlappingFileLockException e) {
+				// held by another session factory of this virtual machine
+				directoryLock = null;
+			}
+		}
+		catch (IOException e) {
+			throw new AuditException( "Unable to lock audit journal directory " + directory, e );
+		}
+		if ( directoryLock == null ) {
+			unlockDirectory();
+			throw new AuditException(
+					"Audit journal directory " + directory + " is in use by another session factory; "
+							+ "every session factory requires a journal directory of its own"
+			);
+		}
+	}
+
+	private void unlockDirectory() {
+		try {
+			if ( directoryLock != null ) {
+				directoryLock.release();
+			}
+			if ( lockFileAccess != null ) {
+				lockFileAccess.close();
+			}
+		}
+		catch (IOException e) {
+			log.debugf( e, "Unable to unlock audit journal directory %s", journalFile.getParentFile() );
+		}
+		directoryLock = null;
+		lockFileAccess = null;
+	}
+
+	private void openJournal(List<JournaledRevision> incomplete) {
+		try {
+			// compact the journal: keep only the revisions still to be written
+			journal = new RandomAccessFile( compactedJournalFile, "rw" );
+			journal.setLength( 0 );
+			for ( JournaledRevision revision : incomplete ) {
+				writeRecord( journal, REVISION_RECORD, serialize( revision ) );
+			}
+			journal.getChannel().force( false );
+			journal.close();
+			journal = null;
+
+			if ( journalFile.exists() && !journalFile.delete() ) {
+				throw new AuditException( "Unable to replace audit journal " + journalFile );
+			}
+			if ( !compactedJournalFile.renameTo( journalFile ) ) {
+				throw new AuditException( "Unable to replace audit journal " + journalFile );
+			}
+			journal = new RandomAccessFile( journalFile, "rw" );
+			incompleteRevisions = incomplete.size();
+		}
+		catch (IOException e) {
+			throw new AuditException( "Unable to open audit journal " + journalFile, e );
+		}
+	}
+
+	private void closeJournal() {
+		if ( journal != null ) {
+			try {
+				journal.close();
+			}
+			catch (IOException e) {
+				log.debugf( e, "Unable to close audit journal %s", journalFile );
+			}
+			journal = null;
+		}
+	}
+
+	private byte[] serialize(Object object) {
+		if ( !( object instanceof Serializable ) ) {
+			throw new AuditException( "Asynchronous audit writing requires serializable data: " + object );
+		}
+		return SerializationHelper.serialize( (Serializable) object );
+	}
+}
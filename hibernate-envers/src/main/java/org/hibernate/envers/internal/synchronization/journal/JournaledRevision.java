@@ -0,0 +1,75 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.internal.synchronization.journal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The audit data of one revision, as captured in the asynchronous audit journal: the (already persisted)
+ * revision entity and the audit rows, in the order in which they have to be inserted.
+ */
+public class JournaledRevision implements Serializable {
+	private final Object revisionData;
+	private final List<Row> rows = new ArrayList<Row>();
+
+	public JournaledRevision(Object revisionData) {
+		this.revisionData = revisionData;
+	}
+
+	public Object getRevisionData() {
+		return revisionData;
+	}
+
+	public void addRow(String auditEntityName, Object data) {
+		rows.add( new Row( auditEntityName, data ) );
+	}
+
+	public List<Row> getRows() {
+		return Collections.unmodifiableList( rows );
+	}
+
+	/**
+	 * A single audit row: the data of an audit entity, disassembled into its map representation.
+	 */
+	public static class Row implements Serializable {
+		private final String auditEntityName;
+		private final Object data;
+
+		private Row(String auditEntityName, Object data) {
+			this.auditEntityName = auditEntityName;
+			this.data = data;
+		}
+
+		public String getAuditEntityName() {
+			return auditEntityName;
+		}
+
+		public Object getData() {
+			return data;
+		}
+	}
+}
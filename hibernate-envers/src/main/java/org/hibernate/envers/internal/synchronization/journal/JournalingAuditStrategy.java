@@ -0,0 +1,110 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.internal.synchronization.journal;
+
+import java.io.Serializable;
+
+import org.hibernate.Session;
+import org.hibernate.envers.configuration.internal.GlobalConfiguration;
+import org.hibernate.envers.configuration.spi.AuditConfiguration;
+import org.hibernate.envers.internal.entities.mapper.PersistentCollectionChangeData;
+import org.hibernate.envers.internal.entities.mapper.relation.MiddleComponentData;
+import org.hibernate.envers.internal.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.internal.tools.query.Parameters;
+import org.hibernate.envers.internal.tools.query.QueryBuilder;
+import org.hibernate.envers.strategy.AuditStrategy;
+import org.hibernate.event.spi.EventSource;
+
+/**
+ * Audit strategy used in asynchronous audit writing mode: instead of saving the audit data in the session, it is
+ * captured by the {@link org.hibernate.envers.internal.synchronization.AuditProcess} of the transaction, to be
+ * appended to the {@link AuditJournal}. Query restrictions are delegated to the configured strategy.
+ */
+public class JournalingAuditStrategy implements AuditStrategy {
+	private final AuditStrategy delegate;
+
+	public JournalingAuditStrategy(AuditStrategy delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void perform(
+			Session session, String entityName, AuditConfiguration auditCfg, Serializable id, Object data,
+			Object revision) {
+		auditCfg.getSyncManager().get( (EventSource) session ).journal(
+				auditCfg.getAuditEntCfg().getAuditEntityName( entityName ), data
+		);
+	}
+
+	@Override
+	public void performCollectionChange(
+			Session session, String entityName, String propertyName, AuditConfiguration auditCfg,
+			PersistentCollectionChangeData persistentCollectionChangeData, Object revision) {
+		auditCfg.getSyncManager().get( (EventSource) session ).journal(
+				persistentCollectionChangeData.getEntityName(), persistentCollectionChangeData.getData()
+		);
+	}
+
+	@Override
+	public void addEntityAtRevisionRestriction(
+			GlobalConfiguration globalCfg,
+			QueryBuilder rootQueryBuilder,
+			Parameters parameters,
+			String revisionProperty,
+			String revisionEndProperty,
+			boolean addAlias,
+			MiddleIdData idData,
+			String revisionPropertyPath,
+			String originalIdPropertyName,
+			String alias1,
+			String alias2,
+			boolean inclusive) {
+		delegate.addEntityAtRevisionRestriction(
+				globalCfg, rootQueryBuilder, parameters, revisionProperty, revisionEndProperty, addAlias, idData,
+				revisionPropertyPath, originalIdPropertyName, alias1, alias2, inclusive
+		);
+	}
+
+	@Override
+	public void addAssociationAtRevisionRestriction(
+			QueryBuilder rootQueryBuilder,
+			Parameters parameters,
+			String revisionProperty,
+			String revisionEndProperty,
+			boolean addAlias,
+			MiddleIdData referencingIdData,
+			String versionsMiddleEntityName,
+			String eeOriginalIdPropertyPath,
+			String revisionPropertyPath,
+			String originalIdPropertyName,
+			String alias1,
+			boolean inclusive,
+			MiddleComponentData... componentDatas) {
+		delegate.addAssociationAtRevisionRestriction(
+				rootQueryBuilder, parameters, revisionProperty, revisionEndProperty, addAlias, referencingIdData,
+				versionsMiddleEntityName, eeOriginalIdPropertyPath, revisionPropertyPath, originalIdPropertyName,
+				alias1, inclusive, componentDatas
+		);
+	}
+}
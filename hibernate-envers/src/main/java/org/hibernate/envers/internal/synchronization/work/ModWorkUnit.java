@@ -81,6 +81,11 @@ public class ModWorkUnit extends AbstractAuditWorkUnit implements AuditWorkUnit
 
 	@Override
 	public AuditWorkUnit merge(ModWorkUnit second) {
+		if ( !verCfg.getEntCfg().get( getEntityName() ).isUsingModifiedFlags() ) {
+			// Audited values only depend on the final state of the entity, which the second work unit already holds.
+			return second;
+		}
+
 		// In case of multiple subsequent flushes within single transaction, modification flags need to be
 		// recalculated against initial and final state of the given entity.
 		return new ModWorkUnit(
@@ -44,6 +44,29 @@ public interface AuditQuery {
 
 	Object getSingleResult() throws AuditException, NonUniqueResultException, NoResultException;
 
+	/**
+	 * Executes the query, instantiating historical entities only when scrolling to their row. Allows processing
+	 * large revision histories without holding all results in memory.
+	 *
+	 * @return The scrollable results, which have to be closed.
+	 *
+	 * @throws AuditException If the query fails.
+	 */
+	AuditScrollableResults scroll() throws AuditException;
+
+	/**
+	 * Executes the query, instantiating historical entities only when scrolling to their row.
+	 *
+	 * @param clearFirstLevelCache If {@code true}, the first level cache of the audit reader is cleared and the audit
+	 * data of the previous row is evicted from the session, whenever scrolling to the next row. Memory usage then stays
+	 * constant, but entities (and relations) are not shared between rows anymore.
+	 *
+	 * @return The scrollable results, which have to be closed.
+	 *
+	 * @throws AuditException If the query fails.
+	 */
+	AuditScrollableResults scroll(boolean clearFirstLevelCache) throws AuditException;
+
 	AuditQuery add(AuditCriterion criterion);
 
 	AuditQuery addProjection(AuditProjection projection);
@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.query;
+
+/**
+ * Results of an {@link AuditQuery}, instantiated row by row while scrolling forward.
+ *
+ * @see org.hibernate.ScrollableResults
+ */
+public interface AuditScrollableResults {
+	/**
+	 * Advances to the next result.
+	 *
+	 * @return {@code true} if there is a next result.
+	 */
+	boolean next();
+
+	/**
+	 * @return The current result: the historical entity, an array when selecting revision data as well, or the
+	 * projected values.
+	 */
+	Object get();
+
+	/**
+	 * Releases the underlying JDBC resources.
+	 */
+	void close();
+}
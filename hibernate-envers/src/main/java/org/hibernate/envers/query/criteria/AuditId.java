@@ -23,7 +23,11 @@
  */
 package org.hibernate.envers.query.criteria;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import org.hibernate.envers.query.criteria.internal.IdentifierEqAuditExpression;
+import org.hibernate.envers.query.criteria.internal.IdentifierInAuditExpression;
 import org.hibernate.envers.query.internal.property.EntityPropertyName;
 import org.hibernate.envers.query.internal.property.OriginalIdPropertyName;
 import org.hibernate.envers.query.internal.property.PropertyNameGetter;
@@ -61,6 +65,22 @@ public class AuditId<T> extends AuditProperty<T> {
 		return new IdentifierEqAuditExpression( id, false );
 	}
 
+	/**
+	 * Apply an "in" constraint
+	 */
+	@Override
+	public AuditCriterion in(T[] ids) {
+		return new IdentifierInAuditExpression( Arrays.asList( ids ) );
+	}
+
+	/**
+	 * Apply an "in" constraint
+	 */
+	@Override
+	public AuditCriterion in(Collection ids) {
+		return new IdentifierInAuditExpression( ids );
+	}
+
 	// Projections
 
 	/**
@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.query.criteria.internal;
+
+import java.util.Collection;
+
+import org.hibernate.envers.configuration.spi.AuditConfiguration;
+import org.hibernate.envers.internal.entities.mapper.id.IdMapper;
+import org.hibernate.envers.internal.reader.AuditReaderImplementor;
+import org.hibernate.envers.internal.tools.query.Parameters;
+import org.hibernate.envers.internal.tools.query.QueryBuilder;
+import org.hibernate.envers.query.criteria.AuditCriterion;
+
+/**
+ * A criterion that expresses that the id of an entity is one of the specified values.
+ */
+public class IdentifierInAuditExpression implements AuditCriterion {
+	private final Collection<?> ids;
+
+	public IdentifierInAuditExpression(Collection<?> ids) {
+		this.ids = ids;
+	}
+
+	public void addToQuery(
+			AuditConfiguration verCfg, AuditReaderImplementor versionsReader, String entityName,
+			QueryBuilder qb, Parameters parameters) {
+		if ( ids.isEmpty() ) {
+			// no id can match; "in ()" is not valid SQL
+			parameters.addWhere( "1", false, "=", "0", false );
+			return;
+		}
+		final IdMapper idMapper = verCfg.getEntCfg().get( entityName ).getIdMapper();
+		final String prefix = verCfg.getAuditEntCfg().getOriginalIdPropName();
+		// (id = :id1 or id = :id2 ...), each group of conditions matching one (possibly composite) id
+		final Parameters disjunction = parameters.addSubParameters( Parameters.OR );
+		for ( Object id : ids ) {
+			idMapper.addIdEqualsToQuery( disjunction.addSubParameters( Parameters.AND ), id, prefix, true );
+		}
+	}
+}
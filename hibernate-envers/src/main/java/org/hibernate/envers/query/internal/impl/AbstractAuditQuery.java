@@ -33,6 +33,7 @@ import org.hibernate.FlushMode;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.Query;
+import org.hibernate.ScrollMode;
 import org.hibernate.envers.configuration.spi.AuditConfiguration;
 import org.hibernate.envers.exception.AuditException;
 import org.hibernate.envers.internal.entities.EntityInstantiator;
@@ -40,6 +41,7 @@ import org.hibernate.envers.internal.reader.AuditReaderImplementor;
 import org.hibernate.envers.internal.tools.Triple;
 import org.hibernate.envers.internal.tools.query.QueryBuilder;
 import org.hibernate.envers.query.AuditQuery;
+import org.hibernate.envers.query.AuditScrollableResults;
 import org.hibernate.envers.query.criteria.AuditCriterion;
 import org.hibernate.envers.query.criteria.internal.CriteriaTools;
 import org.hibernate.envers.query.order.AuditOrder;
@@ -103,7 +105,57 @@ public abstract class AbstractAuditQuery implements AuditQuery {
 		return query.list();
 	}
 
-	public abstract List list() throws AuditException;
+	/**
+	 * Applies the restrictions of the concrete query type and creates the query to execute.
+	 *
+	 * @return The query to execute.
+	 */
+	protected abstract Query prepareQuery();
+
+	/**
+	 * Transforms a row of the executed query into a query result, instantiating the historical entity.
+	 * Only called when no projection has been added.
+	 *
+	 * @param resultRow Row of the executed query.
+	 *
+	 * @return The query result.
+	 */
+	protected abstract Object transformResultRow(Object resultRow);
+
+	public List list() throws AuditException {
+		final List queryResult = prepareQuery().list();
+		if ( hasProjection ) {
+			return queryResult;
+		}
+		return transformResultRows( queryResult );
+	}
+
+	/**
+	 * Transforms all rows of the executed query into query results.
+	 *
+	 * @param queryResult Rows of the executed query.
+	 *
+	 * @return The query results, in the order of the rows.
+	 */
+	protected List transformResultRows(List queryResult) {
+		final List result = new ArrayList( queryResult.size() );
+		for ( Object resultRow : queryResult ) {
+			result.add( transformResultRow( resultRow ) );
+		}
+		return result;
+	}
+
+	public AuditScrollableResults scroll() throws AuditException {
+		return scroll( false );
+	}
+
+	public AuditScrollableResults scroll(boolean clearFirstLevelCache) throws AuditException {
+		return new AuditScrollableResultsImpl(
+				this,
+				prepareQuery().scroll( ScrollMode.FORWARD_ONLY ),
+				clearFirstLevelCache
+		);
+	}
 
 	public List getResultList() throws AuditException {
 		return list();
@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.query.internal.impl;
+
+import java.util.Map;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.envers.query.AuditScrollableResults;
+
+/**
+ * {@link AuditScrollableResults} backed by the {@link ScrollableResults} of the executed audit query.
+ */
+class AuditScrollableResultsImpl implements AuditScrollableResults {
+	private final AbstractAuditQuery query;
+	private final ScrollableResults results;
+	private final boolean clearFirstLevelCache;
+
+	private Object currentRow;
+	private Object current;
+
+	AuditScrollableResultsImpl(AbstractAuditQuery query, ScrollableResults results, boolean clearFirstLevelCache) {
+		this.query = query;
+		this.results = results;
+		this.clearFirstLevelCache = clearFirstLevelCache;
+	}
+
+	@Override
+	public boolean next() {
+		if ( clearFirstLevelCache ) {
+			releasePreviousRow();
+		}
+
+		if ( !results.next() ) {
+			currentRow = null;
+			current = null;
+			return false;
+		}
+
+		// same shape as the rows of Query#list()
+		final Object[] row = results.get();
+		currentRow = row.length == 1 ? row[0] : row;
+		current = query.hasProjection ? currentRow : query.transformResultRow( currentRow );
+		return true;
+	}
+
+	@Override
+	public Object get() {
+		return current;
+	}
+
+	@Override
+	public void close() {
+		results.close();
+	}
+
+	private void releasePreviousRow() {
+		query.versionsReader.getFirstLevelCache().clear();
+		if ( currentRow != null && !query.hasProjection ) {
+			final Session session = query.versionsReader.getSession();
+			if ( currentRow instanceof Object[] ) {
+				// audit data and revision entity
+				for ( Object element : (Object[]) currentRow ) {
+					if ( element != null ) {
+						session.evict( element );
+					}
+				}
+			}
+			else if ( currentRow instanceof Map ) {
+				session.evict( currentRow );
+			}
+		}
+	}
+}
@@ -23,9 +23,9 @@
  */
 package org.hibernate.envers.query.internal.impl;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Query;
 import org.hibernate.envers.RevisionType;
@@ -66,7 +66,8 @@ public class EntitiesAtRevisionQuery extends AbstractAuditQuery {
 	}
 
 	@SuppressWarnings({"unchecked"})
-	public List list() {
+	@Override
+	protected Query prepareQuery() {
 		/*
          * The query that we need to create:
          *   SELECT new list(e) FROM versionsReferencedEntity e
@@ -126,16 +127,11 @@ public class EntitiesAtRevisionQuery extends AbstractAuditQuery {
 		if ( params.contains( REVISION_PARAMETER ) ) {
 			query.setParameter( REVISION_PARAMETER, revision );
 		}
-		List queryResult = query.list();
-
-		if ( hasProjection ) {
-			return queryResult;
-		}
-		else {
-			List result = new ArrayList();
-			entityInstantiator.addInstancesFromVersionsEntities( entityName, result, queryResult, revision );
+		return query;
+	}
 
-			return result;
-		}
+	@Override
+	protected Object transformResultRow(Object resultRow) {
+		return entityInstantiator.createInstanceFromVersionsEntity( entityName, (Map) resultRow, revision );
 	}
 }
@@ -1,7 +1,6 @@
 package org.hibernate.envers.query.internal.impl;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Query;
 import org.hibernate.envers.configuration.internal.AuditEntitiesConfiguration;
@@ -34,8 +33,7 @@ public class EntitiesModifiedAtRevisionQuery extends AbstractAuditQuery {
 	}
 
 	@Override
-	@SuppressWarnings({"unchecked"})
-	public List list() {
+	protected Query prepareQuery() {
 		/*
          * The query that we need to create:
          *   SELECT new list(e) FROM versionsReferencedEntity e
@@ -52,17 +50,11 @@ public class EntitiesModifiedAtRevisionQuery extends AbstractAuditQuery {
 			criterion.addToQuery( verCfg, versionsReader, entityName, qb, qb.getRootParameters() );
 		}
 
-		Query query = buildQuery();
-		List queryResult = query.list();
-
-		if ( hasProjection ) {
-			return queryResult;
-		}
-		else {
-			List result = new ArrayList();
-			entityInstantiator.addInstancesFromVersionsEntities( entityName, result, queryResult, revision );
+		return buildQuery();
+	}
 
-			return result;
-		}
+	@Override
+	protected Object transformResultRow(Object resultRow) {
+		return entityInstantiator.createInstanceFromVersionsEntity( entityName, (Map) resultRow, revision );
 	}
 }
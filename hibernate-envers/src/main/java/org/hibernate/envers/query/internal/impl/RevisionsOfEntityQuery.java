@@ -26,7 +26,12 @@ package org.hibernate.envers.query.internal.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.hibernate.Query;
 import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.configuration.internal.AuditEntitiesConfiguration;
 import org.hibernate.envers.configuration.spi.AuditConfiguration;
@@ -40,6 +45,11 @@ import org.hibernate.proxy.HibernateProxy;
  * @author HernпїЅn Chanfreau
  */
 public class RevisionsOfEntityQuery extends AbstractAuditQuery {
+	/**
+	 * Minimal number of rows reconstructed by a single task, when reconstructing historical entities in parallel.
+	 */
+	private static final int MIN_ROWS_PER_TASK = 64;
+
 	private final boolean selectEntitiesOnly;
 	private final boolean selectDeletedEntities;
 
@@ -82,7 +92,8 @@ public class RevisionsOfEntityQuery extends AbstractAuditQuery {
 	}
 
 	@SuppressWarnings({"unchecked"})
-	public List list() throws AuditException {
+	@Override
+	protected Query prepareQuery() {
 		AuditEntitiesConfiguration verEntCfg = verCfg.getAuditEntCfg();
 
         /*
@@ -119,45 +130,104 @@ public class RevisionsOfEntityQuery extends AbstractAuditQuery {
 			);
 		}
 
-		List<Object> queryResult = buildAndExecuteQuery();
-		if ( hasProjection ) {
-			return queryResult;
+		return buildQuery();
+	}
+
+	@Override
+	protected List transformResultRows(List queryResult) {
+		final ExecutorService executor = verCfg.getReconstructionExecutor();
+		if ( executor == null || queryResult.size() < 2 * MIN_ROWS_PER_TASK
+				|| !verCfg.getEntCfg().isMappedWithoutSession( entityName ) ) {
+			// Relations are resolved through the session, which must only be used by the calling thread
+			return super.transformResultRows( queryResult );
 		}
-		else {
-			List entities = new ArrayList();
-			String revisionTypePropertyName = verEntCfg.getRevisionTypePropName();
 
-			for ( Object resultRow : queryResult ) {
-				Map versionsEntity;
-				Object revisionData;
+		// Rows are independent from each other, so that each task reconstructs a contiguous range of them
+		final int threads = verCfg.getGlobalCfg().getParallelReconstructionThreads();
+		final int rowsPerTask = Math.max( MIN_ROWS_PER_TASK, ( queryResult.size() + threads - 1 ) / threads );
+		final List<Future<List>> tasks = new ArrayList<Future<List>>();
+		for ( int start = 0; start < queryResult.size(); start += rowsPerTask ) {
+			final List rows = queryResult.subList( start, Math.min( start + rowsPerTask, queryResult.size() ) );
+			tasks.add(
+					executor.submit(
+							new Callable<List>() {
+								@Override
+								public List call() {
+									return RevisionsOfEntityQuery.super.transformResultRows( rows );
+								}
+							}
+					)
+			);
+		}
 
-				if ( selectEntitiesOnly ) {
-					versionsEntity = (Map) resultRow;
-					revisionData = null;
+		// Waiting for all tasks, also after a failure, so that none of them uses the reader anymore
+		final List result = new ArrayList( queryResult.size() );
+		Throwable failure = null;
+		for ( Future<List> task : tasks ) {
+			try {
+				final List entities = task.get();
+				if ( failure == null ) {
+					result.addAll( entities );
 				}
-				else {
-					Object[] arrayResultRow = (Object[]) resultRow;
-					versionsEntity = (Map) arrayResultRow[0];
-					revisionData = arrayResultRow[1];
+			}
+			catch (ExecutionException e) {
+				if ( failure == null ) {
+					failure = e.getCause();
 				}
+			}
+			catch (InterruptedException e) {
+				for ( Future<List> remaining : tasks ) {
+					remaining.cancel( false );
+				}
+				Thread.currentThread().interrupt();
+				throw new AuditException( "Interrupted while reconstructing historical entities", e );
+			}
+		}
+
+		if ( failure instanceof RuntimeException ) {
+			throw (RuntimeException) failure;
+		}
+		else if ( failure instanceof Error ) {
+			throw (Error) failure;
+		}
+		else if ( failure != null ) {
+			throw new AuditException( failure );
+		}
+		return result;
+	}
 
-				Number revision = getRevisionNumber( versionsEntity );
+	@Override
+	protected Object transformResultRow(Object resultRow) {
+		final Map versionsEntity;
+		final Object revisionData;
 
-				Object entity = entityInstantiator.createInstanceFromVersionsEntity(
-						entityName,
-						versionsEntity,
-						revision
-				);
+		if ( selectEntitiesOnly ) {
+			versionsEntity = (Map) resultRow;
+			revisionData = null;
+		}
+		else {
+			final Object[] arrayResultRow = (Object[]) resultRow;
+			versionsEntity = (Map) arrayResultRow[0];
+			revisionData = arrayResultRow[1];
+		}
 
-				if ( !selectEntitiesOnly ) {
-					entities.add( new Object[] {entity, revisionData, versionsEntity.get( revisionTypePropertyName )} );
-				}
-				else {
-					entities.add( entity );
-				}
-			}
+		final Number revision = getRevisionNumber( versionsEntity );
+
+		final Object entity = entityInstantiator.createInstanceFromVersionsEntity(
+				entityName,
+				versionsEntity,
+				revision
+		);
 
-			return entities;
+		if ( !selectEntitiesOnly ) {
+			return new Object[] {
+					entity,
+					revisionData,
+					versionsEntity.get( verCfg.getAuditEntCfg().getRevisionTypePropName() )
+			};
+		}
+		else {
+			return entity;
 		}
 	}
 }
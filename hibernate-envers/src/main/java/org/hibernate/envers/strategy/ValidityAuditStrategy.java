@@ -1,11 +1,14 @@
 package org.hibernate.envers.strategy;
 
 import java.io.Serializable;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -14,11 +17,12 @@ import org.jboss.logging.Logger;
 
 import org.hibernate.LockOptions;
 import org.hibernate.Session;
-import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.spi.TransactionContext;
 import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.configuration.internal.AuditEntitiesConfiguration;
 import org.hibernate.envers.configuration.internal.GlobalConfiguration;
@@ -26,6 +30,7 @@ import org.hibernate.envers.configuration.spi.AuditConfiguration;
 import org.hibernate.envers.internal.entities.mapper.PersistentCollectionChangeData;
 import org.hibernate.envers.internal.entities.mapper.relation.MiddleComponentData;
 import org.hibernate.envers.internal.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.internal.synchronization.AuditProcess;
 import org.hibernate.envers.internal.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.internal.tools.query.Parameters;
 import org.hibernate.envers.internal.tools.query.QueryBuilder;
@@ -34,7 +39,6 @@ import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.EventType;
-import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.persister.entity.UnionSubclassEntityPersister;
 import org.hibernate.property.Getter;
@@ -106,128 +110,99 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		// null end date exists for each identifier.
 		final boolean reuseEntityIdentifier = auditCfg.getGlobalCfg().isAllowIdentifierReuse();
 		if ( reuseEntityIdentifier || getRevisionType( auditCfg, data ) != RevisionType.ADD ) {
-			// Register transaction completion process to guarantee execution of UPDATE statement after INSERT.
-			( (EventSource) session ).getActionQueue().registerProcess( new BeforeTransactionCompletionProcess() {
-				@Override
-				public void doBeforeTransactionCompletion(final SessionImplementor sessionImplementor) {
-					final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
-					final Queryable rootProductionEntityQueryable = getQueryable(
-							productionEntityQueryable.getRootEntityName(), sessionImplementor
-					);
-					final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
-					final Queryable rootAuditedEntityQueryable = getQueryable(
-							auditedEntityQueryable.getRootEntityName(), sessionImplementor
-					);
-
-					final String updateTableName;
-					if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
-						// this is the condition causing all the problems in terms of the generated SQL UPDATE
-						// the problem being that we currently try to update the in-line view made up of the union query
-						//
-						// this is extremely hacky means to get the root table name for the union subclass style entities.
-						// hacky because it relies on internal behavior of UnionSubclassEntityPersister
-						// !!!!!! NOTICE - using subclass persister, not root !!!!!!
-						updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
-					}
-					else {
-						updateTableName = rootAuditedEntityQueryable.getTableName();
-					}
-
-					final Type revisionInfoIdType = sessionImplementor.getFactory().getEntityPersister( revisionInfoEntityName ).getIdentifierType();
-					final String revEndColumnName = rootAuditedEntityQueryable.toColumns( auditCfg.getAuditEntCfg().getRevisionEndFieldName() )[0];
+			// Queue the UPDATE; all queued updates of the session are executed on transaction completion,
+			// after the INSERT statements, batched per audit table.
+			getRevisionEndUpdates( (EventSource) session, auditCfg ).add(
+					new RevisionEndUpdate(
+							entityName,
+							auditedEntityName,
+							revisionInfoEntityName,
+							id,
+							revision,
+							!reuseEntityIdentifier || getRevisionType( auditCfg, data ) != RevisionType.ADD
+					)
+			);
+		}
+		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+	}
 
-					final boolean isRevisionEndTimestampEnabled = auditCfg.getAuditEntCfg().isRevisionEndTimestampEnabled();
+	private RevisionEndUpdates getRevisionEndUpdates(EventSource session, AuditConfiguration auditCfg) {
+		// The queued updates are kept on the audit process of the transaction, which is only ever used
+		// by a single thread and discarded once the transaction completes.
+		final AuditProcess auditProcess = auditCfg.getSyncManager().get( session );
+		RevisionEndUpdates revisionEndUpdates = (RevisionEndUpdates) auditProcess.getAuditStrategyState();
+		if ( revisionEndUpdates == null ) {
+			revisionEndUpdates = new RevisionEndUpdates( auditCfg );
+			auditProcess.setAuditStrategyState( revisionEndUpdates );
+			// Register transaction completion process to guarantee execution of UPDATE statements after INSERT.
+			session.getActionQueue().registerProcess( revisionEndUpdates );
+		}
+		return revisionEndUpdates;
+	}
 
-					// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
-					final Update update = new Update( sessionImplementor.getFactory().getDialect() ).setTableName( updateTableName );
-					// set REVEND = ?
-					update.addColumn( revEndColumnName );
-					// set [, REVEND_TSTMP = ?]
-					if ( isRevisionEndTimestampEnabled ) {
-						update.addColumn(
-								rootAuditedEntityQueryable.toColumns( auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName() )[0]
-						);
-					}
+	private RevisionEndStatement buildRevisionEndStatement(
+			RevisionEndUpdate revisionEndUpdate,
+			AuditConfiguration auditCfg,
+			SessionImplementor sessionImplementor) {
+		final Queryable productionEntityQueryable = getQueryable( revisionEndUpdate.entityName, sessionImplementor );
+		final Queryable rootProductionEntityQueryable = getQueryable(
+				productionEntityQueryable.getRootEntityName(), sessionImplementor
+		);
+		final Queryable auditedEntityQueryable = getQueryable( revisionEndUpdate.auditedEntityName, sessionImplementor );
+		final Queryable rootAuditedEntityQueryable = getQueryable(
+				auditedEntityQueryable.getRootEntityName(), sessionImplementor
+		);
 
-					// where (prod_ent_id) = ?
-					update.addPrimaryKeyColumns( rootProductionEntityQueryable.getIdentifierColumnNames() );
-					// where REV <> ?
-					update.addWhereColumn(
-							rootAuditedEntityQueryable.toColumns( auditCfg.getAuditEntCfg().getRevisionNumberPath() )[0], "<> ?"
-					);
-					// where REVEND is null
-					update.addWhereColumn( revEndColumnName, " is null" );
-
-					// Now lets execute the sql...
-					final String updateSql = update.toStatementString();
-
-					int rowCount = ( (Session) sessionImplementor ).doReturningWork(
-							new ReturningWork<Integer>() {
-								@Override
-								public Integer execute(Connection connection) throws SQLException {
-									PreparedStatement preparedStatement = sessionImplementor.getTransactionCoordinator()
-											.getJdbcCoordinator().getStatementPreparer().prepareStatement( updateSql );
-
-									try {
-										int index = 1;
-
-										// set REVEND = ?
-										final Number revisionNumber = auditCfg.getRevisionInfoNumberReader().getRevisionNumber(
-												revision
-										);
-										revisionInfoIdType.nullSafeSet(
-												preparedStatement, revisionNumber, index, sessionImplementor
-										);
-										index += revisionInfoIdType.getColumnSpan( sessionImplementor.getFactory() );
-
-										// set [, REVEND_TSTMP = ?]
-										if ( isRevisionEndTimestampEnabled ) {
-											final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
-											final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
-											final Type revEndTsType = rootAuditedEntityQueryable.getPropertyType(
-													auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName()
-											);
-											revEndTsType.nullSafeSet(
-													preparedStatement, revisionEndTimestamp, index, sessionImplementor
-											);
-											index += revEndTsType.getColumnSpan( sessionImplementor.getFactory() );
-										}
-
-										// where (prod_ent_id) = ?
-										final Type idType = rootProductionEntityQueryable.getIdentifierType();
-										idType.nullSafeSet( preparedStatement, id, index, sessionImplementor );
-										index += idType.getColumnSpan( sessionImplementor.getFactory() );
-
-										// where REV <> ?
-										final Type revType = rootAuditedEntityQueryable.getPropertyType(
-												auditCfg.getAuditEntCfg().getRevisionNumberPath()
-										);
-										revType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
-
-										// where REVEND is null
-										// 		nothing to bind....
-
-										return sessionImplementor.getTransactionCoordinator()
-												.getJdbcCoordinator().getResultSetReturn().executeUpdate( preparedStatement );
-									}
-									finally {
-										sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().release(
-												preparedStatement
-										);
-									}
-								}
-							}
-					);
+		final String updateTableName;
+		if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
+			// this is the condition causing all the problems in terms of the generated SQL UPDATE
+			// the problem being that we currently try to update the in-line view made up of the union query
+			//
+			// this is extremely hacky means to get the root table name for the union subclass style entities.
+			// hacky because it relies on internal behavior of UnionSubclassEntityPersister
+			// !!!!!! NOTICE - using subclass persister, not root !!!!!!
+			updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
+		}
+		else {
+			updateTableName = rootAuditedEntityQueryable.getTableName();
+		}
 
-					if ( rowCount != 1 && ( !reuseEntityIdentifier || ( getRevisionType( auditCfg, data ) != RevisionType.ADD ) ) ) {
-						throw new RuntimeException(
-								"Cannot update previous revision for entity " + auditedEntityName + " and id " + id
-						);
-					}
-				}
-			});
+		final Type revisionInfoIdType = sessionImplementor.getFactory()
+				.getEntityPersister( revisionEndUpdate.revisionInfoEntityName )
+				.getIdentifierType();
+		final String revEndColumnName = rootAuditedEntityQueryable.toColumns( auditCfg.getAuditEntCfg().getRevisionEndFieldName() )[0];
+
+		final boolean isRevisionEndTimestampEnabled = auditCfg.getAuditEntCfg().isRevisionEndTimestampEnabled();
+
+		// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
+		final Update update = new Update( sessionImplementor.getFactory().getDialect() ).setTableName( updateTableName );
+		// set REVEND = ?
+		update.addColumn( revEndColumnName );
+		// set [, REVEND_TSTMP = ?]
+		if ( isRevisionEndTimestampEnabled ) {
+			update.addColumn(
+					rootAuditedEntityQueryable.toColumns( auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName() )[0]
+			);
 		}
-		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+
+		// where (prod_ent_id) = ?
+		update.addPrimaryKeyColumns( rootProductionEntityQueryable.getIdentifierColumnNames() );
+		// where REV <> ?
+		update.addWhereColumn(
+				rootAuditedEntityQueryable.toColumns( auditCfg.getAuditEntCfg().getRevisionNumberPath() )[0], "<> ?"
+		);
+		// where REVEND is null
+		update.addWhereColumn( revEndColumnName, " is null" );
+
+		return new RevisionEndStatement(
+				update.toStatementString(),
+				revisionInfoIdType,
+				isRevisionEndTimestampEnabled
+						? rootAuditedEntityQueryable.getPropertyType( auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName() )
+						: null,
+				rootProductionEntityQueryable.getIdentifierType(),
+				rootAuditedEntityQueryable.getPropertyType( auditCfg.getAuditEntCfg().getRevisionNumberPath() )
+		);
 	}
 
 	private Queryable getQueryable(String entityName, SessionImplementor sessionImplementor) {
@@ -368,4 +343,191 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		}
 		return new Date( (Long) revEndTimestampObj );
 	}
-}
\ No newline at end of file
+
+	/**
+	 * A single queued REVEND update of the previous audit row of an entity.
+	 */
+	private static final class RevisionEndUpdate {
+		private final String entityName;
+		private final String auditedEntityName;
+		private final String revisionInfoEntityName;
+		private final Serializable id;
+		private final Object revision;
+		private final boolean mustUpdateOneRow;
+
+		private RevisionEndUpdate(
+				String entityName,
+				String auditedEntityName,
+				String revisionInfoEntityName,
+				Serializable id,
+				Object revision,
+				boolean mustUpdateOneRow) {
+			this.entityName = entityName;
+			this.auditedEntityName = auditedEntityName;
+			this.revisionInfoEntityName = revisionInfoEntityName;
+			this.id = id;
+			this.revision = revision;
+			this.mustUpdateOneRow = mustUpdateOneRow;
+		}
+	}
+
+	/**
+	 * The REVEND update statement of one audit table, together with the updates to execute through it.
+	 */
+	private final class RevisionEndStatement {
+		private final String sql;
+		private final Type revisionInfoIdType;
+		private final Type revEndTsType;
+		private final Type idType;
+		private final Type revType;
+		private final List<RevisionEndUpdate> updates = new ArrayList<RevisionEndUpdate>();
+
+		private RevisionEndStatement(String sql, Type revisionInfoIdType, Type revEndTsType, Type idType, Type revType) {
+			this.sql = sql;
+			this.revisionInfoIdType = revisionInfoIdType;
+			this.revEndTsType = revEndTsType;
+			this.idType = idType;
+			this.revType = revType;
+		}
+
+		private void execute(AuditConfiguration auditCfg, SessionImplementor sessionImplementor) {
+			final JdbcCoordinator jdbcCoordinator = sessionImplementor.getTransactionCoordinator().getJdbcCoordinator();
+			final int batchSize = sessionImplementor.getFactory().getSettings().getJdbcBatchSize();
+			final PreparedStatement preparedStatement = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+			try {
+				if ( batchSize > 1 && updates.size() > 1 ) {
+					final TransactionContext transactionContext = sessionImplementor.getTransactionCoordinator()
+							.getTransactionContext();
+					int start = 0;
+					while ( start < updates.size() ) {
+						final int end = Math.min( start + batchSize, updates.size() );
+						for ( int i = start; i < end; i++ ) {
+							bind( preparedStatement, updates.get( i ), auditCfg, sessionImplementor );
+							preparedStatement.addBatch();
+						}
+						final int[] rowCounts;
+						try {
+							transactionContext.startBatchExecution();
+							rowCounts = preparedStatement.executeBatch();
+						}
+						finally {
+							transactionContext.endBatchExecution();
+						}
+						for ( int i = 0; i < rowCounts.length; i++ ) {
+							// some drivers do not report row counts of batched statements
+							if ( rowCounts[i] != Statement.SUCCESS_NO_INFO ) {
+								checkRowCount( updates.get( start + i ), rowCounts[i] );
+							}
+						}
+						start = end;
+					}
+				}
+				else {
+					for ( RevisionEndUpdate revisionEndUpdate : updates ) {
+						bind( preparedStatement, revisionEndUpdate, auditCfg, sessionImplementor );
+						checkRowCount(
+								revisionEndUpdate,
+								jdbcCoordinator.getResultSetReturn().executeUpdate( preparedStatement )
+						);
+					}
+				}
+			}
+			catch (SQLException e) {
+				throw sessionImplementor.getFactory().getSQLExceptionHelper().convert(
+						e,
+						"could not update previous audit revision",
+						sql
+				);
+			}
+			finally {
+				jdbcCoordinator.release( preparedStatement );
+			}
+		}
+
+		private void bind(
+				PreparedStatement preparedStatement,
+				RevisionEndUpdate revisionEndUpdate,
+				AuditConfiguration auditCfg,
+				SessionImplementor sessionImplementor) throws SQLException {
+			int index = 1;
+
+			// set REVEND = ?
+			final Number revisionNumber = auditCfg.getRevisionInfoNumberReader().getRevisionNumber(
+					revisionEndUpdate.revision
+			);
+			revisionInfoIdType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
+			index += revisionInfoIdType.getColumnSpan( sessionImplementor.getFactory() );
+
+			// set [, REVEND_TSTMP = ?]
+			if ( revEndTsType != null ) {
+				final Object revEndTimestampObj = revisionTimestampGetter.get( revisionEndUpdate.revision );
+				final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
+				revEndTsType.nullSafeSet( preparedStatement, revisionEndTimestamp, index, sessionImplementor );
+				index += revEndTsType.getColumnSpan( sessionImplementor.getFactory() );
+			}
+
+			// where (prod_ent_id) = ?
+			idType.nullSafeSet( preparedStatement, revisionEndUpdate.id, index, sessionImplementor );
+			index += idType.getColumnSpan( sessionImplementor.getFactory() );
+
+			// where REV <> ?
+			revType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
+
+			// where REVEND is null
+			// 		nothing to bind....
+		}
+
+		private void checkRowCount(RevisionEndUpdate revisionEndUpdate, int rowCount) {
+			if ( rowCount != 1 && revisionEndUpdate.mustUpdateOneRow ) {
+				throw new RuntimeException(
+						"Cannot update previous revision for entity " + revisionEndUpdate.auditedEntityName
+								+ " and id " + revisionEndUpdate.id
+				);
+			}
+		}
+	}
+
+	/**
+	 * All REVEND updates queued in one transaction. Executed before transaction completion, grouping updates
+	 * of the same audit table so that each statement is prepared once and executed as a JDBC batch.
+	 */
+	private final class RevisionEndUpdates implements BeforeTransactionCompletionProcess {
+		private final AuditConfiguration auditCfg;
+		private final List<RevisionEndUpdate> updates = new ArrayList<RevisionEndUpdate>();
+
+		private RevisionEndUpdates(AuditConfiguration auditCfg) {
+			this.auditCfg = auditCfg;
+		}
+
+		private void add(RevisionEndUpdate revisionEndUpdate) {
+			updates.add( revisionEndUpdate );
+		}
+
+		@Override
+		public void doBeforeTransactionCompletion(SessionImplementor sessionImplementor) {
+			final Map<String, RevisionEndStatement> statementsBySql = new LinkedHashMap<String, RevisionEndStatement>();
+			final Map<String, RevisionEndStatement> statementsByEntity = new HashMap<String, RevisionEndStatement>();
+			for ( RevisionEndUpdate revisionEndUpdate : updates ) {
+				RevisionEndStatement statement = statementsByEntity.get( revisionEndUpdate.auditedEntityName );
+				if ( statement == null ) {
+					statement = buildRevisionEndStatement( revisionEndUpdate, auditCfg, sessionImplementor );
+					// entities of one hierarchy share the audit table, and therefore the statement
+					final RevisionEndStatement existing = statementsBySql.get( statement.sql );
+					if ( existing != null ) {
+						statement = existing;
+					}
+					else {
+						statementsBySql.put( statement.sql, statement );
+					}
+					statementsByEntity.put( revisionEndUpdate.auditedEntityName, statement );
+				}
+				statement.updates.add( revisionEndUpdate );
+			}
+			updates.clear();
+
+			for ( RevisionEndStatement statement : statementsBySql.values() ) {
+				statement.execute( auditCfg, sessionImplementor );
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.journal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.configuration.spi.AuditConfiguration;
+import org.hibernate.envers.internal.synchronization.journal.AuditJournal;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.Bootstrap;
+import org.hibernate.jpa.test.PersistenceUnitDescriptorAdapter;
+import org.hibernate.metamodel.spi.MetadataImplementor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that revisions left unwritten in the {@link AuditJournal}, as after a crash, are replayed by the next
+ * session factory started on the same journal directory.
+ */
+public class AsyncAuditJournalRecoveryTest extends BaseEnversJPAFunctionalTestCase {
+	private File journalDirectory;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {StrTestEntity.class};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		if ( journalDirectory == null ) {
+			try {
+				journalDirectory = File.createTempFile( "envers-journal", "" );
+			}
+			catch (IOException e) {
+				throw new RuntimeException( e );
+			}
+			journalDirectory.delete();
+			journalDirectory.mkdirs();
+		}
+		options.put( EnversSettings.ASYNC_AUDIT_JOURNAL_DIRECTORY, journalDirectory.getAbsolutePath() );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testReplayOfUnwrittenRevisions() throws Exception {
+		final AuditJournal auditJournal = getAuditJournal( getMetadata() );
+		// the writer stops before writing anything, leaving every revision in the journal
+		auditJournal.halt();
+
+		final EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		final StrTestEntity entity = new StrTestEntity( "a" );
+		em.persist( entity );
+		em.getTransaction().commit();
+
+		em.getTransaction().begin();
+		entity.setStr( "b" );
+		em.getTransaction().commit();
+
+		assertEquals( 0, getAuditReader().getRevisions( StrTestEntity.class, entity.getId() ).size() );
+
+		// releases the journal directory without writing the revisions
+		auditJournal.stop();
+
+		final Map settings = getConfig();
+		settings.put( org.hibernate.cfg.AvailableSettings.DIALECT, getDialect().getClass().getName() );
+		settings.put( org.hibernate.cfg.AvailableSettings.USE_NEW_ID_GENERATOR_MAPPINGS, "true" );
+		settings.put( EnversSettings.USE_REVISION_ENTITY_WITH_NATIVE_ID, "false" );
+		final EntityManagerFactoryBuilderImpl builder = (EntityManagerFactoryBuilderImpl) Bootstrap.getEntityManagerFactoryBuilder(
+				new PersistenceUnitDescriptorAdapter(),
+				settings
+		);
+		final EntityManagerFactory restarted = builder.build();
+		try {
+			assertTrue( getAuditJournal( builder.getMetadata() ).awaitWritten( 10, TimeUnit.SECONDS ) );
+		}
+		finally {
+			restarted.close();
+		}
+
+		assertEquals( Arrays.asList( 1, 2 ), getAuditReader().getRevisions( StrTestEntity.class, entity.getId() ) );
+		assertEquals( "a", getAuditReader().find( StrTestEntity.class, entity.getId(), 1 ).getStr() );
+		assertEquals( "b", getAuditReader().find( StrTestEntity.class, entity.getId(), 2 ).getStr() );
+	}
+
+	private AuditJournal getAuditJournal(MetadataImplementor metadata) {
+		return AuditConfiguration.register( null, metadata ).getSyncManager().getAuditJournal();
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.journal;
+
+import javax.persistence.EntityManager;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.configuration.spi.AuditConfiguration;
+import org.hibernate.envers.internal.synchronization.journal.AuditJournal;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the asynchronous audit writing mode, where audit rows are written from the {@link AuditJournal}.
+ */
+public class AsyncAuditJournalTest extends BaseEnversJPAFunctionalTestCase {
+	private File journalDirectory;
+	private Integer id1;
+	private Integer id2;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {StrTestEntity.class};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		try {
+			journalDirectory = File.createTempFile( "envers-journal", "" );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( e );
+		}
+		journalDirectory.delete();
+		journalDirectory.mkdirs();
+		options.put( EnversSettings.ASYNC_AUDIT_JOURNAL_DIRECTORY, journalDirectory.getAbsolutePath() );
+		options.put( EnversSettings.ASYNC_AUDIT_BATCH_SIZE, "2" );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		StrTestEntity entity1 = new StrTestEntity( "a" );
+		StrTestEntity entity2 = new StrTestEntity( "b" );
+		em.persist( entity1 );
+		em.persist( entity2 );
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+		entity1 = em.find( StrTestEntity.class, entity1.getId() );
+		entity1.setStr( "c" );
+		em.getTransaction().commit();
+
+		// Rolled back, no revision
+		em.getTransaction().begin();
+		entity2 = em.find( StrTestEntity.class, entity2.getId() );
+		entity2.setStr( "d" );
+		em.flush();
+		em.getTransaction().rollback();
+
+		// Revision 3
+		em = getEntityManager();
+		em.getTransaction().begin();
+		em.remove( em.find( StrTestEntity.class, entity2.getId() ) );
+		em.getTransaction().commit();
+
+		id1 = entity1.getId();
+		id2 = entity2.getId();
+	}
+
+	@Test
+	public void testRevisionsCounts() throws Exception {
+		awaitWritten();
+		assertEquals( Arrays.asList( 1, 2 ), getAuditReader().getRevisions( StrTestEntity.class, id1 ) );
+		assertEquals( Arrays.asList( 1, 3 ), getAuditReader().getRevisions( StrTestEntity.class, id2 ) );
+	}
+
+	@Test
+	public void testHistory() throws Exception {
+		awaitWritten();
+		assertEquals( "a", getAuditReader().find( StrTestEntity.class, id1, 1 ).getStr() );
+		assertEquals( "c", getAuditReader().find( StrTestEntity.class, id1, 2 ).getStr() );
+		assertEquals( "b", getAuditReader().find( StrTestEntity.class, id2, 2 ).getStr() );
+	}
+
+	@Test
+	public void testJournalFile() {
+		assertTrue( new File( journalDirectory, AuditJournal.JOURNAL_FILE_NAME ).exists() );
+	}
+
+	private void awaitWritten() throws InterruptedException {
+		// audit rows are written by a background thread
+		final AuditJournal auditJournal = AuditConfiguration.register( null, getMetadata() )
+				.getSyncManager()
+				.getAuditJournal();
+		assertTrue( auditJournal.awaitWritten( 10, TimeUnit.SECONDS ) );
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.manytoone;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.enhanced.SequenceIdRevisionEntity;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.onetomany.SetRefEdEntity;
+import org.hibernate.envers.test.entities.onetomany.SetRefIngEntity;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that historical to-one relations referenced at the same revision are loaded by a single audit query,
+ * and that repeated revision lookups are served from the first level cache.
+ */
+public class BatchedRelationLoadingTest extends BaseEnversJPAFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {SetRefEdEntity.class, SetRefIngEntity.class};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		for ( int i = 1; i <= 3; i++ ) {
+			SetRefEdEntity ed = new SetRefEdEntity( i, "ed" + i );
+			em.persist( ed );
+			em.persist( new SetRefIngEntity( 10 + i, "ing" + i, ed ) );
+		}
+		em.persist( new SetRefIngEntity( 20, "ing without reference", null ) );
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+		em.find( SetRefEdEntity.class, 1 ).setData( "ed1 modified" );
+		em.getTransaction().commit();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testToOneRelationsLoadedInBatch() {
+		final AuditReader auditReader = getAuditReader();
+		final List<SetRefIngEntity> ings = auditReader.createQuery()
+				.forEntitiesAtRevision( SetRefIngEntity.class, 1 )
+				.getResultList();
+		assertEquals( 4, ings.size() );
+
+		final Statistics statistics = getStatistics();
+		statistics.clear();
+		for ( SetRefIngEntity ing : ings ) {
+			if ( ing.getId() == 20 ) {
+				assertNull( ing.getReference() );
+			}
+			else {
+				assertEquals( "ed" + ( ing.getId() - 10 ), ing.getReference().getData() );
+			}
+		}
+		assertEquals( 1, statistics.getQueryExecutionCount() );
+	}
+
+	@Test
+	public void testEmptyIdentifierInRestriction() {
+		final List<?> result = getAuditReader().createQuery()
+				.forEntitiesAtRevision( SetRefIngEntity.class, 1 )
+				.add( AuditEntity.id().in( Collections.emptyList() ) )
+				.getResultList();
+		assertTrue( result.isEmpty() );
+	}
+
+	@Test
+	public void testRevisionLookupServedFromFirstLevelCache() {
+		final AuditReader auditReader = getAuditReader();
+		final SequenceIdRevisionEntity revision = auditReader.findRevision( SequenceIdRevisionEntity.class, 2 );
+
+		final Statistics statistics = getStatistics();
+		statistics.clear();
+		assertSame( revision, auditReader.findRevision( SequenceIdRevisionEntity.class, 2 ) );
+		assertSame(
+				revision,
+				auditReader.findRevisions( SequenceIdRevisionEntity.class, Collections.<Number>singleton( 2 ) ).get( 2 )
+		);
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+
+	private Statistics getStatistics() {
+		return ( (Session) getEntityManager().getDelegate() ).getSessionFactory().getStatistics();
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.enhanced.SequenceIdRevisionEntity;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditScrollableResults;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.IntNoAutoIdTestEntity;
+import org.hibernate.envers.test.entities.onetomany.SetRefEdEntity;
+import org.hibernate.envers.test.entities.onetomany.SetRefIngEntity;
+import org.hibernate.envers.test.integration.onetoone.bidirectional.BiRefEdEntity;
+import org.hibernate.envers.test.integration.onetoone.bidirectional.BiRefIngEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests reconstructing the historical entities of a revisions of entity query in parallel. Entities with
+ * relations, among them an eagerly loaded one-to-one, are reconstructed by the calling thread.
+ */
+public class ParallelReconstructionQuery extends BaseEnversJPAFunctionalTestCase {
+	private static final int ENTITIES = 150;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				SetRefEdEntity.class, SetRefIngEntity.class, IntNoAutoIdTestEntity.class, BiRefEdEntity.class, BiRefIngEntity.class
+		};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.PARALLEL_RECONSTRUCTION_THREADS, "4" );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		SetRefEdEntity ed1 = new SetRefEdEntity( 1, "ed1" );
+		SetRefEdEntity ed2 = new SetRefEdEntity( 2, "ed2" );
+		em.persist( ed1 );
+		em.persist( ed2 );
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			em.persist( new SetRefIngEntity( i, "a" + i, ed1 ) );
+			em.persist( new IntNoAutoIdTestEntity( i, i ) );
+			final BiRefEdEntity biEd = new BiRefEdEntity( i, "ed" + i );
+			em.persist( biEd );
+			em.persist( new BiRefIngEntity( i, "ing" + i, biEd ) );
+		}
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+		ed2 = em.find( SetRefEdEntity.class, 2 );
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			SetRefIngEntity ing = em.find( SetRefIngEntity.class, i );
+			ing.setData( "b" + i );
+			ing.setReference( ed2 );
+			em.find( IntNoAutoIdTestEntity.class, i ).setNumVal( 1000 + i );
+			em.find( BiRefEdEntity.class, i ).setData( "ed" + i + " modified" );
+		}
+		em.getTransaction().commit();
+
+		em.close();
+	}
+
+	@Test
+	public void testRevisionsOfEntity() {
+		List result = getAuditReader().createQuery()
+				.forRevisionsOfEntity( SetRefIngEntity.class, false, true )
+				.addOrder( AuditEntity.revisionNumber().asc() )
+				.addOrder( AuditEntity.id().asc() )
+				.getResultList();
+
+		Assert.assertEquals( 2 * ENTITIES, result.size() );
+		for ( int i = 0; i < result.size(); i++ ) {
+			Object[] row = (Object[]) result.get( i );
+			int id = i % ENTITIES + 1;
+			boolean added = i < ENTITIES;
+
+			SetRefIngEntity entity = (SetRefIngEntity) row[0];
+			Assert.assertEquals( new SetRefIngEntity( id, ( added ? "a" : "b" ) + id ), entity );
+			Assert.assertEquals( added ? "ed1" : "ed2", entity.getReference().getData() );
+			Assert.assertEquals( added ? 1 : 2, ( (SequenceIdRevisionEntity) row[1] ).getId() );
+			Assert.assertEquals( added ? RevisionType.ADD : RevisionType.MOD, row[2] );
+		}
+	}
+
+	@Test
+	public void testRevisionsOfEntityWithoutRelations() {
+		List result = getAuditReader().createQuery()
+				.forRevisionsOfEntity( IntNoAutoIdTestEntity.class, true, true )
+				.addOrder( AuditEntity.revisionNumber().asc() )
+				.addOrder( AuditEntity.id().asc() )
+				.getResultList();
+
+		Assert.assertEquals( 2 * ENTITIES, result.size() );
+		for ( int i = 0; i < result.size(); i++ ) {
+			int id = i % ENTITIES + 1;
+			boolean added = i < ENTITIES;
+			Assert.assertEquals( new IntNoAutoIdTestEntity( added ? id : 1000 + id, id ), result.get( i ) );
+		}
+	}
+
+	@Test
+	public void testRevisionsOfEntityWithEagerOneToOne() {
+		List result = getAuditReader().createQuery()
+				.forRevisionsOfEntity( BiRefEdEntity.class, true, true )
+				.addOrder( AuditEntity.revisionNumber().asc() )
+				.addOrder( AuditEntity.id().asc() )
+				.getResultList();
+
+		Assert.assertEquals( 2 * ENTITIES, result.size() );
+		for ( int i = 0; i < result.size(); i++ ) {
+			int id = i % ENTITIES + 1;
+			boolean added = i < ENTITIES;
+
+			BiRefEdEntity entity = (BiRefEdEntity) result.get( i );
+			Assert.assertEquals( "ed" + id + ( added ? "" : " modified" ), entity.getData() );
+			// the not owning side of the one-to-one is queried while reconstructing the entity
+			Assert.assertEquals( new BiRefIngEntity( id, "ing" + id ), entity.getReferencing() );
+		}
+	}
+
+	@Test
+	public void testParallelAndScrolledResultsMatch() {
+		List expected = getAuditReader().createQuery()
+				.forRevisionsOfEntity( SetRefIngEntity.class, true, true )
+				.addOrder( AuditEntity.revisionNumber().asc() )
+				.addOrder( AuditEntity.id().asc() )
+				.getResultList();
+
+		List scrolled = new ArrayList();
+		AuditScrollableResults results = getAuditReader().createQuery()
+				.forRevisionsOfEntity( SetRefIngEntity.class, true, true )
+				.addOrder( AuditEntity.revisionNumber().asc() )
+				.addOrder( AuditEntity.id().asc() )
+				.scroll();
+		try {
+			while ( results.next() ) {
+				scrolled.add( results.get() );
+			}
+		}
+		finally {
+			results.close();
+		}
+
+		Assert.assertEquals( expected, scrolled );
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.enhanced.SequenceIdRevisionEntity;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
+import org.hibernate.envers.query.AuditScrollableResults;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrIntTestEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that scrolling through audit query results returns the same results as listing them.
+ */
+@SuppressWarnings({"unchecked"})
+public class ScrollQuery extends BaseEnversJPAFunctionalTestCase {
+	private Integer id1;
+	private Integer id2;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { StrIntTestEntity.class };
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		// Revision 1
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+
+		StrIntTestEntity site1 = new StrIntTestEntity( "a", 10 );
+		StrIntTestEntity site2 = new StrIntTestEntity( "b", 20 );
+
+		em.persist( site1 );
+		em.persist( site2 );
+
+		id1 = site1.getId();
+		id2 = site2.getId();
+
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+
+		site1 = em.find( StrIntTestEntity.class, id1 );
+		site1.setStr1( "c" );
+
+		em.getTransaction().commit();
+
+		// Revision 3
+		em.getTransaction().begin();
+
+		site1 = em.find( StrIntTestEntity.class, id1 );
+		em.remove( site1 );
+
+		em.getTransaction().commit();
+	}
+
+	@Test
+	public void testScrollEntitiesAtRevision() {
+		List result = scroll(
+				getAuditReader().createQuery()
+						.forEntitiesAtRevision( StrIntTestEntity.class, 2 )
+						.addOrder( AuditEntity.id().asc() ),
+				false
+		);
+
+		Assert.assertEquals(
+				Arrays.asList( new StrIntTestEntity( "c", 10, id1 ), new StrIntTestEntity( "b", 20, id2 ) ),
+				result
+		);
+	}
+
+	@Test
+	public void testScrollRevisionsOfEntity() {
+		List result = scroll(
+				getAuditReader().createQuery()
+						.forRevisionsOfEntity( StrIntTestEntity.class, false, true )
+						.add( AuditEntity.id().eq( id1 ) )
+						.addOrder( AuditEntity.revisionNumber().asc() ),
+				false
+		);
+
+		Assert.assertEquals( 3, result.size() );
+
+		Object[] first = (Object[]) result.get( 0 );
+		Assert.assertEquals( new StrIntTestEntity( "a", 10, id1 ), first[0] );
+		Assert.assertEquals( 1, ( (SequenceIdRevisionEntity) first[1] ).getId() );
+		Assert.assertEquals( RevisionType.ADD, first[2] );
+
+		Object[] second = (Object[]) result.get( 1 );
+		Assert.assertEquals( new StrIntTestEntity( "c", 10, id1 ), second[0] );
+		Assert.assertEquals( RevisionType.MOD, second[2] );
+
+		Object[] third = (Object[]) result.get( 2 );
+		Assert.assertEquals( RevisionType.DEL, third[2] );
+	}
+
+	@Test
+	public void testScrollClearingFirstLevelCacheMatchesList() {
+		AuditReader reader = getAuditReader();
+		List expected = reader.createQuery()
+				.forRevisionsOfEntity( StrIntTestEntity.class, true, true )
+				.addOrder( AuditEntity.revisionNumber().asc() )
+				.addOrder( AuditEntity.id().asc() )
+				.getResultList();
+
+		List result = scroll(
+				getAuditReader().createQuery()
+						.forRevisionsOfEntity( StrIntTestEntity.class, true, true )
+						.addOrder( AuditEntity.revisionNumber().asc() )
+						.addOrder( AuditEntity.id().asc() ),
+				true
+		);
+
+		Assert.assertEquals( expected, result );
+	}
+
+	@Test
+	public void testScrollProjection() {
+		List result = scroll(
+				getAuditReader().createQuery()
+						.forRevisionsOfEntity( StrIntTestEntity.class, false, true )
+						.addProjection( AuditEntity.revisionNumber() )
+						.add( AuditEntity.id().eq( id2 ) ),
+				true
+		);
+
+		Assert.assertEquals( Arrays.asList( 1 ), result );
+	}
+
+	private List scroll(AuditQuery query, boolean clearFirstLevelCache) {
+		List result = new ArrayList();
+		AuditScrollableResults results = query.scroll( clearFirstLevelCache );
+		try {
+			while ( results.next() ) {
+				result.add( results.get() );
+			}
+		}
+		finally {
+			results.close();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.reventity;
+
+import java.util.Arrays;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.enhanced.OrderedSequenceGenerator;
+import org.hibernate.envers.enhanced.SequenceIdRevisionEntity;
+import org.hibernate.envers.test.BaseEnversFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.PooledOptimizer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests revision numbers allocated from a pool by the default revision entity's sequence.
+ */
+public class PooledRevisionNumberTest extends BaseEnversFunctionalTestCase {
+	private Integer id;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] {StrTestEntity.class};
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( EnversSettings.REVISION_NUMBER_INCREMENT_SIZE, "10" );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		Session session = getSession();
+
+		// Revision 1
+		session.getTransaction().begin();
+		StrTestEntity entity = new StrTestEntity( "x" );
+		session.save( entity );
+		session.getTransaction().commit();
+		id = entity.getId();
+
+		// Revision 2
+		session.getTransaction().begin();
+		entity.setStr( "y" );
+		session.getTransaction().commit();
+
+		// Revision 3
+		session.getTransaction().begin();
+		entity.setStr( "z" );
+		session.getTransaction().commit();
+
+		session.close();
+	}
+
+	@Test
+	public void testRevisionNumberGeneratorIsPooled() {
+		IdentifierGenerator generator = sessionFactory().getEntityPersister( SequenceIdRevisionEntity.class.getName() )
+				.getIdentifierGenerator();
+		Assert.assertTrue( OrderedSequenceGenerator.class.isInstance( generator ) );
+
+		OrderedSequenceGenerator seqGenerator = (OrderedSequenceGenerator) generator;
+		Assert.assertTrue( PooledOptimizer.class.isInstance( seqGenerator.getOptimizer() ) );
+		Assert.assertEquals( 10, seqGenerator.getOptimizer().getIncrementSize() );
+	}
+
+	@Test
+	public void testRevisionNumbersAscending() {
+		// verifying the sequence increment on startup must not have consumed revision numbers
+		Assert.assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( StrTestEntity.class, id ) );
+	}
+
+	@Test
+	public void testHistory() {
+		Assert.assertEquals( new StrTestEntity( "x", id ), getAuditReader().find( StrTestEntity.class, id, 1 ) );
+		Assert.assertEquals( new StrTestEntity( "y", id ), getAuditReader().find( StrTestEntity.class, id, 2 ) );
+		Assert.assertEquals( new StrTestEntity( "z", id ), getAuditReader().find( StrTestEntity.class, id, 3 ) );
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.reventity;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.exception.AuditException;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.jpa.boot.spi.Bootstrap;
+import org.hibernate.jpa.test.PersistenceUnitDescriptorAdapter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that a session factory using pooled revision numbers refuses to start against a revision number sequence
+ * created with {@code INCREMENT BY 1}, which would hand out overlapping pools.
+ */
+public class RevisionNumberIncrementMismatchTest extends BaseEnversJPAFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {StrTestEntity.class};
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPooledAllocationAgainstSequenceIncrementedByOne() {
+		// the schema of this test was exported with the default increment size of 1
+		final Map settings = getConfig();
+		settings.put( org.hibernate.cfg.AvailableSettings.DIALECT, getDialect().getClass().getName() );
+		settings.put( org.hibernate.cfg.AvailableSettings.USE_NEW_ID_GENERATOR_MAPPINGS, "true" );
+		settings.put( EnversSettings.USE_REVISION_ENTITY_WITH_NATIVE_ID, "false" );
+		settings.put( EnversSettings.REVISION_NUMBER_INCREMENT_SIZE, "10" );
+
+		EntityManagerFactory pooled = null;
+		try {
+			pooled = Bootstrap.getEntityManagerFactoryBuilder( new PersistenceUnitDescriptorAdapter(), settings )
+					.build();
+			Assert.fail( "Expected the increment size mismatch to be detected" );
+		}
+		catch (RuntimeException e) {
+			Throwable cause = e;
+			while ( cause != null && !AuditException.class.isInstance( cause ) ) {
+				cause = cause.getCause();
+			}
+			Assert.assertNotNull( "Unexpected failure: " + e, cause );
+			Assert.assertTrue( cause.getMessage().contains( "REVISION_GENERATOR" ) );
+		}
+		finally {
+			if ( pooled != null ) {
+				pooled.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.strategy;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.strategy.ValidityAuditStrategy;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the previous revisions are correctly closed by {@link ValidityAuditStrategy} when the
+ * end revision updates of many entities are executed as JDBC batches.
+ */
+public class ValidityAuditStrategyBatchedRevEndTest extends BaseEnversJPAFunctionalTestCase {
+	private static final int ENTITY_COUNT = 7;
+
+	private final List<Integer> ids = new ArrayList<Integer>();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {StrTestEntity.class};
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.AUDIT_STRATEGY, ValidityAuditStrategy.class.getName() );
+		options.put( AvailableSettings.STATEMENT_BATCH_SIZE, "3" );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			StrTestEntity entity = new StrTestEntity( "x" + i );
+			em.persist( entity );
+			ids.add( entity.getId() );
+		}
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+		for ( Integer id : ids ) {
+			em.find( StrTestEntity.class, id ).setStr( "y" + id );
+		}
+		em.getTransaction().commit();
+
+		// Revision 3
+		em.getTransaction().begin();
+		em.find( StrTestEntity.class, ids.get( 0 ) ).setStr( "z" );
+		em.remove( em.find( StrTestEntity.class, ids.get( 1 ) ) );
+		em.getTransaction().commit();
+
+		em.close();
+	}
+
+	@Test
+	public void testRevisionsCounts() {
+		assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( StrTestEntity.class, ids.get( 0 ) ) );
+		assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( StrTestEntity.class, ids.get( 1 ) ) );
+		for ( Integer id : ids.subList( 2, ENTITY_COUNT ) ) {
+			assertEquals( Arrays.asList( 1, 2 ), getAuditReader().getRevisions( StrTestEntity.class, id ) );
+		}
+	}
+
+	@Test
+	public void testSingleOpenRevisionPerEntity() {
+		for ( Integer id : ids ) {
+			assertEquals( 1L, countOpenRevisions( id ) );
+		}
+	}
+
+	@Test
+	public void testHistoryOfModifiedEntities() {
+		assertEquals( "x" + 0, getAuditReader().find( StrTestEntity.class, ids.get( 0 ), 1 ).getStr() );
+		assertEquals( "y" + ids.get( 0 ), getAuditReader().find( StrTestEntity.class, ids.get( 0 ), 2 ).getStr() );
+		assertEquals( "z", getAuditReader().find( StrTestEntity.class, ids.get( 0 ), 3 ).getStr() );
+		assertEquals( "y" + ids.get( 6 ), getAuditReader().find( StrTestEntity.class, ids.get( 6 ), 3 ).getStr() );
+	}
+
+	private long countOpenRevisions(Integer id) {
+		return (Long) getEntityManager().createQuery(
+				"select count(e) from " + StrTestEntity.class.getName() + "_AUD e " +
+						"where e.originalId.id = :id and e.REVEND is null"
+		).setParameter( "id", id ).getSingleResult();
+	}
+}
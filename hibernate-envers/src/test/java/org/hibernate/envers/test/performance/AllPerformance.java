@@ -8,5 +8,6 @@ public class AllPerformance {
 		new ComplexInsertPerformance().test( 10 );
 		new UpdatesPerformance().test( 10 );
 		new InsertsOneTransactionPerformance().test( 10 );
+		new UpdatesOneTransactionPerformance().test( 10 );
 	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.performance;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.envers.test.entities.StrTestEntity;
+
+import org.junit.Ignore;
+
+/**
+ * Modifies many entities several times within one transaction, flushing in between, so that the audit work units
+ * of each entity are merged before the commit.
+ */
+@Ignore
+public class UpdatesOneTransactionPerformance extends AbstractPerformanceTest {
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] {StrTestEntity.class};
+	}
+
+	private final static int NUMBER_ENTITIES = 20000;
+	private final static int NUMBER_FLUSHES = 3;
+
+	private List<Integer> setup() {
+		List<Integer> ids = new ArrayList<Integer>();
+		EntityManager entityManager = getEntityManager();
+		entityManager.getTransaction().begin();
+		for ( int i = 0; i < NUMBER_ENTITIES; i++ ) {
+			StrTestEntity testEntity = new StrTestEntity( "x" + i );
+			entityManager.persist( testEntity );
+			ids.add( testEntity.getId() );
+		}
+		entityManager.getTransaction().commit();
+		entityManager.clear();
+		return ids;
+	}
+
+	protected void doTest() {
+		List<Integer> ids = setup();
+
+		EntityManager entityManager = getEntityManager();
+		entityManager.getTransaction().begin();
+		List<StrTestEntity> entities = new ArrayList<StrTestEntity>();
+		for ( Integer id : ids ) {
+			entities.add( entityManager.find( StrTestEntity.class, id ) );
+		}
+
+		start();
+		for ( int flush = 0; flush < NUMBER_FLUSHES; flush++ ) {
+			for ( StrTestEntity testEntity : entities ) {
+				testEntity.setStr( "y" + flush + testEntity.getId() );
+			}
+			entityManager.flush();
+		}
+		entityManager.getTransaction().commit();
+		stop();
+	}
+
+	public static void main(String[] args) throws IOException {
+		UpdatesOneTransactionPerformance updatesOneTransactionPerformance = new UpdatesOneTransactionPerformance();
+		updatesOneTransactionPerformance.test( 3 );
+	}
+}
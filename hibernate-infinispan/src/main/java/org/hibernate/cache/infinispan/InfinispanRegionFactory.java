@@ -108,6 +108,15 @@ public class InfinispanRegionFactory implements RegionFactory {
 	 */
 	public static final String INFINISPAN_USE_SYNCHRONIZATION_PROP = "hibernate.cache.infinispan.use_synchronization";
 
+	/**
+	 * Period, in milliseconds, over which a clustered timestamps region gathers update timestamps before sending
+	 * them to the rest of the cluster in a single command. This bounds how stale query results served by other
+	 * nodes can be. If the property is not set or is 0, update timestamps are replicated as they happen.
+	 *
+	 * @see #DEF_TIMESTAMPS_COALESCE_PERIOD
+	 */
+	public static final String INFINISPAN_TIMESTAMPS_COALESCE_PERIOD_PROP = "hibernate.cache.infinispan.timestamps_coalesce_period";
+
 	private static final String NATURAL_ID_KEY = "naturalid";
 
 	/**
@@ -184,6 +193,11 @@ public class InfinispanRegionFactory implements RegionFactory {
 	 */
 	public static final boolean DEF_USE_SYNCHRONIZATION = true;
 
+	/**
+	 * Default value for {@link #INFINISPAN_TIMESTAMPS_COALESCE_PERIOD_PROP}.
+	 */
+	public static final int DEF_TIMESTAMPS_COALESCE_PERIOD = 0;
+
 	/**
 	 * Name of the pending puts cache.
 	 */
@@ -199,6 +213,8 @@ public class InfinispanRegionFactory implements RegionFactory {
 
 	private List<String> regionNames = new ArrayList<String>();
 
+	private long timestampsCoalescePeriod;
+
 	/**
 	 * Create a new instance using the default configuration.
 	 */
@@ -285,7 +301,7 @@ public class InfinispanRegionFactory implements RegionFactory {
 	protected TimestampsRegionImpl createTimestampsRegion(
 			AdvancedCache cache, String regionName) {
 		if ( Caches.isClustered( cache ) ) {
-			return new ClusteredTimestampsRegionImpl( cache, regionName, this );
+			return new ClusteredTimestampsRegionImpl( cache, regionName, this, timestampsCoalescePeriod );
 		}
 		else {
 			return new TimestampsRegionImpl( cache, regionName, this );
@@ -332,6 +348,9 @@ public class InfinispanRegionFactory implements RegionFactory {
 			}
 			defineGenericDataTypeCacheConfigurations( properties );
 			definePendingPutsCache();
+			timestampsCoalescePeriod = ConfigurationHelper.getLong(
+					INFINISPAN_TIMESTAMPS_COALESCE_PERIOD_PROP, properties, DEF_TIMESTAMPS_COALESCE_PERIOD
+			);
 		}
 		catch (CacheException ce) {
 			throw ce;
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.infinispan.access;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Defines the strategy for nonstrict read/write access to entity, collection or natural id
+ * data in a non-transactional Infinispan cache; regions refuse to build it on a transactional cache.
+ * <p/>
+ * Cached items are never written by a modifying transaction; they are invalidated when the
+ * change is made and again once the transaction completes, and are then lazily reloaded from
+ * the database. Only the short window between the database commit and the second invalidation
+ * may expose stale data to other sessions.
+ */
+public class NonStrictAccessDelegate extends TransactionalAccessDelegate {
+
+   /**
+    * Create a new nonstrict read/write access delegate instance.
+    *
+    * @param region to control access to
+    * @param validator put from load validator
+    */
+	public NonStrictAccessDelegate(BaseRegion region, PutFromLoadValidator validator) {
+		super( region, validator );
+	}
+
+	@Override
+	public boolean insert(Object key, Object value, Object version) throws CacheException {
+		return false;
+	}
+
+	@Override
+	public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException {
+		remove( key );
+		return false;
+	}
+
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		remove( key );
+	}
+
+	@Override
+	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+		unlockItem( key, lock );
+		return false;
+	}
+
+	@Override
+	public void unlockRegion(SoftLock lock) throws CacheException {
+		removeAll();
+	}
+
+}
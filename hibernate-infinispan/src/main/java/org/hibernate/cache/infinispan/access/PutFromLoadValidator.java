@@ -23,15 +23,15 @@
  */
 package org.hibernate.cache.infinispan.access;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import javax.transaction.SystemException;
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
@@ -79,6 +79,12 @@ import org.infinispan.manager.EmbeddedCacheManager;
  * {@link #acquirePutFromLoadLock(Object)} without a preceding {@link #registerPendingPut(Object)}
  * call.
  * </p>
+ * <p>
+ * No global lock is involved: each registered put is a record whose state is moved between
+ * registered, in progress, invalidated and completed with atomic compare-and-set operations, and
+ * region invalidations bump an epoch counter that puts registered earlier no longer match. Only
+ * invalidations ever wait, and only for puts that are already writing to the cache.
+ * </p>
  *
  * @author Brian Stansberry
  * @version $Revision: $
@@ -92,6 +98,11 @@ public class PutFromLoadValidator {
 	 */
 	public static final long NAKED_PUT_INVALIDATION_PERIOD = TimeUnit.SECONDS.toMillis( 20 );
 
+	/**
+	 * How long an invalidation waits for an in-progress put to complete before giving up
+	 */
+	private static final long INVALIDATION_TIMEOUT = TimeUnit.SECONDS.toNanos( 60 );
+
 	/**
 	 * Used to determine whether the owner of a pending put is a thread or a transaction
 	 */
@@ -107,18 +118,15 @@ public class PutFromLoadValidator {
 
 	private final ConcurrentMap<Object, Long> recentRemovals = new ConcurrentHashMap<Object, Long>();
 	/**
-	 * List of recent removals. Used to ensure we don't leak memory via the recentRemovals map
+	 * Recent removals, oldest first. Used to ensure we don't leak memory via the recentRemovals map
 	 */
-	private final List<RecentRemoval> removalsQueue = new LinkedList<RecentRemoval>();
-	/**
-	 * The time when the first element in removalsQueue will expire. No reason to do housekeeping on
-	 * the queue before this time.
-	 */
-	private volatile long earliestRemovalTimestamp;
+	private final Queue<RecentRemoval> removalsQueue = new ConcurrentLinkedQueue<RecentRemoval>();
+
 	/**
-	 * Lock controlling access to removalsQueue
+	 * Incremented by every region invalidation. A pending put registered under an older epoch
+	 * is no longer valid.
 	 */
-	private final Lock removalsLock = new ReentrantLock();
+	private final AtomicLong regionEpoch = new AtomicLong();
 
 	/**
 	 * The time of the last call to regionRemoved(), plus NAKED_PUT_INVALIDATION_PERIOD. All naked
@@ -188,67 +196,39 @@ public class PutFromLoadValidator {
 	 *         can proceed; <code>false</code> if the data should not be cached
 	 */
 	public boolean acquirePutFromLoadLock(Object key) {
-		boolean valid = false;
-		boolean locked = false;
-		final long now = System.currentTimeMillis();
-
-		try {
-			final PendingPutMap pending = pendingPuts.get( key );
-			if ( pending != null ) {
-				locked = pending.acquireLock( 100, TimeUnit.MILLISECONDS );
-				if ( locked ) {
-					try {
-						final PendingPut toCancel = pending.remove( getOwnerForPut() );
-						if ( toCancel != null ) {
-							valid = !toCancel.completed;
-							toCancel.completed = true;
-						}
-					}
-					finally {
-						if ( !valid ) {
-							pending.releaseLock();
-							locked = false;
-						}
-					}
-				}
+		final Object owner = getOwnerForPut();
+		final PendingPutMap pending = pendingPuts.get( key );
+		final PendingPut pendingPut = pending == null ? null : pending.get( owner );
+		if ( pendingPut != null ) {
+			if ( !pendingPut.begin() ) {
+				// Invalidated, and already removed by the invalidation
+				return false;
 			}
-			else {
-				// Key wasn't in pendingPuts, so either this is a "naked put"
-				// or regionRemoved has been called. Check if we can proceed
-				if ( now > invalidationTimestamp ) {
-					final Long removedTime = recentRemovals.get( key );
-					if ( removedTime == null || now > removedTime ) {
-						// It's legal to proceed. But we have to record this key
-						// in pendingPuts so releasePutFromLoadLock can find it.
-						// To do this we basically simulate a normal "register
-						// then acquire lock" pattern
-						registerPendingPut( key );
-						locked = acquirePutFromLoadLock( key );
-						valid = locked;
-					}
-				}
+			// The epoch must be read after the state change: either a concurrent region
+			// invalidation sees this put in progress and waits for it, or we see its epoch
+			if ( pendingPut.epoch != regionEpoch.get() ) {
+				pendingPut.complete();
+				pending.remove( owner, pendingPut );
+				return false;
 			}
+			return true;
 		}
-		catch (Throwable t) {
-			if ( locked ) {
-				final PendingPutMap toRelease = pendingPuts.get( key );
-				if ( toRelease != null ) {
-					toRelease.releaseLock();
-				}
-			}
 
-			if ( t instanceof RuntimeException ) {
-				throw (RuntimeException) t;
-			}
-			else if ( t instanceof Error ) {
-				throw (Error) t;
-			}
-			else {
-				throw new RuntimeException( t );
+		// Key wasn't in pendingPuts, so either this is a "naked put"
+		// or regionRemoved has been called. Check if we can proceed
+		final long now = System.currentTimeMillis();
+		if ( now > invalidationTimestamp ) {
+			final Long removedTime = recentRemovals.get( key );
+			if ( removedTime == null || now > removedTime ) {
+				// It's legal to proceed. But we have to record this key
+				// in pendingPuts so releasePutFromLoadLock can find it.
+				// To do this we basically simulate a normal "register
+				// then acquire lock" pattern
+				registerPendingPut( key );
+				return acquirePutFromLoadLock( key );
 			}
 		}
-
-		return valid;
+		return false;
 	}
 
 	/**
@@ -260,10 +240,17 @@ public class PutFromLoadValidator {
 	public void releasePutFromLoadLock(Object key) {
 		final PendingPutMap pending = pendingPuts.get( key );
 		if ( pending != null ) {
-			if ( pending.size() == 0 ) {
+			final Object owner = getOwnerForPut();
+			final PendingPut pendingPut = pending.get( owner );
+			if ( pendingPut != null ) {
+				pendingPut.complete();
+				pending.remove( owner, pendingPut );
+			}
+			if ( pending.isEmpty() ) {
+				// A put registered concurrently may be left out of pendingPuts; its
+				// acquisition is then treated as a naked put, which is always safe
 				pendingPuts.remove( key, pending );
 			}
-			pending.releaseLock();
 		}
 	}
 
@@ -285,54 +272,22 @@ public class PutFromLoadValidator {
 		// Invalidate any pending puts
 		final PendingPutMap pending = pendingPuts.get( key );
 		if ( pending != null ) {
-			// This lock should be available very quickly, but we'll be
-			// very patient waiting for it as callers should treat not
-			// acquiring it as an exception condition
-			if ( pending.acquireLock( 60, TimeUnit.SECONDS ) ) {
-				try {
-					pending.invalidate();
-				}
-				finally {
-					pending.releaseLock();
-				}
-			}
-			else {
-				success = false;
-			}
+			success = pending.invalidate( System.nanoTime() + INVALIDATION_TIMEOUT );
 		}
 
 		// Record when this occurred to invalidate later naked puts
 		final RecentRemoval removal = new RecentRemoval( key, this.nakedPutInvalidationPeriod );
 		recentRemovals.put( key, removal.timestamp );
+		removalsQueue.add( removal );
 
 		// Don't let recentRemovals map become a memory leak
-		RecentRemoval toClean = null;
-		final boolean attemptClean = removal.timestamp > earliestRemovalTimestamp;
-		removalsLock.lock();
-		try {
-			removalsQueue.add( removal );
-
-			if ( attemptClean ) {
-				if ( removalsQueue.size() > 1 ) {
-					// we have at least one as we just added it
-					toClean = removalsQueue.remove( 0 );
-				}
-				earliestRemovalTimestamp = removalsQueue.get( 0 ).timestamp;
-			}
-		}
-		finally {
-			removalsLock.unlock();
-		}
-
-		if ( toClean != null ) {
-			Long cleaned = recentRemovals.get( toClean.key );
-			if ( cleaned != null && cleaned.equals( toClean.timestamp ) ) {
-				cleaned = recentRemovals.remove( toClean.key );
-				if ( cleaned != null && !cleaned.equals( toClean.timestamp ) ) {
-					// Oops; removed the wrong timestamp; restore it
-					recentRemovals.putIfAbsent( toClean.key, cleaned );
-				}
+		final long now = System.currentTimeMillis();
+		RecentRemoval toClean = removalsQueue.peek();
+		while ( toClean != null && toClean.timestamp < now ) {
+			if ( removalsQueue.remove( toClean ) ) {
+				recentRemovals.remove( toClean.key, toClean.timestamp );
 			}
+			toClean = removalsQueue.peek();
 		}
 
 		return success;
@@ -349,46 +304,26 @@ public class PutFromLoadValidator {
 	 *         caller should treat as an exception condition)
 	 */
 	public boolean invalidateRegion() {
-
-		boolean ok = false;
 		invalidationTimestamp = System.currentTimeMillis() + this.nakedPutInvalidationPeriod;
+		regionEpoch.incrementAndGet();
 
+		boolean ok = true;
 		try {
-
-			// Acquire the lock for each entry to ensure any ongoing
-			// work associated with it is completed before we return
+			// Pending puts registered before the epoch change can no longer be
+			// acquired; wait for those already in progress to complete
+			final long deadline = System.nanoTime() + INVALIDATION_TIMEOUT;
 			for ( PendingPutMap entry : pendingPuts.values() ) {
-				if ( entry.acquireLock( 60, TimeUnit.SECONDS ) ) {
-					try {
-						entry.invalidate();
-					}
-					finally {
-						entry.releaseLock();
-					}
-				}
-				else {
+				if ( !entry.awaitInProgress( deadline ) ) {
 					ok = false;
 				}
 			}
 
-			removalsLock.lock();
-			try {
-				recentRemovals.clear();
-				removalsQueue.clear();
-
-				ok = true;
-
-			}
-			finally {
-				removalsLock.unlock();
-			}
+			recentRemovals.clear();
+			removalsQueue.clear();
 		}
 		catch (Exception e) {
 			ok = false;
 		}
-		finally {
-			earliestRemovalTimestamp = invalidationTimestamp;
-		}
 
 		return ok;
 	}
@@ -405,34 +340,26 @@ public class PutFromLoadValidator {
 	 * @param key key that will be used for subsequent cache put
 	 */
 	public void registerPendingPut(Object key) {
-		final PendingPut pendingPut = new PendingPut( getOwnerForPut() );
-		final PendingPutMap pendingForKey = new PendingPutMap( pendingPut );
+		final Object owner = getOwnerForPut();
+		final PendingPut pendingPut = new PendingPut( regionEpoch.get() );
 
 		for (; ; ) {
-			final PendingPutMap existing = pendingPuts.putIfAbsent( key, pendingForKey );
-			if ( existing != null ) {
-				if ( existing.acquireLock( 10, TimeUnit.SECONDS ) ) {
-
-					try {
-						existing.put( pendingPut );
-						final PendingPutMap doublecheck = pendingPuts.putIfAbsent( key, existing );
-						if ( doublecheck == null || doublecheck == existing ) {
-							break;
-						}
-						// else we hit a race and need to loop to try again
-					}
-					finally {
-						existing.releaseLock();
-					}
-				}
-				else {
-					// Can't get the lock; when we come back we'll be a "naked put"
+			final PendingPutMap existing = pendingPuts.get( key );
+			if ( existing == null ) {
+				final PendingPutMap pendingForKey = new PendingPutMap();
+				pendingForKey.put( owner, pendingPut );
+				if ( pendingPuts.putIfAbsent( key, pendingForKey ) == null ) {
+					// normal case
 					break;
 				}
 			}
 			else {
-				// normal case
-				break;
+				existing.put( owner, pendingPut );
+				if ( pendingPuts.get( key ) == existing ) {
+					break;
+				}
+				// else the map was released concurrently; loop to try again
+				existing.remove( owner, pendingPut );
 			}
 		}
 	}
@@ -443,13 +370,7 @@ public class PutFromLoadValidator {
 	 * Only for use by unit tests; may be removed at any time
 	 */
 	protected int getRemovalQueueLength() {
-		removalsLock.lock();
-		try {
-			return removalsQueue.size();
-		}
-		finally {
-			removalsLock.unlock();
-		}
+		return removalsQueue.size();
 	}
 
 	// ---------------------------------------------------------------- Private
@@ -469,95 +390,100 @@ public class PutFromLoadValidator {
 	}
 
 	/**
-	 * Lazy-initialization map for PendingPut. Optimized for the expected usual case where only a
-	 * single put is pending for a given key.
+	 * Pending puts for a single key, indexed by owner.
 	 * <p/>
-	 * This class is NOT THREAD SAFE. All operations on it must be performed with the lock held.
+	 * This class is thread safe; the state of each pending put is only ever changed atomically.
 	 */
 	private static class PendingPutMap {
-		private PendingPut singlePendingPut;
-		private Map<Object, PendingPut> fullMap;
-		private final Lock lock = new ReentrantLock();
+		private final ConcurrentMap<Object, PendingPut> puts = new ConcurrentHashMap<Object, PendingPut>( 2, 0.75f, 1 );
+
+		public PendingPut get(Object ownerForPut) {
+			return puts.get( ownerForPut );
+		}
+
+		public void put(Object ownerForPut, PendingPut pendingPut) {
+			puts.put( ownerForPut, pendingPut );
+		}
+
+		public void remove(Object ownerForPut, PendingPut pendingPut) {
+			puts.remove( ownerForPut, pendingPut );
+		}
 
-		PendingPutMap(PendingPut singleItem) {
-			this.singlePendingPut = singleItem;
+		public boolean isEmpty() {
+			return puts.isEmpty();
 		}
 
-		public void put(PendingPut pendingPut) {
-			if ( singlePendingPut == null ) {
-				if ( fullMap == null ) {
-					// initial put
-					singlePendingPut = pendingPut;
+		/**
+		 * Invalidates every registered put and waits for those in progress to complete.
+		 */
+		public boolean invalidate(long deadline) {
+			boolean success = true;
+			for ( Map.Entry<Object, PendingPut> entry : puts.entrySet() ) {
+				final PendingPut pendingPut = entry.getValue();
+				if ( pendingPut.invalidate( deadline ) ) {
+					// Remove to avoid leaking completed pending puts
+					puts.remove( entry.getKey(), pendingPut );
 				}
 				else {
-					fullMap.put( pendingPut.owner, pendingPut );
+					success = false;
 				}
 			}
-			else {
-				// 2nd put; need a map
-				fullMap = new HashMap<Object, PendingPut>( 4 );
-				fullMap.put( singlePendingPut.owner, singlePendingPut );
-				singlePendingPut = null;
-				fullMap.put( pendingPut.owner, pendingPut );
-			}
+			return success;
 		}
 
-		public PendingPut remove(Object ownerForPut) {
-			PendingPut removed = null;
-			if ( fullMap == null ) {
-				if ( singlePendingPut != null
-						&& singlePendingPut.owner.equals( ownerForPut ) ) {
-					removed = singlePendingPut;
-					singlePendingPut = null;
+		/**
+		 * Waits for every put in progress to complete.
+		 */
+		public boolean awaitInProgress(long deadline) {
+			boolean success = true;
+			for ( PendingPut pendingPut : puts.values() ) {
+				if ( !pendingPut.awaitCompletion( deadline ) ) {
+					success = false;
 				}
 			}
-			else {
-				removed = fullMap.remove( ownerForPut );
-			}
-			return removed;
+			return success;
 		}
+	}
 
-		public int size() {
-			return fullMap == null ? (singlePendingPut == null ? 0 : 1)
-					: fullMap.size();
-		}
+	private static class PendingPut {
+		private static final int REGISTERED = 0;
+		private static final int IN_PROGRESS = 1;
+		private static final int INVALIDATED = 2;
+		private static final int COMPLETED = 3;
 
-		public boolean acquireLock(long time, TimeUnit unit) {
-			try {
-				return lock.tryLock( time, unit );
-			}
-			catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				return false;
-			}
+		private final long epoch;
+		private final AtomicInteger state = new AtomicInteger( REGISTERED );
+
+		private PendingPut(long epoch) {
+			this.epoch = epoch;
 		}
 
-		public void releaseLock() {
-			lock.unlock();
+		/**
+		 * Moves a registered put to in progress; fails if it has been invalidated or used already.
+		 */
+		private boolean begin() {
+			return state.compareAndSet( REGISTERED, IN_PROGRESS );
 		}
 
-		public void invalidate() {
-			if ( singlePendingPut != null ) {
-				singlePendingPut.completed = true;
-				// Nullify to avoid leaking completed pending puts
-				singlePendingPut = null;
-			}
-			else if ( fullMap != null ) {
-				for ( PendingPut pp : fullMap.values() ) {
-					pp.completed = true;
-				}
-				// Nullify to avoid leaking completed pending puts
-				fullMap = null;
-			}
+		private void complete() {
+			state.set( COMPLETED );
 		}
-	}
 
-	private static class PendingPut {
-		private final Object owner;
-		private volatile boolean completed;
+		/**
+		 * Prevents a registered put from starting, or waits for one in progress to complete.
+		 */
+		private boolean invalidate(long deadline) {
+			return state.compareAndSet( REGISTERED, INVALIDATED ) || awaitCompletion( deadline );
+		}
 
-		private PendingPut(Object owner) {
-			this.owner = owner;
+		private boolean awaitCompletion(long deadline) {
+			while ( state.get() == IN_PROGRESS ) {
+				if ( System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted() ) {
+					return false;
+				}
+				LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 100 ) );
+			}
+			return true;
 		}
 	}
 
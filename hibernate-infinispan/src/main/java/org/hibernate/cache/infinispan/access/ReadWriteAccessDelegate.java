@@ -0,0 +1,181 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.infinispan.access;
+
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Defines the strategy for read/write access to entity, collection or natural id data in a
+ * non-transactional Infinispan cache; regions refuse to build it on a transactional cache.
+ * <p/>
+ * Rather than relying on a transaction to isolate changes, an item about to be modified is
+ * replaced by a soft lock marker. While the marker is present the item reads as a cache miss
+ * and loads are not cached. Once the transaction completes the marker is atomically swapped
+ * for the new value, or removed if the transaction did not provide one; these conditional
+ * operations only ever compare markers, never cached values. If several transactions lock the
+ * same item concurrently, none of them is allowed to cache its value and the item stays
+ * uncached until the marker expires.
+ * <p/>
+ * When the underlying cache is in invalidation mode, the conditional writes invalidate the
+ * item on the other nodes, which therefore see nonstrict read/write semantics.
+ */
+public class ReadWriteAccessDelegate extends TransactionalAccessDelegate {
+
+	/**
+	 * How long a soft lock marker survives if the locking transaction never completes,
+	 * matching {@link BaseRegion#getTimeout()}.
+	 */
+	private static final long LOCK_LIFESPAN = TimeUnit.SECONDS.toMillis( 60 );
+
+   /**
+    * Create a new read/write access delegate instance.
+    *
+    * @param region to control access to
+    * @param validator put from load validator
+    */
+	public ReadWriteAccessDelegate(BaseRegion region, PutFromLoadValidator validator) {
+		super( region, validator );
+	}
+
+	@Override
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		final Object val = super.get( key, txTimestamp );
+		return val instanceof Lock ? null : val;
+	}
+
+	@Override
+	public boolean insert(Object key, Object value, Object version) throws CacheException {
+		return false;
+	}
+
+	@Override
+	public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException {
+		return false;
+	}
+
+	/**
+	 * A no-op, the soft lock obtained before the change keeps the item out of the cache
+	 * until the transaction completes.
+	 */
+	@Override
+	public void remove(Object key) throws CacheException {
+	}
+
+	/**
+	 * A no-op, the region is cleared once the bulk operation completes.
+	 */
+	@Override
+	public void removeAll() throws CacheException {
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public SoftLock lockItem(Object key) throws CacheException {
+		if ( !putValidator.invalidateKey( key ) ) {
+			throw new CacheException(
+					"Failed to invalidate pending putFromLoad calls for key " + key + " from region " + region.getName()
+			);
+		}
+
+		// The marker is put unconditionally: a conditional replace of the cached value would
+		// depend on its equals(), which cache entries do not implement, so it can never succeed
+		// once the value has been deserialized (e.g. on another node or with store-as-binary).
+		// Only the markers themselves need value equality.
+		final Lock lock = new Lock();
+		final Object previous = cache.put( key, lock, LOCK_LIFESPAN, TimeUnit.MILLISECONDS );
+		if ( previous instanceof Lock ) {
+			// Concurrently locked: replace our marker with one nobody owns so that neither
+			// transaction can publish its value, and let it expire. Should a third locker have
+			// overwritten our marker already, it has done the same.
+			cache.replace( key, lock, new Lock(), LOCK_LIFESPAN, TimeUnit.MILLISECONDS );
+		}
+		return lock;
+	}
+
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		if ( lock != null ) {
+			cache.remove( key, lock );
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean afterInsert(Object key, Object value) throws CacheException {
+		if ( !region.checkValid() ) {
+			return false;
+		}
+		return cache.putIfAbsent( key, value ) == null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+		if ( lock == null ) {
+			return false;
+		}
+		if ( !region.checkValid() ) {
+			unlockItem( key, lock );
+			return false;
+		}
+		return cache.replace( key, lock, value );
+	}
+
+	@Override
+	public void unlockRegion(SoftLock lock) throws CacheException {
+		super.removeAll();
+	}
+
+	/**
+	 * Soft lock marker stored in place of an item while it is being modified.
+	 */
+	private static final class Lock implements SoftLock, Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final UUID id = UUID.randomUUID();
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o || ( o instanceof Lock && id.equals( ( (Lock) o ).id ) );
+		}
+
+		@Override
+		public int hashCode() {
+			return id.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "Lock[" + id + "]";
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ package org.hibernate.cache.infinispan.access;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.impl.BaseRegion;
 import org.hibernate.cache.infinispan.util.Caches;
+import org.hibernate.cache.spi.access.SoftLock;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.util.logging.Log;
@@ -37,6 +38,8 @@ import org.infinispan.util.logging.LogFactory;
  * The intent of this class is to encapsulate common code and serve as a delegate for
  * {@link org.hibernate.cache.spi.access.EntityRegionAccessStrategy}
  * and {@link org.hibernate.cache.spi.access.CollectionRegionAccessStrategy} implementations.
+ * Subclasses provide the asynchronous (non-transactional) variants by overriding the
+ * before/after completion callbacks, which are no-ops for transactional access.
  *
  * @author Brian Stansberry
  * @author Galder Zamarreño
@@ -45,10 +48,10 @@ import org.infinispan.util.logging.LogFactory;
 public class TransactionalAccessDelegate {
 	private static final Log log = LogFactory.getLog( TransactionalAccessDelegate.class );
 	private static final boolean TRACE_ENABLED = log.isTraceEnabled();
-	private final AdvancedCache cache;
-	private final BaseRegion region;
-	private final PutFromLoadValidator putValidator;
-	private final AdvancedCache<Object, Object> writeCache;
+	protected final AdvancedCache cache;
+	protected final BaseRegion region;
+	protected final PutFromLoadValidator putValidator;
+	protected final AdvancedCache<Object, Object> writeCache;
 
    /**
     * Create a new transactional access delegate instance.
@@ -255,4 +258,75 @@ public class TransactionalAccessDelegate {
 		Caches.broadcastEvictAll( cache );
 	}
 
+   /**
+    * Called before an item is updated or removed. Transactional access relies on the
+    * transaction to isolate the change, so no lock is needed.
+    *
+    * @param key The item key
+    * @return A representation of the lock, or <tt>null</tt>
+    * @throws CacheException if locking the item fails
+    */
+	public SoftLock lockItem(Object key) throws CacheException {
+		return null;
+	}
+
+   /**
+    * Called when the transaction that locked an item completed without updating the
+    * cache through {@link #afterUpdate(Object, Object, SoftLock)}.
+    *
+    * @param key The item key
+    * @param lock The lock previously obtained from {@link #lockItem(Object)}
+    * @throws CacheException if unlocking the item fails
+    */
+	@SuppressWarnings("UnusedParameters")
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+	}
+
+   /**
+    * Called after an item has been inserted, once the transaction has completed.
+    *
+    * @param key The item key
+    * @param value The item
+    * @return Were the contents of the cache actual changed by this operation?
+    * @throws CacheException if the insert fails
+    */
+	@SuppressWarnings("UnusedParameters")
+	public boolean afterInsert(Object key, Object value) throws CacheException {
+		return false;
+	}
+
+   /**
+    * Called after an item has been updated, once the transaction has completed.
+    *
+    * @param key The item key
+    * @param value The item
+    * @param lock The lock previously obtained from {@link #lockItem(Object)}
+    * @return Were the contents of the cache actual changed by this operation?
+    * @throws CacheException if the update fails
+    */
+	@SuppressWarnings("UnusedParameters")
+	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+		return false;
+	}
+
+   /**
+    * Called before a bulk operation affecting the entire region.
+    *
+    * @return A representation of the lock, or <tt>null</tt>
+    * @throws CacheException if locking the region fails
+    */
+	public SoftLock lockRegion() throws CacheException {
+		return null;
+	}
+
+   /**
+    * Called after a bulk operation affecting the entire region has completed.
+    *
+    * @param lock The lock previously obtained from {@link #lockRegion()}
+    * @throws CacheException if unlocking the region fails
+    */
+	@SuppressWarnings("UnusedParameters")
+	public void unlockRegion(SoftLock lock) throws CacheException {
+	}
+
 }
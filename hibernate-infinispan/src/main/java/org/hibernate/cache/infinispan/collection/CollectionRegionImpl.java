@@ -63,6 +63,14 @@ public class CollectionRegionImpl extends BaseTransactionalDataRegion implements
 				|| AccessType.TRANSACTIONAL.equals( accessType ) ) {
 			return new TransactionalAccess( this );
 		}
+		else if ( AccessType.READ_WRITE.equals( accessType ) ) {
+			checkNonTransactionalCache( accessType );
+			return new ReadWriteAccess( this );
+		}
+		else if ( AccessType.NONSTRICT_READ_WRITE.equals( accessType ) ) {
+			checkNonTransactionalCache( accessType );
+			return new NonStrictReadWriteAccess( this );
+		}
 
 		throw new CacheException( "Unsupported access type [" + accessType.getExternalName() + "]" );
 	}
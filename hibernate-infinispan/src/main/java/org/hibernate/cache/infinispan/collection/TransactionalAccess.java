@@ -43,8 +43,12 @@ class TransactionalAccess implements CollectionRegionAccessStrategy {
 	private final TransactionalAccessDelegate delegate;
 
 	TransactionalAccess(CollectionRegionImpl region) {
+		this( region, new TransactionalAccessDelegate( region, region.getPutFromLoadValidator() ) );
+	}
+
+	TransactionalAccess(CollectionRegionImpl region, TransactionalAccessDelegate delegate) {
 		this.region = region;
-		this.delegate = new TransactionalAccessDelegate( region, region.getPutFromLoadValidator() );
+		this.delegate = delegate;
 	}
 
 	public void evict(Object key) throws CacheException {
@@ -81,17 +85,19 @@ class TransactionalAccess implements CollectionRegionAccessStrategy {
 	}
 
 	public SoftLock lockItem(Object key, Object version) throws CacheException {
-		return null;
+		return delegate.lockItem( key );
 	}
 
 	public SoftLock lockRegion() throws CacheException {
-		return null;
+		return delegate.lockRegion();
 	}
 
 	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		delegate.unlockItem( key, lock );
 	}
 
 	public void unlockRegion(SoftLock lock) throws CacheException {
+		delegate.unlockRegion( lock );
 	}
 
 }
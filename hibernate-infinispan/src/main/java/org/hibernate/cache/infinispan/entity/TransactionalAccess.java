@@ -43,8 +43,12 @@ class TransactionalAccess implements EntityRegionAccessStrategy {
 	private final TransactionalAccessDelegate delegate;
 
 	TransactionalAccess(EntityRegionImpl region) {
+		this( region, new TransactionalAccessDelegate( region, region.getPutFromLoadValidator() ) );
+	}
+
+	TransactionalAccess(EntityRegionImpl region, TransactionalAccessDelegate delegate) {
 		this.region = region;
-		this.delegate = new TransactionalAccessDelegate( region, region.getPutFromLoadValidator() );
+		this.delegate = delegate;
 	}
 
 	public void evict(Object key) throws CacheException {
@@ -90,25 +94,27 @@ class TransactionalAccess implements EntityRegionAccessStrategy {
 	}
 
 	public SoftLock lockItem(Object key, Object version) throws CacheException {
-		return null;
+		return delegate.lockItem( key );
 	}
 
 	public SoftLock lockRegion() throws CacheException {
-		return null;
+		return delegate.lockRegion();
 	}
 
 	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		delegate.unlockItem( key, lock );
 	}
 
 	public void unlockRegion(SoftLock lock) throws CacheException {
+		delegate.unlockRegion( lock );
 	}
 
 	public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
-		return false;
+		return delegate.afterInsert( key, value );
 	}
 
 	public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
 			throws CacheException {
-		return false;
+		return delegate.afterUpdate( key, value, lock );
 	}
 }
@@ -23,9 +23,12 @@
  */
 package org.hibernate.cache.infinispan.impl;
 
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.util.Caches;
 import org.hibernate.cache.spi.CacheDataDescription;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cache.spi.access.AccessType;
 
 import org.infinispan.AdvancedCache;
 
@@ -61,4 +64,21 @@ public abstract class BaseTransactionalDataRegion
 		return metadata;
 	}
 
+	/**
+	 * Read-write and nonstrict read-write access lock and update cache entries themselves around the
+	 * database transaction, which a transactional cache would instead enlist in the JTA transaction.
+	 *
+	 * @param accessType the access type requested for this region
+	 * @throws CacheException if the access type needs a non-transactional cache and the cache is transactional
+	 */
+	protected void checkNonTransactionalCache(AccessType accessType) throws CacheException {
+		if ( Caches.isTransactionalCache( cache ) ) {
+			throw new CacheException(
+					"Access type [" + accessType.getExternalName() + "] of region [" + getName()
+							+ "] requires a non-transactional cache, but cache [" + cache.getName()
+							+ "] is transactional"
+			);
+		}
+	}
+
 }
@@ -64,6 +64,12 @@ public class NaturalIdRegionImpl extends BaseTransactionalDataRegion
 				return new ReadOnlyAccess( this );
 			case TRANSACTIONAL:
 				return new TransactionalAccess( this );
+			case READ_WRITE:
+				checkNonTransactionalCache( accessType );
+				return new ReadWriteAccess( this );
+			case NONSTRICT_READ_WRITE:
+				checkNonTransactionalCache( accessType );
+				return new NonStrictReadWriteAccess( this );
 			default:
 				throw new CacheException( "Unsupported access type [" + accessType.getExternalName() + "]" );
 		}
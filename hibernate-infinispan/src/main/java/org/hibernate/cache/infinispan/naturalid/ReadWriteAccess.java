@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.infinispan.naturalid;
+
+import org.hibernate.cache.infinispan.access.ReadWriteAccessDelegate;
+
+/**
+ * Read/write natural id region access for non-transactional Infinispan caches,
+ * keeping modified items out of the cache with soft lock markers until the
+ * modifying transaction completes.
+ *
+ * @see ReadWriteAccessDelegate
+ */
+class ReadWriteAccess extends TransactionalAccess {
+
+	ReadWriteAccess(NaturalIdRegionImpl region) {
+		super( region, new ReadWriteAccessDelegate( region, region.getPutFromLoadValidator() ) );
+	}
+
+}
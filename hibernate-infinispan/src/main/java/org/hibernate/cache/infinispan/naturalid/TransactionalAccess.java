@@ -37,8 +37,12 @@ class TransactionalAccess implements NaturalIdRegionAccessStrategy {
 	private final TransactionalAccessDelegate delegate;
 
 	TransactionalAccess(NaturalIdRegionImpl region) {
+		this( region, new TransactionalAccessDelegate( region, region.getPutFromLoadValidator() ) );
+	}
+
+	TransactionalAccess(NaturalIdRegionImpl region, TransactionalAccessDelegate delegate) {
 		this.region = region;
-		this.delegate = new TransactionalAccessDelegate( region, region.getPutFromLoadValidator() );
+		this.delegate = delegate;
 	}
 
 	@Override
@@ -94,30 +98,32 @@ class TransactionalAccess implements NaturalIdRegionAccessStrategy {
 
 	@Override
 	public SoftLock lockItem(Object key, Object version) throws CacheException {
-		return null;
+		return delegate.lockItem( key );
 	}
 
 	@Override
 	public SoftLock lockRegion() throws CacheException {
-		return null;
+		return delegate.lockRegion();
 	}
 
 	@Override
 	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		delegate.unlockItem( key, lock );
 	}
 
 	@Override
 	public void unlockRegion(SoftLock lock) throws CacheException {
+		delegate.unlockRegion( lock );
 	}
 
 	@Override
 	public boolean afterInsert(Object key, Object value) throws CacheException {
-		return false;
+		return delegate.afterInsert( key, value );
 	}
 
 	@Override
 	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
-		return false;
+		return delegate.afterUpdate( key, value, lock );
 	}
 
 }
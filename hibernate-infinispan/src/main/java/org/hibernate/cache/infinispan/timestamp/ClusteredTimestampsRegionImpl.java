@@ -22,9 +22,15 @@
  */
 package org.hibernate.cache.infinispan.timestamp;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import javax.transaction.Transaction;
 
 import org.hibernate.cache.CacheException;
@@ -38,15 +44,25 @@ import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
 import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
 import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 /**
  * Timestamp cache region for clustered environments.
+ * <p/>
+ * When a coalesce period is configured, update timestamps are applied to the local node straight away but
+ * are only sent to the rest of the cluster once per period, as a single
+ * {@link org.hibernate.cache.infinispan.util.UpdateTimestampsCommand} holding the latest timestamp of each
+ * query space updated in the meantime. Other nodes may then serve query results up to that period stale.
+ * Coalesced timestamps from other nodes are applied as they come, except for query spaces this node has
+ * pre-invalidated and not invalidated yet.
  *
  * @author Galder Zamarreño
  * @since 4.1
  */
 @Listener
 public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
+	private static final Log log = LogFactory.getLog( ClusteredTimestampsRegionImpl.class );
 
 	/**
 	 * Maintains a local (authoritative) cache of timestamps along with the
@@ -56,6 +72,25 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 	 */
 	private final Map localCache = new ConcurrentHashMap();
 
+	/**
+	 * Update timestamps waiting to be sent to the rest of the cluster, or
+	 * <code>null</code> if updates are replicated as they happen.
+	 */
+	private final ConcurrentMap<Object, Object> pendingTimestamps;
+
+	/**
+	 * Number of transactions on this node that have pre-invalidated a query
+	 * space and not invalidated it yet, keyed by query space. Only used when
+	 * update timestamps are coalesced.
+	 */
+	private final ConcurrentMap<Object, Integer> preInvalidatedSpaces;
+
+	private final AdvancedCache localPutCache;
+
+	private final AdvancedCache localConditionalCache;
+
+	private final ScheduledExecutorService coalescer;
+
    /**
     * Clustered timestamps region constructor.
     *
@@ -66,7 +101,59 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 	public ClusteredTimestampsRegionImpl(
 			AdvancedCache cache,
 			String name, RegionFactory factory) {
+		this( cache, name, factory, 0 );
+	}
+
+   /**
+    * Clustered timestamps region constructor.
+    *
+    * @param cache instance to store update timestamps
+    * @param name of the update timestamps region
+    * @param factory for the update timestamps region
+    * @param coalescePeriod period (in ms) over which update timestamps are
+    *                       gathered before being sent to the rest of the cluster,
+    *                       or 0 to replicate every update as it happens
+    */
+	public ClusteredTimestampsRegionImpl(
+			AdvancedCache cache,
+			final String name, RegionFactory factory, long coalescePeriod) {
 		super( cache, name, factory );
+		// Local writes take the key lock so that they cannot slip in between the check
+		// and the write of a conditional update applying coalesced remote timestamps
+		this.localPutCache = Caches.ignoreReturnValuesCache( Caches.localCache( cache ) );
+		this.localConditionalCache = Caches.localCache( cache );
+		if ( coalescePeriod > 0 ) {
+			this.pendingTimestamps = new ConcurrentHashMap<Object, Object>();
+			this.preInvalidatedSpaces = new ConcurrentHashMap<Object, Integer>();
+			this.coalescer = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable r) {
+							final Thread thread = new Thread( r, "Hibernate timestamps coalescer [" + name + "]" );
+							thread.setDaemon( true );
+							return thread;
+						}
+					}
+			);
+			this.coalescer.scheduleWithFixedDelay(
+					new Runnable() {
+						@Override
+						public void run() {
+							try {
+								flushTimestamps();
+							}
+							catch (RuntimeException e) {
+								log.error( "Unable to send update timestamps for region " + name, e );
+							}
+						}
+					}, coalescePeriod, coalescePeriod, TimeUnit.MILLISECONDS
+			);
+		}
+		else {
+			this.pendingTimestamps = null;
+			this.preInvalidatedSpaces = null;
+			this.coalescer = null;
+		}
 		cache.addListener( this );
 		populateLocalCache();
 	}
@@ -104,6 +191,126 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 		return value;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public void put(Object key, Object value) throws CacheException {
+		if ( pendingTimestamps == null ) {
+			super.put( key, value );
+			return;
+		}
+		final boolean preInvalidation = isPreInvalidation( value );
+		try {
+			if ( preInvalidation ) {
+				// Marked before the write, so that a remote batch applied meanwhile
+				// either sees the mark or fails to replace the value it read
+				markPreInvalidated( key );
+			}
+			// Visible locally (through the listener) right away, the rest of
+			// the cluster gets the latest value at the end of the period
+			localPutCache.put( key, value );
+			pendingTimestamps.put( key, value );
+		}
+		catch (Exception e) {
+			throw new CacheException( e );
+		}
+		finally {
+			if ( !preInvalidation ) {
+				unmarkPreInvalidated( key );
+			}
+		}
+	}
+
+	/**
+	 * Applies update timestamps coalesced by another node. The timestamps replace the local ones as they are,
+	 * since an invalidation legitimately writes a lower timestamp than the pre-invalidation before it. Query
+	 * spaces this node has pre-invalidated and not invalidated yet are left alone: the batch may have been
+	 * gathered before the pre-invalidation, which must not be rolled back.
+	 *
+	 * @param timestamps update timestamps, keyed by query space
+	 */
+	public void applyTimestamps(Map timestamps) {
+		for ( Object o : timestamps.entrySet() ) {
+			final Map.Entry entry = (Map.Entry) o;
+			applyUnlessPreInvalidated( entry.getKey(), entry.getValue() );
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void applyUnlessPreInvalidated(Object key, Object value) {
+		// Write locally only; the sending node already holds these
+		while ( true ) {
+			// Read before checking the mark: a pre-invalidation written after the
+			// check then makes the conditional write below fail
+			final Object current = localConditionalCache.get( key );
+			if ( preInvalidatedSpaces != null && preInvalidatedSpaces.containsKey( key ) ) {
+				return;
+			}
+			if ( current == null ) {
+				if ( localConditionalCache.putIfAbsent( key, value ) == null ) {
+					return;
+				}
+			}
+			else if ( localConditionalCache.replace( key, current, value ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * {@link org.hibernate.cache.spi.UpdateTimestampsCache} pre-invalidates a query space with a timestamp
+	 * in the future and invalidates it with the current one.
+	 */
+	private boolean isPreInvalidation(Object value) {
+		return value instanceof Long && (Long) value > nextTimestamp();
+	}
+
+	private void markPreInvalidated(Object key) {
+		while ( true ) {
+			final Integer count = preInvalidatedSpaces.get( key );
+			if ( count == null ) {
+				if ( preInvalidatedSpaces.putIfAbsent( key, 1 ) == null ) {
+					return;
+				}
+			}
+			else if ( preInvalidatedSpaces.replace( key, count, count + 1 ) ) {
+				return;
+			}
+		}
+	}
+
+	private void unmarkPreInvalidated(Object key) {
+		while ( true ) {
+			final Integer count = preInvalidatedSpaces.get( key );
+			if ( count == null ) {
+				return;
+			}
+			if ( count == 1 ) {
+				if ( preInvalidatedSpaces.remove( key, count ) ) {
+					return;
+				}
+			}
+			else if ( preInvalidatedSpaces.replace( key, count, count - 1 ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Sends the update timestamps gathered since the last call to the rest of the cluster.
+	 */
+	private void flushTimestamps() {
+		final Map<Object, Object> batch = new HashMap<Object, Object>();
+		for ( Object key : pendingTimestamps.keySet() ) {
+			final Object value = pendingTimestamps.remove( key );
+			if ( value != null ) {
+				batch.put( key, value );
+			}
+		}
+		if ( !batch.isEmpty() ) {
+			Caches.broadcastUpdateTimestamps( cache, batch );
+		}
+	}
+
 	@Override
 	public void evictAll() throws CacheException {
 		// TODO Is this a valid operation on a timestamps cache?
@@ -127,6 +334,10 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 
 	@Override
 	public void destroy() throws CacheException {
+		if ( coalescer != null ) {
+			coalescer.shutdownNow();
+			flushTimestamps();
+		}
 		localCache.clear();
 		cache.removeListener( this );
 		super.destroy();
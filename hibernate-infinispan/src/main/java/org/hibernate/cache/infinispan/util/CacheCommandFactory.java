@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.infinispan.timestamp.ClusteredTimestampsRegionImpl;
 
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.module.ExtendedModuleCommandFactory;
@@ -75,6 +76,7 @@ public class CacheCommandFactory implements ExtendedModuleCommandFactory {
 	public Map<Byte, Class<? extends ReplicableCommand>> getModuleCommands() {
 		final Map<Byte, Class<? extends ReplicableCommand>> map = new HashMap<Byte, Class<? extends ReplicableCommand>>( 3 );
 		map.put( CacheCommandIds.EVICT_ALL, EvictAllCommand.class );
+		map.put( CacheCommandIds.UPDATE_TIMESTAMPS, UpdateTimestampsCommand.class );
 		return map;
 	}
 
@@ -85,6 +87,12 @@ public class CacheCommandFactory implements ExtendedModuleCommandFactory {
 			case CacheCommandIds.EVICT_ALL:
 				c = new EvictAllCommand( cacheName, allRegions.get( cacheName ) );
 				break;
+			case CacheCommandIds.UPDATE_TIMESTAMPS:
+				c = new UpdateTimestampsCommand(
+						cacheName,
+						(ClusteredTimestampsRegionImpl) allRegions.get( cacheName )
+				);
+				break;
 			default:
 				throw new IllegalArgumentException( "Not registered to handle command id " + commandId );
 		}
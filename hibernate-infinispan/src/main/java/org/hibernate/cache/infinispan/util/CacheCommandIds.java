@@ -34,4 +34,9 @@ public interface CacheCommandIds {
 	 * The "evict all" command id
 	 */
 	public static final byte EVICT_ALL = 120;
+
+	/**
+	 * The "update timestamps" command id
+	 */
+	public static final byte UPDATE_TIMESTAMPS = 121;
 }
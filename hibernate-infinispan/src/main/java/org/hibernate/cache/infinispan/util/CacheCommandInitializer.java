@@ -23,6 +23,8 @@
  */
 package org.hibernate.cache.infinispan.util;
 
+import java.util.Map;
+
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.module.ModuleCommandInitializer;
 
@@ -48,6 +50,17 @@ public class CacheCommandInitializer implements ModuleCommandInitializer {
 		return new EvictAllCommand( regionName );
 	}
 
+   /**
+    * Build an instance of {@link UpdateTimestampsCommand} for a given region.
+    *
+    * @param regionName name of region for {@link UpdateTimestampsCommand}
+    * @param timestamps update timestamps to send, keyed by query space
+    * @return a new instance of {@link UpdateTimestampsCommand}
+    */
+	public UpdateTimestampsCommand buildUpdateTimestampsCommand(String regionName, Map timestamps) {
+		return new UpdateTimestampsCommand( regionName, timestamps );
+	}
+
 	@Override
 	public void initializeReplicableCommand(ReplicableCommand c, boolean isRemote) {
 		// No need to initialize...
@@ -22,6 +22,7 @@
  */
 package org.hibernate.cache.infinispan.util;
 
+import java.util.Map;
 import java.util.concurrent.Callable;
 import javax.transaction.Status;
 import javax.transaction.TransactionManager;
@@ -225,6 +226,24 @@ public class Caches {
 		}
 	}
 
+   /**
+    * Broadcast a batch of update timestamps with the given cache instance.
+    *
+    * @param cache instance used to broadcast command
+    * @param timestamps update timestamps to send, keyed by query space
+    */
+	public static void broadcastUpdateTimestamps(AdvancedCache cache, Map timestamps) {
+		final RpcManager rpcManager = cache.getRpcManager();
+		if ( rpcManager != null ) {
+			final CacheCommandInitializer factory = cache.getComponentRegistry()
+					.getComponent( CacheCommandInitializer.class );
+			final boolean isSync = isSynchronousCache( cache );
+
+			final UpdateTimestampsCommand cmd = factory.buildUpdateTimestampsCommand( cache.getName(), timestamps );
+			rpcManager.broadcastRpcCommand( cmd, isSync );
+		}
+	}
+
    /**
     * Indicates whether the given cache is configured with
     * {@link org.infinispan.configuration.cache.CacheMode#INVALIDATION_ASYNC} or
@@ -265,4 +284,17 @@ public class Caches {
 				.clustering().cacheMode().isClustered();
 	}
 
+   /**
+    * Indicates whether the given cache is configured to take part in
+    * transactions, i.e. with a transaction mode other than
+    * {@link org.infinispan.transaction.TransactionMode#NON_TRANSACTIONAL}.
+    *
+    * @param cache to check for transactional configuration
+    * @return true if the cache is configured as transactional, false otherwise
+    */
+	public static boolean isTransactionalCache(AdvancedCache cache) {
+		return cache.getCacheConfiguration()
+				.transaction().transactionMode().isTransactional();
+	}
+
 }
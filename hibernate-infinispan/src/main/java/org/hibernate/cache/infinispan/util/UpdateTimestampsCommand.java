@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.infinispan.util;
+
+import java.util.Map;
+
+import org.hibernate.cache.infinispan.timestamp.ClusteredTimestampsRegionImpl;
+
+import org.infinispan.commands.remote.BaseRpcCommand;
+import org.infinispan.context.InvocationContext;
+
+/**
+ * Update timestamps command, carrying a batch of coalesced update timestamps
+ *
+ * @see ClusteredTimestampsRegionImpl
+ */
+public class UpdateTimestampsCommand extends BaseRpcCommand {
+
+	private final ClusteredTimestampsRegionImpl region;
+
+	private Map timestamps;
+
+   /**
+    * Update timestamps command constructor.
+    *
+    * @param regionName name of the timestamps region to update
+    * @param region to update
+    */
+	public UpdateTimestampsCommand(String regionName, ClusteredTimestampsRegionImpl region) {
+		// region name and cache names are the same...
+		super( regionName );
+		this.region = region;
+	}
+
+   /**
+    * Update timestamps command constructor.
+    *
+    * @param regionName name of the timestamps region to update
+    * @param timestamps update timestamps, keyed by query space
+    */
+	public UpdateTimestampsCommand(String regionName, Map timestamps) {
+		this( regionName, (ClusteredTimestampsRegionImpl) null );
+		this.timestamps = timestamps;
+	}
+
+	@Override
+	public Object perform(InvocationContext ctx) throws Throwable {
+		region.applyTimestamps( timestamps );
+		return null;
+	}
+
+	@Override
+	public byte getCommandId() {
+		return CacheCommandIds.UPDATE_TIMESTAMPS;
+	}
+
+	@Override
+	public Object[] getParameters() {
+		return new Object[] { timestamps };
+	}
+
+	@Override
+	public void setParameters(int commandId, Object[] parameters) {
+		this.timestamps = (Map) parameters[0];
+	}
+
+	@Override
+	public boolean isReturnValueExpected() {
+		return false;
+	}
+
+}
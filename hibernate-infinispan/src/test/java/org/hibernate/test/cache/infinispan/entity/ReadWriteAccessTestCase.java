@@ -0,0 +1,359 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.infinispan.entity;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.transaction.TransactionMode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.infinispan.collection.CollectionRegionImpl;
+import org.hibernate.cache.infinispan.entity.EntityRegionImpl;
+import org.hibernate.cache.infinispan.util.Caches;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.internal.util.compare.ComparableComparator;
+import org.hibernate.test.cache.infinispan.AbstractNonFunctionalTestCase;
+import org.hibernate.test.cache.infinispan.NodeEnvironment;
+import org.hibernate.test.cache.infinispan.functional.SingleNodeTestCase;
+import org.hibernate.test.cache.infinispan.util.CacheTestUtil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests READ_WRITE access on two nodes sharing a synchronously replicated, non-transactional
+ * cache that stores its values in binary form, so values read from the cache are never the
+ * instances stored in it.
+ */
+public class ReadWriteAccessTestCase extends AbstractNonFunctionalTestCase {
+
+   private static final String REGION_NAME = "test/com.foo.test";
+   private static final String CONFIGURATION_NAME = "non-transactional-entity";
+   private static final String KEY_BASE = "KEY";
+
+   private static int testCount;
+
+   private NodeEnvironment localEnvironment;
+   private EntityRegionImpl localEntityRegion;
+   private EntityRegionAccessStrategy localAccessStrategy;
+
+   private NodeEnvironment remoteEnvironment;
+   private EntityRegionImpl remoteEntityRegion;
+   private EntityRegionAccessStrategy remoteAccessStrategy;
+
+   @Before
+   public void prepareResources() throws Exception {
+      Configuration cfg = CacheTestUtil.buildConfiguration(
+            REGION_PREFIX,
+            NonTransactionalRegionFactory.class,
+            true,
+            false
+      );
+      cfg.setProperty(InfinispanRegionFactory.ENTITY_CACHE_RESOURCE_PROP, CONFIGURATION_NAME);
+
+      localEnvironment = new NodeEnvironment(cfg);
+      localEnvironment.prepare();
+      localEntityRegion = localEnvironment.getEntityRegion(REGION_NAME, getCacheDataDescription());
+      localAccessStrategy = localEntityRegion.buildAccessStrategy(AccessType.READ_WRITE);
+
+      // Sleep a bit to avoid concurrent FLUSH problem
+      avoidConcurrentFlush();
+
+      remoteEnvironment = new NodeEnvironment(cfg);
+      remoteEnvironment.prepare();
+      remoteEntityRegion = remoteEnvironment.getEntityRegion(REGION_NAME, getCacheDataDescription());
+      remoteAccessStrategy = remoteEntityRegion.buildAccessStrategy(AccessType.READ_WRITE);
+
+      TestingUtil.blockUntilViewsReceived(10000, Arrays.<Cache>asList(
+            localEntityRegion.getCache(), remoteEntityRegion.getCache()));
+   }
+
+   private CacheDataDescriptionImpl getCacheDataDescription() {
+      return new CacheDataDescriptionImpl(true, true, ComparableComparator.INSTANCE);
+   }
+
+   @After
+   public void releaseResources() throws Exception {
+      try {
+         if (localEnvironment != null) {
+            localEnvironment.release();
+         }
+      } finally {
+         if (remoteEnvironment != null) {
+            remoteEnvironment.release();
+         }
+      }
+   }
+
+   @Test
+   public void testCacheConfiguration() {
+      assertFalse("Non transactional", localEntityRegion.getCache().getCacheConfiguration()
+            .transaction().transactionMode().isTransactional());
+      assertFalse("Using replication", Caches.isInvalidationCache(localEntityRegion.getCache()));
+      assertTrue("Synchronous mode", Caches.isSynchronousCache(localEntityRegion.getCache()));
+      assertTrue("Store as binary", localEntityRegion.getCache().getCacheConfiguration()
+            .storeAsBinary().enabled());
+   }
+
+   /**
+    * Read-write and nonstrict read-write access are refused on a transactional cache, which
+    * would enlist their lock entries in the JTA transaction.
+    */
+   @Test
+   public void testTransactionalCacheRejected() throws Exception {
+      Configuration cfg = CacheTestUtil.buildConfiguration(
+            REGION_PREFIX,
+            SingleNodeTestCase.TestInfinispanRegionFactory.class,
+            true,
+            false
+      );
+      NodeEnvironment environment = new NodeEnvironment(cfg);
+      environment.prepare();
+      try {
+         EntityRegionImpl entityRegion = environment.getEntityRegion(REGION_NAME, getCacheDataDescription());
+         assertTrue("Transactional", Caches.isTransactionalCache(entityRegion.getCache()));
+         CollectionRegionImpl collectionRegion = environment.getCollectionRegion(
+               REGION_NAME + ".items", getCacheDataDescription());
+         for (AccessType accessType : new AccessType[] {AccessType.READ_WRITE, AccessType.NONSTRICT_READ_WRITE}) {
+            try {
+               entityRegion.buildAccessStrategy(accessType);
+               fail("Incorrectly got " + accessType + " entity access on a transactional cache");
+            } catch (CacheException expected) {
+               assertTrue(expected.getMessage().contains(accessType.getExternalName()));
+            }
+            try {
+               collectionRegion.buildAccessStrategy(accessType);
+               fail("Incorrectly got " + accessType + " collection access on a transactional cache");
+            } catch (CacheException expected) {
+               assertTrue(expected.getMessage().contains(accessType.getExternalName()));
+            }
+         }
+      } finally {
+         environment.release();
+      }
+   }
+
+   /**
+    * Locking an item hides it on both nodes and keeps a stale load on the other node out of the
+    * cache until the new value is published. The cached values do not implement equals, which
+    * must not keep the item from being locked.
+    */
+   @Test
+   public void testLockedItemIsNeitherReadNorLoaded() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+
+      localAccessStrategy.putFromLoad(KEY, new Payload("v1"), System.currentTimeMillis(), 1);
+      // Let the asynchronous put from load propagate
+      sleep(250);
+      assertPayload("v1", remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      final SoftLock lock = lockWithin(localAccessStrategy, KEY, 5, TimeUnit.SECONDS);
+
+      assertNull("local item is locked", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertNull("remote item is locked", remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      // A transaction on the other node read the old row before the update
+      remoteAccessStrategy.putFromLoad(KEY, new Payload("v1"), System.currentTimeMillis(), 1);
+      sleep(250);
+      assertNull("stale load not cached", remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertNull("stale load not cached", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      assertTrue(localAccessStrategy.afterUpdate(KEY, new Payload("v2"), 2, 1, lock));
+      assertPayload("v2", localAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertPayload("v2", remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+   }
+
+   /**
+    * Two transactions on different nodes modifying the same item concurrently: neither may
+    * publish its value, since the order in which they committed to the database is unknown.
+    */
+   @Test
+   public void testContendedLockOnTwoNodes() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+
+      localAccessStrategy.putFromLoad(KEY, new Payload("v1"), System.currentTimeMillis(), 1);
+      sleep(250);
+
+      final SoftLock localLock = lockWithin(localAccessStrategy, KEY, 5, TimeUnit.SECONDS);
+      final SoftLock remoteLock = lockWithin(remoteAccessStrategy, KEY, 5, TimeUnit.SECONDS);
+
+      assertFalse(remoteAccessStrategy.afterUpdate(KEY, new Payload("remote"), 2, 1, remoteLock));
+      remoteAccessStrategy.unlockItem(KEY, remoteLock);
+      assertFalse(localAccessStrategy.afterUpdate(KEY, new Payload("local"), 2, 1, localLock));
+      localAccessStrategy.unlockItem(KEY, localLock);
+
+      assertNull(localAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertNull(remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+
+      // Loads stay uncached until the unowned lock expires
+      localAccessStrategy.putFromLoad(KEY, new Payload("local"), System.currentTimeMillis(), 2);
+      sleep(250);
+      assertNull(localAccessStrategy.get(KEY, System.currentTimeMillis()));
+      assertNull(remoteAccessStrategy.get(KEY, System.currentTimeMillis()));
+   }
+
+   /**
+    * Many transactions on both nodes lock and update the same item at once. All of them must
+    * complete, and the nodes must agree on the outcome.
+    */
+   @Test
+   public void testConcurrentLockersOnBothNodes() throws Exception {
+      final String KEY = KEY_BASE + testCount++;
+      final int lockers = 8;
+
+      localAccessStrategy.putFromLoad(KEY, new Payload("v0"), System.currentTimeMillis(), 0);
+      sleep(250);
+
+      final CountDownLatch startLatch = new CountDownLatch(1);
+      final CountDownLatch completionLatch = new CountDownLatch(lockers);
+      final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+      for (int i = 0; i < lockers; i++) {
+         final EntityRegionAccessStrategy strategy = i % 2 == 0 ? localAccessStrategy : remoteAccessStrategy;
+         final String value = "v" + (i + 1);
+         Thread locker = new Thread("locker-" + i) {
+            @Override
+            public void run() {
+               try {
+                  startLatch.await();
+                  SoftLock lock = strategy.lockItem(KEY, null);
+                  if (!strategy.afterUpdate(KEY, new Payload(value), null, null, lock)) {
+                     strategy.unlockItem(KEY, lock);
+                  }
+               } catch (Throwable t) {
+                  failures.add(t);
+               } finally {
+                  completionLatch.countDown();
+               }
+            }
+         };
+         locker.setDaemon(true);
+         locker.start();
+      }
+
+      startLatch.countDown();
+      assertTrue("Lockers completed", completionLatch.await(10, TimeUnit.SECONDS));
+      assertEquals(Collections.emptyList(), failures);
+
+      Object local = localAccessStrategy.get(KEY, System.currentTimeMillis());
+      Object remote = remoteAccessStrategy.get(KEY, System.currentTimeMillis());
+      if (local == null) {
+         assertNull(remote);
+      } else {
+         assertTrue(((Payload) local).value.matches("v[1-8]"));
+         assertPayload(((Payload) local).value, remote);
+      }
+   }
+
+   private SoftLock lockWithin(final EntityRegionAccessStrategy strategy, final String key,
+         long timeout, TimeUnit unit) throws Exception {
+      final SoftLock[] lock = new SoftLock[1];
+      final Exception[] failure = new Exception[1];
+      final CountDownLatch lockLatch = new CountDownLatch(1);
+      Thread locker = new Thread("locker") {
+         @Override
+         public void run() {
+            try {
+               lock[0] = strategy.lockItem(key, null);
+            } catch (Exception e) {
+               failure[0] = e;
+            } finally {
+               lockLatch.countDown();
+            }
+         }
+      };
+      locker.setDaemon(true);
+      locker.start();
+      assertTrue("lockItem returned promptly", lockLatch.await(timeout, unit));
+      if (failure[0] != null) {
+         throw failure[0];
+      }
+      return lock[0];
+   }
+
+   private static void assertPayload(String expected, Object actual) {
+      assertTrue("Expected a payload but got " + actual, actual instanceof Payload);
+      assertEquals(expected, ((Payload) actual).value);
+   }
+
+   /**
+    * A cached value that, like cache entries, does not implement equals.
+    */
+   private static final class Payload implements Serializable {
+      private static final long serialVersionUID = 1L;
+
+      private final String value;
+
+      private Payload(String value) {
+         this.value = value;
+      }
+
+      @Override
+      public String toString() {
+         return "Payload[" + value + "]";
+      }
+   }
+
+   /**
+    * Adds the synchronously replicated, non-transactional cache configuration used by this test.
+    */
+   public static class NonTransactionalRegionFactory extends SingleNodeTestCase.TestInfinispanRegionFactory {
+
+      public NonTransactionalRegionFactory() {
+         super(); // For reflection-based instantiation
+      }
+
+      @Override
+      protected EmbeddedCacheManager createCacheManager(ConfigurationBuilderHolder holder) {
+         holder.newConfigurationBuilder(CONFIGURATION_NAME)
+               .clustering().cacheMode(CacheMode.REPL_SYNC)
+               .transaction().transactionMode(TransactionMode.NON_TRANSACTIONAL)
+               .storeAsBinary().enable();
+         return super.createCacheManager(holder);
+      }
+
+   }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.infinispan.functional;
+
+import java.util.concurrent.Callable;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.transaction.TransactionMode;
+
+import org.hibernate.Session;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import static org.infinispan.test.TestingUtil.withTx;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Functional entity read-write tests.
+ */
+public class BasicReadWriteTestCase extends SingleNodeTestCase {
+	private static final String CONFIGURATION_NAME = "non-transactional-entity";
+
+	@Override
+	public String getCacheConcurrencyStrategy() {
+		return "read-write";
+	}
+
+	@Override
+	protected Class<? extends RegionFactory> getCacheRegionFactory() {
+		return NonTransactionalRegionFactory.class;
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		// read-write and nonstrict read-write access refuse transactional caches
+		cfg.setProperty( InfinispanRegionFactory.ENTITY_CACHE_RESOURCE_PROP, CONFIGURATION_NAME );
+		cfg.setProperty( InfinispanRegionFactory.COLLECTION_CACHE_RESOURCE_PROP, CONFIGURATION_NAME );
+		cfg.setProperty( InfinispanRegionFactory.NATURAL_ID_CACHE_RESOURCE_PROP, CONFIGURATION_NAME );
+	}
+
+	/**
+	 * Whether a committed update is written to the cache, rather than invalidated.
+	 */
+	protected boolean isCachedAfterUpdate() {
+		return true;
+	}
+
+	@Test
+	public void testUpdateVisibleAfterCommit() throws Exception {
+		final Statistics stats = sessionFactory().getStatistics();
+		final Item item = new Item( "chris", "Chris's Item" );
+		withTx( tm, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				Session s = openSession();
+				s.getTransaction().begin();
+				s.persist( item );
+				s.getTransaction().commit();
+				s.close();
+				return null;
+			}
+		} );
+
+		withTx( tm, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				Session s = openSession();
+				s.getTransaction().begin();
+				Item found = (Item) s.get( Item.class, item.getId() );
+				found.setDescription( "Updated item" );
+				s.getTransaction().commit();
+				s.close();
+				return null;
+			}
+		} );
+
+		stats.clear();
+		withTx( tm, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				Session s = openSession();
+				s.getTransaction().begin();
+				Item found = (Item) s.get( Item.class, item.getId() );
+				assertEquals( "Updated item", found.getDescription() );
+				assertEquals( isCachedAfterUpdate() ? 1 : 0, stats.getSecondLevelCacheHitCount() );
+				assertEquals( isCachedAfterUpdate() ? 0 : 1, stats.getSecondLevelCacheMissCount() );
+				s.delete( found );
+				s.getTransaction().commit();
+				s.close();
+				return null;
+			}
+		} );
+	}
+
+	/**
+	 * Adds the non-transactional cache configuration used by this test.
+	 */
+	public static class NonTransactionalRegionFactory extends TestInfinispanRegionFactory {
+
+		public NonTransactionalRegionFactory() {
+			super(); // For reflection-based instantiation
+		}
+
+		@Override
+		protected EmbeddedCacheManager createCacheManager(ConfigurationBuilderHolder holder) {
+			holder.newConfigurationBuilder( CONFIGURATION_NAME )
+					.clustering().cacheMode( CacheMode.INVALIDATION_SYNC )
+					.transaction().transactionMode( TransactionMode.NON_TRANSACTIONAL );
+			return super.createCacheManager( holder );
+		}
+
+	}
+
+}
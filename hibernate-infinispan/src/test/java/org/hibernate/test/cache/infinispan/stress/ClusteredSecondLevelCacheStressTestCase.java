@@ -0,0 +1,426 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.infinispan.stress;
+
+import static org.infinispan.test.TestingUtil.withTx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.transaction.TransactionManager;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.TruthValue;
+import org.hibernate.boot.registry.internal.StandardServiceRegistryImpl;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.metamodel.Metadata;
+import org.hibernate.metamodel.MetadataSources;
+import org.hibernate.metamodel.spi.binding.EntityBinding;
+import org.hibernate.metamodel.spi.binding.PluralAttributeBinding;
+import org.hibernate.test.cache.infinispan.stress.entities.Family;
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Stress test for the second level cache running several in-JVM cluster
+ * nodes against a shared H2 database.
+ *
+ * Each node has its own {@link InfinispanRegionFactory}, and so its own cache
+ * manager, joined over the loopback JGroups stack used by the other clustered
+ * tests. Worker threads are spread over the nodes and run a mix of entity
+ * loads, cacheable queries and updates. Each worker only updates its own
+ * share of the entities, so the last committed value of every entity is
+ * known and reads returning an older one are counted as stale. After each
+ * update the writer polls another node until the new value is visible there,
+ * which gives the invalidation latency.
+ *
+ * Tune the run with the <tt>nodes</tt>, <tt>threads</tt>, <tt>entities</tt>,
+ * <tt>read-percent</tt>, <tt>query-percent</tt>, <tt>access-type</tt>,
+ * <tt>timestamps-coalesce-period</tt>, <tt>warmup-time</tt> and <tt>time</tt>
+ * system properties.
+ */
+@Ignore
+public class ClusteredSecondLevelCacheStressTestCase {
+
+   static final int NUM_NODES = Integer.getInteger("nodes", 3);
+   static final int NUM_THREADS_PER_NODE = Integer.getInteger("threads", 4);
+   static final int NUM_ENTITIES = Integer.getInteger("entities", 1000);
+   static final int READ_PERCENT = Integer.getInteger("read-percent", 80);
+   static final int QUERY_PERCENT = Integer.getInteger("query-percent", 50); // share of reads done as cacheable queries
+   static final AccessType ACCESS_TYPE = AccessType.fromExternalName(System.getProperty("access-type", "transactional"));
+   static final long TIMESTAMPS_COALESCE_PERIOD = Long.getLong("timestamps-coalesce-period", 0);
+   static final long WARMUP_TIME = TimeUnit.SECONDS.toNanos(Integer.getInteger("warmup-time", 1) * 5);
+   static final long RUNNING_TIME = TimeUnit.SECONDS.toNanos(Integer.getInteger("time", 1) * 60);
+   static final long VISIBILITY_TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+   static final String DB_URL = "jdbc:h2:mem:clustered-stress;DB_CLOSE_DELAY=-1;MVCC=TRUE";
+
+   List<StandardServiceRegistryImpl> registries;
+   List<SessionFactory> nodes;
+   TransactionManager tm;
+   List<Integer> entityIds;
+   ConcurrentHashMap<Integer, Long> committed;
+   AtomicLong versionCounter;
+
+   @Before
+   public void beforeClass() {
+      if (System.getProperty("hibernate.cache.infinispan.jgroups_cfg") == null)
+         System.setProperty("hibernate.cache.infinispan.jgroups_cfg", "2lc-test-tcp.xml");
+
+      registries = new ArrayList<StandardServiceRegistryImpl>(NUM_NODES);
+      nodes = new ArrayList<SessionFactory>(NUM_NODES);
+      committed = new ConcurrentHashMap<Integer, Long>();
+      versionCounter = new AtomicLong();
+
+      // The first node creates the schema the others share
+      for (int i = 0; i < NUM_NODES; i++)
+         nodes.add(buildNode(i == 0));
+
+      tm = com.arjuna.ats.jta.TransactionManager.transactionManager();
+      entityIds = insertEntities();
+   }
+
+   SessionFactory buildNode(boolean createSchema) {
+      Properties envProps = Environment.getProperties();
+      envProps.setProperty(Environment.USE_SECOND_LEVEL_CACHE, "true");
+      envProps.setProperty(Environment.USE_QUERY_CACHE, "true");
+      envProps.setProperty(Environment.CACHE_REGION_FACTORY,
+            InfinispanRegionFactory.class.getName());
+      envProps.setProperty(Environment.JTA_PLATFORM,
+            "org.hibernate.engine.transaction.jta.platform.internal.JBossStandAloneJtaPlatform");
+      envProps.setProperty(InfinispanRegionFactory.INFINISPAN_TIMESTAMPS_COALESCE_PERIOD_PROP,
+            String.valueOf(TIMESTAMPS_COALESCE_PERIOD));
+
+      // Database settings, all nodes share the same in-memory database
+      envProps.setProperty(Environment.DRIVER, "org.h2.Driver");
+      envProps.setProperty(Environment.URL, DB_URL);
+      envProps.setProperty(Environment.DIALECT, "org.hibernate.dialect.H2Dialect");
+      envProps.setProperty(Environment.USER, "sa");
+      envProps.setProperty(Environment.PASS, "");
+      envProps.setProperty(Environment.POOL_SIZE, String.valueOf(NUM_THREADS_PER_NODE + 1));
+      if (createSchema)
+         envProps.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+
+      StandardServiceRegistryImpl registry = ServiceRegistryBuilder.buildServiceRegistry(envProps);
+      registries.add(registry);
+      MetadataSources sources = new MetadataSources( registry );
+      for ( Class<?> annotatedClass : SecondLevelCacheStressTestCase.getAnnotatedClasses() ) {
+         sources.addAnnotatedClass( annotatedClass );
+      }
+
+      Metadata metadata = sources.buildMetadata();
+
+      Iterator<EntityBinding> entityIter = metadata.getEntityBindings().iterator();
+      while (entityIter.hasNext()) {
+         EntityBinding binding = entityIter.next();
+         binding.getHierarchyDetails().getCaching().setAccessType( ACCESS_TYPE );
+         binding.getHierarchyDetails().getCaching().setRequested( TruthValue.TRUE );
+         binding.getHierarchyDetails().getCaching().setRegion( binding.getEntityName() );
+      }
+      Iterator<PluralAttributeBinding> collectionIter = metadata.getCollectionBindings().iterator();
+      while (collectionIter.hasNext()) {
+         PluralAttributeBinding binding = collectionIter.next();
+         binding.getCaching().setAccessType( ACCESS_TYPE );
+         binding.getCaching().setRequested( TruthValue.TRUE );
+         binding.getCaching().setRegion( StringHelper.qualify(
+               binding.getContainer().seekEntityBinding().getEntityName(), binding.getAttribute().getName() ) );
+      }
+
+      return metadata.buildSessionFactory();
+   }
+
+   @After
+   public void afterClass() {
+      // Close in reverse order so the node owning the schema drops it last
+      for (int i = nodes.size() - 1; i >= 0; i--)
+         nodes.get(i).close();
+      for (StandardServiceRegistryImpl registry : registries)
+         ServiceRegistryBuilder.destroy(registry);
+   }
+
+   @Test
+   public void testMixedWorkload() throws Exception {
+      System.out.printf("[nodes=%d, access=%s] Warming up\n", NUM_NODES, ACCESS_TYPE.getExternalName());
+      runWorkload(WARMUP_TIME);
+
+      System.out.printf("[nodes=%d, access=%s] Testing...\n", NUM_NODES, ACCESS_TYPE.getExternalName());
+      WorkloadStats stats = runWorkload(RUNNING_TIME);
+      stats.print(RUNNING_TIME);
+   }
+
+   List<Integer> insertEntities() {
+      try {
+         return withTx(tm, new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+               List<Integer> ids = new ArrayList<Integer>(NUM_ENTITIES);
+               Session s = nodes.get(0).openSession();
+               s.getTransaction().begin();
+               for (int i = 0; i < NUM_ENTITIES; i++) {
+                  Family family = new Family("Family-" + i);
+                  family.setSecondName(encode(0));
+                  s.persist(family);
+                  ids.add(family.getId());
+               }
+               s.getTransaction().commit();
+               s.close();
+               return ids;
+            }
+         });
+      } catch (Exception e) {
+         throw new RuntimeException(e);
+      }
+   }
+
+   WorkloadStats runWorkload(long runningTimeout) throws Exception {
+      int numWorkers = NUM_NODES * NUM_THREADS_PER_NODE;
+
+      // Each worker updates its own slice of the entities only
+      List<List<Integer>> ownedIds = new ArrayList<List<Integer>>(numWorkers);
+      for (int i = 0; i < numWorkers; i++)
+         ownedIds.add(new ArrayList<Integer>());
+      for (int i = 0; i < entityIds.size(); i++)
+         ownedIds.get(i % numWorkers).add(entityIds.get(i));
+
+      final WorkloadStats stats = new WorkloadStats();
+      ExecutorService exec = Executors.newFixedThreadPool(
+            numWorkers, new ThreadFactory() {
+         volatile int i = 0;
+         @Override
+         public Thread newThread(Runnable r) {
+            return new Thread(r, "worker-clustered-" + i++);
+         }
+      });
+
+      try {
+         List<Future<Void>> futures = new ArrayList<Future<Void>>(numWorkers);
+         CyclicBarrier barrier = new CyclicBarrier(numWorkers + 1);
+
+         for (int i = 0; i < numWorkers; i++)
+            futures.add(exec.submit(new WorkerThread(
+                  i, i % NUM_NODES, ownedIds.get(i), runningTimeout, stats, barrier)));
+
+         barrier.await(); // wait for all threads to be ready
+         barrier.await(); // wait for all threads to finish
+
+         // Now check whether anything went wrong...
+         for (Future<Void> future : futures) future.get();
+
+         return stats;
+      } finally {
+         exec.shutdown();
+      }
+   }
+
+   static String encode(long version) {
+      return "v-" + version;
+   }
+
+   static long decode(String secondName) {
+      return secondName == null ? -1 : Long.parseLong(secondName.substring(2));
+   }
+
+   long readEntity(SessionFactory node, int id) {
+      Session s = node.openSession();
+      try {
+         Family family = (Family) s.get(Family.class, id);
+         return decode(family.getSecondName());
+      } finally {
+         s.close();
+      }
+   }
+
+   long queryEntity(SessionFactory node, int id) {
+      Session s = node.openSession();
+      try {
+         String secondName = (String) s.createQuery(
+               "select f.secondName from Family f where f.id = :id")
+               .setParameter("id", id)
+               .setCacheable(true)
+               .uniqueResult();
+         return decode(secondName);
+      } finally {
+         s.close();
+      }
+   }
+
+   void updateEntity(final SessionFactory node, final int id, final long version) throws Exception {
+      withTx(tm, new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            Session s = node.openSession();
+            s.getTransaction().begin();
+            Family family = (Family) s.load(Family.class, id);
+            family.setSecondName(encode(version));
+            s.getTransaction().commit();
+            s.close();
+            return null;
+         }
+      });
+   }
+
+   private class WorkerThread implements Callable<Void> {
+      private final int nodeIndex;
+      private final List<Integer> ownedIds;
+      private final long runningTimeout;
+      private final WorkloadStats stats;
+      private final CyclicBarrier barrier;
+      private final Random random;
+
+      WorkerThread(int workerIndex, int nodeIndex, List<Integer> ownedIds,
+            long runningTimeout, WorkloadStats stats, CyclicBarrier barrier) {
+         this.nodeIndex = nodeIndex;
+         this.ownedIds = ownedIds;
+         this.runningTimeout = runningTimeout;
+         this.stats = stats;
+         this.barrier = barrier;
+         this.random = new Random(12345 + workerIndex);
+      }
+
+      @Override
+      public Void call() throws Exception {
+         SessionFactory node = nodes.get(nodeIndex);
+         barrier.await();
+         try {
+            long endNanos = System.nanoTime() + runningTimeout;
+            while (System.nanoTime() < endNanos) {
+               if (ownedIds.isEmpty() || random.nextInt(100) < READ_PERCENT)
+                  read(node);
+               else
+                  write(node);
+            }
+         } finally {
+            barrier.await();
+         }
+         return null;
+      }
+
+      private void read(SessionFactory node) {
+         int id = entityIds.get(random.nextInt(entityIds.size()));
+         // Anything committed before the read started must be visible
+         Long expected = committed.get(id);
+         boolean query = random.nextInt(100) < QUERY_PERCENT;
+         long start = System.nanoTime();
+         long seen = query ? queryEntity(node, id) : readEntity(node, id);
+         OpStats op = query ? stats.query : stats.read;
+         op.add(System.nanoTime() - start);
+         if (expected != null && seen < expected)
+            op.stale.incrementAndGet();
+      }
+
+      private void write(SessionFactory node) throws Exception {
+         int id = ownedIds.get(random.nextInt(ownedIds.size()));
+         long version = versionCounter.incrementAndGet();
+         long start = System.nanoTime();
+         updateEntity(node, id, version);
+         long commitNanos = System.nanoTime();
+         stats.write.add(commitNanos - start);
+         committed.put(id, version);
+
+         if (NUM_NODES > 1) {
+            // Measure how long until another node sees the update
+            int other = (nodeIndex + 1 + random.nextInt(NUM_NODES - 1)) % NUM_NODES;
+            SessionFactory otherNode = nodes.get(other);
+            while (readEntity(otherNode, id) < version) {
+               if (System.nanoTime() - commitNanos > VISIBILITY_TIMEOUT) {
+                  stats.invisible.incrementAndGet();
+                  return;
+               }
+               Thread.yield();
+            }
+            stats.invalidationLatencies.add(System.nanoTime() - commitNanos);
+         }
+      }
+   }
+
+   private static class OpStats {
+      final String name;
+      final AtomicLong count = new AtomicLong();
+      final AtomicLong totalNanos = new AtomicLong();
+      final AtomicLong stale = new AtomicLong();
+
+      OpStats(String name) {
+         this.name = name;
+      }
+
+      void add(long nanos) {
+         count.incrementAndGet();
+         totalNanos.addAndGet(nanos);
+      }
+
+      void print(long runningTime) {
+         long n = count.get();
+         System.out.printf("%-6s %10.2f ops/s, avg %8.3f ms, %d stale reads\n",
+               name, n * 1000000000. / runningTime,
+               n == 0 ? 0 : totalNanos.get() / 1000000. / n, stale.get());
+      }
+   }
+
+   private static class WorkloadStats {
+      final OpStats read = new OpStats("READ");
+      final OpStats query = new OpStats("QUERY");
+      final OpStats write = new OpStats("WRITE");
+      final Queue<Long> invalidationLatencies = new ConcurrentLinkedQueue<Long>();
+      final AtomicLong invisible = new AtomicLong();
+
+      void print(long runningTime) {
+         read.print(runningTime);
+         query.print(runningTime);
+         write.print(runningTime);
+
+         List<Long> latencies = new ArrayList<Long>(invalidationLatencies);
+         if (latencies.isEmpty()) return;
+         Collections.sort(latencies);
+         long total = 0;
+         for (Long latency : latencies) total += latency;
+         System.out.printf("Invalidation latency: avg %.3f ms, p99 %.3f ms, max %.3f ms (%d samples, %d not visible after %d s)\n",
+               total / 1000000. / latencies.size(),
+               latencies.get((int) (latencies.size() * 0.99)) / 1000000.,
+               latencies.get(latencies.size() - 1) / 1000000.,
+               latencies.size(), invisible.get(), TimeUnit.NANOSECONDS.toSeconds(VISIBILITY_TIMEOUT));
+      }
+   }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2014, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.infinispan.timestamp;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cache.infinispan.timestamp.ClusteredTimestampsRegionImpl;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.test.cache.infinispan.util.CacheTestUtil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the timestamps region tests with coalesced timestamp broadcasts enabled.
+ */
+public class CoalescedTimestampsRegionImplTestCase extends TimestampsRegionImplTestCase {
+	private static final long COALESCE_PERIOD = 100;
+
+	@Override
+	protected Configuration createConfiguration() {
+		Configuration cfg = super.createConfiguration();
+		cfg.setProperty(
+				InfinispanRegionFactory.INFINISPAN_TIMESTAMPS_COALESCE_PERIOD_PROP,
+				String.valueOf( COALESCE_PERIOD )
+		);
+		return cfg;
+	}
+
+	@Test
+	public void testRemoteBatchDoesNotOverwriteLocalPreInvalidation() throws Exception {
+		ClusteredTimestampsRegionImpl region = createTimestampsRegion();
+
+		final Long preInvalidation = region.nextTimestamp() + region.getTimeout();
+		region.put( KEY, preInvalidation );
+		assertEquals( "local put is visible at once", preInvalidation, region.get( KEY ) );
+
+		// A batch another node coalesced before this node pre-invalidated the space
+		region.applyTimestamps( Collections.singletonMap( KEY, preInvalidation - 1 ) );
+		assertEquals( "remote timestamp ignored while pre-invalidated", preInvalidation, region.get( KEY ) );
+
+		final Long invalidation = region.nextTimestamp();
+		region.put( KEY, invalidation );
+		assertEquals( invalidation, region.get( KEY ) );
+
+		// Once invalidated, remote timestamps are applied as they are, even lower ones
+		region.applyTimestamps( Collections.singletonMap( KEY, invalidation - 1 ) );
+		assertEquals( "remote timestamp applied", invalidation - 1, region.get( KEY ) );
+
+		// As are timestamps of spaces this node has not seen yet
+		region.applyTimestamps( Collections.singletonMap( "other", 1000L ) );
+		assertEquals( 1000L, region.get( "other" ) );
+	}
+
+	@Test
+	public void testRemoteInvalidationInLaterBatchMakesSpaceUsable() throws Exception {
+		ClusteredTimestampsRegionImpl region = createTimestampsRegion();
+
+		// Another node pre-invalidates the space and its coalescer flushes...
+		final Long preInvalidation = region.nextTimestamp() + region.getTimeout();
+		region.applyTimestamps( Collections.singletonMap( KEY, preInvalidation ) );
+		assertEquals( preInvalidation, region.get( KEY ) );
+
+		// ...then it invalidates the space, which is flushed in the next batch
+		final Long invalidation = region.nextTimestamp();
+		region.applyTimestamps( Collections.singletonMap( KEY, invalidation ) );
+		assertEquals( "lower invalidation timestamp applied", invalidation, region.get( KEY ) );
+		assertTrue(
+				"query results cached from now on are up to date",
+				(Long) region.get( KEY ) <= region.nextTimestamp()
+		);
+	}
+
+	private ClusteredTimestampsRegionImpl createTimestampsRegion() {
+		Configuration cfg = createConfiguration();
+		InfinispanRegionFactory regionFactory = CacheTestUtil.startRegionFactory(
+				new StandardServiceRegistryBuilder().applySettings( cfg.getProperties() ).build(),
+				cfg,
+				getCacheTestSupport()
+		);
+		return (ClusteredTimestampsRegionImpl) createRegion(
+				regionFactory,
+				getStandardRegionName( REGION_PREFIX ),
+				cfg.getProperties(),
+				null
+		);
+	}
+}